@@ -15,7 +15,9 @@
 
 \ir ddl/otp_transaction.sql
 \ir ddl/resident_transaction.sql
+\ir ddl/resident_transaction_index.sql
 \ir ddl/resident_grievance_ticket.sql
 \ir ddl/resident_user_actions.sql
 \ir ddl/resident_session.sql
+\ir ddl/resident_notification_outbox.sql
 -----------------------------------------------------------------------------------------------------
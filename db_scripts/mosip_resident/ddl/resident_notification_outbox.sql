@@ -0,0 +1,43 @@
+-- -------------------------------------------------------------------------------------------------
+-- Database Name:    mosip_resident
+-- Release Version 	: 1.2.0.2
+-- Purpose    		: Database scripts for Resident Service DB.
+-- Created Date		: October-2026
+--
+-- Modified Date        Modified By         Comments / Remarks
+-- --------------------------------------------------------------------------------------------------
+--
+-----------------------------------------------------------------------------------------------------
+
+-- This Table is used to queue the notifications that are delivered asynchronously.
+
+CREATE TABLE resident.resident_notification_outbox(
+	id character varying(36) NOT NULL,
+	event_id character varying(64),
+	payload character varying NOT NULL,
+	status_code character varying(16) NOT NULL,
+	attempts smallint NOT NULL DEFAULT 0,
+	next_attempt_dtimes timestamp NOT NULL,
+	last_error character varying(512),
+	lease_owner character varying(64),
+	lease_expiry_dtimes timestamp,
+	cr_dtimes timestamp NOT NULL,
+	upd_dtimes timestamp,
+	CONSTRAINT pk_resnotif_id PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_resnotif_status_next_attempt
+	ON resident.resident_notification_outbox (status_code, next_attempt_dtimes);
+
+COMMENT ON TABLE resident_notification_outbox IS 'This Table is used to queue the notifications that are delivered asynchronously.';
+COMMENT ON COLUMN resident_notification_outbox.id IS 'The unique identifier of the notification';
+COMMENT ON COLUMN resident_notification_outbox.event_id IS 'The resident transaction event the notification belongs to';
+COMMENT ON COLUMN resident_notification_outbox.payload IS 'The encrypted notification request';
+COMMENT ON COLUMN resident_notification_outbox.status_code IS 'PENDING until delivered, DEAD once all delivery attempts have failed';
+COMMENT ON COLUMN resident_notification_outbox.attempts IS 'The number of failed delivery attempts';
+COMMENT ON COLUMN resident_notification_outbox.next_attempt_dtimes IS 'The time before which the notification is not delivered';
+COMMENT ON COLUMN resident_notification_outbox.last_error IS 'The error of the last failed delivery attempt';
+COMMENT ON COLUMN resident_notification_outbox.lease_owner IS 'The delivery worker run that has claimed the notification';
+COMMENT ON COLUMN resident_notification_outbox.lease_expiry_dtimes IS 'The time after which the claim on the notification lapses';
+COMMENT ON COLUMN resident_notification_outbox.cr_dtimes IS 'The time when the notification was queued';
+COMMENT ON COLUMN resident_notification_outbox.upd_dtimes IS 'The time of the last delivery attempt';
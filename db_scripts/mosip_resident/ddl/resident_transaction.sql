@@ -14,6 +14,7 @@
 CREATE TABLE resident.resident_transaction(
     event_id VARCHAR(64) NOT NULL,
 	request_trn_id character varying(64) ,
+	auth_callback_id character varying(64),
 	request_dtimes timestamp NOT NULL,
 	response_dtime timestamp NOT NULL,
 	request_type_code character varying(128) NOT NULL,
@@ -48,6 +49,8 @@ CREATE TABLE resident.resident_transaction(
     individual_id character varying(1024),
     consent character varying(50),
     tracking_id character varying(50),
+    lease_owner character varying(64),
+    lease_expiry_dtimes timestamp,
     CONSTRAINT pk_restrn_event_id PRIMARY KEY (event_id)
 );
 
@@ -57,6 +60,7 @@ COMMENT ON COLUMN resident.resident_transaction.aid IS 'The Application ID';
 COMMENT ON COLUMN resident.resident_transaction.request_dtimes IS 'The time when the request is received by the service';
 COMMENT ON COLUMN resident.resident_transaction.response_dtime IS 'The time when the response is received by the service';
 COMMENT ON COLUMN resident.resident_transaction.request_trn_id IS 'The unique identifier for each transaction';
+COMMENT ON COLUMN resident.resident_transaction.auth_callback_id IS 'The WebSub event id of a successful authentication callback';
 COMMENT ON COLUMN resident.resident_transaction.request_type_code IS 'The type of request';
 COMMENT ON COLUMN resident.resident_transaction.request_summary IS 'The summary of the request';
 COMMENT ON COLUMN resident.resident_transaction.status_code IS 'The current status of the request';
@@ -84,5 +88,7 @@ COMMENT ON COLUMN resident.resident_transaction.read_status IS 'The flag to iden
 COMMENT ON COLUMN resident.resident_transaction.pinned_status IS 'The flag to identify if the request is pinned or not';
 COMMENT ON COLUMN resident.resident_transaction.purpose IS 'The purpose of the request';
 COMMENT ON COLUMN resident.resident_transaction.credential_request_id IS 'The credential request id';
+COMMENT ON COLUMN resident.resident_transaction.lease_owner IS 'The batch job run that has claimed the record for processing';
+COMMENT ON COLUMN resident.resident_transaction.lease_expiry_dtimes IS 'The time after which the claim on the record lapses';
 
 --------------------------------------------------------------------------------------------------------------------------------------------------------------------------------------
@@ -0,0 +1,43 @@
+-- -------------------------------------------------------------------------------------------------
+-- Database Name: mosip_resident
+-- Release Version 	: 1.2.0.2
+-- Purpose    		: Indexes for the resident_transaction lookups used by Resident Service.
+-- Created Date		: October-2026
+--
+-- Modified Date        Modified By         Comments / Remarks
+-- --------------------------------------------------------------------------------------------------
+--
+-----------------------------------------------------------------------------------------------------
+
+-- Service history and notifications of a resident, in the default newest-first order. The ascending
+-- sort (pinned_status DESC, cr_dtimes ASC) mixes directions, so it only uses the token_id prefix and
+-- sorts the rows of the resident, which are few enough per resident to not need an index of their own.
+CREATE INDEX IF NOT EXISTS idx_restrn_token_history
+    ON resident.resident_transaction (token_id, pinned_status DESC, cr_dtimes DESC, event_id DESC);
+
+-- Unread notification count and list of a resident.
+CREATE INDEX IF NOT EXISTS idx_restrn_token_unread
+    ON resident.resident_transaction (token_id, request_type_code) WHERE read_status = false;
+
+-- Credential status update batch job: status_code IN (...) AND request_type_code IN (...) ORDER BY cr_dtimes.
+CREATE INDEX IF NOT EXISTS idx_restrn_status_request_type
+    ON resident.resident_transaction (status_code, request_type_code, cr_dtimes);
+
+-- Lookups by reference columns. Partial, since most rows leave these columns empty.
+CREATE INDEX IF NOT EXISTS idx_restrn_credential_request_id
+    ON resident.resident_transaction (credential_request_id) WHERE credential_request_id IS NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_restrn_aid
+    ON resident.resident_transaction (aid, cr_dtimes DESC) WHERE aid IS NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_restrn_ref_id
+    ON resident.resident_transaction (ref_id, status_code, cr_dtimes DESC) WHERE ref_id IS NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_restrn_request_trn_id
+    ON resident.resident_transaction (request_trn_id, cr_dtimes DESC) WHERE request_trn_id IS NOT NULL;
+
+-- Successful authentication transactions are keyed by the WebSub event id, so a redelivered callback is stored once.
+CREATE UNIQUE INDEX IF NOT EXISTS idx_restrn_auth_callback_id
+    ON resident.resident_transaction (auth_callback_id) WHERE auth_callback_id IS NOT NULL;
+
+-----------------------------------------------------------------------------------------------------
@@ -0,0 +1,39 @@
+#!/bin/bash
+## Seeds a throw-away database with resident_transaction rows and reports the plan and latency
+## of the hot resident_transaction queries before and after the indexes are created.
+## Usage: ./benchmark.sh benchmark.properties > report.txt
+## Never point BENCH_DB_NAME at a real database, it is dropped and re-created.
+
+set -e
+properties_file="$1"
+echo `date "+%m/%d/%Y %H:%M:%S"` ": $properties_file"
+if [ -f "$properties_file" ]
+then
+     echo `date "+%m/%d/%Y %H:%M:%S"` ": Property file \"$properties_file\" found."
+    while IFS='=' read -r key value
+    do
+        key=$(echo $key | tr '.' '_')
+         eval ${key}=\${value}
+    done < "$properties_file"
+else
+     echo `date "+%m/%d/%Y %H:%M:%S"` ": Property file not found, Pass property file name as argument."
+     exit 1
+fi
+
+if [ "$BENCH_DB_NAME" == "mosip_resident" ]; then
+  echo "BENCH_DB_NAME must not be the resident service database, exiting."
+  exit 1
+fi
+
+PSQL="psql -v ON_ERROR_STOP=1 --username=$SU_USER --host=$DB_SERVERIP --port=$DB_PORT"
+
+echo "Creating benchmark database $BENCH_DB_NAME"
+PGPASSWORD=$SU_USER_PWD $PSQL --dbname=$DEFAULT_DB_NAME -c "DROP DATABASE IF EXISTS $BENCH_DB_NAME"
+PGPASSWORD=$SU_USER_PWD $PSQL --dbname=$DEFAULT_DB_NAME -c "CREATE DATABASE $BENCH_DB_NAME"
+
+echo "Running benchmark with $ROW_COUNT rows over $TOKEN_COUNT residents"
+PGPASSWORD=$SU_USER_PWD $PSQL --dbname=$BENCH_DB_NAME -v rows=$ROW_COUNT -v tokens=$TOKEN_COUNT \
+  -f resident_transaction_benchmark.sql
+
+echo "Dropping benchmark database $BENCH_DB_NAME"
+PGPASSWORD=$SU_USER_PWD $PSQL --dbname=$DEFAULT_DB_NAME -c "DROP DATABASE IF EXISTS $BENCH_DB_NAME"
@@ -0,0 +1,52 @@
+-- -------------------------------------------------------------------------------------------------
+-- Benchmark for the resident_transaction indexes. Run through benchmark.sh against a scratch database.
+-- Seeds :rows rows spread over :tokens residents, then runs each hot query with EXPLAIN ANALYZE
+-- before and after creating the indexes from db_scripts/mosip_resident/ddl/resident_transaction_index.sql.
+-----------------------------------------------------------------------------------------------------
+\set ON_ERROR_STOP on
+
+CREATE SCHEMA IF NOT EXISTS resident;
+SET search_path TO resident,pg_catalog,public;
+\ir ../../../db_scripts/mosip_resident/ddl/resident_transaction.sql
+
+\echo 'Seeding resident_transaction'
+INSERT INTO resident.resident_transaction (event_id, request_trn_id, request_dtimes, response_dtime,
+    request_type_code, request_summary, status_code, ref_id, token_id, cr_by, cr_dtimes, olv_partner_id,
+    aid, read_status, pinned_status, credential_request_id, auth_type_code)
+SELECT lpad(i::text, 16, '0'),
+    'trn-' || (i % (:rows / 2)),
+    now() - (i % 365) * interval '1 day',
+    now() - (i % 365) * interval '1 day',
+    (ARRAY['AUTHENTICATION_REQUEST', 'SHARE_CRED_WITH_PARTNER', 'ORDER_PHYSICAL_CARD', 'GET_MY_ID',
+        'UPDATE_MY_UIN', 'GENERATE_VID', 'REVOKE_VID', 'AUTH_TYPE_LOCK_UNLOCK', 'VID_CARD_DOWNLOAD'])[1 + i % 9],
+    'summary',
+    CASE WHEN i % 100 = 0 THEN 'NEW' WHEN i % 100 = 1 THEN 'PRINTING' WHEN i % 10 = 2 THEN 'FAILED'
+        ELSE 'AUTHENTICATION_SUCCESSFUL' END,
+    CASE WHEN i % 3 = 0 THEN 'ref-' || i END,
+    'token-' || (i % :tokens),
+    'benchmark',
+    now() - (i % 365) * interval '1 day' - (i % 86400) * interval '1 second',
+    CASE WHEN i % 20 = 0 THEN 'mpartner-default-resident' END,
+    CASE WHEN i % 9 IN (3, 4) THEN 'aid-' || i END,
+    i % 4 <> 0,
+    i % 50 = 0,
+    CASE WHEN i % 9 IN (1, 2, 8) THEN 'cred-' || i END,
+    CASE WHEN i % 9 = 0 THEN 'OTP' END
+FROM generate_series(1, :rows) AS i;
+ANALYZE resident.resident_transaction;
+
+\set token '\'token-42\''
+\set partner '\'mpartner-default-resident\''
+
+\set phase '\'without indexes\''
+\ir resident_transaction_queries.sql
+
+\echo 'Creating indexes'
+\timing on
+\ir ../../../db_scripts/mosip_resident/ddl/resident_transaction_index.sql
+\timing off
+ANALYZE resident.resident_transaction;
+
+\set phase '\'with indexes\''
+\ir resident_transaction_queries.sql
+-----------------------------------------------------------------------------------------------------
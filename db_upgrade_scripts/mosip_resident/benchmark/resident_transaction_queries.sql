@@ -0,0 +1,63 @@
+-- -------------------------------------------------------------------------------------------------
+-- Hot resident_transaction queries issued by Resident Service, with sample bind values.
+-- Included twice by resident_transaction_benchmark.sql.
+-----------------------------------------------------------------------------------------------------
+\echo '==================== ' :phase ' ===================='
+
+\echo '---- service history, first page'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT * FROM resident.resident_transaction
+WHERE token_id = :token AND (olv_partner_id IS NULL OR olv_partner_id = :partner)
+ORDER BY pinned_status DESC, cr_dtimes DESC, event_id DESC LIMIT 11;
+
+\echo '---- service history, next page by page token'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT * FROM resident.resident_transaction
+WHERE token_id = :token AND (olv_partner_id IS NULL OR olv_partner_id = :partner)
+    AND (pinned_status < true OR (pinned_status = true AND (cr_dtimes < now()
+        OR (cr_dtimes = now() AND event_id < 'z'))))
+ORDER BY pinned_status DESC, cr_dtimes DESC, event_id DESC LIMIT 11;
+
+\echo '---- service history, first page, oldest first'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT * FROM resident.resident_transaction
+WHERE token_id = :token AND (olv_partner_id IS NULL OR olv_partner_id = :partner)
+ORDER BY pinned_status DESC, cr_dtimes ASC, event_id ASC LIMIT 11;
+
+\echo '---- service history, count'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT count(*) FROM resident.resident_transaction
+WHERE token_id = :token AND cr_dtimes BETWEEN now() - interval '90 days' AND now()
+    AND (olv_partner_id IS NULL OR olv_partner_id = :partner);
+
+\echo '---- unread notification count'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT count(*) FROM resident.resident_transaction
+WHERE token_id = :token AND read_status = false
+    AND request_type_code IN ('AUTHENTICATION_REQUEST', 'ORDER_PHYSICAL_CARD', 'GET_MY_ID', 'UPDATE_MY_UIN');
+
+\echo '---- credential status batch job'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT * FROM resident.resident_transaction
+WHERE status_code IN ('NEW', 'ISSUED', 'PRINTING')
+    AND request_type_code IN ('SHARE_CRED_WITH_PARTNER', 'ORDER_PHYSICAL_CARD', 'VID_CARD_DOWNLOAD')
+ORDER BY cr_dtimes ASC;
+
+\echo '---- by credential_request_id'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT * FROM resident.resident_transaction WHERE credential_request_id = 'cred-1000';
+
+\echo '---- latest by aid'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT * FROM resident.resident_transaction WHERE aid = 'aid-1002' ORDER BY cr_dtimes DESC LIMIT 1;
+
+\echo '---- latest by ref_id and status'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT * FROM resident.resident_transaction
+WHERE ref_id = 'ref-999' AND status_code = 'AUTHENTICATION_SUCCESSFUL' ORDER BY cr_dtimes DESC LIMIT 1;
+
+\echo '---- by request_trn_id and ref_id'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT * FROM resident.resident_transaction
+WHERE request_trn_id = 'trn-999' AND ref_id = 'ref-999' ORDER BY cr_dtimes DESC;
+-----------------------------------------------------------------------------------------------------
@@ -0,0 +1,24 @@
+-- -------------------------------------------------------------------------------------------------
+-- Database Name: mosip_resident
+-- Release Version 	: 1.2.0.2
+-- Purpose    		: Drops the resident_transaction indexes, callback key and lease columns and the
+--                    resident_notification_outbox table added in 1.2.0.2.
+-- Created Date		: October-2026
+-----------------------------------------------------------------------------------------------------
+\c mosip_resident
+
+DROP INDEX CONCURRENTLY IF EXISTS resident.idx_restrn_token_history;
+DROP INDEX CONCURRENTLY IF EXISTS resident.idx_restrn_token_unread;
+DROP INDEX CONCURRENTLY IF EXISTS resident.idx_restrn_status_request_type;
+DROP INDEX CONCURRENTLY IF EXISTS resident.idx_restrn_credential_request_id;
+DROP INDEX CONCURRENTLY IF EXISTS resident.idx_restrn_aid;
+DROP INDEX CONCURRENTLY IF EXISTS resident.idx_restrn_ref_id;
+DROP INDEX CONCURRENTLY IF EXISTS resident.idx_restrn_request_trn_id;
+DROP INDEX CONCURRENTLY IF EXISTS resident.idx_restrn_auth_callback_id;
+
+ALTER TABLE resident.resident_transaction DROP COLUMN IF EXISTS auth_callback_id;
+ALTER TABLE resident.resident_transaction DROP COLUMN IF EXISTS lease_owner;
+ALTER TABLE resident.resident_transaction DROP COLUMN IF EXISTS lease_expiry_dtimes;
+
+DROP TABLE IF EXISTS resident.resident_notification_outbox;
+-----------------------------------------------------------------------------------------------------
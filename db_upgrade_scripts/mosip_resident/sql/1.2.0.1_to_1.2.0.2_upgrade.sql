@@ -0,0 +1,82 @@
+-- -------------------------------------------------------------------------------------------------
+-- Database Name: mosip_resident
+-- Release Version 	: 1.2.0.2
+-- Purpose    		: Adds indexes for the resident_transaction hot lookups, the column that
+--                    keys authentication callbacks, the lease columns used by the credential
+--                    status batch job to claim records and the resident_notification_outbox table.
+-- Created Date		: October-2026
+--
+-- Indexes are built CONCURRENTLY so the table stays writable during the upgrade.
+-- IF NOT EXISTS keeps the script safe to re-run. The script uses \gexec, so it must be run with psql.
+-----------------------------------------------------------------------------------------------------
+\c mosip_resident
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_restrn_token_history
+    ON resident.resident_transaction (token_id, pinned_status DESC, cr_dtimes DESC, event_id DESC);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_restrn_token_unread
+    ON resident.resident_transaction (token_id, request_type_code) WHERE read_status = false;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_restrn_status_request_type
+    ON resident.resident_transaction (status_code, request_type_code, cr_dtimes);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_restrn_credential_request_id
+    ON resident.resident_transaction (credential_request_id) WHERE credential_request_id IS NOT NULL;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_restrn_aid
+    ON resident.resident_transaction (aid, cr_dtimes DESC) WHERE aid IS NOT NULL;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_restrn_ref_id
+    ON resident.resident_transaction (ref_id, status_code, cr_dtimes DESC) WHERE ref_id IS NOT NULL;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_restrn_request_trn_id
+    ON resident.resident_transaction (request_trn_id, cr_dtimes DESC) WHERE request_trn_id IS NOT NULL;
+
+-- Authentication callbacks are keyed by the WebSub event id in a new column. It starts empty, and only
+-- this release writes it, so the unique index is built without touching the request_trn_id of existing rows.
+-- Callbacks stored before the upgrade are not keyed; WebSub only redelivers recent ones.
+ALTER TABLE resident.resident_transaction ADD COLUMN IF NOT EXISTS auth_callback_id character varying(64);
+
+COMMENT ON COLUMN resident.resident_transaction.auth_callback_id IS 'The WebSub event id of a successful authentication callback';
+
+-- A failed CONCURRENTLY build leaves an INVALID index behind, which IF NOT EXISTS would then keep.
+SELECT 'DROP INDEX CONCURRENTLY resident.idx_restrn_auth_callback_id'
+  FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid JOIN pg_namespace n ON n.oid = c.relnamespace
+ WHERE n.nspname = 'resident' AND c.relname = 'idx_restrn_auth_callback_id' AND NOT i.indisvalid
+\gexec
+
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS idx_restrn_auth_callback_id
+    ON resident.resident_transaction (auth_callback_id) WHERE auth_callback_id IS NOT NULL;
+
+ALTER TABLE resident.resident_transaction ADD COLUMN IF NOT EXISTS lease_owner character varying(64);
+ALTER TABLE resident.resident_transaction ADD COLUMN IF NOT EXISTS lease_expiry_dtimes timestamp;
+
+COMMENT ON COLUMN resident.resident_transaction.lease_owner IS 'The batch job run that has claimed the record for processing';
+COMMENT ON COLUMN resident.resident_transaction.lease_expiry_dtimes IS 'The time after which the claim on the record lapses';
+
+ANALYZE resident.resident_transaction;
+
+CREATE TABLE IF NOT EXISTS resident.resident_notification_outbox(
+	id character varying(36) NOT NULL,
+	event_id character varying(64),
+	payload character varying NOT NULL,
+	status_code character varying(16) NOT NULL,
+	attempts smallint NOT NULL DEFAULT 0,
+	next_attempt_dtimes timestamp NOT NULL,
+	last_error character varying(512),
+	lease_owner character varying(64),
+	lease_expiry_dtimes timestamp,
+	cr_dtimes timestamp NOT NULL,
+	upd_dtimes timestamp,
+	CONSTRAINT pk_resnotif_id PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_resnotif_status_next_attempt
+	ON resident.resident_notification_outbox (status_code, next_attempt_dtimes);
+
+COMMENT ON TABLE resident.resident_notification_outbox IS 'This Table is used to queue the notifications that are delivered asynchronously.';
+
+GRANT SELECT, INSERT, TRUNCATE, REFERENCES, UPDATE, DELETE
+   ON resident.resident_notification_outbox
+   TO residentuser;
+-----------------------------------------------------------------------------------------------------
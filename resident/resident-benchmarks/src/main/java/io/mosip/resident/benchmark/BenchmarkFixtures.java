@@ -0,0 +1,120 @@
+package io.mosip.resident.benchmark;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.io.IOUtils;
+import org.mvel2.MVEL;
+import org.mvel2.integration.VariableResolverFactory;
+import org.mvel2.integration.impl.MapVariableResolverFactory;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.ResourcePropertySource;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+
+import io.mosip.kernel.idvalidator.rid.impl.RidValidatorImpl;
+import io.mosip.kernel.idvalidator.uin.impl.UinValidatorImpl;
+import io.mosip.kernel.idvalidator.vid.impl.VidValidatorImpl;
+import io.mosip.kernel.pdfgenerator.itext.impl.PDFGeneratorImpl;
+import io.mosip.resident.util.IdentityMapping;
+import io.mosip.resident.util.Utility;
+
+/**
+ * Fixtures shared by the benchmarks. Everything is read from the
+ * {@code fixtures} folder on the classpath, so runs need no config server,
+ * database or downstream service and always see the same data.
+ */
+final class BenchmarkFixtures {
+
+	static final String PROPERTIES = "fixtures/benchmark.properties";
+
+	static final String IDREPO_RESPONSE = "idrepo-response.json";
+
+	static final String IDENTITY_MAPPING = "identity-mapping.json";
+
+	static final String MVEL_FUNCTIONS = "identity-data-formatter.mvel";
+
+	static final String NOTIFICATION_TEMPLATE = "notification-template.txt";
+
+	static final String SERVICE_HISTORY_TEMPLATE = "service-history-template.html";
+
+	static final String UIN = "5075291708";
+
+	static final String VID = "2950236219764938";
+
+	static final String RID = "10001100010000120220125153010";
+
+	static final String EMAIL = "resident.user@mosip.io";
+
+	static final String PHONE = "9876543210";
+
+	private BenchmarkFixtures() {
+	}
+
+	static String read(String name) throws IOException {
+		try (InputStream in = BenchmarkFixtures.class.getClassLoader().getResourceAsStream("fixtures/" + name)) {
+			if (in == null) {
+				throw new FileNotFoundException("fixtures/" + name);
+			}
+			return IOUtils.toString(in, StandardCharsets.UTF_8);
+		}
+	}
+
+	/**
+	 * An object mapper configured like the one of the service: Spring Boot's
+	 * defaults plus Afterburner.
+	 */
+	static ObjectMapper objectMapper() {
+		return Jackson2ObjectMapperBuilder.json().modulesToInstall(new AfterburnerModule()).build();
+	}
+
+	/**
+	 * A context holding the kernel id validators and PDF generator, configured
+	 * from {@value #PROPERTIES}.
+	 */
+	static AnnotationConfigApplicationContext kernelContext() throws IOException {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		context.getEnvironment().getPropertySources()
+				.addFirst(new ResourcePropertySource(new ClassPathResource(PROPERTIES)));
+		context.register(UinValidatorImpl.class, VidValidatorImpl.class, RidValidatorImpl.class,
+				PDFGeneratorImpl.class);
+		context.refresh();
+		return context;
+	}
+
+	/**
+	 * The MVEL functions, evaluated the way {@code Config} builds the
+	 * {@code varres} factory.
+	 */
+	static VariableResolverFactory mvelFunctions() throws IOException {
+		VariableResolverFactory functionFactory = new MapVariableResolverFactory();
+		MVEL.eval(read(MVEL_FUNCTIONS), functionFactory);
+		return functionFactory;
+	}
+
+	static IdentityMapping identityMapping() throws IOException {
+		return IdentityMapping.parse(read(IDENTITY_MAPPING));
+	}
+
+	/**
+	 * A {@link Utility} with the masking functions and identity mapping set, as
+	 * it is after startup.
+	 */
+	static Utility utility() throws IOException {
+		Utility utility = new Utility();
+		ReflectionTestUtils.setField(utility, "functionFactory", mvelFunctions());
+		ReflectionTestUtils.setField(utility, "emailMaskFunction", "maskEmail");
+		ReflectionTestUtils.setField(utility, "phoneMaskFunction", "maskPhone");
+		ReflectionTestUtils.setField(utility, "maskingFunction", "convertToMaskDataFormat");
+		ReflectionTestUtils.setField(utility, "identityMapping", identityMapping());
+		ReflectionTestUtils.setField(utility, "objectMapper", objectMapper());
+		return utility;
+	}
+
+}
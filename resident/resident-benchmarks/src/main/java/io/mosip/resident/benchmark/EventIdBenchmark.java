@@ -0,0 +1,50 @@
+package io.mosip.resident.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.mosip.resident.util.Utility;
+
+/**
+ * {@link Utility#createEventId()}, which creates a {@code SecureRandom} per
+ * call, from one thread and from several threads at once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms1g", "-Xmx1g" })
+public class EventIdBenchmark {
+
+	private Utility utility;
+
+	@Setup
+	public void setUp() throws IOException {
+		utility = BenchmarkFixtures.utility();
+	}
+
+	@Benchmark
+	public String createEventId() {
+		return utility.createEventId();
+	}
+
+	@Benchmark
+	@Threads(4)
+	public String createEventIdConcurrently() {
+		return utility.createEventId();
+	}
+
+}
@@ -0,0 +1,67 @@
+package io.mosip.resident.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.mosip.resident.helper.DataKeyProvider;
+import io.mosip.resident.helper.DataKeyProvider.DataKey;
+import io.mosip.resident.helper.FieldCipher;
+
+/**
+ * Local encryption and decryption of a transaction's individual id with
+ * {@link FieldCipher}, the per-row cost of saving and loading resident
+ * transactions. The key manager is replaced by a wrapper that leaves keys
+ * as they are, so only the local work is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms1g", "-Xmx1g" })
+public class FieldCipherBenchmark {
+
+	private DataKeyProvider dataKeyProvider;
+
+	private DataKey dataKey;
+
+	private String encryptedId;
+
+	@Setup
+	public void setUp() {
+		dataKeyProvider = new DataKeyProvider("benchmark-data-keys", new DataKeyProvider.KeyWrapper() {
+			@Override
+			public String wrap(String encodedKey) {
+				return encodedKey;
+			}
+
+			@Override
+			public String unwrap(String wrappedKey) {
+				return wrappedKey;
+			}
+		}, Long.MAX_VALUE, 10, null);
+		dataKey = dataKeyProvider.getActiveKey();
+		encryptedId = FieldCipher.encrypt(BenchmarkFixtures.VID, dataKey);
+	}
+
+	@Benchmark
+	public String encrypt() {
+		return FieldCipher.encrypt(BenchmarkFixtures.VID, dataKey);
+	}
+
+	@Benchmark
+	public String decrypt() {
+		return FieldCipher.decrypt(encryptedId, dataKeyProvider);
+	}
+
+}
@@ -0,0 +1,111 @@
+package io.mosip.resident.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.mosip.resident.constant.ApiName;
+import io.mosip.resident.dto.IdResponseDTO1;
+import io.mosip.resident.exception.ApisResourceAccessException;
+import io.mosip.resident.exception.IdRepoAppException;
+import io.mosip.resident.util.ApiEndpointRegistry;
+import io.mosip.resident.util.JsonUtil;
+import io.mosip.resident.util.ResidentServiceRestClient;
+import io.mosip.resident.util.Utilities;
+
+/**
+ * {@link Utilities#retrieveIdrepoJson(String)} against an in-memory idrepo
+ * response, including decoding the response body. The conversion of the
+ * decoded identity to a {@link JSONObject} is also measured on its own,
+ * against the serialize and parse round trip it replaced; run with
+ * {@code -prof gc} to compare the allocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms1g", "-Xmx1g" })
+public class IdrepoJsonBenchmark {
+
+	private Utilities utilities;
+
+	private ObjectMapper objectMapper;
+
+	private Object identity;
+
+	@Setup
+	public void setUp() throws IOException {
+		objectMapper = BenchmarkFixtures.objectMapper();
+		String idrepoResponse = BenchmarkFixtures.read(BenchmarkFixtures.IDREPO_RESPONSE);
+		byte[] responseBody = idrepoResponse.getBytes(StandardCharsets.UTF_8);
+		ClientHttpRequestFactory requestFactory = (uri, httpMethod) -> {
+			MockClientHttpRequest request = new MockClientHttpRequest(httpMethod, uri);
+			MockClientHttpResponse response = new MockClientHttpResponse(responseBody, HttpStatus.OK);
+			response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+			request.setResponse(response);
+			return request;
+		};
+		RestTemplate restTemplate = new RestTemplate(requestFactory);
+		restTemplate.setMessageConverters(List.of(new MappingJackson2HttpMessageConverter(objectMapper)));
+
+		MockEnvironment environment = new MockEnvironment();
+		environment.setProperty(ApiName.IDREPOGETIDBYUIN.name(), "http://localhost/idrepository/v1/identity/idvid");
+		ApiEndpointRegistry apiEndpointRegistry = new ApiEndpointRegistry();
+		ReflectionTestUtils.setField(apiEndpointRegistry, "environment", environment);
+		ReflectionTestUtils.setField(apiEndpointRegistry, "mandatoryApiNames", ApiName.IDREPOGETIDBYUIN.name());
+		apiEndpointRegistry.init();
+
+		ResidentServiceRestClient restClient = new ResidentServiceRestClient(restTemplate);
+		ReflectionTestUtils.setField(restClient, "environment", environment);
+		ReflectionTestUtils.setField(restClient, "apiEndpointRegistry", apiEndpointRegistry);
+
+		utilities = new Utilities();
+		ReflectionTestUtils.setField(utilities, "residentServiceRestClient", restClient);
+		ReflectionTestUtils.setField(utilities, "objMapper", objectMapper);
+
+		identity = objectMapper.readValue(idrepoResponse, IdResponseDTO1.class).getResponse().getIdentity();
+	}
+
+	@Benchmark
+	public JSONObject retrieveIdrepoJson() throws ApisResourceAccessException, IdRepoAppException, IOException {
+		return utilities.retrieveIdrepoJson(BenchmarkFixtures.UIN);
+	}
+
+	@Benchmark
+	public JSONObject identityToJSONObject() {
+		return JsonUtil.toJSONObject(identity);
+	}
+
+	@Benchmark
+	public JSONObject identityRoundTrip() throws IOException, ParseException {
+		return (JSONObject) new JSONParser().parse(objectMapper.writeValueAsString(identity));
+	}
+
+}
@@ -0,0 +1,60 @@
+package io.mosip.resident.benchmark;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.mosip.resident.dto.IdResponseDTO1;
+import io.mosip.resident.exception.ResidentServiceCheckedException;
+import io.mosip.resident.service.impl.IdentityServiceImpl;
+import io.mosip.resident.util.JsonUtil;
+
+/**
+ * {@code IdentityServiceImpl.getMappingValue}, through the public
+ * {@link IdentityServiceImpl#getNameForNotification(Map, String)}: the name
+ * mapping has several attributes, of which the identity has one in two
+ * languages.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms1g", "-Xmx1g" })
+public class MappingValueBenchmark {
+
+	@Param({ "eng", "ara" })
+	private String langCode;
+
+	private IdentityServiceImpl identityService;
+
+	private Map<?, ?> identity;
+
+	@Setup
+	public void setUp() throws IOException {
+		identityService = new IdentityServiceImpl();
+		ReflectionTestUtils.setField(identityService, "utility", BenchmarkFixtures.utility());
+		identity = JsonUtil.toJSONObject(BenchmarkFixtures.objectMapper()
+				.readValue(BenchmarkFixtures.read(BenchmarkFixtures.IDREPO_RESPONSE), IdResponseDTO1.class)
+				.getResponse().getIdentity());
+	}
+
+	@Benchmark
+	public String nameForNotification() throws ResidentServiceCheckedException, IOException {
+		return identityService.getNameForNotification(identity, langCode);
+	}
+
+}
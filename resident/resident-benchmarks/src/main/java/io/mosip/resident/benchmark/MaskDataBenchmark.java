@@ -0,0 +1,71 @@
+package io.mosip.resident.benchmark;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.mvel2.MVEL;
+import org.mvel2.integration.VariableResolverFactory;
+import org.mvel2.integration.impl.MapVariableResolverFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.mosip.resident.util.Utility;
+
+/**
+ * {@link Utility#maskData(Object, String)} with the MVEL expressions compiled
+ * once, against evaluating the expression on every call as the masking used
+ * to.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms1g", "-Xmx1g" })
+public class MaskDataBenchmark {
+
+	private Utility utility;
+
+	private VariableResolverFactory functionFactory;
+
+	@Setup
+	public void setUp() throws IOException {
+		utility = BenchmarkFixtures.utility();
+		functionFactory = BenchmarkFixtures.mvelFunctions();
+	}
+
+	@Benchmark
+	public String maskEmail() {
+		return utility.maskEmail(BenchmarkFixtures.EMAIL);
+	}
+
+	@Benchmark
+	public String maskPhone() {
+		return utility.maskPhone(BenchmarkFixtures.PHONE);
+	}
+
+	@Benchmark
+	public String maskData() {
+		return utility.convertToMaskDataFormat(BenchmarkFixtures.UIN);
+	}
+
+	@Benchmark
+	public String maskEmailEvaluatedPerCall() {
+		Map<String, Object> context = new HashMap<>(2);
+		context.put("value", BenchmarkFixtures.EMAIL);
+		VariableResolverFactory myVarFactory = new MapVariableResolverFactory(context);
+		myVarFactory.setNextFactory(functionFactory);
+		return MVEL.eval("maskEmail(value);", context, myVarFactory, String.class);
+	}
+
+}
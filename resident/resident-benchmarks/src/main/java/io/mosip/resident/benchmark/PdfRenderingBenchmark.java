@@ -0,0 +1,91 @@
+package io.mosip.resident.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.mosip.kernel.core.pdfgenerator.spi.PDFGenerator;
+import io.mosip.resident.exception.ResidentServiceCheckedException;
+import io.mosip.resident.util.VelocityTemplateRegistry;
+
+/**
+ * Rendering a merged service history template to PDF with the kernel iText
+ * {@link PDFGenerator}, as the service history download does before the PDF
+ * is signed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = { "-Xms1g", "-Xmx1g" })
+public class PdfRenderingBenchmark {
+
+	@Param({ "10", "100" })
+	private int rows;
+
+	private AnnotationConfigApplicationContext context;
+
+	private PDFGenerator pdfGenerator;
+
+	private byte[] html;
+
+	@Setup
+	public void setUp() throws IOException, ResidentServiceCheckedException {
+		context = BenchmarkFixtures.kernelContext();
+		pdfGenerator = context.getBean(PDFGenerator.class);
+
+		VelocityTemplateRegistry templateRegistry = new VelocityTemplateRegistry();
+		ReflectionTestUtils.setField(templateRegistry, "maxSize", 1);
+		templateRegistry.init();
+		Map<String, Object> values = new HashMap<>();
+		values.put("name", "Test Resident");
+		values.put("date", "25-01-2022");
+		values.put("time", "15:30:10");
+		List<Map<String, Object>> historyRows = new ArrayList<>(rows);
+		for (int i = 0; i < rows; i++) {
+			Map<String, Object> row = new HashMap<>();
+			row.put("eventId", String.valueOf(1000_0000_0000_0000L + i));
+			row.put("description", "Request to download a personalized card " + i);
+			row.put("status", i % 3 == 0 ? "Failed" : "Success");
+			row.put("date", "25-01-2022 15:30:10");
+			historyRows.add(row);
+		}
+		values.put("rows", historyRows);
+		html = templateRegistry.merge(BenchmarkFixtures.read(BenchmarkFixtures.SERVICE_HISTORY_TEMPLATE), values)
+				.getBytes(StandardCharsets.UTF_8);
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public int renderPdf() throws IOException {
+		ByteArrayOutputStream pdf = (ByteArrayOutputStream) pdfGenerator.generate(new ByteArrayInputStream(html));
+		return pdf.size();
+	}
+
+}
@@ -0,0 +1,101 @@
+package io.mosip.resident.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.mosip.kernel.core.idvalidator.spi.RidValidator;
+import io.mosip.kernel.core.idvalidator.spi.UinValidator;
+import io.mosip.kernel.core.idvalidator.spi.VidValidator;
+import io.mosip.resident.validator.RequestValidator;
+
+/**
+ * Id, email and phone validation of {@link RequestValidator} with the kernel
+ * id validators. {@code validateUinOfVid} is the failing UIN check that every
+ * VID goes through when the id type is detected. The email check is also
+ * measured with a precompiled pattern, as the validator compiles the regex on
+ * every call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms1g", "-Xmx1g" })
+public class RequestValidatorBenchmark {
+
+	private AnnotationConfigApplicationContext context;
+
+	private RequestValidator requestValidator;
+
+	private Pattern emailPattern;
+
+	@Setup
+	public void setUp() throws IOException {
+		context = BenchmarkFixtures.kernelContext();
+		String emailRegex = context.getEnvironment().getProperty("mosip.id.validation.identity.email");
+		requestValidator = new RequestValidator();
+		ReflectionTestUtils.setField(requestValidator, "uinValidator", context.getBean(UinValidator.class));
+		ReflectionTestUtils.setField(requestValidator, "vidValidator", context.getBean(VidValidator.class));
+		ReflectionTestUtils.setField(requestValidator, "ridValidator", context.getBean(RidValidator.class));
+		ReflectionTestUtils.setField(requestValidator, "phoneRegex",
+				context.getEnvironment().getProperty("mosip.id.validation.identity.phone"));
+		ReflectionTestUtils.setField(requestValidator, "emailRegex", emailRegex);
+		emailPattern = Pattern.compile(emailRegex);
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public boolean validateUin() {
+		return requestValidator.validateUin(BenchmarkFixtures.UIN);
+	}
+
+	@Benchmark
+	public boolean validateVid() {
+		return requestValidator.validateVid(BenchmarkFixtures.VID);
+	}
+
+	@Benchmark
+	public boolean validateRid() {
+		return requestValidator.validateRid(BenchmarkFixtures.RID);
+	}
+
+	@Benchmark
+	public boolean validateUinOfVid() {
+		return requestValidator.validateUin(BenchmarkFixtures.VID);
+	}
+
+	@Benchmark
+	public boolean emailValidator() {
+		return requestValidator.emailValidator(BenchmarkFixtures.EMAIL);
+	}
+
+	@Benchmark
+	public boolean phoneValidator() {
+		return requestValidator.phoneValidator(BenchmarkFixtures.PHONE);
+	}
+
+	@Benchmark
+	public boolean emailPatternPrecompiled() {
+		return emailPattern.matcher(BenchmarkFixtures.EMAIL).matches();
+	}
+
+}
@@ -0,0 +1,44 @@
+package io.mosip.resident.benchmark;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.openjdk.jmh.Main;
+
+/**
+ * Runs the benchmarks with the JMH command line. Unless the arguments say
+ * otherwise, results are written as JSON to a file named after the start
+ * time, e.g. {@code jmh-result-20220125-153010.json}, so that runs can be
+ * kept side by side and compared.
+ */
+public final class ResidentBenchmarks {
+
+	private static final String RESULT_FORMAT = "-rf";
+
+	private static final String RESULT_FILE = "-rff";
+
+	private static final DateTimeFormatter RESULT_FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+	private ResidentBenchmarks() {
+	}
+
+	public static void main(String[] args) throws IOException {
+		List<String> arguments = new ArrayList<>();
+		List<String> given = Arrays.asList(args);
+		if (!given.contains(RESULT_FORMAT)) {
+			arguments.add(RESULT_FORMAT);
+			arguments.add("json");
+		}
+		if (!given.contains(RESULT_FILE)) {
+			arguments.add(RESULT_FILE);
+			arguments.add("jmh-result-" + RESULT_FILE_TIMESTAMP.format(LocalDateTime.now()) + ".json");
+		}
+		arguments.addAll(given);
+		Main.main(arguments.toArray(new String[0]));
+	}
+
+}
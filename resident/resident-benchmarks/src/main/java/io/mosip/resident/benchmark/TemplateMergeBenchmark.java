@@ -0,0 +1,94 @@
+package io.mosip.resident.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.velocity.app.VelocityEngine;
+import org.apache.velocity.runtime.RuntimeConstants;
+import org.apache.velocity.runtime.log.NullLogChute;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.mosip.kernel.core.templatemanager.spi.TemplateManager;
+import io.mosip.kernel.templatemanager.velocity.impl.TemplateManagerImpl;
+import io.mosip.resident.exception.ResidentServiceCheckedException;
+import io.mosip.resident.util.VelocityTemplateRegistry;
+
+/**
+ * Merging a notification template through the kernel {@link TemplateManager},
+ * which parses the template text on every merge, against the compiled
+ * templates of {@link VelocityTemplateRegistry}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms1g", "-Xmx1g" })
+public class TemplateMergeBenchmark {
+
+	private TemplateManager templateManager;
+
+	private VelocityTemplateRegistry templateRegistry;
+
+	private String templateText;
+
+	private Map<String, Object> values;
+
+	@Setup
+	public void setUp() throws IOException {
+		Properties properties = new Properties();
+		properties.put(RuntimeConstants.INPUT_ENCODING, StandardCharsets.UTF_8.name());
+		properties.put(RuntimeConstants.OUTPUT_ENCODING, StandardCharsets.UTF_8.name());
+		properties.put(RuntimeConstants.ENCODING_DEFAULT, StandardCharsets.UTF_8.name());
+		properties.put(RuntimeConstants.RUNTIME_LOG_LOGSYSTEM_CLASS, NullLogChute.class.getName());
+		VelocityEngine engine = new VelocityEngine(properties);
+		engine.init();
+		templateManager = new TemplateManagerImpl(engine);
+
+		templateRegistry = new VelocityTemplateRegistry();
+		ReflectionTestUtils.setField(templateRegistry, "maxSize", 500);
+		templateRegistry.init();
+
+		templateText = BenchmarkFixtures.read(BenchmarkFixtures.NOTIFICATION_TEMPLATE);
+		values = new HashMap<>();
+		values.put("name", "Test Resident");
+		values.put("eventId", "1234567890123456");
+		values.put("purpose", "download a personalized card");
+		values.put("date", "25-01-2022");
+		values.put("time", "15:30:10");
+		values.put("status", "in progress");
+		values.put("trackServiceUrl", "https://resident.mosip.io/track-service-request?eid=1234567890123456");
+		values.put("attributes", List.of("fullName", "dateOfBirth", "gender", "addressLine1", "email", "phone"));
+	}
+
+	@Benchmark
+	public String templateManagerMerge() throws IOException {
+		InputStream merged = templateManager
+				.merge(new ByteArrayInputStream(templateText.getBytes(StandardCharsets.UTF_8)), values);
+		return IOUtils.toString(merged, StandardCharsets.UTF_8);
+	}
+
+	@Benchmark
+	public String templateRegistryMerge() throws ResidentServiceCheckedException {
+		return templateRegistry.merge(templateText, values);
+	}
+
+}
@@ -0,0 +1,177 @@
+package io.mosip.resident.loadtest;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Runs a {@code batch} scenario: seeds {@code rows} resident transactions in
+ * the given request type and status, each with a credential request id, and
+ * waits until the credential status batch job of the running resident service
+ * has moved all of them on, or until {@code timeoutSeconds}.
+ * <p>
+ * The latency of a row is the time from seeding to its last update by the
+ * job, and the throughput is the rows processed per second from seeding to
+ * the last update. The seeded rows are recognised by their event id prefix
+ * and deleted before and, unless {@code keepRows} is set, after the run.
+ */
+final class BatchScenarioRunner {
+
+	private static final String TABLE = "resident.resident_transaction";
+
+	private static final int INSERT_BATCH_SIZE = 500;
+
+	private final String jdbcUrl;
+
+	private final String user;
+
+	private final String password;
+
+	private final Supplier<Map<String, Long>> outboundCounters;
+
+	BatchScenarioRunner(String jdbcUrl, String user, String password, Supplier<Map<String, Long>> outboundCounters) {
+		this.jdbcUrl = jdbcUrl;
+		this.user = user;
+		this.password = password;
+		this.outboundCounters = outboundCounters;
+	}
+
+	Map<String, Object> run(Scenario scenario) throws SQLException, InterruptedException {
+		JsonNode settings = scenario.definition;
+		int rows = settings.path("rows").asInt(1000);
+		String requestType = settings.path("requestType").asText("VID_CARD_DOWNLOAD");
+		String status = settings.path("status").asText("NEW");
+		String individualId = settings.path("individualId").asText("5075291708");
+		String eventIdPrefix = settings.path("eventIdPrefix").asText("LT");
+		long timeoutNanos = TimeUnit.SECONDS.toNanos(settings.path("timeoutSeconds").asLong(600));
+		long pollMillis = settings.path("pollMillis").asLong(500);
+		String eventIds = eventIdPrefix + "%";
+
+		try (Connection connection = DriverManager.getConnection(jdbcUrl, user, password)) {
+			delete(connection, eventIds);
+			Map<String, Long> before = outboundCounters.get();
+			long start = System.nanoTime();
+			seed(connection, rows, requestType, status, individualId, eventIdPrefix);
+			long pending = rows;
+			while (pending > 0 && System.nanoTime() - start < timeoutNanos) {
+				TimeUnit.MILLISECONDS.sleep(pollMillis);
+				pending = pending(connection, eventIds, status);
+			}
+			Map<String, Long> after = outboundCounters.get();
+
+			LatencyRecorder latencies = new LatencyRecorder();
+			long maxMillis = 0;
+			try (PreparedStatement statement = connection.prepareStatement("SELECT status_code, "
+					+ "extract(epoch from (upd_dtimes - cr_dtimes)) * 1000 FROM " + TABLE
+					+ " WHERE event_id LIKE ?")) {
+				statement.setString(1, eventIds);
+				try (ResultSet result = statement.executeQuery()) {
+					while (result.next()) {
+						String rowStatus = result.getString(1);
+						double millis = result.getDouble(2);
+						if (result.wasNull() || status.equals(rowStatus)) {
+							latencies.recordError();
+						} else {
+							latencies.record(TimeUnit.MICROSECONDS.toNanos(Math.round(millis * 1000)));
+							maxMillis = Math.max(maxMillis, Math.round(millis));
+						}
+					}
+				}
+			}
+			Map<String, Long> statuses = statuses(connection, eventIds);
+			if (!settings.path("keepRows").asBoolean(false)) {
+				delete(connection, eventIds);
+			}
+
+			double seconds = Math.max(maxMillis, 1) / 1000.0;
+			Map<String, Object> summary = new LinkedHashMap<>();
+			summary.put("scenario", scenario.name);
+			summary.put("type", scenario.type);
+			summary.put("rows", rows);
+			summary.put("measuredSeconds", ScenarioRunner.round(seconds));
+			summary.put("iterations", latencies.count());
+			summary.put("errors", latencies.errors());
+			summary.put("throughputPerSecond", ScenarioRunner.round(latencies.count() / seconds));
+			summary.put("iteration", latencies.summary());
+			summary.put("statuses", statuses);
+			summary.put("outboundCalls", OutboundCalls.delta(before, after, latencies.count()));
+			return summary;
+		}
+	}
+
+	private static void seed(Connection connection, int rows, String requestType, String status, String individualId,
+			String eventIdPrefix) throws SQLException {
+		Timestamp now = Timestamp.valueOf(LocalDateTime.now(ZoneOffset.UTC));
+		try (PreparedStatement statement = connection.prepareStatement("INSERT INTO " + TABLE
+				+ " (event_id, request_trn_id, request_dtimes, response_dtime, request_type_code, request_summary,"
+				+ " status_code, token_id, cr_by, cr_dtimes, credential_request_id, individual_id)"
+				+ " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+			for (int row = 0; row < rows; row++) {
+				statement.setString(1, eventIdPrefix + String.format("%014d", row));
+				statement.setString(2, UUID.randomUUID().toString());
+				statement.setTimestamp(3, now);
+				statement.setTimestamp(4, now);
+				statement.setString(5, requestType);
+				statement.setString(6, "load test");
+				statement.setString(7, status);
+				statement.setString(8, "loadtest");
+				statement.setString(9, "loadtest");
+				statement.setTimestamp(10, now);
+				statement.setString(11, UUID.randomUUID().toString());
+				statement.setString(12, individualId);
+				statement.addBatch();
+				if ((row + 1) % INSERT_BATCH_SIZE == 0) {
+					statement.executeBatch();
+				}
+			}
+			statement.executeBatch();
+		}
+	}
+
+	private static long pending(Connection connection, String eventIds, String status) throws SQLException {
+		try (PreparedStatement statement = connection
+				.prepareStatement("SELECT count(*) FROM " + TABLE + " WHERE event_id LIKE ? AND status_code = ?")) {
+			statement.setString(1, eventIds);
+			statement.setString(2, status);
+			try (ResultSet result = statement.executeQuery()) {
+				result.next();
+				return result.getLong(1);
+			}
+		}
+	}
+
+	private static Map<String, Long> statuses(Connection connection, String eventIds) throws SQLException {
+		Map<String, Long> statuses = new LinkedHashMap<>();
+		try (PreparedStatement statement = connection.prepareStatement("SELECT status_code, count(*) FROM " + TABLE
+				+ " WHERE event_id LIKE ? GROUP BY status_code ORDER BY status_code")) {
+			statement.setString(1, eventIds);
+			try (ResultSet result = statement.executeQuery()) {
+				while (result.next()) {
+					statuses.put(result.getString(1), result.getLong(2));
+				}
+			}
+		}
+		return statuses;
+	}
+
+	private static void delete(Connection connection, String eventIds) throws SQLException {
+		try (PreparedStatement statement = connection
+				.prepareStatement("DELETE FROM " + TABLE + " WHERE event_id LIKE ?")) {
+			statement.setString(1, eventIds);
+			statement.executeUpdate();
+		}
+	}
+
+}
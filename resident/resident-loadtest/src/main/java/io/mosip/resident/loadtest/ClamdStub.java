@@ -0,0 +1,151 @@
+package io.mosip.resident.loadtest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Stands in for the ClamAV daemon the document upload scans files with. It
+ * speaks the part of the clamd protocol the scanner client uses:
+ * {@code PING}, {@code VERSION}, {@code VERSIONCOMMANDS} and
+ * {@code INSTREAM}, one command per connection. Scans take the configured
+ * latency and report the configured share of streams as infected.
+ */
+final class ClamdStub implements Closeable {
+
+	static final String NAME = "clamav";
+
+	private static final String VERSION = "ClamAV 0.103.8/26000/Mon Jan 1 00:00:00 2024";
+
+	private static final String COMMANDS = "| COMMANDS: SCAN QUIT RELOAD PING CONTSCAN VERSIONCOMMANDS VERSION "
+			+ "END SHUTDOWN MULTISCAN FILDES STATS IDSESSION INSTREAM DETSTATSCLEAN DETSTATS EICAR ALLMATCHSCAN";
+
+	private final ServerSocket serverSocket;
+
+	private final ExecutorService executor;
+
+	private final long latencyMillis;
+
+	private final double infectedRate;
+
+	private final Random random;
+
+	final LongAdder scans = new LongAdder();
+
+	final LongAdder infected = new LongAdder();
+
+	ClamdStub(int port, long latencyMillis, double infectedRate, long seed) throws IOException {
+		this.latencyMillis = latencyMillis;
+		this.infectedRate = infectedRate;
+		this.random = new Random(seed);
+		this.serverSocket = new ServerSocket(port, 1024);
+		this.executor = Executors.newCachedThreadPool(runnable -> {
+			Thread thread = new Thread(runnable, "clamd-stub");
+			thread.setDaemon(true);
+			return thread;
+		});
+		executor.execute(this::accept);
+	}
+
+	@Override
+	public void close() throws IOException {
+		serverSocket.close();
+		executor.shutdownNow();
+	}
+
+	private void accept() {
+		while (!serverSocket.isClosed()) {
+			try {
+				Socket socket = serverSocket.accept();
+				executor.execute(() -> serve(socket));
+			} catch (IOException e) {
+				// closed
+			}
+		}
+	}
+
+	private void serve(Socket socket) {
+		try (socket; DataInputStream in = new DataInputStream(socket.getInputStream());
+				OutputStream out = socket.getOutputStream()) {
+			String command = readCommand(in);
+			String reply;
+			switch (command) {
+			case "PING":
+				reply = "PONG";
+				break;
+			case "VERSION":
+				reply = VERSION;
+				break;
+			case "VERSIONCOMMANDS":
+				reply = VERSION + COMMANDS;
+				break;
+			case "INSTREAM":
+				reply = scan(in);
+				break;
+			default:
+				reply = "UNKNOWN COMMAND";
+			}
+			out.write((reply + "\0").getBytes(StandardCharsets.US_ASCII));
+			out.flush();
+		} catch (SocketException e) {
+			// the client went away
+		} catch (IOException e) {
+			System.err.println("ClamAV stub: " + e.getMessage());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Reads a command sent as {@code zCOMMAND\0} or {@code nCOMMAND\n}.
+	 */
+	private static String readCommand(DataInputStream in) throws IOException {
+		int prefix = in.read();
+		int terminator = prefix == 'n' ? '\n' : '\0';
+		ByteArrayOutputStream command = new ByteArrayOutputStream();
+		int next;
+		while ((next = in.read()) >= 0 && next != terminator) {
+			command.write(next);
+		}
+		return command.toString(StandardCharsets.US_ASCII);
+	}
+
+	/**
+	 * Drains the chunks of the stream, each prefixed with its length, up to the
+	 * empty chunk that ends it.
+	 */
+	private String scan(DataInputStream in) throws IOException, InterruptedException {
+		byte[] buffer = new byte[8192];
+		int length;
+		while ((length = in.readInt()) > 0) {
+			while (length > 0) {
+				int read = in.read(buffer, 0, Math.min(length, buffer.length));
+				if (read < 0) {
+					throw new IOException("Stream ended inside a chunk");
+				}
+				length -= read;
+			}
+		}
+		scans.increment();
+		if (latencyMillis > 0) {
+			TimeUnit.MILLISECONDS.sleep(latencyMillis);
+		}
+		if (infectedRate > 0 && random.nextDouble() < infectedRate) {
+			infected.increment();
+			return "stream: Eicar-Test-Signature FOUND";
+		}
+		return "stream: OK";
+	}
+
+}
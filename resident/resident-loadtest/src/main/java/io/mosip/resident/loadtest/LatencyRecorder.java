@@ -0,0 +1,74 @@
+package io.mosip.resident.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects latency samples of one step of a scenario and summarises them with
+ * nearest-rank percentiles. Every sample is kept, so the percentiles are
+ * exact; a run of a few million requests needs a few tens of megabytes.
+ */
+final class LatencyRecorder {
+
+	private long[] samples = new long[1024];
+
+	private int count;
+
+	private long errors;
+
+	synchronized void record(long nanos) {
+		if (count == samples.length) {
+			samples = Arrays.copyOf(samples, count * 2);
+		}
+		samples[count++] = nanos;
+	}
+
+	synchronized void recordError() {
+		errors++;
+	}
+
+	synchronized int count() {
+		return count;
+	}
+
+	synchronized long errors() {
+		return errors;
+	}
+
+	/**
+	 * Returns the count, errors and the p50, p90, p99 and max latencies in
+	 * milliseconds.
+	 */
+	Map<String, Object> summary() {
+		long[] sorted;
+		long errorCount;
+		synchronized (this) {
+			sorted = Arrays.copyOf(samples, count);
+			errorCount = errors;
+		}
+		Arrays.sort(sorted);
+		Map<String, Object> summary = new LinkedHashMap<>();
+		summary.put("count", sorted.length);
+		summary.put("errors", errorCount);
+		summary.put("p50Millis", millis(percentile(sorted, 50)));
+		summary.put("p90Millis", millis(percentile(sorted, 90)));
+		summary.put("p99Millis", millis(percentile(sorted, 99)));
+		summary.put("maxMillis", millis(sorted.length == 0 ? 0 : sorted[sorted.length - 1]));
+		return summary;
+	}
+
+	static long percentile(long[] sorted, double percentile) {
+		if (sorted.length == 0) {
+			return 0;
+		}
+		int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+		return sorted[Math.max(rank, 1) - 1];
+	}
+
+	private static double millis(long nanos) {
+		return Math.round(nanos / (double) TimeUnit.MILLISECONDS.toNanos(1) * 100) / 100.0;
+	}
+
+}
@@ -0,0 +1,193 @@
+package io.mosip.resident.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Starts the stand-ins for every downstream service of the resident service,
+ * runs the load scenarios against a resident service configured to use them
+ * and reports throughput, latency percentiles and outbound calls per
+ * scenario.
+ * <p>
+ * The settings are read from {@code loadtest.properties}, then from the file
+ * given with {@code --config}, then from system properties with the same
+ * prefixes, so a single stub can be slowed down or made to fail with, for
+ * example, {@code -Dstub.idrepo-identity.latency.millis=200}. Options:
+ * <ul>
+ * <li>{@code --config <file>}: properties overriding the bundled ones</li>
+ * <li>{@code --scenarios <names>}: the scenarios to run, comma separated</li>
+ * <li>{@code --report <file>}: where to write the JSON report</li>
+ * <li>{@code --stubs-only}: only start the stubs, for manual or external
+ * testing, and print their counters on exit</li>
+ * </ul>
+ */
+public final class LoadTestHarness {
+
+	private static final List<String> PREFIXES = Arrays.asList("stub.", "clamav.", "token.", "target.", "db.",
+			"scenarios");
+
+	private static final DateTimeFormatter REPORT_FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+	private LoadTestHarness() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		Map<String, String> options = options(args);
+		Properties properties = Resources.properties("loadtest.properties");
+		if (options.containsKey("--config")) {
+			properties.putAll(Resources.properties(options.get("--config")));
+		}
+		for (String key : System.getProperties().stringPropertyNames()) {
+			if (PREFIXES.stream().anyMatch(key::startsWith)) {
+				properties.setProperty(key, System.getProperty(key));
+			}
+		}
+		ObjectMapper objectMapper = new ObjectMapper();
+		long seed = Long.parseLong(properties.getProperty("stub.seed", "42"));
+
+		TokenIssuer tokenIssuer = new TokenIssuer(objectMapper, properties);
+		int stubPort = Integer.parseInt(properties.getProperty("stub.port"));
+		int clamavPort = Integer.parseInt(properties.getProperty("clamav.port"));
+		try (StubServer stubServer = new StubServer(stubPort, StubRoute.fromProperties(properties), tokenIssuer,
+				objectMapper, seed);
+				ClamdStub clamdStub = new ClamdStub(clamavPort,
+						Long.parseLong(properties.getProperty("clamav.latency.millis", "0")),
+						Double.parseDouble(properties.getProperty("clamav.infected.rate", "0")), seed)) {
+			System.out.println("Stubs listening on http://localhost:" + stubPort + ", ClamAV stub on port " + clamavPort);
+			Supplier<Map<String, Long>> counters = () -> {
+				Map<String, Long> snapshot = stubServer.counters();
+				snapshot.put(ClamdStub.NAME, clamdStub.scans.sum());
+				snapshot.put(ClamdStub.NAME + ".errors", clamdStub.infected.sum());
+				return snapshot;
+			};
+			if (options.containsKey("--stubs-only")) {
+				serveUntilStopped(counters);
+				return;
+			}
+			run(properties, options, objectMapper, counters);
+		}
+	}
+
+	private static void run(Properties properties, Map<String, String> options, ObjectMapper objectMapper,
+			Supplier<Map<String, Long>> counters)
+			throws IOException, InterruptedException, SQLException {
+		HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+				.followRedirects(HttpClient.Redirect.NEVER).connectTimeout(Duration.ofSeconds(10)).build();
+		awaitTarget(httpClient, properties.getProperty("target.health-url"),
+				Long.parseLong(properties.getProperty("target.wait.seconds", "300")));
+
+		ScenarioRunner scenarioRunner = new ScenarioRunner(httpClient, objectMapper,
+				properties.getProperty("target.base-url"),
+				Duration.ofSeconds(Long.parseLong(properties.getProperty("target.request.timeout.seconds", "60"))),
+				counters);
+		BatchScenarioRunner batchScenarioRunner = new BatchScenarioRunner(properties.getProperty("db.url"),
+				properties.getProperty("db.user"), properties.getProperty("db.password"), counters);
+
+		Map<String, Object> settings = new LinkedHashMap<>();
+		settings.put("startedAt", LocalDateTime.now().toString());
+		settings.put("target", properties.getProperty("target.base-url"));
+		settings.put("settings", settings(properties));
+		LoadTestReport report = new LoadTestReport(settings);
+
+		String scenarios = options.getOrDefault("--scenarios", properties.getProperty("scenarios"));
+		for (String name : scenarios.split(",")) {
+			Scenario scenario = Scenario.load(name.trim(), objectMapper);
+			System.out.println("Running " + scenario.name + ": " + scenario.description);
+			if (Scenario.TYPE_BATCH.equals(scenario.type)) {
+				report.add(batchScenarioRunner.run(scenario));
+			} else {
+				Scenario setup = scenario.setup == null ? null : Scenario.load(scenario.setup, objectMapper);
+				report.add(scenarioRunner.run(scenario, setup));
+			}
+		}
+
+		report.print(System.out);
+		Path reportFile = Paths.get(options.getOrDefault("--report",
+				"loadtest-report-" + REPORT_FILE_TIMESTAMP.format(LocalDateTime.now()) + ".json"));
+		report.write(reportFile, objectMapper);
+		System.out.println();
+		System.out.println("Report written to " + reportFile.toAbsolutePath());
+	}
+
+	private static void awaitTarget(HttpClient httpClient, String healthUrl, long waitSeconds)
+			throws IOException, InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(waitSeconds);
+		HttpRequest request = HttpRequest.newBuilder(URI.create(healthUrl)).timeout(Duration.ofSeconds(10)).build();
+		System.out.println("Waiting for " + healthUrl);
+		while (true) {
+			try {
+				if (httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+					return;
+				}
+			} catch (IOException e) {
+				// not up yet
+			}
+			if (System.nanoTime() > deadline) {
+				throw new IOException("Resident service not healthy at " + healthUrl + " after " + waitSeconds + "s");
+			}
+			TimeUnit.SECONDS.sleep(2);
+		}
+	}
+
+	private static void serveUntilStopped(Supplier<Map<String, Long>> counters) throws InterruptedException {
+		CountDownLatch stopped = new CountDownLatch(1);
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+			counters.get().forEach((stub, calls) -> {
+				if (calls > 0) {
+					System.out.printf("%-40s %10d%n", stub, calls);
+				}
+			});
+			stopped.countDown();
+		}));
+		System.out.println("Serving stubs only; stop with Ctrl+C to print the calls made.");
+		stopped.await();
+	}
+
+	/**
+	 * Returns the stub, ClamAV and token settings of the run, sorted, for the
+	 * report.
+	 */
+	private static Map<String, String> settings(Properties properties) {
+		Map<String, String> settings = new TreeMap<>();
+		for (String key : properties.stringPropertyNames()) {
+			if ((key.startsWith("stub.") || key.startsWith("clamav.") || key.startsWith("token."))
+					&& !key.endsWith(".response") && !key.endsWith(".path")) {
+				settings.put(key, properties.getProperty(key));
+			}
+		}
+		return settings;
+	}
+
+	private static Map<String, String> options(String[] args) {
+		Map<String, String> options = new LinkedHashMap<>();
+		for (int i = 0; i < args.length; i++) {
+			if (!args[i].startsWith("--")) {
+				throw new IllegalArgumentException("Unexpected argument " + args[i]);
+			}
+			boolean hasValue = i + 1 < args.length && !args[i + 1].startsWith("--");
+			options.put(args[i], hasValue ? args[++i] : "");
+		}
+		return options;
+	}
+
+}
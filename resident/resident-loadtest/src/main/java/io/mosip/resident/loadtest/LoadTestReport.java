@@ -0,0 +1,69 @@
+package io.mosip.resident.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * The results of a run: printed as a table, one row per scenario followed by
+ * its outbound calls per stub, and written as JSON together with the stub
+ * settings of the run, so that runs with different latencies or error rates
+ * can be told apart and compared.
+ */
+final class LoadTestReport {
+
+	private static final String ROW_FORMAT = "%-18s %6s %10s %7s %12s %9s %9s %9s %14s%n";
+
+	private final Map<String, Object> settings;
+
+	private final List<Map<String, Object>> scenarios = new ArrayList<>();
+
+	LoadTestReport(Map<String, Object> settings) {
+		this.settings = settings;
+	}
+
+	void add(Map<String, Object> scenario) {
+		scenarios.add(scenario);
+	}
+
+	@SuppressWarnings("unchecked")
+	void print(PrintStream out) {
+		out.println();
+		out.printf(ROW_FORMAT, "scenario", "users", "iterations", "errors", "throughput/s", "p50 ms", "p99 ms",
+				"max ms", "outbound/iter");
+		for (Map<String, Object> scenario : scenarios) {
+			Map<String, Object> iteration = (Map<String, Object>) scenario.get("iteration");
+			Map<String, Object> outbound = (Map<String, Object>) scenario.get("outboundCalls");
+			out.printf(ROW_FORMAT, scenario.get("scenario"), scenario.getOrDefault("users", "-"),
+					scenario.get("iterations"), scenario.get("errors"), scenario.get("throughputPerSecond"),
+					iteration.get("p50Millis"), iteration.get("p99Millis"), iteration.get("maxMillis"),
+					outbound.get("perIteration"));
+		}
+		for (Map<String, Object> scenario : scenarios) {
+			Map<String, Object> outbound = (Map<String, Object>) scenario.get("outboundCalls");
+			out.println();
+			out.println(scenario.get("scenario") + ": " + outbound.get("total") + " outbound calls");
+			((Map<String, Long>) outbound.get("byStub"))
+					.forEach((stub, calls) -> out.printf("  %-40s %10d%n", stub, calls));
+			((Map<String, Long>) outbound.get("injectedErrors"))
+					.forEach((stub, errors) -> out.printf("  %-40s %10d injected errors%n", stub, errors));
+			Map<String, String> failures = (Map<String, String>) scenario.get("firstFailures");
+			if (failures != null) {
+				failures.forEach((step, failure) -> out.println("  first failure of " + step + ": " + failure));
+			}
+		}
+	}
+
+	void write(Path file, ObjectMapper objectMapper) throws IOException {
+		Map<String, Object> report = new LinkedHashMap<>(settings);
+		report.put("scenarios", scenarios);
+		objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+	}
+
+}
@@ -0,0 +1,43 @@
+package io.mosip.resident.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Turns two snapshots of the stub counters into the outbound calls the
+ * resident service made in between: per stub, in total and per iteration of
+ * the scenario, with the errors the stubs injected kept apart.
+ */
+final class OutboundCalls {
+
+	private static final String ERRORS_SUFFIX = ".errors";
+
+	private OutboundCalls() {
+	}
+
+	static Map<String, Object> delta(Map<String, Long> before, Map<String, Long> after, long iterations) {
+		Map<String, Long> calls = new LinkedHashMap<>();
+		Map<String, Long> injectedErrors = new LinkedHashMap<>();
+		long total = 0;
+		for (Map.Entry<String, Long> counter : after.entrySet()) {
+			long delta = counter.getValue() - before.getOrDefault(counter.getKey(), 0L);
+			if (delta == 0) {
+				continue;
+			}
+			if (counter.getKey().endsWith(ERRORS_SUFFIX)) {
+				injectedErrors.put(counter.getKey().substring(0, counter.getKey().length() - ERRORS_SUFFIX.length()),
+						delta);
+			} else {
+				calls.put(counter.getKey(), delta);
+				total += delta;
+			}
+		}
+		Map<String, Object> outbound = new LinkedHashMap<>();
+		outbound.put("total", total);
+		outbound.put("perIteration", iterations == 0 ? 0 : ScenarioRunner.round(total / (double) iterations));
+		outbound.put("byStub", calls);
+		outbound.put("injectedErrors", injectedErrors);
+		return outbound;
+	}
+
+}
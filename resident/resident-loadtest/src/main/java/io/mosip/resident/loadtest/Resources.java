@@ -0,0 +1,49 @@
+package io.mosip.resident.loadtest;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Properties;
+
+/**
+ * Reads the harness resources. A name that is an existing file is read from
+ * the file system, so that any bundled response, scenario or body can be
+ * replaced without rebuilding the jar; otherwise it is read from the class
+ * path.
+ */
+final class Resources {
+
+	private Resources() {
+	}
+
+	static byte[] readBytes(String name) throws IOException {
+		Path file = Paths.get(name);
+		if (Files.isRegularFile(file)) {
+			return Files.readAllBytes(file);
+		}
+		try (InputStream in = Resources.class.getClassLoader().getResourceAsStream(name)) {
+			if (in == null) {
+				throw new FileNotFoundException(name);
+			}
+			return in.readAllBytes();
+		}
+	}
+
+	static String read(String name) throws IOException {
+		return new String(readBytes(name), StandardCharsets.UTF_8);
+	}
+
+	static Properties properties(String name) throws IOException {
+		Properties properties = new Properties();
+		try (InputStream in = new ByteArrayInputStream(readBytes(name))) {
+			properties.load(in);
+		}
+		return properties;
+	}
+
+}
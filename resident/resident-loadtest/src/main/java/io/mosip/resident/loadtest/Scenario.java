@@ -0,0 +1,144 @@
+package io.mosip.resident.loadtest;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * A load scenario read from {@code scenarios/<name>.json}. An HTTP scenario
+ * has a number of virtual users repeat its steps against the resident
+ * service for the duration; the first {@code warmupSeconds} are not measured.
+ * Its {@code setup} names another scenario whose steps each user runs once
+ * beforehand, unmeasured, which is how the scenarios log in. A
+ * {@code batch} scenario instead seeds rows for the credential status batch
+ * job and waits for the job to process them, see {@link BatchScenarioRunner}.
+ */
+final class Scenario {
+
+	static final String TYPE_HTTP = "http";
+
+	static final String TYPE_BATCH = "batch";
+
+	final String name;
+
+	final String type;
+
+	final String description;
+
+	final int users;
+
+	final int warmupSeconds;
+
+	final int durationSeconds;
+
+	final long thinkTimeMillis;
+
+	final String setup;
+
+	final Map<String, String> variables;
+
+	final Map<String, String> headers;
+
+	final List<Step> steps;
+
+	/** The raw definition, for the settings of batch scenarios. */
+	final JsonNode definition;
+
+	private Scenario(JsonNode json) throws IOException {
+		this.definition = json;
+		this.name = required(json, "name").asText();
+		this.type = json.path("type").asText(TYPE_HTTP);
+		this.description = json.path("description").asText("");
+		this.users = json.path("users").asInt(1);
+		this.warmupSeconds = json.path("warmupSeconds").asInt(0);
+		this.durationSeconds = json.path("durationSeconds").asInt(60);
+		this.thinkTimeMillis = json.path("thinkTimeMillis").asLong(0);
+		this.setup = json.hasNonNull("setup") ? json.get("setup").asText() : null;
+		this.variables = texts(json.path("variables"));
+		this.headers = texts(json.path("headers"));
+		List<Step> parsedSteps = new ArrayList<>();
+		for (JsonNode step : json.path("steps")) {
+			parsedSteps.add(new Step(step));
+		}
+		this.steps = Collections.unmodifiableList(parsedSteps);
+	}
+
+	/**
+	 * Reads a scenario by name from {@code scenarios/}, or from the given
+	 * file when the name is a path to a JSON file.
+	 */
+	static Scenario load(String nameOrFile, ObjectMapper objectMapper) throws IOException {
+		String resource = nameOrFile.endsWith(".json") ? nameOrFile : "scenarios/" + nameOrFile + ".json";
+		return new Scenario(objectMapper.readTree(Resources.readBytes(resource)));
+	}
+
+	/**
+	 * One request of a scenario. The path, header values and body may use
+	 * the variables of the virtual user, see {@link ScenarioRunner}.
+	 */
+	static final class Step {
+
+		final String name;
+
+		final String method;
+
+		final String path;
+
+		final Map<String, String> headers;
+
+		final String body;
+
+		final String bodyFile;
+
+		final Map<String, String> multipartFields;
+
+		final JsonNode multipartFile;
+
+		final int expectStatus;
+
+		final Map<String, String> extract;
+
+		private Step(JsonNode json) throws IOException {
+			this.name = required(json, "name").asText();
+			this.method = json.path("method").asText("GET");
+			this.path = required(json, "path").asText();
+			this.headers = texts(json.path("headers"));
+			this.body = json.has("body") ? json.get("body").toString() : null;
+			this.bodyFile = json.hasNonNull("bodyFile") ? json.get("bodyFile").asText() : null;
+			this.multipartFields = texts(json.path("multipart").path("fields"));
+			this.multipartFile = json.path("multipart").path("file");
+			this.expectStatus = json.path("expectStatus").asInt(200);
+			this.extract = texts(json.path("extract"));
+		}
+
+		boolean isMultipart() {
+			return !multipartFile.isMissingNode();
+		}
+
+	}
+
+	private static JsonNode required(JsonNode json, String field) throws IOException {
+		if (!json.hasNonNull(field)) {
+			throw new IOException("Scenario definition has no " + field + ": " + json);
+		}
+		return json.get(field);
+	}
+
+	private static Map<String, String> texts(JsonNode json) {
+		Map<String, String> texts = new LinkedHashMap<>();
+		Iterator<Map.Entry<String, JsonNode>> fields = json.fields();
+		while (fields.hasNext()) {
+			Map.Entry<String, JsonNode> field = fields.next();
+			texts.put(field.getKey(), field.getValue().asText());
+		}
+		return texts;
+	}
+
+}
@@ -0,0 +1,362 @@
+package io.mosip.resident.loadtest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.mosip.resident.loadtest.Scenario.Step;
+
+/**
+ * Runs an HTTP {@link Scenario} against the resident service and measures
+ * it. Every virtual user has its own variables: those of the scenario,
+ * rendered once when the user starts, and those extracted from responses.
+ * Besides the variables, paths, header values and bodies may use
+ * {@code ${uuid}}, {@code ${now}}, {@code ${user}} for the number of the
+ * user, {@code ${digits:n}} for n random digits and {@code ${base64:text}}.
+ * <p>
+ * Values are extracted with {@code cookie:<name>}, {@code header:<name>} or
+ * {@code json:<pointer>}. A step that fails, by an exception or a status
+ * other than the expected one, ends the iteration of the user.
+ */
+final class ScenarioRunner {
+
+	private static final Pattern PLACEHOLDER = Pattern.compile("\\$\\{([A-Za-z0-9_.-]+)(?::([^}]*))?\\}");
+
+	private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
+
+	private static final String ITERATION = "iteration";
+
+	private final HttpClient httpClient;
+
+	private final ObjectMapper objectMapper;
+
+	private final String baseUrl;
+
+	private final Duration requestTimeout;
+
+	private final Supplier<Map<String, Long>> outboundCounters;
+
+	private final Map<String, byte[]> files = new ConcurrentHashMap<>();
+
+	ScenarioRunner(HttpClient httpClient, ObjectMapper objectMapper, String baseUrl, Duration requestTimeout,
+			Supplier<Map<String, Long>> outboundCounters) {
+		this.httpClient = httpClient;
+		this.objectMapper = objectMapper;
+		this.baseUrl = baseUrl;
+		this.requestTimeout = requestTimeout;
+		this.outboundCounters = outboundCounters;
+	}
+
+	Map<String, Object> run(Scenario scenario, Scenario setup) throws IOException, InterruptedException {
+		Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+		for (Step step : scenario.steps) {
+			recorders.put(step.name, new LatencyRecorder());
+		}
+		LatencyRecorder iterations = new LatencyRecorder();
+		LongAdder setupFailures = new LongAdder();
+		Map<String, String> failures = new ConcurrentHashMap<>();
+		long start = System.nanoTime();
+		long measureFrom = start + TimeUnit.SECONDS.toNanos(scenario.warmupSeconds);
+		long end = measureFrom + TimeUnit.SECONDS.toNanos(scenario.durationSeconds);
+
+		ExecutorService users = Executors.newFixedThreadPool(scenario.users, runnable -> {
+			Thread thread = new Thread(runnable, "loadtest-" + scenario.name);
+			thread.setDaemon(true);
+			return thread;
+		});
+		List<Future<?>> futures = new ArrayList<>();
+		for (int user = 0; user < scenario.users; user++) {
+			int userNumber = user;
+			futures.add(users.submit(() -> {
+				runUser(scenario, setup, userNumber, recorders, iterations, setupFailures, failures, measureFrom, end);
+				return null;
+			}));
+		}
+		users.shutdown();
+
+		TimeUnit.NANOSECONDS.sleep(Math.max(0, measureFrom - System.nanoTime()));
+		Map<String, Long> before = outboundCounters.get();
+		for (Future<?> future : futures) {
+			try {
+				future.get();
+			} catch (ExecutionException e) {
+				System.err.println(scenario.name + ": virtual user failed: " + e.getCause());
+			}
+		}
+		long measuredNanos = System.nanoTime() - measureFrom;
+		Map<String, Long> after = outboundCounters.get();
+
+		double measuredSeconds = measuredNanos / (double) TimeUnit.SECONDS.toNanos(1);
+		long requests = 0;
+		long errors = 0;
+		Map<String, Object> steps = new LinkedHashMap<>();
+		for (Map.Entry<String, LatencyRecorder> recorder : recorders.entrySet()) {
+			requests += recorder.getValue().count() + recorder.getValue().errors();
+			errors += recorder.getValue().errors();
+			steps.put(recorder.getKey(), recorder.getValue().summary());
+		}
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("scenario", scenario.name);
+		result.put("type", scenario.type);
+		result.put("users", scenario.users);
+		result.put("measuredSeconds", round(measuredSeconds));
+		result.put("iterations", iterations.count());
+		result.put("errors", errors);
+		result.put("setupFailures", setupFailures.sum());
+		result.put("throughputPerSecond", round(iterations.count() / measuredSeconds));
+		result.put("requestsPerSecond", round(requests / measuredSeconds));
+		result.put(ITERATION, iterations.summary());
+		result.put("steps", steps);
+		result.put("outboundCalls", OutboundCalls.delta(before, after, iterations.count()));
+		result.put("firstFailures", new TreeMap<>(failures));
+		return result;
+	}
+
+	private void runUser(Scenario scenario, Scenario setup, int user, Map<String, LatencyRecorder> recorders,
+			LatencyRecorder iterations, LongAdder setupFailures, Map<String, String> failures, long measureFrom,
+			long end) throws InterruptedException {
+		Map<String, String> variables = new HashMap<>();
+		variables.put("user", String.valueOf(user));
+		if (setup != null) {
+			if (!runSetup(setup, variables, failures)) {
+				setupFailures.increment();
+				return;
+			}
+		}
+		scenario.variables.forEach((name, value) -> variables.put(name, render(value, variables)));
+		while (System.nanoTime() < end) {
+			long iterationStart = System.nanoTime();
+			boolean measured = iterationStart >= measureFrom;
+			boolean completed = true;
+			for (Step step : scenario.steps) {
+				long stepStart = System.nanoTime();
+				boolean ok = execute(scenario, step, variables, failures);
+				if (measured) {
+					if (ok) {
+						recorders.get(step.name).record(System.nanoTime() - stepStart);
+					} else {
+						recorders.get(step.name).recordError();
+					}
+				}
+				if (!ok) {
+					completed = false;
+					break;
+				}
+			}
+			if (measured) {
+				if (completed) {
+					iterations.record(System.nanoTime() - iterationStart);
+				} else {
+					iterations.recordError();
+				}
+			}
+			if (scenario.thinkTimeMillis > 0) {
+				TimeUnit.MILLISECONDS.sleep(scenario.thinkTimeMillis);
+			}
+		}
+	}
+
+	private boolean runSetup(Scenario setup, Map<String, String> variables, Map<String, String> failures) {
+		setup.variables.forEach((name, value) -> variables.put(name, render(value, variables)));
+		for (Step step : setup.steps) {
+			if (!execute(setup, step, variables, failures)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Sends the request of a step and returns whether it succeeded. The first
+	 * reason a step fails for is kept, to be reported with the results.
+	 */
+	private boolean execute(Scenario scenario, Step step, Map<String, String> variables,
+			Map<String, String> failures) {
+		try {
+			HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + render(step.path, variables)))
+					.timeout(requestTimeout);
+			scenario.headers.forEach((name, value) -> request.header(name, render(value, variables)));
+			step.headers.forEach((name, value) -> request.header(name, render(value, variables)));
+			request.method(step.method, body(step, variables, request));
+			HttpResponse<byte[]> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+			if (response.statusCode() != step.expectStatus) {
+				failures.putIfAbsent(step.name, "HTTP " + response.statusCode() + ": " + abbreviate(response.body()));
+				return false;
+			}
+			for (Map.Entry<String, String> extract : step.extract.entrySet()) {
+				String value = extract(response, extract.getValue());
+				if (value == null) {
+					failures.putIfAbsent(step.name, "Nothing to extract with " + extract.getValue());
+					return false;
+				}
+				variables.put(extract.getKey(), value);
+			}
+			return true;
+		} catch (IOException e) {
+			failures.putIfAbsent(step.name, e.toString());
+			return false;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	private static String abbreviate(byte[] body) {
+		String text = new String(body, 0, Math.min(body.length, 200), StandardCharsets.UTF_8);
+		return body.length > 200 ? text + "..." : text;
+	}
+
+	private HttpRequest.BodyPublisher body(Step step, Map<String, String> variables, HttpRequest.Builder request)
+			throws IOException {
+		if (step.isMultipart()) {
+			String boundary = "loadtest-" + UUID.randomUUID();
+			request.header("Content-Type", "multipart/form-data; boundary=" + boundary);
+			return HttpRequest.BodyPublishers.ofByteArray(multipart(step, variables, boundary));
+		}
+		String template = step.bodyFile != null ? Resources.read(step.bodyFile) : step.body;
+		if (template == null) {
+			return HttpRequest.BodyPublishers.noBody();
+		}
+		return HttpRequest.BodyPublishers.ofString(render(template, variables));
+	}
+
+	private byte[] multipart(Step step, Map<String, String> variables, String boundary) throws IOException {
+		ByteArrayOutputStream body = new ByteArrayOutputStream();
+		for (Map.Entry<String, String> field : step.multipartFields.entrySet()) {
+			write(body, "--" + boundary + "\r\nContent-Disposition: form-data; name=\"" + field.getKey()
+					+ "\"\r\n\r\n" + render(field.getValue(), variables) + "\r\n");
+		}
+		JsonNode file = step.multipartFile;
+		write(body, "--" + boundary + "\r\nContent-Disposition: form-data; name=\""
+				+ file.path("name").asText("file") + "\"; filename=\"" + file.path("filename").asText("file.pdf")
+				+ "\"\r\nContent-Type: " + file.path("contentType").asText("application/pdf") + "\r\n\r\n");
+		body.write(file(file));
+		write(body, "\r\n--" + boundary + "--\r\n");
+		return body.toByteArray();
+	}
+
+	/**
+	 * Returns the content of the uploaded file: the given file, or a PDF
+	 * header followed by filler up to {@code sizeBytes}.
+	 */
+	private byte[] file(JsonNode file) throws IOException {
+		if (file.hasNonNull("path")) {
+			String path = file.get("path").asText();
+			byte[] content = files.get(path);
+			if (content == null) {
+				content = Resources.readBytes(path);
+				files.put(path, content);
+			}
+			return content;
+		}
+		int size = file.path("sizeBytes").asInt(1024);
+		return files.computeIfAbsent("generated:" + size, key -> {
+			byte[] header = "%PDF-1.4\n".getBytes(StandardCharsets.US_ASCII);
+			byte[] content = new byte[Math.max(size, header.length)];
+			Arrays.fill(content, (byte) 'x');
+			System.arraycopy(header, 0, content, 0, header.length);
+			return content;
+		});
+	}
+
+	private String extract(HttpResponse<byte[]> response, String source) throws IOException {
+		int separator = source.indexOf(':');
+		String kind = source.substring(0, separator);
+		String name = source.substring(separator + 1);
+		switch (kind) {
+		case "cookie":
+			for (String cookie : response.headers().allValues("Set-Cookie")) {
+				if (cookie.startsWith(name + "=")) {
+					int end = cookie.indexOf(';');
+					return cookie.substring(name.length() + 1, end < 0 ? cookie.length() : end);
+				}
+			}
+			return null;
+		case "header":
+			return response.headers().firstValue(name).orElse(null);
+		case "json":
+			JsonNode value = objectMapper.readTree(response.body()).at(name);
+			return value.isMissingNode() || value.isNull() ? null : value.asText();
+		default:
+			throw new IOException("Unknown extraction " + source);
+		}
+	}
+
+	private static String render(String template, Map<String, String> variables) {
+		if (template.indexOf("${") < 0) {
+			return template;
+		}
+		Matcher matcher = PLACEHOLDER.matcher(template);
+		StringBuilder rendered = new StringBuilder(template.length());
+		while (matcher.find()) {
+			String name = matcher.group(1);
+			String argument = matcher.group(2);
+			String value;
+			if (variables.containsKey(name)) {
+				value = variables.get(name);
+			} else if ("uuid".equals(name)) {
+				value = UUID.randomUUID().toString();
+			} else if ("now".equals(name)) {
+				value = TIMESTAMP.format(ZonedDateTime.now(ZoneOffset.UTC));
+			} else if ("digits".equals(name)) {
+				value = digits(Integer.parseInt(argument));
+			} else if ("base64".equals(name)) {
+				value = Base64.getUrlEncoder().encodeToString(argument.getBytes(StandardCharsets.UTF_8));
+			} else {
+				throw new IllegalArgumentException("Unknown variable " + matcher.group());
+			}
+			matcher.appendReplacement(rendered, Matcher.quoteReplacement(value));
+		}
+		matcher.appendTail(rendered);
+		return rendered.toString();
+	}
+
+	private static String digits(int count) {
+		StringBuilder digits = new StringBuilder(count);
+		digits.append(ThreadLocalRandom.current().nextInt(1, 10));
+		for (int i = 1; i < count; i++) {
+			digits.append(ThreadLocalRandom.current().nextInt(10));
+		}
+		return digits.toString();
+	}
+
+	private static void write(ByteArrayOutputStream out, String text) {
+		out.writeBytes(text.getBytes(StandardCharsets.UTF_8));
+	}
+
+	static double round(double value) {
+		return Math.round(value * 100) / 100.0;
+	}
+
+}
@@ -0,0 +1,120 @@
+package io.mosip.resident.loadtest;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * One canned downstream endpoint of the {@link StubServer}, configured from
+ * the {@code stub.<name>.*} properties, with the {@code stub.default.*}
+ * properties as fallback:
+ * <ul>
+ * <li>{@code method} and {@code path}: the HTTP method, any when not set, and
+ * a regular expression for the request path</li>
+ * <li>{@code response}, {@code status} and {@code header.<Name>}: the response
+ * template, its status and extra headers</li>
+ * <li>{@code latency.millis} and {@code latency.jitter.millis}: the fixed and
+ * the uniformly distributed extra delay of each response</li>
+ * <li>{@code error.rate}, {@code error.status} and {@code error.response}: the
+ * share of requests answered with an error instead</li>
+ * <li>{@code padding.bytes}: the size of the {@code ${padding}} placeholder,
+ * to grow the payload</li>
+ * </ul>
+ */
+final class StubRoute {
+
+	private static final String PREFIX = "stub.";
+
+	private static final String DEFAULTS = "default";
+
+	final String name;
+
+	final String method;
+
+	final Pattern path;
+
+	final int status;
+
+	final String contentType;
+
+	final Map<String, String> headers;
+
+	final String response;
+
+	final long latencyMillis;
+
+	final long latencyJitterMillis;
+
+	final double errorRate;
+
+	final int errorStatus;
+
+	final String errorResponse;
+
+	final String padding;
+
+	final LongAdder calls = new LongAdder();
+
+	final LongAdder errors = new LongAdder();
+
+	private StubRoute(String name, Properties properties) throws IOException {
+		this.name = name;
+		this.method = property(properties, name, "method", null);
+		String pathPattern = property(properties, name, "path", null);
+		if (pathPattern == null) {
+			throw new IllegalArgumentException("No path configured for stub " + name);
+		}
+		this.path = Pattern.compile(pathPattern);
+		this.status = Integer.parseInt(property(properties, name, "status", "200"));
+		this.contentType = property(properties, name, "content-type", "application/json");
+		this.headers = headers(properties, name);
+		String responseResource = property(properties, name, "response", null);
+		this.response = responseResource == null ? "" : Resources.read(responseResource);
+		this.latencyMillis = Long.parseLong(property(properties, name, "latency.millis", "0"));
+		this.latencyJitterMillis = Long.parseLong(property(properties, name, "latency.jitter.millis", "0"));
+		this.errorRate = Double.parseDouble(property(properties, name, "error.rate", "0"));
+		this.errorStatus = Integer.parseInt(property(properties, name, "error.status", "500"));
+		this.errorResponse = Resources.read(property(properties, name, "error.response", "responses/error.json"));
+		this.padding = "x".repeat(Integer.parseInt(property(properties, name, "padding.bytes", "0")));
+	}
+
+	/**
+	 * Creates the routes listed, in order of precedence, by
+	 * {@code stub.routes}.
+	 */
+	static Map<String, StubRoute> fromProperties(Properties properties) throws IOException {
+		Map<String, StubRoute> routes = new LinkedHashMap<>();
+		for (String name : properties.getProperty(PREFIX + "routes", "").split(",")) {
+			if (!name.isBlank()) {
+				routes.put(name.trim(), new StubRoute(name.trim(), properties));
+			}
+		}
+		return routes;
+	}
+
+	boolean matches(String requestMethod, String requestPath) {
+		return (method == null || method.equalsIgnoreCase(requestMethod)) && path.matcher(requestPath).matches();
+	}
+
+	private static String property(Properties properties, String name, String key, String defaultValue) {
+		String value = properties.getProperty(PREFIX + name + "." + key);
+		return value != null ? value.trim() : properties.getProperty(PREFIX + DEFAULTS + "." + key, defaultValue);
+	}
+
+	private static Map<String, String> headers(Properties properties, String name) {
+		Map<String, String> headers = new LinkedHashMap<>();
+		for (String scope : new String[] { DEFAULTS, name }) {
+			String headerPrefix = PREFIX + scope + ".header.";
+			for (String key : properties.stringPropertyNames()) {
+				if (key.startsWith(headerPrefix)) {
+					headers.put(key.substring(headerPrefix.length()), properties.getProperty(key));
+				}
+			}
+		}
+		return headers;
+	}
+
+}
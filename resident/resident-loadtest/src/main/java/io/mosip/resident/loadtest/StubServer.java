@@ -0,0 +1,229 @@
+package io.mosip.resident.loadtest;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * A single HTTP server answering for every downstream service of the resident
+ * service from the configured {@link StubRoute}s, with the latency, errors
+ * and payload sizes injected by their configuration.
+ * <p>
+ * Response templates may use the placeholders {@code ${now}},
+ * {@code ${uuid}}, {@code ${padding}}, {@code ${token}} and {@code ${jwks}},
+ * {@code ${pathSegment}} for the last segment of the request path,
+ * {@code ${query:name}} for a query parameter and
+ * {@code ${request:/json/pointer}} for a value of the JSON request, written as
+ * JSON, which is how the key manager stubs echo the data they are given.
+ * <p>
+ * Calls are counted per route; requests no route matches are answered with
+ * 404 and counted as {@value #UNMATCHED}, so a missing stub shows up in the
+ * report instead of passing unnoticed.
+ */
+final class StubServer implements Closeable {
+
+	static final String UNMATCHED = "unmatched";
+
+	private static final Pattern PLACEHOLDER = Pattern.compile("\\$\\{([A-Za-z]+)(?::([^}]*))?\\}");
+
+	private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
+
+	static {
+		// Without it the JDK server's separate header and body writes wait on
+		// delayed acknowledgements, adding tens of milliseconds to every stub.
+		if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+			System.setProperty("sun.net.httpserver.nodelay", "true");
+		}
+	}
+
+	private final Map<String, StubRoute> routes;
+
+	private final TokenIssuer tokenIssuer;
+
+	private final ObjectMapper objectMapper;
+
+	private final Random random;
+
+	private final LongAdder unmatched = new LongAdder();
+
+	private final ExecutorService executor;
+
+	private final HttpServer server;
+
+	StubServer(int port, Map<String, StubRoute> routes, TokenIssuer tokenIssuer, ObjectMapper objectMapper,
+			long seed) throws IOException {
+		this.routes = routes;
+		this.tokenIssuer = tokenIssuer;
+		this.objectMapper = objectMapper;
+		this.random = new Random(seed);
+		this.executor = Executors.newCachedThreadPool(runnable -> {
+			Thread thread = new Thread(runnable, "stub-server");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.server = HttpServer.create(new InetSocketAddress(port), 1024);
+		server.createContext("/", this::handle);
+		server.setExecutor(executor);
+		server.start();
+	}
+
+	/**
+	 * Returns the calls made so far per route, and the injected errors under
+	 * {@code <route>.errors}.
+	 */
+	Map<String, Long> counters() {
+		Map<String, Long> counters = new LinkedHashMap<>();
+		for (StubRoute route : routes.values()) {
+			counters.put(route.name, route.calls.sum());
+			counters.put(route.name + ".errors", route.errors.sum());
+		}
+		counters.put(UNMATCHED, unmatched.sum());
+		return counters;
+	}
+
+	@Override
+	public void close() {
+		server.stop(0);
+		executor.shutdownNow();
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		try {
+			byte[] requestBody;
+			try (InputStream in = exchange.getRequestBody()) {
+				requestBody = in.readAllBytes();
+			}
+			String path = exchange.getRequestURI().getPath();
+			StubRoute route = route(exchange.getRequestMethod(), path);
+			if (route == null) {
+				unmatched.increment();
+				send(exchange, 404, "text/plain", ("No stub for " + exchange.getRequestMethod() + " " + path)
+						.getBytes(StandardCharsets.UTF_8));
+				return;
+			}
+			route.calls.increment();
+			boolean fail = route.errorRate > 0 && random.nextDouble() < route.errorRate;
+			long delay = route.latencyMillis
+					+ (route.latencyJitterMillis > 0 ? (long) (random.nextDouble() * route.latencyJitterMillis) : 0);
+			if (delay > 0) {
+				TimeUnit.MILLISECONDS.sleep(delay);
+			}
+			route.headers.forEach((name, value) -> exchange.getResponseHeaders().add(name, value));
+			if (fail) {
+				route.errors.increment();
+				send(exchange, route.errorStatus, "application/json",
+						render(route.errorResponse, route, exchange, requestBody));
+			} else {
+				send(exchange, route.status, route.contentType, render(route.response, route, exchange, requestBody));
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			exchange.close();
+		}
+	}
+
+	private StubRoute route(String method, String path) {
+		for (StubRoute route : routes.values()) {
+			if (route.matches(method, path)) {
+				return route;
+			}
+		}
+		return null;
+	}
+
+	private byte[] render(String template, StubRoute route, HttpExchange exchange, byte[] requestBody)
+			throws IOException {
+		if (template.indexOf("${") < 0) {
+			return template.getBytes(StandardCharsets.UTF_8);
+		}
+		JsonNode request = null;
+		Matcher matcher = PLACEHOLDER.matcher(template);
+		StringBuilder rendered = new StringBuilder(template.length() + route.padding.length());
+		while (matcher.find()) {
+			String argument = matcher.group(2);
+			String value;
+			switch (matcher.group(1)) {
+			case "now":
+				value = TIMESTAMP.format(ZonedDateTime.now(ZoneOffset.UTC));
+				break;
+			case "uuid":
+				value = UUID.randomUUID().toString();
+				break;
+			case "padding":
+				value = route.padding;
+				break;
+			case "token":
+				value = tokenIssuer.issue();
+				break;
+			case "jwks":
+				value = tokenIssuer.jwks();
+				break;
+			case "pathSegment":
+				String path = exchange.getRequestURI().getPath();
+				value = path.substring(path.lastIndexOf('/') + 1);
+				break;
+			case "query":
+				value = queryParameter(exchange.getRequestURI().getRawQuery(), argument);
+				break;
+			case "request":
+				if (request == null) {
+					request = requestBody.length == 0 ? NullNode.getInstance() : objectMapper.readTree(requestBody);
+				}
+				value = objectMapper.writeValueAsString(request.at(argument));
+				break;
+			default:
+				value = matcher.group();
+			}
+			matcher.appendReplacement(rendered, Matcher.quoteReplacement(value));
+		}
+		matcher.appendTail(rendered);
+		return rendered.toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static String queryParameter(String query, String name) {
+		if (query != null) {
+			for (String parameter : query.split("&")) {
+				int separator = parameter.indexOf('=');
+				if (separator > 0 && parameter.substring(0, separator).equals(name)) {
+					return URLDecoder.decode(parameter.substring(separator + 1), StandardCharsets.UTF_8);
+				}
+			}
+		}
+		return "";
+	}
+
+	private static void send(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+		exchange.getResponseHeaders().set("Content-Type", contentType);
+		exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+		if (body.length > 0) {
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		}
+	}
+
+}
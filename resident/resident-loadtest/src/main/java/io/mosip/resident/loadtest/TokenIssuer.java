@@ -0,0 +1,126 @@
+package io.mosip.resident.loadtest;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Stands in for the identity provider: issues RS256 access tokens signed with
+ * a key pair generated at start up and publishes the public key as a JWKS, so
+ * that the resident service can verify the tokens the stubs hand out.
+ */
+final class TokenIssuer {
+
+	private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+
+	private final ObjectMapper objectMapper;
+
+	private final KeyPair keyPair;
+
+	private final String keyId;
+
+	private final String issuer;
+
+	private final String audience;
+
+	private final String clientId;
+
+	private final String subject;
+
+	private final String scope;
+
+	private final List<String> roles;
+
+	private final long ttlSeconds;
+
+	TokenIssuer(ObjectMapper objectMapper, Properties properties) throws GeneralSecurityException {
+		this.objectMapper = objectMapper;
+		KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+		generator.initialize(2048);
+		this.keyPair = generator.generateKeyPair();
+		this.keyId = UUID.randomUUID().toString();
+		this.issuer = properties.getProperty("token.issuer");
+		this.audience = properties.getProperty("token.audience", "mosip-resident-client");
+		this.clientId = properties.getProperty("token.client-id", audience);
+		this.subject = properties.getProperty("token.subject", UUID.randomUUID().toString());
+		this.scope = properties.getProperty("token.scope", "");
+		this.roles = Arrays.asList(properties.getProperty("token.roles", "RESIDENT").split(","));
+		this.ttlSeconds = Long.parseLong(properties.getProperty("token.ttl.seconds", "3600"));
+	}
+
+	/**
+	 * Returns a new signed access token.
+	 */
+	String issue() {
+		long now = Instant.now().getEpochSecond();
+		Map<String, Object> header = new LinkedHashMap<>();
+		header.put("alg", "RS256");
+		header.put("typ", "JWT");
+		header.put("kid", keyId);
+		Map<String, Object> claims = new LinkedHashMap<>();
+		claims.put("jti", UUID.randomUUID().toString());
+		claims.put("iss", issuer);
+		claims.put("sub", subject);
+		claims.put("aud", audience);
+		claims.put("azp", clientId);
+		claims.put("typ", "Bearer");
+		claims.put("iat", now);
+		claims.put("exp", now + ttlSeconds);
+		claims.put("scope", scope);
+		claims.put("preferred_username", subject);
+		claims.put("realm_access", Map.of("roles", roles));
+		try {
+			String signingInput = encode(header) + "." + encode(claims);
+			Signature signature = Signature.getInstance("SHA256withRSA");
+			signature.initSign(keyPair.getPrivate());
+			signature.update(signingInput.getBytes(StandardCharsets.US_ASCII));
+			return signingInput + "." + BASE64_URL.encodeToString(signature.sign());
+		} catch (GeneralSecurityException | JsonProcessingException e) {
+			throw new IllegalStateException("Unable to sign the access token", e);
+		}
+	}
+
+	/**
+	 * Returns the JSON web key set with the public key of the issuer.
+	 */
+	String jwks() {
+		RSAPublicKey publicKey = (RSAPublicKey) keyPair.getPublic();
+		Map<String, Object> key = new LinkedHashMap<>();
+		key.put("kid", keyId);
+		key.put("kty", "RSA");
+		key.put("alg", "RS256");
+		key.put("use", "sig");
+		key.put("n", BASE64_URL.encodeToString(unsigned(publicKey.getModulus())));
+		key.put("e", BASE64_URL.encodeToString(unsigned(publicKey.getPublicExponent())));
+		try {
+			return objectMapper.writeValueAsString(Map.of("keys", List.of(key)));
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("Unable to write the key set", e);
+		}
+	}
+
+	private String encode(Map<String, Object> json) throws JsonProcessingException {
+		return BASE64_URL.encodeToString(objectMapper.writeValueAsBytes(json));
+	}
+
+	private static byte[] unsigned(BigInteger value) {
+		byte[] bytes = value.toByteArray();
+		return bytes[0] == 0 ? Arrays.copyOfRange(bytes, 1, bytes.length) : bytes;
+	}
+
+}
@@ -30,20 +30,40 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Component;
+import org.springframework.util.CollectionUtils;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.mosip.kernel.core.http.ResponseWrapper;
 import io.mosip.kernel.core.logger.spi.Logger;
 import io.mosip.kernel.core.util.DateUtils;
@@ -60,16 +80,39 @@ import io.mosip.resident.exception.IdRepoAppException;
 import io.mosip.resident.exception.ResidentServiceCheckedException;
 import io.mosip.resident.exception.ResidentServiceException;
 import io.mosip.resident.function.RunnableWithException;
+import io.mosip.resident.repository.ResidentTransactionLeaseRepository;
 import io.mosip.resident.repository.ResidentTransactionRepository;
 import io.mosip.resident.service.IdentityService;
+import io.mosip.resident.service.NotificationOutboxService;
 import io.mosip.resident.service.NotificationService;
 import io.mosip.resident.service.ResidentService;
 import io.mosip.resident.util.JsonUtil;
+import io.mosip.resident.util.RateLimiter;
 import io.mosip.resident.util.ResidentServiceRestClient;
 import reactor.util.function.Tuple2;
 import reactor.util.function.Tuples;
 
 /**
+ * Polls the credential and order status of pending resident transactions and
+ * updates them.
+ * <p>
+ * Pending records are claimed in bounded pages through
+ * {@link ResidentTransactionLeaseRepository}, so several instances can run the
+ * job at the same time without processing a record twice. The records of a
+ * page are processed in parallel and saved together once the page is done.
+ * <p>
+ * Each downstream status API has its own workers, whose number bounds the
+ * concurrent calls to it: physical card orders are processed by the order
+ * status workers and all other records by the credential status workers, so a
+ * slow order service cannot hold the workers of credential status lookups.
+ * Calls to the credential service can additionally be rate limited. Both
+ * limits apply per instance, so the load on a service grows with the number
+ * of instances running the job.
+ * <p>
+ * When the notification outbox is enabled, the notifications of a page are
+ * queued in the same transaction that saves the page, and delivered
+ * asynchronously.
+ * 
  * @author Manoj SP
  *
  */
@@ -82,6 +125,10 @@ public class CredentialStatusUpdateBatchJob {
 
 	private static final String DEFAULT_NOTIF_DATE_PATTERN = "dd-MM-yyyy";
 
+	private static final String METRIC_PREFIX = "resident.batchjob.credential.status";
+
+	private static final int MAX_CLAIM_FAILURES = 3;
+
 	@Value("${" + PUBLIC_URL + "}")
 	private String publicUrl;
 
@@ -118,6 +165,79 @@ public class CredentialStatusUpdateBatchJob {
 	@Value("${resident.async.request.types}")
 	private String requestTypeCodes;
 
+	@Autowired(required = false)
+	private ResidentTransactionLeaseRepository leaseRepository;
+
+	@Autowired(required = false)
+	private NotificationOutboxService notificationOutbox;
+
+	@Autowired(required = false)
+	private MeterRegistry meterRegistry;
+
+	@Value("${resident.batchjob.claim.enabled:true}")
+	private boolean claimEnabled;
+
+	@Value("${resident.batchjob.claim.page-size:100}")
+	private int claimPageSize;
+
+	@Value("${resident.batchjob.claim.lease.millisecs:600000}")
+	private long claimLeaseMillis;
+
+	@Value("${resident.batchjob.parallelism:8}")
+	private int parallelism;
+
+	/** Maximum concurrent credential status calls of one instance. */
+	@Value("${resident.batchjob.bulkhead.credential-status.max-concurrent:8}")
+	private int credentialStatusMaxConcurrent;
+
+	/** Maximum concurrent order status calls of one instance. */
+	@Value("${resident.batchjob.bulkhead.order-status.max-concurrent:4}")
+	private int orderStatusMaxConcurrent;
+
+	/**
+	 * Credential status calls per second of one instance; divide the limit the
+	 * credential service can take by the number of instances. 0 disables it.
+	 */
+	@Value("${resident.batchjob.credential-status.rate-limit.per-second:0}")
+	private double credentialStatusRateLimit;
+
+	private final Map<ApiName, ExecutorService> executors = new EnumMap<>(ApiName.class);
+
+	private RateLimiter credentialStatusRateLimiter;
+
+	private final AtomicLong backlog = new AtomicLong();
+
+	private Timer claimTimer;
+
+	private Timer rowTimer;
+
+	@PostConstruct
+	public void init() {
+		if (parallelism > 1) {
+			executors.put(ApiName.CREDENTIAL_STATUS_URL,
+					Executors.newFixedThreadPool(Math.min(parallelism, credentialStatusMaxConcurrent),
+							new CustomizableThreadFactory("credential-status-")));
+			executors.put(ApiName.GET_ORDER_STATUS_URL, Executors.newFixedThreadPool(
+					Math.min(parallelism, orderStatusMaxConcurrent), new CustomizableThreadFactory("order-status-")));
+		}
+		if (credentialStatusRateLimit > 0) {
+			credentialStatusRateLimiter = new RateLimiter(credentialStatusRateLimit);
+		}
+		if (meterRegistry != null) {
+			Gauge.builder(METRIC_PREFIX + ".backlog", backlog, AtomicLong::get)
+					.description("Pending resident transactions at the start of the last run").register(meterRegistry);
+			claimTimer = Timer.builder(METRIC_PREFIX + ".claim")
+					.description("Time taken to claim a page of resident transactions").register(meterRegistry);
+			rowTimer = Timer.builder(METRIC_PREFIX + ".row")
+					.description("Time taken to process one resident transaction").register(meterRegistry);
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executors.values().forEach(ExecutorService::shutdown);
+	}
+
 	private void handleWithTryCatch(RunnableWithException runnableWithException) {
 		try {
 			runnableWithException.run();
@@ -142,60 +262,156 @@ public class CredentialStatusUpdateBatchJob {
 					+ CREDENTIAL_UPDATE_STATUS_UPDATE_INTERVAL + ":" + CREDENTIAL_UPDATE_STATUS_UPDATE_INTERVAL_DEFAULT
 					+ "}")
 	public void scheduleCredentialStatusUpdateJob() throws ResidentServiceCheckedException {
-		List<ResidentTransactionEntity> residentTxnList = repo.findByStatusCodeInAndRequestTypeCodeInOrderByCrDtimesAsc(
-				List.of(statusCodes.split(",")), List.of(requestTypeCodes.split(",")));
-		logger.info("Total records picked from resident_transaction table for processing is " + residentTxnList.size());
-		for (ResidentTransactionEntity txn : residentTxnList) {
-			logger.info("Processing event:" + txn.getEventId());
-			if (txn.getIndividualId() == null) {
-				txn.setStatusCode(FAILED.name());
-				txn.setStatusComment("individualId is null");
-				repo.save(txn);
+		List<String> statusCodeList = List.of(statusCodes.split(","));
+		List<String> requestTypeCodeList = List.of(requestTypeCodes.split(","));
+		if (!claimEnabled || leaseRepository == null) {
+			List<ResidentTransactionEntity> residentTxnList = repo
+					.findByStatusCodeInAndRequestTypeCodeInOrderByCrDtimesAsc(statusCodeList, requestTypeCodeList);
+			logger.info("Total records picked from resident_transaction table for processing is " + residentTxnList.size());
+			processPage(residentTxnList);
+			return;
+		}
+		backlog.set(leaseRepository.countPending(statusCodeList, requestTypeCodeList));
+		String owner = UUID.randomUUID().toString();
+		int claimFailures = 0;
+		int total = 0;
+		try {
+			while (true) {
+				List<String> eventIds;
+				long start = System.nanoTime();
+				try {
+					eventIds = leaseRepository.claim(statusCodeList, requestTypeCodeList, owner, claimPageSize,
+							claimLeaseMillis);
+					claimFailures = 0;
+				} catch (DataAccessException e) {
+					logErrorForBatchJob(e);
+					if (++claimFailures >= MAX_CLAIM_FAILURES) {
+						break;
+					}
+					continue;
+				} finally {
+					if (claimTimer != null) {
+						claimTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+					}
+				}
+				if (eventIds.isEmpty()) {
+					break;
+				}
+				total += eventIds.size();
+				processPage(repo.findAllById(eventIds));
 			}
-			handleWithTryCatch(() -> updateVidCardDownloadTxnStatus(txn));
-			handleWithTryCatch(() -> updateOrderPhysicalCardTxnStatus(txn));
-			handleWithTryCatch(() -> updateShareCredentialWithPartnerTxnStatus(txn));
-			handleWithTryCatch(() -> updateUinDemoDataUpdateTxnStatus(txn));
+		} finally {
+			leaseRepository.release(owner);
 		}
-		repo.saveAll(residentTxnList);
+		logger.info("Total records claimed from resident_transaction table for processing is " + total);
 	}
 
-	private void updateVidCardDownloadTxnStatus(ResidentTransactionEntity txn)
+	/**
+	 * Processes the records of a page, in parallel on the workers of their
+	 * status API when parallelism is configured, and saves them together once
+	 * all of them are done. The notifications of the page are collected by its
+	 * own tasks and queued with the page, so a page that fails to save leaves
+	 * nothing behind for the next one.
+	 */
+	private void processPage(List<ResidentTransactionEntity> residentTxnList) throws ResidentServiceCheckedException {
+		if (CollectionUtils.isEmpty(residentTxnList)) {
+			return;
+		}
+		Queue<NotificationRequestDtoV2> notifications = new ConcurrentLinkedQueue<>();
+		if (executors.isEmpty() || residentTxnList.size() == 1) {
+			residentTxnList.forEach(txn -> processTxn(txn, notifications));
+		} else {
+			List<Future<?>> futures = new ArrayList<>(residentTxnList.size());
+			for (ResidentTransactionEntity txn : residentTxnList) {
+				futures.add(executors.get(getStatusApi(txn)).submit(() -> processTxn(txn, notifications)));
+			}
+			for (Future<?> future : futures) {
+				try {
+					future.get();
+				} catch (ExecutionException e) {
+					logger.error("Error in batch job: " + e.getCause());
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					logger.error("Batch job interrupted");
+					break;
+				}
+			}
+		}
+		if (notificationOutbox == null) {
+			repo.saveAll(residentTxnList);
+			return;
+		}
+		notificationOutbox.saveWithNotifications(() -> repo.saveAll(residentTxnList), new ArrayList<>(notifications));
+	}
+
+	/**
+	 * Returns the status API whose workers process the record. Physical card
+	 * orders may call both services, so they never take a credential status
+	 * worker while waiting for the order service.
+	 */
+	private ApiName getStatusApi(ResidentTransactionEntity txn) {
+		return ORDER_PHYSICAL_CARD.name().equals(txn.getRequestTypeCode()) ? ApiName.GET_ORDER_STATUS_URL
+				: ApiName.CREDENTIAL_STATUS_URL;
+	}
+
+	private void processTxn(ResidentTransactionEntity txn, Queue<NotificationRequestDtoV2> notifications) {
+		long start = System.nanoTime();
+		logger.info("Processing event:" + txn.getEventId());
+		if (txn.getIndividualId() == null) {
+			txn.setStatusCode(FAILED.name());
+			txn.setStatusComment("individualId is null");
+		}
+		handleWithTryCatch(() -> updateVidCardDownloadTxnStatus(txn, notifications));
+		handleWithTryCatch(() -> updateOrderPhysicalCardTxnStatus(txn, notifications));
+		handleWithTryCatch(() -> updateShareCredentialWithPartnerTxnStatus(txn, notifications));
+		handleWithTryCatch(() -> updateUinDemoDataUpdateTxnStatus(txn, notifications));
+		if (rowTimer != null) {
+			rowTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	private void updateVidCardDownloadTxnStatus(ResidentTransactionEntity txn,
+			Queue<NotificationRequestDtoV2> notifications)
 			throws ResidentServiceCheckedException, ApisResourceAccessException {
 		if (txn.getRequestTypeCode().contentEquals(VID_CARD_DOWNLOAD.name())) {
 			Map<String, String> eventDetails = trackAndUpdateNewOrIssuedStatus(txn);
 			trackAnddownloadPrintingOrStoredStatus(txn, TemplateType.SUCCESS, RequestType.VID_CARD_DOWNLOAD,
-					eventDetails);// mentioned in sheet and in story also
-			trackAndUpdateFailedStatus(txn, TemplateType.FAILURE, RequestType.VID_CARD_DOWNLOAD);
+					eventDetails, notifications);// mentioned in sheet and in story also
+			trackAndUpdateFailedStatus(txn, TemplateType.FAILURE, RequestType.VID_CARD_DOWNLOAD, notifications);
 		}
 	}
 
-	private void updateOrderPhysicalCardTxnStatus(ResidentTransactionEntity txn)
+	private void updateOrderPhysicalCardTxnStatus(ResidentTransactionEntity txn,
+			Queue<NotificationRequestDtoV2> notifications)
 			throws ResidentServiceCheckedException, ApisResourceAccessException {
 		if (txn.getRequestTypeCode().contentEquals(ORDER_PHYSICAL_CARD.name())) {
 			Map<String, String> eventDetails = trackAndUpdateNewOrIssuedStatus(txn);
 			trackAndUpdatePaymentConfirmedStatus(txn);
 			trackAnddownloadPrintingOrIntransitStatus(txn, TemplateType.SUCCESS, RequestType.ORDER_PHYSICAL_CARD,
-					eventDetails);
-			trackAndUpdateFailedStatus(txn, TemplateType.FAILURE, RequestType.ORDER_PHYSICAL_CARD);
+					eventDetails, notifications);
+			trackAndUpdateFailedStatus(txn, TemplateType.FAILURE, RequestType.ORDER_PHYSICAL_CARD, notifications);
 		}
 	}
 
-	private void updateShareCredentialWithPartnerTxnStatus(ResidentTransactionEntity txn)
+	private void updateShareCredentialWithPartnerTxnStatus(ResidentTransactionEntity txn,
+			Queue<NotificationRequestDtoV2> notifications)
 			throws ResidentServiceCheckedException, ApisResourceAccessException {
 		if (txn.getRequestTypeCode().contentEquals(SHARE_CRED_WITH_PARTNER.name())) {
 			Map<String, String> eventDetails = trackAndUpdateNewOrIssuedStatus(txn);
-			trackAndUpdatePrintingOrStoredStatus(txn, TemplateType.SUCCESS, RequestType.SHARE_CRED_WITH_PARTNER);
-			trackAndUpdateFailedStatus(txn, TemplateType.FAILURE, RequestType.SHARE_CRED_WITH_PARTNER);
+			trackAndUpdatePrintingOrStoredStatus(txn, TemplateType.SUCCESS, RequestType.SHARE_CRED_WITH_PARTNER,
+					notifications);
+			trackAndUpdateFailedStatus(txn, TemplateType.FAILURE, RequestType.SHARE_CRED_WITH_PARTNER, notifications);
 		}
 	}
 
-	private void updateUinDemoDataUpdateTxnStatus(ResidentTransactionEntity txn)
+	private void updateUinDemoDataUpdateTxnStatus(ResidentTransactionEntity txn,
+			Queue<NotificationRequestDtoV2> notifications)
 			throws ResidentServiceCheckedException, ApisResourceAccessException {
 		if (txn.getRequestTypeCode().contentEquals(UPDATE_MY_UIN.name())) {
 			Map<String, String> eventDetails = trackAndUpdateNewOrIssuedStatus(txn);
-			trackAndUpdatePrintingOrReceivedOrStoredStatus(txn, TemplateType.SUCCESS, RequestType.UPDATE_MY_UIN, eventDetails);
-			trackAndUpdateFailedStatus(txn, TemplateType.FAILURE, RequestType.UPDATE_MY_UIN);
+			trackAndUpdatePrintingOrReceivedOrStoredStatus(txn, TemplateType.SUCCESS, RequestType.UPDATE_MY_UIN,
+					eventDetails, notifications);
+			trackAndUpdateFailedStatus(txn, TemplateType.FAILURE, RequestType.UPDATE_MY_UIN, notifications);
 		}
 	}
 
@@ -208,7 +424,6 @@ public class CredentialStatusUpdateBatchJob {
 				txn.setReadStatus(false);
 				txn.setUpdBy(RESIDENT);
 				txn.setUpdDtimes(DateUtils.getUTCCurrentDateTime());
-				repo.save(txn);
 				return eventDetails;
 			}
 		}
@@ -216,42 +431,45 @@ public class CredentialStatusUpdateBatchJob {
 	}
 
 	private void trackAndUpdatePrintingOrReceivedOrStoredStatus(ResidentTransactionEntity txn, TemplateType templateType,
-			RequestType requestType, Map<String, String> eventDetails) throws ResidentServiceCheckedException {
+			RequestType requestType, Map<String, String> eventDetails, Queue<NotificationRequestDtoV2> notifications)
+			throws ResidentServiceCheckedException {
 		if (txn.getStatusCode().contentEquals(PRINTING.name()) || txn.getStatusCode().contentEquals(RECEIVED.name())
 				|| txn.getStatusCode().contentEquals(STORED.name())) {
 			txn.setStatusCode(CARD_READY_TO_DOWNLOAD.name());
 			txn.setReadStatus(false);
 			createResidentDwldUrl(txn, templateType, requestType, eventDetails);
-			sendNotification(txn, templateType, requestType);
+			sendNotification(txn, templateType, requestType, notifications);
 		}
 	}
 
 	private void trackAnddownloadPrintingOrStoredStatus(ResidentTransactionEntity txn, TemplateType templateType,
-			RequestType requestType, Map<String, String> eventDetails) throws ResidentServiceCheckedException {
+			RequestType requestType, Map<String, String> eventDetails, Queue<NotificationRequestDtoV2> notifications)
+			throws ResidentServiceCheckedException {
 		if (txn.getStatusCode().contentEquals(PRINTING.name()) || txn.getStatusCode().contentEquals(STORED.name())) {
 			txn.setStatusCode(CARD_READY_TO_DOWNLOAD.name());
 			txn.setReadStatus(false);
 			createResidentDwldUrl(txn, templateType, requestType, eventDetails);
-			sendNotification(txn, templateType, requestType);
+			sendNotification(txn, templateType, requestType, notifications);
 		}
 	}
 
 	private void trackAnddownloadPrintingOrIntransitStatus(ResidentTransactionEntity txn, TemplateType templateType,
-			RequestType requestType, Map<String, String> eventDetails)
+			RequestType requestType, Map<String, String> eventDetails, Queue<NotificationRequestDtoV2> notifications)
 			throws ResidentServiceCheckedException, ApisResourceAccessException {
 		if (txn.getStatusCode().contentEquals(PRINTING.name()) || txn.getStatusCode().contentEquals(IN_TRANSIT.name())
 				|| txn.getStatusCode().contentEquals(STORED.name())) {
 			String trackingId = getTrackingId(txn.getRequestTrnId(), txn.getIndividualId());
 			txn.setTrackingId(trackingId);
 			createResidentDwldUrl(txn, templateType, requestType, eventDetails);
-			sendNotification(txn, templateType, requestType);
+			sendNotification(txn, templateType, requestType, notifications);
 		}
 	}
 
 	private void trackAndUpdatePrintingOrStoredStatus(ResidentTransactionEntity txn, TemplateType templateType,
-			RequestType requestType) throws ResidentServiceCheckedException {
+			RequestType requestType, Queue<NotificationRequestDtoV2> notifications)
+			throws ResidentServiceCheckedException {
 		if (txn.getStatusCode().contentEquals(PRINTING.name()) || txn.getStatusCode().contentEquals(STORED.name())) {
-			sendNotification(txn, templateType, requestType);
+			sendNotification(txn, templateType, requestType, notifications);
 		}
 	}
 
@@ -271,30 +489,35 @@ public class CredentialStatusUpdateBatchJob {
 		txn.setReferenceLink(eventDetails.get(URL));
 		txn.setUpdBy(RESIDENT);
 		txn.setUpdDtimes(DateUtils.getUTCCurrentDateTime());
-		repo.save(txn);
 	}
 
-	private void sendNotification(ResidentTransactionEntity txn, TemplateType templateType, RequestType requestType)
+	private void sendNotification(ResidentTransactionEntity txn, TemplateType templateType, RequestType requestType,
+			Queue<NotificationRequestDtoV2> notifications)
 			throws ResidentServiceCheckedException {
 		NotificationRequestDtoV2 notificationRequestDtoV2 = new NotificationRequestDtoV2();
 		notificationRequestDtoV2.setTemplateType(templateType);
 		notificationRequestDtoV2.setRequestType(requestType);
 		notificationRequestDtoV2.setEventId(txn.getEventId());
 		notificationRequestDtoV2.setId(txn.getIndividualId());
-		notificationService.sendNotification(notificationRequestDtoV2);
+		if (notificationOutbox != null) {
+			notifications.add(notificationRequestDtoV2);
+		} else {
+			notificationService.sendNotification(notificationRequestDtoV2);
+		}
 	}
 
 	private void trackAndUpdateFailedStatus(ResidentTransactionEntity txn, TemplateType templateType,
-			RequestType requestType) throws ResidentServiceCheckedException, ApisResourceAccessException {
+			RequestType requestType, Queue<NotificationRequestDtoV2> notifications)
+			throws ResidentServiceCheckedException, ApisResourceAccessException {
 		if (txn.getStatusCode().contentEquals(FAILED.name())) {
-			sendNotification(txn, templateType, requestType);
+			sendNotification(txn, templateType, requestType, notifications);
 		}
 	}
 
 	private Map<String, String> getCredentialEventDetails(String credentialRequestId)
 			throws ResidentServiceCheckedException, ApisResourceAccessException {
-		Object object = residentServiceRestClient.getApi(ApiName.CREDENTIAL_STATUS_URL, List.of(credentialRequestId),
-				Collections.emptyList(), Collections.emptyList(), ResponseWrapper.class);
+		Object object = getApi(ApiName.CREDENTIAL_STATUS_URL, List.of(credentialRequestId), Collections.emptyList(),
+				Collections.emptyList());
 		ResponseWrapper<Map<String, String>> responseWrapper = JsonUtil.convertValue(object,
 				new TypeReference<ResponseWrapper<Map<String, String>>>() {
 				});
@@ -305,6 +528,25 @@ public class CredentialStatusUpdateBatchJob {
 		return responseWrapper.getResponse();
 	}
 
+	/**
+	 * Calls a status API, within the rate limit for the credential service.
+	 * Concurrency needs no separate limit, as calls are only made from the
+	 * workers of their status API, or one at a time when the job runs serially.
+	 */
+	private Object getApi(ApiName apiName, List<String> pathsegments, List<String> queryParamName,
+			List<Object> queryParamValue) throws ApisResourceAccessException {
+		if (apiName == ApiName.CREDENTIAL_STATUS_URL && credentialStatusRateLimiter != null) {
+			try {
+				credentialStatusRateLimiter.acquire();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new ApisResourceAccessException(apiName.name() + " call interrupted", e);
+			}
+		}
+		return residentServiceRestClient.getApi(apiName, pathsegments, queryParamName, queryParamValue,
+				ResponseWrapper.class);
+	}
+
 	private boolean isRecordAvailableInIdRepo(String individualId) throws ResidentServiceCheckedException {
 		try {
 			getNameForIndividualId(individualId);
@@ -337,9 +579,9 @@ public class CredentialStatusUpdateBatchJob {
 
 	private String getTrackingId(String transactionId, String individualId)
 			throws ResidentServiceCheckedException, ApisResourceAccessException {
-		Object object = residentServiceRestClient.getApi(ApiName.GET_ORDER_STATUS_URL, List.of(),
+		Object object = getApi(ApiName.GET_ORDER_STATUS_URL, List.of(),
 				List.of(TemplateVariablesConstants.TRANSACTION_ID, TemplateVariablesConstants.INDIVIDUAL_ID),
-				List.of(transactionId, individualId), ResponseWrapper.class);
+				List.of(transactionId, individualId));
 		ResponseWrapper<Map<String, String>> responseWrapper = JsonUtil.convertValue(object,
 				new TypeReference<ResponseWrapper<Map<String, String>>>() {
 				});
@@ -0,0 +1,251 @@
+package io.mosip.resident.batch;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.kernel.core.util.DateUtils;
+import io.mosip.resident.config.LoggerConfiguration;
+import io.mosip.resident.entity.ResidentNotificationOutboxEntity;
+import io.mosip.resident.repository.ResidentNotificationOutboxLeaseRepository;
+import io.mosip.resident.repository.ResidentNotificationOutboxRepository;
+import io.mosip.resident.service.NotificationOutboxService;
+import io.mosip.resident.util.AuditUtil;
+import io.mosip.resident.util.EventEnum;
+
+/**
+ * Delivers the notifications queued by {@link NotificationOutboxService}.
+ * <p>
+ * Each run claims due notifications in pages through
+ * {@link ResidentNotificationOutboxLeaseRepository}, so several instances can
+ * run the job at the same time, and sends them on a small worker pool.
+ * Delivered notifications are removed from the outbox. A failed delivery is
+ * retried with exponential backoff, and after the configured number of
+ * attempts the notification is marked dead and left in the outbox for
+ * inspection. Delivered and dead notifications are audited here, as the
+ * request that queued them only knows they were queued.
+ */
+@Component
+@ConditionalOnProperty(name = NotificationOutboxService.OUTBOX_ENABLED, havingValue = "true", matchIfMissing = true)
+public class NotificationOutboxDeliveryJob {
+
+	private static final Logger logger = LoggerConfiguration.logConfig(NotificationOutboxDeliveryJob.class);
+
+	private static final String METRIC_PREFIX = "resident.notification.outbox";
+
+	private static final int MAX_ERROR_LENGTH = 512;
+
+	@Autowired
+	private ResidentNotificationOutboxRepository outboxRepository;
+
+	@Autowired
+	private ResidentNotificationOutboxLeaseRepository leaseRepository;
+
+	@Autowired
+	private NotificationOutboxService notificationOutboxService;
+
+	@Autowired
+	private AuditUtil audit;
+
+	@Autowired(required = false)
+	private MeterRegistry meterRegistry;
+
+	@Value("${resident.notification.outbox.workers:4}")
+	private int workers;
+
+	@Value("${resident.notification.outbox.page-size:50}")
+	private int pageSize;
+
+	@Value("${resident.notification.outbox.lease.millisecs:300000}")
+	private long leaseMillis;
+
+	@Value("${resident.notification.outbox.max-attempts:5}")
+	private int maxAttempts;
+
+	@Value("${resident.notification.outbox.backoff.initial.millisecs:30000}")
+	private long initialBackoffMillis;
+
+	@Value("${resident.notification.outbox.backoff.max.millisecs:3600000}")
+	private long maxBackoffMillis;
+
+	private ExecutorService executor;
+
+	private final AtomicLong pending = new AtomicLong();
+
+	private final AtomicLong lagMillis = new AtomicLong();
+
+	private Counter deliveredCounter;
+
+	private Counter failedCounter;
+
+	private Counter deadCounter;
+
+	private Timer deliveryTimer;
+
+	private Timer lagTimer;
+
+	@PostConstruct
+	public void init() {
+		executor = Executors.newFixedThreadPool(workers, new CustomizableThreadFactory("notification-outbox-"));
+		if (meterRegistry != null) {
+			Gauge.builder(METRIC_PREFIX + ".pending", pending, AtomicLong::get)
+					.description("Notifications waiting for delivery at the start of the last run")
+					.register(meterRegistry);
+			Gauge.builder(METRIC_PREFIX + ".lag.seconds", lagMillis, lag -> lag.get() / 1000d)
+					.description("Age of the oldest notification waiting for delivery").register(meterRegistry);
+			deliveredCounter = Counter.builder(METRIC_PREFIX + ".delivered")
+					.description("Notifications delivered").register(meterRegistry);
+			failedCounter = Counter.builder(METRIC_PREFIX + ".failed")
+					.description("Failed delivery attempts").register(meterRegistry);
+			deadCounter = Counter.builder(METRIC_PREFIX + ".dead")
+					.description("Notifications given up after the last delivery attempt").register(meterRegistry);
+			deliveryTimer = Timer.builder(METRIC_PREFIX + ".delivery")
+					.description("Time taken to send one notification").register(meterRegistry);
+			lagTimer = Timer.builder(METRIC_PREFIX + ".delivery.lag")
+					.description("Time from queueing a notification to delivering it").register(meterRegistry);
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		if (executor != null) {
+			executor.shutdown();
+		}
+	}
+
+	@Scheduled(initialDelayString = "${resident.notification.outbox.poll.initial-delay.millisecs:60000}",
+			fixedDelayString = "${resident.notification.outbox.poll.interval.millisecs:5000}")
+	public void deliverPendingNotifications() {
+		LocalDateTime now = DateUtils.getUTCCurrentDateTime();
+		pending.set(outboxRepository.countByStatusCode(NotificationOutboxService.PENDING));
+		LocalDateTime oldest = outboxRepository.findOldestCrDtimesByStatusCode(NotificationOutboxService.PENDING);
+		lagMillis.set(oldest == null ? 0 : Math.max(0, Duration.between(oldest, now).toMillis()));
+		String owner = UUID.randomUUID().toString();
+		try {
+			while (!Thread.currentThread().isInterrupted()) {
+				List<String> ids = leaseRepository.claim(owner, pageSize, leaseMillis);
+				if (ids.isEmpty()) {
+					break;
+				}
+				deliverPage(outboxRepository.findAllById(ids));
+			}
+		} finally {
+			leaseRepository.release(owner);
+		}
+	}
+
+	private void deliverPage(List<ResidentNotificationOutboxEntity> page) {
+		List<Future<Boolean>> futures = new ArrayList<>(page.size());
+		for (ResidentNotificationOutboxEntity entity : page) {
+			futures.add(executor.submit(() -> deliver(entity)));
+		}
+		List<ResidentNotificationOutboxEntity> delivered = new ArrayList<>();
+		List<ResidentNotificationOutboxEntity> failed = new ArrayList<>();
+		for (int i = 0; i < page.size(); i++) {
+			ResidentNotificationOutboxEntity entity = page.get(i);
+			try {
+				(futures.get(i).get() ? delivered : failed).add(entity);
+			} catch (ExecutionException e) {
+				failed.add(entity);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				failed.add(entity);
+			}
+		}
+		if (!delivered.isEmpty()) {
+			outboxRepository.deleteAll(delivered);
+		}
+		if (!failed.isEmpty()) {
+			outboxRepository.saveAll(failed);
+		}
+	}
+
+	/**
+	 * Sends one notification and updates the entity with the outcome. Returns
+	 * whether it was delivered.
+	 */
+	private boolean deliver(ResidentNotificationOutboxEntity entity) {
+		long start = System.nanoTime();
+		try {
+			notificationOutboxService.deliver(entity);
+			increment(deliveredCounter);
+			audit.setAuditRequestDto(EventEnum.getEventEnumWithValue(EventEnum.SEND_NOTIFICATION_SUCCESS,
+					entity.getEventId(), "Notification delivered"));
+			if (lagTimer != null) {
+				lagTimer.record(Duration.between(entity.getCrDtimes(), DateUtils.getUTCCurrentDateTime()));
+			}
+			return true;
+		} catch (Exception e) {
+			increment(failedCounter);
+			recordFailure(entity, e);
+			return false;
+		} finally {
+			if (deliveryTimer != null) {
+				deliveryTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+			}
+		}
+	}
+
+	private void recordFailure(ResidentNotificationOutboxEntity entity, Exception e) {
+		LocalDateTime now = DateUtils.getUTCCurrentDateTime();
+		int attempts = entity.getAttempts() + 1;
+		entity.setAttempts(attempts);
+		entity.setLastError(StringUtils.abbreviate(e.getClass().getSimpleName() + ": " + e.getMessage(),
+				MAX_ERROR_LENGTH));
+		entity.setLeaseOwner(null);
+		entity.setLeaseExpiryDtimes(null);
+		entity.setUpdDtimes(now);
+		if (attempts >= maxAttempts) {
+			entity.setStatusCode(NotificationOutboxService.DEAD);
+			increment(deadCounter);
+			audit.setAuditRequestDto(EventEnum.getEventEnumWithValue(EventEnum.SEND_NOTIFICATION_FAILURE,
+					entity.getEventId(), "Notification not delivered after " + attempts + " attempts"));
+			logger.error("Notification " + entity.getId() + " of event " + entity.getEventId()
+					+ " is dead after " + attempts + " attempts: " + entity.getLastError());
+		} else {
+			entity.setNextAttemptDtimes(now.plusNanos(getBackoffMillis(attempts) * 1_000_000));
+			logger.warn("Notification " + entity.getId() + " of event " + entity.getEventId() + " failed attempt "
+					+ attempts + ": " + entity.getLastError());
+		}
+	}
+
+	/**
+	 * Returns the delay before the next attempt, doubling with each failed
+	 * attempt up to the configured maximum.
+	 */
+	long getBackoffMillis(int attempts) {
+		long backoff = initialBackoffMillis << Math.min(attempts - 1, 30);
+		return backoff < 0 || backoff > maxBackoffMillis ? maxBackoffMillis : backoff;
+	}
+
+	private void increment(Counter counter) {
+		if (counter != null) {
+			counter.increment();
+		}
+	}
+
+}
@@ -6,6 +6,7 @@ import java.util.Map;
 import java.util.function.BiFunction;
 
 import io.mosip.resident.dto.NotificationTemplateVariableDTO;
+import io.mosip.resident.entity.ResidentTransactionEntity;
 import io.mosip.resident.function.QuadFunction;
 import io.mosip.resident.util.TemplateUtil;
 import reactor.util.function.Tuple2;
@@ -98,7 +99,7 @@ public enum RequestType {
 	private List<EventStatusInProgress> inProgressStatusList;
 	private String featureName;
 	private BiFunction<TemplateUtil, NotificationTemplateVariableDTO, Map<String, Object>> notificationTemplateVariablesFunction;
-	private QuadFunction<TemplateUtil, String, String, String, String> getDescriptionTemplateVariables;
+	private QuadFunction<TemplateUtil, ResidentTransactionEntity, String, String, String> getDescriptionTemplateVariables;
 	private String namingProperty;
 
 	private String name;
@@ -108,7 +109,7 @@ public enum RequestType {
 			List<EventStatusSuccess> successStatusList, List<EventStatusFailure> failureStatusList,
 			List<EventStatusInProgress> inProgressStatusList, String featureName,
 			BiFunction<TemplateUtil, NotificationTemplateVariableDTO, Map<String, Object>> notificationTemplateVariablesFunction,
-			QuadFunction<TemplateUtil, String, String, String, String> getDescriptionTemplateVariables) {
+			QuadFunction<TemplateUtil, ResidentTransactionEntity, String, String, String> getDescriptionTemplateVariables) {
 		this(name, ackTemplateVariablesFunction, successStatusList, failureStatusList, inProgressStatusList,
 				featureName, notificationTemplateVariablesFunction, getDescriptionTemplateVariables, null);
 	}
@@ -118,7 +119,7 @@ public enum RequestType {
 			List<EventStatusSuccess> successStatusList, List<EventStatusFailure> failureStatusList,
 			List<EventStatusInProgress> inProgressStatusList, String featureName,
 			BiFunction<TemplateUtil, NotificationTemplateVariableDTO, Map<String, Object>> notificationTemplateVariablesFunction,
-			QuadFunction<TemplateUtil, String, String, String, String> getDescriptionTemplateVariables,
+			QuadFunction<TemplateUtil, ResidentTransactionEntity, String, String, String> getDescriptionTemplateVariables,
 			String namingProperty) {
 		this.name = name;
 		this.ackTemplateVariablesFunction = ackTemplateVariablesFunction;
@@ -199,8 +200,9 @@ public enum RequestType {
 		return notificationTemplateVariablesFunction.apply(templateUtil, dto);
 	}
 
-	public String getDescriptionTemplateVariables(TemplateUtil templateUtil, String eventId, String fileText, String languageCode){
-		return getDescriptionTemplateVariables.apply(templateUtil, eventId, fileText, languageCode);
+	public String getDescriptionTemplateVariables(TemplateUtil templateUtil, ResidentTransactionEntity residentTransactionEntity,
+			String fileText, String languageCode){
+		return getDescriptionTemplateVariables.apply(templateUtil, residentTransactionEntity, fileText, languageCode);
 	}
 	
 	public String getNamingProperty() {
@@ -234,4 +234,5 @@ public class ResidentConstants {
     public static final String VID = "vid";
     public static final String NAME = "name";
     public static final String ONLINE_VERIFICATION_PARTNER_ID = "ida.online-verification-partner-id";
+    public static final String PAGE_TOKEN = "pageToken";
 }
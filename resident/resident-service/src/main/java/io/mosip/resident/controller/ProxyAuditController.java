@@ -84,7 +84,7 @@ public class ProxyAuditController {
 		auditRequestDto.setModuleName(requestDto.getModuleName());
 		auditRequestDto.setModuleId(requestDto.getModuleId());
 		auditRequestDto.setDescription(requestDto.getDescription());
-		auditUtil.callAuditManager(auditRequestDto);
+		auditUtil.submitAudit(auditRequestDto);
 		return ResponseEntity.ok().build();
 	}
 
@@ -129,7 +129,7 @@ public class ProxyAuditController {
 		auditRequestDto.setModuleName(requestDto.getModuleName());
 		auditRequestDto.setModuleId(requestDto.getModuleId());
 		auditRequestDto.setDescription(requestDto.getDescription());
-		auditUtil.callAuditManager(auditRequestDto);
+		auditUtil.submitAudit(auditRequestDto);
 		return ResponseEntity.ok().build();
 	}
 
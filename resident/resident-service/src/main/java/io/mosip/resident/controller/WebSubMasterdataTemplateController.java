@@ -0,0 +1,50 @@
+package io.mosip.resident.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.kernel.core.websub.model.EventModel;
+import io.mosip.kernel.websub.api.annotation.PreAuthenticateContentAndVerifyIntent;
+import io.mosip.resident.config.LoggerConfiguration;
+import io.mosip.resident.constant.LoggerFileConstant;
+import io.mosip.resident.service.WebSubMasterdataTemplateService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@Tag(name="WebSubMasterdataTemplateController", description="WebSubMasterdataTemplateController")
+public class WebSubMasterdataTemplateController {
+
+    private static Logger logger = LoggerConfiguration.logConfig(WebSubMasterdataTemplateController.class);
+
+    @Autowired
+    private WebSubMasterdataTemplateService webSubMasterdataTemplateService;
+
+    @PostMapping(value = "/callback/masterdataTemplateCallback", consumes = "application/json")
+    @Operation(summary = "WebSubMasterdataTemplateController", description = "WebSubMasterdataTemplateController",
+            tags = {"WebSubMasterdataTemplateController"})
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "OK"),
+            @ApiResponse(responseCode = "201", description = "Created", content = @Content(schema = @Schema(hidden = true))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content(schema = @Schema(hidden = true))),
+            @ApiResponse(responseCode = "403", description = "Forbidden", content = @Content(schema = @Schema(hidden = true))),
+            @ApiResponse(responseCode = "404", description = "Not Found", content = @Content(schema = @Schema(hidden = true)))})
+
+    @PreAuthenticateContentAndVerifyIntent(secret = "${resident.websub.masterdata-template.secret:${resident.websub.authtype-status.secret}}",
+            callback = "${resident.websub.callback.masterdata-template.relative.url:${server.servlet.context-path}/callback/masterdataTemplateCallback}",
+            topic = "${resident.websub.masterdata-template.topic:MASTERDATA_TEMPLATES}")
+    public void masterdataTemplateCallback(@RequestBody EventModel eventModel) {
+        logger.debug(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+                LoggerFileConstant.APPLICATIONID.toString(), "WebSubMasterdataTemplateController :: masterdataTemplateCallback() :: Start");
+        if (eventModel.getEvent() != null && eventModel.getEvent().getData() != null) {
+            webSubMasterdataTemplateService.evictTemplates(eventModel);
+        }
+    }
+}
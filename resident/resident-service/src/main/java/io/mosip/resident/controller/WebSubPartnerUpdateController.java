@@ -0,0 +1,48 @@
+package io.mosip.resident.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.kernel.core.websub.model.EventModel;
+import io.mosip.kernel.websub.api.annotation.PreAuthenticateContentAndVerifyIntent;
+import io.mosip.resident.config.LoggerConfiguration;
+import io.mosip.resident.constant.LoggerFileConstant;
+import io.mosip.resident.service.WebSubPartnerUpdateService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@Tag(name="WebSubPartnerUpdateController", description="WebSubPartnerUpdateController")
+public class WebSubPartnerUpdateController {
+
+    private static Logger logger = LoggerConfiguration.logConfig(WebSubPartnerUpdateController.class);
+
+    @Autowired
+    private WebSubPartnerUpdateService webSubPartnerUpdateService;
+
+    @PostMapping(value = "/callback/partnerUpdateCallback", consumes = "application/json")
+    @Operation(summary = "WebSubPartnerUpdateController", description = "WebSubPartnerUpdateController",
+            tags = {"WebSubPartnerUpdateController"})
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "OK"),
+            @ApiResponse(responseCode = "201", description = "Created", content = @Content(schema = @Schema(hidden = true))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content(schema = @Schema(hidden = true))),
+            @ApiResponse(responseCode = "403", description = "Forbidden", content = @Content(schema = @Schema(hidden = true))),
+            @ApiResponse(responseCode = "404", description = "Not Found", content = @Content(schema = @Schema(hidden = true)))})
+
+    @PreAuthenticateContentAndVerifyIntent(secret = "${resident.websub.partner-update.secret:${resident.websub.authtype-status.secret}}",
+            callback = "${resident.websub.callback.partner-update.relative.url:${server.servlet.context-path}/callback/partnerUpdateCallback}",
+            topic = "${resident.websub.partner-update.topic:PARTNER_UPDATED}")
+    public void partnerUpdateCallback(@RequestBody EventModel eventModel) {
+        logger.debug(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+                LoggerFileConstant.APPLICATIONID.toString(), "WebSubPartnerUpdateController :: partnerUpdateCallback() :: Start");
+        webSubPartnerUpdateService.refreshPartners(eventModel);
+    }
+}
@@ -16,6 +16,7 @@ public class PageDto<T> {
     private long totalItems;
     private int totalPages;
     private List<T> data;
+    private String nextPageToken;
 
     public int getPageNo() {
         return this.pageNo;
@@ -37,6 +38,10 @@ public class PageDto<T> {
         return this.data;
     }
 
+    public String getNextPageToken() {
+        return this.nextPageToken;
+    }
+
     public void setPageNo(int pageNo) {
         this.pageNo = pageNo;
     }
@@ -57,6 +62,10 @@ public class PageDto<T> {
         this.data = data;
     }
 
+    public void setNextPageToken(String nextPageToken) {
+        this.nextPageToken = nextPageToken;
+    }
+
 
 
     protected boolean canEqual(Object other) {
@@ -65,7 +74,7 @@ public class PageDto<T> {
 
     public String toString() {
         int var10000 = this.getPageNo();
-        return "PageDto(pageNo=" + var10000 + ", pageSize=" + this.getPageSize() + ", " + ", totalItems=" + this.getTotalItems() + ", totalPages=" + this.getTotalPages() + ", data=" + this.getData() + ")";
+        return "PageDto(pageNo=" + var10000 + ", pageSize=" + this.getPageSize() + ", " + ", totalItems=" + this.getTotalItems() + ", totalPages=" + this.getTotalPages() + ", data=" + this.getData() + ", nextPageToken=" + this.getNextPageToken() + ")";
     }
 
     public PageDto(int pageNo, int pageSize, long totalItems, int totalPages, List<T> data) {
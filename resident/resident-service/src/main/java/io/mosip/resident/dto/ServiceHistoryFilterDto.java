@@ -0,0 +1,23 @@
+package io.mosip.resident.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.Data;
+
+/**
+ * Filter criteria for the service history query. Every non-null field is
+ * applied as a bind parameter; null or empty fields are left out of the query.
+ */
+@Data
+public class ServiceHistoryFilterDto {
+    private String tokenId;
+    private LocalDateTime fromDateTime;
+    private LocalDateTime toDateTime;
+    private List<String> requestTypeCodes;
+    private List<String> statusCodes;
+    /** Event id pattern matched after removing the '-' separators. */
+    private String searchText;
+    private String olvPartnerId;
+    private boolean ascending;
+}
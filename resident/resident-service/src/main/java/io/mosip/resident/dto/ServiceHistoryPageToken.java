@@ -0,0 +1,83 @@
+package io.mosip.resident.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Base64;
+
+import io.mosip.resident.constant.ResidentConstants;
+import io.mosip.resident.exception.InvalidInputException;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Keyset cursor for service history pages. Holds the sort key of the last row
+ * of the previous page, i.e. (pinned_status, cr_dtimes, event_id), along with
+ * the total count computed for the first page so it need not be counted again,
+ * and a hash of the filter and sort order the page was read with, so that the
+ * token is rejected when it is passed back with a different query.
+ * It is handed to clients as an opaque URL safe string.
+ */
+@Data
+@AllArgsConstructor
+public class ServiceHistoryPageToken {
+
+    private static final String SEPARATOR = "|";
+
+    private static final int FILTER_HASH_BYTES = 16;
+
+    private boolean pinnedStatus;
+    private LocalDateTime crDtimes;
+    private String eventId;
+    private long totalItems;
+    private String filterHash;
+
+    public ServiceHistoryPageToken(boolean pinnedStatus, LocalDateTime crDtimes, String eventId, long totalItems,
+            ServiceHistoryFilterDto filter) {
+        this(pinnedStatus, crDtimes, eventId, totalItems, filterHash(filter));
+    }
+
+    public String encode() {
+        String value = pinnedStatus + SEPARATOR + crDtimes + SEPARATOR + totalItems + SEPARATOR + filterHash
+                + SEPARATOR + eventId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes the token and checks that it was issued for the given filter.
+     */
+    public static ServiceHistoryPageToken decode(String token, ServiceHistoryFilterDto filter) {
+        ServiceHistoryPageToken pageToken;
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = value.split("\\" + SEPARATOR, 5);
+            pageToken = new ServiceHistoryPageToken(Boolean.parseBoolean(parts[0]), LocalDateTime.parse(parts[1]),
+                    parts[4], Long.parseLong(parts[2]), parts[3]);
+        } catch (RuntimeException e) {
+            throw new InvalidInputException(ResidentConstants.PAGE_TOKEN, e);
+        }
+        if (!pageToken.getFilterHash().equals(filterHash(filter))) {
+            throw new InvalidInputException(ResidentConstants.PAGE_TOKEN);
+        }
+        return pageToken;
+    }
+
+    /**
+     * Hashes every field of the filter, the resident and the sort order
+     * included, into a short URL safe string.
+     */
+    public static String filterHash(ServiceHistoryFilterDto filter) {
+        String value = String.join(SEPARATOR, filter.getTokenId(), String.valueOf(filter.getFromDateTime()),
+                String.valueOf(filter.getToDateTime()), String.valueOf(filter.getRequestTypeCodes()),
+                String.valueOf(filter.getStatusCodes()), filter.getSearchText(), filter.getOlvPartnerId(),
+                String.valueOf(filter.isAscending()));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, FILTER_HASH_BYTES));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package io.mosip.resident.entity;
+
+import java.time.LocalDateTime;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * This entity class defines the database table details for
+ * resident_notification_outbox table.
+ *
+ * @since 1.2.0.2
+ */
+@Data
+@Table(name = "resident_notification_outbox", schema = "resident")
+@Entity
+@NoArgsConstructor
+public class ResidentNotificationOutboxEntity {
+
+	@Id
+	@Column(name = "id")
+	private String id;
+
+	@Column(name = "event_id")
+	private String eventId;
+
+	@Column(name = "payload")
+	private String payload;
+
+	@Column(name = "status_code")
+	private String statusCode;
+
+	@Column(name = "attempts")
+	private int attempts;
+
+	@Column(name = "next_attempt_dtimes")
+	private LocalDateTime nextAttemptDtimes;
+
+	@Column(name = "last_error")
+	private String lastError;
+
+	@Column(name = "lease_owner")
+	private String leaseOwner;
+
+	@Column(name = "lease_expiry_dtimes")
+	private LocalDateTime leaseExpiryDtimes;
+
+	@Column(name = "cr_dtimes")
+	private LocalDateTime crDtimes;
+
+	@Column(name = "upd_dtimes")
+	private LocalDateTime updDtimes;
+
+}
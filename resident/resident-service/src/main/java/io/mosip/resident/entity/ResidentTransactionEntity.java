@@ -6,12 +6,19 @@ import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.Id;
 import javax.persistence.Table;
+import javax.persistence.Transient;
 import javax.validation.constraints.NotNull;
 
+import io.mosip.resident.util.LazyDecryptedValue;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
 /**
  * This entity class defines the database table details for resident_transaction
@@ -23,6 +30,8 @@ import lombok.NoArgsConstructor;
  */
 
 @Data
+@EqualsAndHashCode(doNotUseGetters = true)
+@ToString(doNotUseGetters = true)
 @Table(name = "resident_transaction", schema = "resident")
 @Entity
 @Builder
@@ -142,14 +151,61 @@ public class ResidentTransactionEntity {
 	private String attributeList;
 
 	@Column(name = "individual_id")
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.NONE)
 	private String individualId;
 
+	/**
+	 * The decrypted individual id, resolved on first access to
+	 * {@link #getIndividualId()} after the entity is loaded or saved.
+	 */
+	@Transient
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.NONE)
+	@ToString.Exclude
+	@EqualsAndHashCode.Exclude
+	private transient LazyDecryptedValue decryptedIndividualId;
+
 	@Column(name = "consent")
 	private String consent;
 	
 	@Column(name = "tracking_id")
 	private String trackingId;
 
+	/**
+	 * Returns the plain individual id, decrypting the stored value on first
+	 * access.
+	 */
+	public String getIndividualId() {
+		LazyDecryptedValue decrypted = decryptedIndividualId;
+		if (decrypted != null && decrypted.isDecryptionOf(individualId)) {
+			return decrypted.get();
+		}
+		return individualId;
+	}
+
+	public void setIndividualId(String individualId) {
+		this.individualId = individualId;
+		this.decryptedIndividualId = null;
+	}
+
+	/**
+	 * Sets the individual id as stored in the database together with the holder
+	 * that decrypts it.
+	 */
+	public void setEncryptedIndividualId(LazyDecryptedValue decryptedIndividualId, String encryptedIndividualId) {
+		this.individualId = encryptedIndividualId;
+		this.decryptedIndividualId = decryptedIndividualId;
+	}
+
+	/**
+	 * Checks whether the given column value is the stored, encrypted individual
+	 * id of this entity rather than a plain value still to be encrypted.
+	 */
+	public boolean isEncryptedIndividualId(Object individualId) {
+		return decryptedIndividualId != null && decryptedIndividualId.isDecryptionOf(individualId);
+	}
+
 	/**
 	 * The constructor used in retrieval of the specific fields.
 	 * 
@@ -131,7 +131,7 @@ public class SyncAndUploadService {
 				HttpEntity<LinkedMultiValueMap<String, Object>> requestEntity = new HttpEntity<LinkedMultiValueMap<String, Object>>(
 						map, headers);
 
-				String result = restClientService.postApi(env.getProperty(ApiName.PACKETRECEIVER.name()), MediaType.MULTIPART_FORM_DATA, requestEntity,
+				String result = restClientService.postApi(ApiName.PACKETRECEIVER, MediaType.MULTIPART_FORM_DATA, requestEntity,
 						String.class);
 				if (result != null) {
 					packetReceiverResponseDTO = gson.fromJson(result, PacketReceiverResponseDTO.class);
@@ -245,7 +245,7 @@ public class SyncAndUploadService {
 			headers.add("timestamp", creationTime);
 
 			HttpEntity<Object> requestEntity = new HttpEntity<Object>(javaObjectToJsonString(requestObject).getBytes(), headers);
-			String response = (String) restClientService.postApi(env.getProperty(ApiName.SYNCSERVICE.name()), MediaType.APPLICATION_JSON, requestEntity,
+			String response = (String) restClientService.postApi(ApiName.SYNCSERVICE, MediaType.APPLICATION_JSON, requestEntity,
 					String.class);
 			regSyncResponseDTO = gson.fromJson(response, RegSyncResponseDTO.class);
 			logger.debug(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.REGISTRATIONID.toString(),
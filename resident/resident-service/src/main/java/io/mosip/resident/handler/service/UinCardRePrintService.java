@@ -168,7 +168,7 @@ public class UinCardRePrintService {
                             "UinCardRePrintService::createPacket():: post CREATEVID service call started with request data : "
                                     + JsonUtil.objectMapperObjectToJson(vidRequestDto));
 
-                    response = restClientService.postApi(env.getProperty(ApiName.CREATEVID.name()), MediaType.APPLICATION_JSON, request,
+                    response = restClientService.postApi(ApiName.CREATEVID, MediaType.APPLICATION_JSON, request,
                             VidResponseDTO1.class);
 
                     logger.debug(LoggerFileConstant.SESSIONID.toString(),
@@ -0,0 +1,184 @@
+package io.mosip.resident.helper;
+
+import java.security.NoSuchAlgorithmException;
+
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.apache.commons.codec.digest.DigestUtils;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.mosip.kernel.core.util.CryptoUtil;
+import io.mosip.resident.constant.ResidentErrorCode;
+import io.mosip.resident.exception.ResidentServiceException;
+import io.mosip.resident.util.LocalCache;
+
+/**
+ * Provides AES data keys for envelope encryption.
+ * <p>
+ * A data key is generated locally and wrapped (encrypted) by the key manager,
+ * so only the wrapped form ever leaves the process. The active key is reused
+ * until the rotation interval elapses. Unwrapped keys are cached by key id, so
+ * the key manager is called once per key rather than once per encryption or
+ * decryption.
+ * <p>
+ * When a {@link WrappedKeyStore} is given, every generated key is saved there
+ * under its key id before it is used, so data that only records the key id can
+ * be decrypted by any instance, also after a restart.
+ */
+public class DataKeyProvider {
+
+	private static final String AES = "AES";
+
+	private static final int KEY_SIZE = 256;
+
+	private static final int KEY_ID_LENGTH = 16;
+
+	private final KeyWrapper keyWrapper;
+
+	private final WrappedKeyStore keyStore;
+
+	private final long rotationMillis;
+
+	private final LocalCache<String, DataKey> keys;
+
+	private volatile DataKey activeKey;
+
+	/**
+	 * Wraps and unwraps Base64 encoded data keys with the key manager.
+	 */
+	public interface KeyWrapper {
+		String wrap(String encodedKey);
+
+		String unwrap(String wrappedKey);
+	}
+
+	/**
+	 * Persists wrapped data keys by key id.
+	 */
+	public interface WrappedKeyStore {
+		void save(String keyId, String wrappedKey);
+
+		/**
+		 * Returns the wrapped key saved under the given key id, or {@code null} when
+		 * there is none.
+		 */
+		String load(String keyId);
+	}
+
+	public DataKeyProvider(String name, KeyWrapper keyWrapper, long rotationMillis, int maxKeys,
+			MeterRegistry meterRegistry) {
+		this(name, keyWrapper, null, rotationMillis, maxKeys, meterRegistry);
+	}
+
+	public DataKeyProvider(String name, KeyWrapper keyWrapper, WrappedKeyStore keyStore, long rotationMillis,
+			int maxKeys, MeterRegistry meterRegistry) {
+		this.keyWrapper = keyWrapper;
+		this.keyStore = keyStore;
+		this.rotationMillis = rotationMillis;
+		this.keys = new LocalCache<>(name, maxKeys, Long.MAX_VALUE, meterRegistry);
+	}
+
+	/**
+	 * Returns the key to encrypt new data with, generating and wrapping a new key
+	 * when there is none or the current one is due for rotation.
+	 */
+	public DataKey getActiveKey() {
+		DataKey key = activeKey;
+		if (key == null || System.currentTimeMillis() - key.getCreatedAt() > rotationMillis) {
+			synchronized (this) {
+				key = activeKey;
+				if (key == null || System.currentTimeMillis() - key.getCreatedAt() > rotationMillis) {
+					key = generateKey();
+					keys.put(key.getKeyId(), key);
+					activeKey = key;
+				}
+			}
+		}
+		return key;
+	}
+
+	/**
+	 * Returns the unwrapped key for the given wrapped key, calling the key manager
+	 * only when the key is not cached.
+	 */
+	public DataKey getKey(String wrappedKey) {
+		return keys.get(getKeyId(wrappedKey), keyId -> unwrapKey(keyId, wrappedKey));
+	}
+
+	/**
+	 * Returns the unwrapped key for the given key id. A key that is not cached is
+	 * loaded from the {@link WrappedKeyStore} and unwrapped by the key manager.
+	 */
+	public DataKey getKeyById(String keyId) {
+		return keys.get(keyId, id -> {
+			String wrappedKey = keyStore == null ? null : keyStore.load(id);
+			if (wrappedKey == null || !id.equals(getKeyId(wrappedKey))) {
+				throw new ResidentServiceException(ResidentErrorCode.ENCRYPT_DECRYPT_ERROR.getErrorCode(),
+						ResidentErrorCode.ENCRYPT_DECRYPT_ERROR.getErrorMessage());
+			}
+			return unwrapKey(id, wrappedKey);
+		});
+	}
+
+	public static String getKeyId(String wrappedKey) {
+		return DigestUtils.sha256Hex(wrappedKey).substring(0, KEY_ID_LENGTH);
+	}
+
+	private DataKey generateKey() {
+		try {
+			KeyGenerator keyGenerator = KeyGenerator.getInstance(AES);
+			keyGenerator.init(KEY_SIZE);
+			SecretKey key = keyGenerator.generateKey();
+			String wrappedKey = keyWrapper.wrap(CryptoUtil.encodeToURLSafeBase64(key.getEncoded()));
+			String keyId = getKeyId(wrappedKey);
+			if (keyStore != null) {
+				keyStore.save(keyId, wrappedKey);
+			}
+			return new DataKey(keyId, key, wrappedKey, System.currentTimeMillis());
+		} catch (NoSuchAlgorithmException e) {
+			throw new ResidentServiceException(ResidentErrorCode.ENCRYPT_DECRYPT_ERROR.getErrorCode(),
+					ResidentErrorCode.ENCRYPT_DECRYPT_ERROR.getErrorMessage(), e);
+		}
+	}
+
+	private DataKey unwrapKey(String keyId, String wrappedKey) {
+		byte[] encodedKey = CryptoUtil.decodeURLSafeBase64(keyWrapper.unwrap(wrappedKey));
+		return new DataKey(keyId, new SecretKeySpec(encodedKey, AES), wrappedKey, System.currentTimeMillis());
+	}
+
+	/**
+	 * An unwrapped data key together with its wrapped form.
+	 */
+	public static final class DataKey {
+		private final String keyId;
+		private final SecretKey key;
+		private final String wrappedKey;
+		private final long createdAt;
+
+		DataKey(String keyId, SecretKey key, String wrappedKey, long createdAt) {
+			this.keyId = keyId;
+			this.key = key;
+			this.wrappedKey = wrappedKey;
+			this.createdAt = createdAt;
+		}
+
+		public String getKeyId() {
+			return keyId;
+		}
+
+		public SecretKey getKey() {
+			return key;
+		}
+
+		public String getWrappedKey() {
+			return wrappedKey;
+		}
+
+		public long getCreatedAt() {
+			return createdAt;
+		}
+	}
+
+}
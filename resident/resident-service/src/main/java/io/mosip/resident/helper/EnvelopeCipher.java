@@ -0,0 +1,318 @@
+package io.mosip.resident.helper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.function.Function;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+
+import io.mosip.resident.helper.DataKeyProvider.DataKey;
+
+/**
+ * Chunked AES-GCM envelope encryption of streams.
+ * <p>
+ * The encrypted stream starts with a header made of a magic number, a version,
+ * the wrapped data key and a random nonce prefix. The data follows in chunks,
+ * each encrypted separately with the chunk counter in its IV and a last-chunk
+ * flag in its associated data. Chunks therefore cannot be reordered, and the
+ * stream cannot be truncated without detection. Only one chunk is held in
+ * memory at a time in either direction.
+ */
+public final class EnvelopeCipher {
+
+	private static final byte[] MAGIC = { 0x00, 'R', 'E', 'V' };
+
+	private static final byte VERSION = 1;
+
+	private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+
+	private static final int TAG_LENGTH_BITS = 128;
+
+	private static final int TAG_LENGTH = TAG_LENGTH_BITS / 8;
+
+	private static final int NONCE_PREFIX_LENGTH = 8;
+
+	private static final int CHUNK_HEADER_LENGTH = 5;
+
+	private static final int MAX_WRAPPED_KEY_LENGTH = 16 * 1024;
+
+	private static final int MAX_CHUNK_LENGTH = 16 * 1024 * 1024;
+
+	private static final byte MORE_CHUNKS = 0;
+
+	private static final byte LAST_CHUNK = 1;
+
+	private static final SecureRandom RANDOM = new SecureRandom();
+
+	private EnvelopeCipher() {
+	}
+
+	/**
+	 * Returns a stream that reads the given plain data as encrypted data.
+	 */
+	public static InputStream encrypt(InputStream plainData, DataKey dataKey, int chunkSize) throws IOException {
+		return new EncryptingInputStream(plainData, dataKey, chunkSize);
+	}
+
+	/**
+	 * Returns a stream that reads the given encrypted data as plain data. The data
+	 * key is looked up from the wrapped key in the header.
+	 */
+	public static InputStream decrypt(InputStream encryptedData, Function<String, DataKey> keyResolver)
+			throws IOException {
+		return new DecryptingInputStream(encryptedData, keyResolver);
+	}
+
+	/**
+	 * Checks whether the stream starts with an envelope header without consuming
+	 * any bytes. The stream must support unreading at least four bytes.
+	 */
+	public static boolean isEnvelope(PushbackInputStream data) throws IOException {
+		byte[] magic = new byte[MAGIC.length];
+		int read = 0;
+		while (read < magic.length) {
+			int count = data.read(magic, read, magic.length - read);
+			if (count < 0) {
+				break;
+			}
+			read += count;
+		}
+		if (read > 0) {
+			data.unread(magic, 0, read);
+		}
+		return read == magic.length && Arrays.equals(magic, MAGIC);
+	}
+
+	public static int getMagicLength() {
+		return MAGIC.length;
+	}
+
+	private static byte[] getIv(byte[] noncePrefix, int counter) {
+		return ByteBuffer.allocate(NONCE_PREFIX_LENGTH + Integer.BYTES).put(noncePrefix).putInt(counter).array();
+	}
+
+	private static class EncryptingInputStream extends InputStream {
+
+		private final InputStream source;
+
+		private final DataKey dataKey;
+
+		private final byte[] noncePrefix = new byte[NONCE_PREFIX_LENGTH];
+
+		private final byte[] plainChunk;
+
+		private final byte[] encryptedChunk;
+
+		private final Cipher cipher;
+
+		private byte[] output;
+
+		private int outputPosition;
+
+		private int outputLength;
+
+		private int counter;
+
+		private boolean finished;
+
+		EncryptingInputStream(InputStream source, DataKey dataKey, int chunkSize) throws IOException {
+			this.source = source;
+			this.dataKey = dataKey;
+			this.plainChunk = new byte[chunkSize];
+			this.encryptedChunk = new byte[CHUNK_HEADER_LENGTH + chunkSize + TAG_LENGTH];
+			RANDOM.nextBytes(noncePrefix);
+			try {
+				this.cipher = Cipher.getInstance(TRANSFORMATION);
+			} catch (GeneralSecurityException e) {
+				throw new IOException(e);
+			}
+			byte[] wrappedKey = dataKey.getWrappedKey().getBytes(StandardCharsets.UTF_8);
+			ByteArrayOutputStream header = new ByteArrayOutputStream();
+			DataOutputStream headerOut = new DataOutputStream(header);
+			headerOut.write(MAGIC);
+			headerOut.writeByte(VERSION);
+			headerOut.writeInt(wrappedKey.length);
+			headerOut.write(wrappedKey);
+			headerOut.write(noncePrefix);
+			this.output = header.toByteArray();
+			this.outputLength = output.length;
+		}
+
+		@Override
+		public int read() throws IOException {
+			if (outputPosition == outputLength && !nextChunk()) {
+				return -1;
+			}
+			return output[outputPosition++] & 0xFF;
+		}
+
+		@Override
+		public int read(byte[] buffer, int offset, int length) throws IOException {
+			if (length == 0) {
+				return 0;
+			}
+			if (outputPosition == outputLength && !nextChunk()) {
+				return -1;
+			}
+			int count = Math.min(length, outputLength - outputPosition);
+			System.arraycopy(output, outputPosition, buffer, offset, count);
+			outputPosition += count;
+			return count;
+		}
+
+		@Override
+		public void close() throws IOException {
+			source.close();
+		}
+
+		private boolean nextChunk() throws IOException {
+			if (finished) {
+				return false;
+			}
+			int length = 0;
+			while (length < plainChunk.length) {
+				int count = source.read(plainChunk, length, plainChunk.length - length);
+				if (count < 0) {
+					break;
+				}
+				length += count;
+			}
+			byte flag = length < plainChunk.length ? LAST_CHUNK : MORE_CHUNKS;
+			try {
+				cipher.init(Cipher.ENCRYPT_MODE, dataKey.getKey(),
+						new GCMParameterSpec(TAG_LENGTH_BITS, getIv(noncePrefix, counter++)));
+				cipher.updateAAD(new byte[] { flag });
+				int encryptedLength = cipher.doFinal(plainChunk, 0, length, encryptedChunk, CHUNK_HEADER_LENGTH);
+				ByteBuffer.wrap(encryptedChunk, 0, CHUNK_HEADER_LENGTH).put(flag).putInt(encryptedLength);
+				output = encryptedChunk;
+				outputPosition = 0;
+				outputLength = CHUNK_HEADER_LENGTH + encryptedLength;
+			} catch (GeneralSecurityException e) {
+				throw new IOException(e);
+			}
+			finished = flag == LAST_CHUNK;
+			return true;
+		}
+	}
+
+	private static class DecryptingInputStream extends InputStream {
+
+		private final DataInputStream source;
+
+		private final DataKey dataKey;
+
+		private final byte[] noncePrefix = new byte[NONCE_PREFIX_LENGTH];
+
+		private final Cipher cipher;
+
+		private byte[] encryptedChunk = new byte[0];
+
+		private byte[] output = new byte[0];
+
+		private int outputPosition;
+
+		private int outputLength;
+
+		private int counter;
+
+		private boolean finished;
+
+		DecryptingInputStream(InputStream source, Function<String, DataKey> keyResolver) throws IOException {
+			this.source = new DataInputStream(source);
+			byte[] magic = new byte[MAGIC.length];
+			this.source.readFully(magic);
+			if (!Arrays.equals(magic, MAGIC) || this.source.readByte() != VERSION) {
+				throw new IOException("Data is not in envelope encrypted format");
+			}
+			int wrappedKeyLength = this.source.readInt();
+			if (wrappedKeyLength <= 0 || wrappedKeyLength > MAX_WRAPPED_KEY_LENGTH) {
+				throw new IOException("Invalid wrapped key length: " + wrappedKeyLength);
+			}
+			byte[] wrappedKey = new byte[wrappedKeyLength];
+			this.source.readFully(wrappedKey);
+			this.source.readFully(noncePrefix);
+			this.dataKey = keyResolver.apply(new String(wrappedKey, StandardCharsets.UTF_8));
+			try {
+				this.cipher = Cipher.getInstance(TRANSFORMATION);
+			} catch (GeneralSecurityException e) {
+				throw new IOException(e);
+			}
+		}
+
+		@Override
+		public int read() throws IOException {
+			while (outputPosition == outputLength) {
+				if (!nextChunk()) {
+					return -1;
+				}
+			}
+			return output[outputPosition++] & 0xFF;
+		}
+
+		@Override
+		public int read(byte[] buffer, int offset, int length) throws IOException {
+			if (length == 0) {
+				return 0;
+			}
+			while (outputPosition == outputLength) {
+				if (!nextChunk()) {
+					return -1;
+				}
+			}
+			int count = Math.min(length, outputLength - outputPosition);
+			System.arraycopy(output, outputPosition, buffer, offset, count);
+			outputPosition += count;
+			return count;
+		}
+
+		@Override
+		public void close() throws IOException {
+			source.close();
+		}
+
+		private boolean nextChunk() throws IOException {
+			if (finished) {
+				return false;
+			}
+			byte flag;
+			int encryptedLength;
+			try {
+				flag = source.readByte();
+				encryptedLength = source.readInt();
+			} catch (EOFException e) {
+				throw new IOException("Encrypted data is truncated", e);
+			}
+			if (encryptedLength < TAG_LENGTH || encryptedLength > MAX_CHUNK_LENGTH) {
+				throw new IOException("Invalid chunk length: " + encryptedLength);
+			}
+			if (encryptedChunk.length < encryptedLength) {
+				encryptedChunk = new byte[encryptedLength];
+				output = new byte[encryptedLength];
+			}
+			source.readFully(encryptedChunk, 0, encryptedLength);
+			try {
+				cipher.init(Cipher.DECRYPT_MODE, dataKey.getKey(),
+						new GCMParameterSpec(TAG_LENGTH_BITS, getIv(noncePrefix, counter++)));
+				cipher.updateAAD(new byte[] { flag });
+				outputLength = cipher.doFinal(encryptedChunk, 0, encryptedLength, output, 0);
+				outputPosition = 0;
+			} catch (GeneralSecurityException e) {
+				throw new IOException("Encrypted data could not be authenticated", e);
+			}
+			finished = flag == LAST_CHUNK;
+			return true;
+		}
+	}
+
+}
@@ -0,0 +1,98 @@
+package io.mosip.resident.helper;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+
+import io.mosip.kernel.core.util.CryptoUtil;
+import io.mosip.resident.constant.ResidentErrorCode;
+import io.mosip.resident.exception.ResidentServiceException;
+import io.mosip.resident.helper.DataKeyProvider.DataKey;
+
+/**
+ * AES-GCM envelope encryption of single field values.
+ * <p>
+ * An encrypted value has the form {@code REV2.<key id>.<IV and cipher text>},
+ * the latter Base64 URL encoded. The key id is resolved to the wrapped key
+ * through {@link DataKeyProvider#getKeyById(String)}, so values encrypted with
+ * a rotated key can still be decrypted. Values written by earlier builds have
+ * the form {@code REV1.<wrapped key>.<IV and cipher text>} and remain
+ * readable. Values encrypted by the key manager never contain a dot, so they
+ * are told apart by the prefix.
+ */
+public final class FieldCipher {
+
+	private static final String PREFIX = "REV2.";
+
+	private static final String WRAPPED_KEY_PREFIX = "REV1.";
+
+	private static final char SEPARATOR = '.';
+
+	private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+
+	private static final int TAG_LENGTH_BITS = 128;
+
+	private static final int IV_LENGTH = 12;
+
+	private static final SecureRandom RANDOM = new SecureRandom();
+
+	private FieldCipher() {
+	}
+
+	public static boolean isEncrypted(String data) {
+		return data != null && (data.startsWith(PREFIX) || data.startsWith(WRAPPED_KEY_PREFIX));
+	}
+
+	public static String encrypt(String data, DataKey dataKey) {
+		try {
+			byte[] iv = new byte[IV_LENGTH];
+			RANDOM.nextBytes(iv);
+			Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+			cipher.init(Cipher.ENCRYPT_MODE, dataKey.getKey(), new GCMParameterSpec(TAG_LENGTH_BITS, iv));
+			byte[] plainData = data.getBytes(StandardCharsets.UTF_8);
+			ByteBuffer encryptedData = ByteBuffer.allocate(IV_LENGTH + cipher.getOutputSize(plainData.length));
+			encryptedData.put(iv);
+			cipher.doFinal(ByteBuffer.wrap(plainData), encryptedData);
+			return PREFIX + dataKey.getKeyId() + SEPARATOR
+					+ CryptoUtil.encodeToURLSafeBase64(encryptedData.array());
+		} catch (GeneralSecurityException e) {
+			throw new ResidentServiceException(ResidentErrorCode.ENCRYPT_DECRYPT_ERROR.getErrorCode(),
+					ResidentErrorCode.ENCRYPT_DECRYPT_ERROR.getErrorMessage(), e);
+		}
+	}
+
+	/**
+	 * Decrypts a value produced by {@link #encrypt(String, DataKey)}. The data key
+	 * is looked up by the key id in the value, or by the wrapped key for values
+	 * written by earlier builds.
+	 */
+	public static String decrypt(String data, DataKeyProvider dataKeyProvider) {
+		int separator = data.lastIndexOf(SEPARATOR);
+		if (!isEncrypted(data) || separator < PREFIX.length()) {
+			throw new ResidentServiceException(ResidentErrorCode.ENCRYPT_DECRYPT_ERROR.getErrorCode(),
+					ResidentErrorCode.ENCRYPT_DECRYPT_ERROR.getErrorMessage());
+		}
+		try {
+			String key = data.substring(PREFIX.length(), separator);
+			DataKey dataKey = data.startsWith(PREFIX) ? dataKeyProvider.getKeyById(key)
+					: dataKeyProvider.getKey(key);
+			byte[] encryptedData = CryptoUtil.decodeURLSafeBase64(data.substring(separator + 1));
+			if (encryptedData.length <= IV_LENGTH) {
+				throw new GeneralSecurityException("Encrypted data is truncated");
+			}
+			Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+			cipher.init(Cipher.DECRYPT_MODE, dataKey.getKey(),
+					new GCMParameterSpec(TAG_LENGTH_BITS, encryptedData, 0, IV_LENGTH));
+			return new String(cipher.doFinal(encryptedData, IV_LENGTH, encryptedData.length - IV_LENGTH),
+					StandardCharsets.UTF_8);
+		} catch (GeneralSecurityException | IllegalArgumentException e) {
+			throw new ResidentServiceException(ResidentErrorCode.ENCRYPT_DECRYPT_ERROR.getErrorCode(),
+					ResidentErrorCode.ENCRYPT_DECRYPT_ERROR.getErrorMessage(), e);
+		}
+	}
+
+}
@@ -9,14 +9,22 @@ import static io.mosip.resident.constant.ResidentConstants.OBJECT_STORE_ADAPTER_
 import static io.mosip.resident.constant.ResidentConstants.OBJECT_STORE_BUCKET_NAME;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
+import javax.annotation.PostConstruct;
+
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.CloseShieldOutputStream;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -24,6 +32,7 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import io.mosip.commons.khazana.dto.ObjectDto;
 import io.mosip.commons.khazana.exception.ObjectStoreAdapterException;
 import io.mosip.commons.khazana.spi.ObjectStoreAdapter;
@@ -74,6 +83,29 @@ public class ObjectStoreHelper {
 	@Value("${" + CRYPTO_DECRYPT_URI + "}")
 	private String decryptUri;
 
+	@Value("${mosip.resident.object.store.envelope-encryption.enabled:true}")
+	private boolean envelopeEncryptionEnabled;
+
+	@Value("${mosip.resident.object.store.envelope-encryption.chunk-size:65536}")
+	private int envelopeChunkSize;
+
+	@Value("${mosip.resident.entity.field-encryption.local.enabled:true}")
+	private boolean localFieldEncryptionEnabled;
+
+	@Value("${mosip.resident.data-key.rotation.millisecs:86400000}")
+	private long dataKeyRotationMillis;
+
+	@Value("${mosip.resident.data-key.cache.max-size:100}")
+	private int dataKeyCacheMaxSize;
+
+	@Value("${mosip.resident.data-key.object-name-prefix:data-keys/}")
+	private String dataKeyObjectPrefix;
+
+	@Autowired(required = false)
+	private MeterRegistry meterRegistry;
+
+	private DataKeyProvider dataKeyProvider;
+
 	private ObjectStoreAdapter adapter;
 
 	@Autowired
@@ -84,6 +116,42 @@ public class ObjectStoreHelper {
 	@Autowired
 	private ResidentServiceRestClient restClient;
 
+	@PostConstruct
+	public void init() {
+		dataKeyProvider = new DataKeyProvider("data-keys", new DataKeyProvider.KeyWrapper() {
+			@Override
+			public String wrap(String encodedKey) {
+				return encryptDecryptData(encodedKey, true, applicationId, referenceId);
+			}
+
+			@Override
+			public String unwrap(String wrappedKey) {
+				return encryptDecryptData(wrappedKey, false, applicationId, referenceId);
+			}
+		}, new DataKeyProvider.WrappedKeyStore() {
+			@Override
+			public void save(String keyId, String wrappedKey) {
+				adapter.putObject(objectStoreAccountName, null, null, null, dataKeyObjectPrefix + keyId,
+						new ByteArrayInputStream(wrappedKey.getBytes(StandardCharsets.UTF_8)));
+			}
+
+			@Override
+			public String load(String keyId) {
+				String objectName = dataKeyObjectPrefix + keyId;
+				if (!adapter.exists(objectStoreAccountName, null, null, null, objectName)) {
+					return null;
+				}
+				try (InputStream wrappedKey = adapter.getObject(objectStoreAccountName, null, null, null,
+						objectName)) {
+					return IOUtils.toString(wrappedKey, StandardCharsets.UTF_8);
+				} catch (IOException e) {
+					throw new ResidentServiceException(ResidentErrorCode.ENCRYPT_DECRYPT_ERROR.getErrorCode(),
+							ResidentErrorCode.ENCRYPT_DECRYPT_ERROR.getErrorMessage(), e);
+				}
+			}
+		}, dataKeyRotationMillis, dataKeyCacheMaxSize, meterRegistry);
+	}
+
 	/**
 	 * This function is used to upload an object to the OSS bucket
 	 * 
@@ -106,7 +174,10 @@ public class ObjectStoreHelper {
 	 */
 	public void putObject(String objectName, InputStream data, Map<String, Object> metadata) {
 		try {
-			adapter.putObject(objectStoreAccountName, null, null, null, objectName, encryptData(data));
+			InputStream encryptedData = isEnvelopeEncryptionEnabled()
+					? EnvelopeCipher.encrypt(data, dataKeyProvider.getActiveKey(), envelopeChunkSize)
+					: encryptData(data);
+			adapter.putObject(objectStoreAccountName, null, null, null, objectName, encryptedData);
 			if (Objects.nonNull(metadata))
 				adapter.addObjectMetaData(objectStoreAccountName, null, null, null, objectName,
 						metadata);
@@ -119,16 +190,38 @@ public class ObjectStoreHelper {
 	}
 
 	/**
-	 * This function returns an InputStream object that contains the contents of the
-	 * object stored in the object store
+	 * This function returns the decrypted contents of the object stored in the
+	 * object store, Base64 URL encoded. The whole encoded document is held in
+	 * memory; use {@link #getObject(String, OutputStream)} to stream it instead.
 	 * 
 	 * @param objectName The name of the object to be retrieved.
-	 * @return The object is being returned as an InputStream.
+	 * @return The decrypted object as a Base64 URL encoded string.
 	 */
 	public String getObject(String objectName) {
-		try {
-			return decryptData(
-					adapter.getObject(objectStoreAccountName, null, null, null, objectName));
+		ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+		getObject(objectName, encoded);
+		return new String(encoded.toByteArray(), StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * This function writes the decrypted contents of the object stored in the
+	 * object store, Base64 URL encoded, to the given stream. Envelope encrypted
+	 * objects are decrypted chunk by chunk straight into the caller's stream;
+	 * objects encrypted by the key manager are decrypted remotely as before. The
+	 * stream is not closed.
+	 * 
+	 * @param objectName The name of the object to be retrieved.
+	 * @param out        The stream the Base64 URL encoded object is written to.
+	 */
+	public void getObject(String objectName, OutputStream out) {
+		try (PushbackInputStream data = new PushbackInputStream(
+				adapter.getObject(objectStoreAccountName, null, null, null, objectName),
+				EnvelopeCipher.getMagicLength())) {
+			if (dataKeyProvider != null && EnvelopeCipher.isEnvelope(data)) {
+				decryptEnvelope(data, out);
+			} else {
+				out.write(decryptData(data).getBytes(StandardCharsets.UTF_8));
+			}
 		} catch (ResidentServiceException | ObjectStoreAdapterException | IOException e) {
 			logger.error(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
 					LoggerFileConstant.APPLICATIONID.toString(), ExceptionUtils.getStackTrace(e));
@@ -171,6 +264,54 @@ public class ObjectStoreHelper {
 		}
 	}
 
+	/**
+	 * Encrypts a single field value for storage. When local field encryption is
+	 * enabled the value is encrypted in process with the active data key;
+	 * otherwise it is Base64 encoded and encrypted by the key manager.
+	 * 
+	 * @param data The value to be encrypted.
+	 * @return The encrypted value.
+	 */
+	public String encryptField(String data) {
+		if (localFieldEncryptionEnabled && dataKeyProvider != null) {
+			return FieldCipher.encrypt(data, dataKeyProvider.getActiveKey());
+		}
+		return encryptDecryptData(CryptoUtil.encodeToPlainBase64(data.getBytes(StandardCharsets.UTF_8)), true,
+				applicationId, referenceId);
+	}
+
+	/**
+	 * Decrypts a single field value encrypted by {@link #encryptField(String)}.
+	 * Values encrypted locally are decrypted in process; values encrypted by the
+	 * key manager are decrypted by the key manager.
+	 * 
+	 * @param data The encrypted value.
+	 * @return The decrypted value.
+	 */
+	public String decryptField(String data) {
+		if (dataKeyProvider != null && FieldCipher.isEncrypted(data)) {
+			return FieldCipher.decrypt(data, dataKeyProvider);
+		}
+		return new String(CryptoUtil.decodePlainBase64(encryptDecryptData(data, false, applicationId, referenceId)),
+				StandardCharsets.UTF_8);
+	}
+
+	private boolean isEnvelopeEncryptionEnabled() {
+		return envelopeEncryptionEnabled && dataKeyProvider != null;
+	}
+
+	/**
+	 * Decrypts envelope encrypted data chunk by chunk through a Base64 encoder
+	 * wrapping the caller's stream, so neither the encrypted nor the decrypted
+	 * document is held in memory as a whole.
+	 */
+	private void decryptEnvelope(InputStream data, OutputStream out) throws IOException {
+		try (InputStream decryptedData = EnvelopeCipher.decrypt(data, dataKeyProvider::getKey);
+				OutputStream encoder = Base64.getUrlEncoder().wrap(new CloseShieldOutputStream(out))) {
+			IOUtils.copy(decryptedData, encoder);
+		}
+	}
+
 	/**
 	 * It takes an input stream, converts it to a string, and then decrypts it
 	 * 
@@ -4,22 +4,33 @@ import java.io.Serializable;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PostConstruct;
 
-import org.apache.commons.codec.binary.Base64;
 import org.hibernate.EmptyInterceptor;
 import org.hibernate.type.Type;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.mosip.commons.khazana.config.LoggerConfiguration;
 import io.mosip.kernel.core.logger.spi.Logger;
 import io.mosip.resident.constant.ResidentErrorCode;
 import io.mosip.resident.entity.ResidentTransactionEntity;
 import io.mosip.resident.exception.ResidentServiceException;
 import io.mosip.resident.helper.ObjectStoreHelper;
+import io.mosip.resident.util.LazyDecryptedValue;
 
 /**
+ * Encrypts the individual id of resident transactions on save. On load the
+ * stored value is left encrypted and is only decrypted when the entity's
+ * getter is first called, so queries that never read it pay no crypto cost.
+ * 
  * @author Neha Farheen
  *
  */
@@ -32,18 +43,38 @@ public class ResidentEntityInterceptor extends EmptyInterceptor {
 
 	private static final String INDIVIDUAL_ID = "individualId";
 
+	private static final String METRIC_PREFIX = "resident.entity.field.decrypt";
+
+	private static final String REQUEST_DECRYPT_COUNT = ResidentEntityInterceptor.class.getName() + ".decryptCount";
+
 	@Autowired
 	private transient ObjectStoreHelper objectStoreHelper;
-	
-	@Value("${mosip.resident.keymanager.application-name}")
-	private String appId;
-	
-	@Value("${mosip.resident.keymanager.reference-id}")
-	private String refId;
+
+	@Autowired(required = false)
+	private transient MeterRegistry meterRegistry;
+
+	private transient Counter deferredCounter;
+
+	private transient Counter performedCounter;
+
+	private transient DistributionSummary avoidedPerRequest;
 
 	/** The mosip logger. */
 	private static final Logger logger = LoggerConfiguration.logConfig(ResidentEntityInterceptor.class);
 
+	@PostConstruct
+	public void init() {
+		if (meterRegistry != null) {
+			deferredCounter = Counter.builder(METRIC_PREFIX + ".deferred")
+					.description("Encrypted entity fields loaded without being decrypted").register(meterRegistry);
+			performedCounter = Counter.builder(METRIC_PREFIX + ".performed")
+					.description("Encrypted entity fields decrypted on first access").register(meterRegistry);
+			avoidedPerRequest = DistributionSummary.builder(METRIC_PREFIX + ".avoided")
+					.description("Encrypted entity fields loaded but never decrypted in a request")
+					.register(meterRegistry);
+		}
+	}
+
 	@Override
 	public boolean onSave(Object entity, Serializable id, Object[] state, String[] propertyNames, Type[] types) {
 		try {
@@ -62,11 +93,12 @@ public class ResidentEntityInterceptor extends EmptyInterceptor {
 
 	private <T extends ResidentTransactionEntity> void encryptDataOnSave(Serializable id, Object[] state,
 			List<String> propertyNamesList, Type[] types, T uinEntity) throws ResidentServiceException {
-		if (Objects.nonNull(uinEntity.getIndividualId())) {
-			String idividualId = Base64.encodeBase64String(uinEntity.getIndividualId().getBytes());
-			String encryptedData = objectStoreHelper.encryptDecryptData(idividualId, true, appId, refId);
-			uinEntity.setIndividualId(encryptedData);
-			int indexOfData = propertyNamesList.indexOf(INDIVIDUAL_ID);
+		int indexOfData = propertyNamesList.indexOf(INDIVIDUAL_ID);
+		if (Objects.nonNull(state[indexOfData]) && !uinEntity.isEncryptedIndividualId(state[indexOfData])) {
+			String individualId = (String) state[indexOfData];
+			String encryptedData = objectStoreHelper.encryptField(individualId);
+			uinEntity.setEncryptedIndividualId(LazyDecryptedValue.decrypted(encryptedData, individualId),
+					encryptedData);
 			state[indexOfData] = encryptedData;
 		}
 	}
@@ -100,22 +132,61 @@ public class ResidentEntityInterceptor extends EmptyInterceptor {
 		return super.onFlushDirty(entity, id, state, previousState, propertyNames, types);
 	}
 
+	/**
+	 * Attaches a lazy decryption holder to the entity instead of decrypting. The
+	 * loaded state keeps the encrypted value, so reading the field does not make
+	 * the entity dirty.
+	 */
 	private <T extends ResidentTransactionEntity> void decryptDataOnLoad(Serializable id, Object[] state,
 			List<String> propertyNamesList, Type[] types, T uinEntity) throws ResidentServiceException {
 		int indexOfData = propertyNamesList.indexOf(INDIVIDUAL_ID);
 		if (Objects.nonNull(state[indexOfData])) {
 			String individualId = (String) state[indexOfData];
-			String decodedIndividualId = tryDecryption(individualId, INDIVIDUAL_ID);
-			uinEntity.setIndividualId(decodedIndividualId);
-			state[indexOfData] = decodedIndividualId;
+			AtomicInteger[] requestCount = getRequestDecryptCount();
+			if (requestCount != null) {
+				requestCount[0].incrementAndGet();
+			}
+			if (deferredCounter != null) {
+				deferredCounter.increment();
+			}
+			uinEntity.setEncryptedIndividualId(new LazyDecryptedValue(individualId, data -> {
+				if (requestCount != null) {
+					requestCount[1].incrementAndGet();
+				}
+				if (performedCounter != null) {
+					performedCounter.increment();
+				}
+				return tryDecryption(data, INDIVIDUAL_ID);
+			}), individualId);
+		}
+	}
+
+	/**
+	 * Returns the number of fields loaded and decrypted in the current request
+	 * as a pair of counters, registering a callback that records the decrypts
+	 * avoided when the request completes. Returns null outside of a request.
+	 */
+	private AtomicInteger[] getRequestDecryptCount() {
+		RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+		if (avoidedPerRequest == null || requestAttributes == null) {
+			return null;
+		}
+		AtomicInteger[] count = (AtomicInteger[]) requestAttributes.getAttribute(REQUEST_DECRYPT_COUNT,
+				RequestAttributes.SCOPE_REQUEST);
+		if (count == null) {
+			AtomicInteger[] newCount = { new AtomicInteger(), new AtomicInteger() };
+			requestAttributes.setAttribute(REQUEST_DECRYPT_COUNT, newCount, RequestAttributes.SCOPE_REQUEST);
+			requestAttributes.registerDestructionCallback(REQUEST_DECRYPT_COUNT,
+					() -> avoidedPerRequest.record(Math.max(0, newCount[0].get() - newCount[1].get())),
+					RequestAttributes.SCOPE_REQUEST);
+			count = newCount;
 		}
+		return count;
 	}
 
 	private String tryDecryption(String data, String attributeName) {
 		try {
-			String decryptedData = objectStoreHelper.encryptDecryptData(data, false, appId, refId);
-			String decodedIndividualId = new String(Base64.decodeBase64(decryptedData));
-			return decodedIndividualId;
+			return objectStoreHelper.decryptField(data);
 		} catch (ResidentServiceException e) {
 			logger.debug(String.format("Unable to decrpt data in interceptor: %s", attributeName));
 			return data;
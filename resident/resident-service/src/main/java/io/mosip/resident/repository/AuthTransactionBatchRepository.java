@@ -0,0 +1,159 @@
+package io.mosip.resident.repository;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.resident.config.LoggerConfiguration;
+import io.mosip.resident.constant.EventStatusSuccess;
+import io.mosip.resident.constant.LoggerFileConstant;
+import io.mosip.resident.constant.RequestType;
+import io.mosip.resident.entity.ResidentTransactionEntity;
+import io.mosip.resident.helper.ObjectStoreHelper;
+
+/**
+ * Inserts authentication transactions reported by IDA with multi-row inserts.
+ * <p>
+ * The WebSub event id of a callback is stored as the request_trn_id of its
+ * transaction, and also as the auth_callback_id of a successful one. A
+ * successful callback redelivered by WebSub is inserted only once: duplicates
+ * within a batch are dropped, ids already stored are filtered out before the
+ * insert, and the conflict clause on the unique idx_restrn_auth_callback_id
+ * index absorbs a redelivery racing the insert.
+ * If a multi-row insert fails, the rows are inserted one by one, and only the
+ * rows that still fail are reported back to the caller.
+ */
+@Repository
+public class AuthTransactionBatchRepository {
+
+	private static final Logger logger = LoggerConfiguration.logConfig(AuthTransactionBatchRepository.class);
+
+	private static final String INSERT = "insert into resident_transaction (event_id, request_trn_id, auth_callback_id,"
+			+ " request_dtimes, response_dtime, request_type_code, request_summary, status_code, ref_id, token_id,"
+			+ " requested_entity_id, olv_partner_id, individual_id, cr_by, cr_dtimes, read_status) values ";
+
+	private static final String ROW = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+	private static final String STORED = "select auth_callback_id from resident_transaction"
+			+ " where auth_callback_id in (:requestTrnIds)";
+
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private ObjectStoreHelper objectStoreHelper;
+
+	@Value("${resident.auth-transaction.batch.conflict-clause:on conflict (auth_callback_id) where auth_callback_id is not null do nothing}")
+	private String conflictClause;
+
+	@Autowired
+	public AuthTransactionBatchRepository(DataSource dataSource) {
+		this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+	}
+
+	/**
+	 * Inserts the authentication transactions not stored yet and returns the
+	 * number of rows inserted. The individual ids are encrypted on the way. Rows
+	 * that cannot be inserted are passed to the failure handler along with the
+	 * failure; rows already stored are not.
+	 */
+	public int insert(List<ResidentTransactionEntity> entities,
+			BiConsumer<ResidentTransactionEntity, DataAccessException> failureHandler) {
+		List<ResidentTransactionEntity> rows = removeStored(removeDuplicates(entities));
+		if (rows.isEmpty()) {
+			return 0;
+		}
+		List<Object[]> values = new ArrayList<>(rows.size());
+		for (ResidentTransactionEntity entity : rows) {
+			values.add(toValues(entity));
+		}
+		try {
+			return jdbcTemplate.getJdbcTemplate().update(
+					INSERT + String.join(", ", Collections.nCopies(rows.size(), ROW)) + " " + conflictClause,
+					values.stream().flatMap(Arrays::stream).toArray());
+		} catch (DataAccessException e) {
+			logger.warn(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+					"AuthTransactionBatchRepository::insert()", "Multi-row insert of " + rows.size()
+							+ " rows failed, inserting them one by one: " + e.getMessage());
+			return insertOneByOne(rows, values, failureHandler);
+		}
+	}
+
+	private int insertOneByOne(List<ResidentTransactionEntity> rows, List<Object[]> values,
+			BiConsumer<ResidentTransactionEntity, DataAccessException> failureHandler) {
+		int inserted = 0;
+		for (int i = 0; i < rows.size(); i++) {
+			try {
+				inserted += jdbcTemplate.getJdbcTemplate().update(INSERT + ROW + " " + conflictClause, values.get(i));
+			} catch (DataAccessException e) {
+				logger.error(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+						rows.get(i).getRequestTrnId(), "AuthTransactionBatchRepository::insertOneByOne()::exception "
+								+ ExceptionUtils.getStackTrace(e));
+				failureHandler.accept(rows.get(i), e);
+			}
+		}
+		return inserted;
+	}
+
+	private List<ResidentTransactionEntity> removeDuplicates(List<ResidentTransactionEntity> entities) {
+		Map<Object, ResidentTransactionEntity> unique = new LinkedHashMap<>();
+		for (ResidentTransactionEntity entity : entities) {
+			unique.putIfAbsent(entity.getRequestTrnId() == null ? entity : entity.getRequestTrnId(), entity);
+		}
+		return new ArrayList<>(unique.values());
+	}
+
+	private List<ResidentTransactionEntity> removeStored(List<ResidentTransactionEntity> entities) {
+		List<String> requestTrnIds = entities.stream().map(ResidentTransactionEntity::getRequestTrnId)
+				.filter(Objects::nonNull).collect(Collectors.toList());
+		if (requestTrnIds.isEmpty()) {
+			return entities;
+		}
+		Set<String> stored = Set.copyOf(jdbcTemplate.queryForList(STORED,
+				new MapSqlParameterSource("requestTrnIds", requestTrnIds), String.class));
+		if (stored.isEmpty()) {
+			return entities;
+		}
+		return entities.stream().filter(entity -> !stored.contains(entity.getRequestTrnId()))
+				.collect(Collectors.toList());
+	}
+
+	private Object[] toValues(ResidentTransactionEntity entity) {
+		String individualId = entity.getIndividualId();
+		return new Object[] { entity.getEventId(), entity.getRequestTrnId(), authCallbackId(entity),
+				Timestamp.valueOf(entity.getRequestDtimes()), Timestamp.valueOf(entity.getResponseDtime()),
+				entity.getRequestTypeCode(), entity.getRequestSummary(), entity.getStatusCode(), entity.getRefId(),
+				entity.getTokenId(), entity.getRequestedEntityId(), entity.getOlvPartnerId(), individualId == null ? null : objectStoreHelper.encryptField(individualId),
+				entity.getCrBy(), Timestamp.valueOf(entity.getCrDtimes()), entity.isReadStatus() };
+	}
+
+	/**
+	 * Failed transactions are not keyed, so that a callback can still be
+	 * stored once its redelivery succeeds.
+	 */
+	private static String authCallbackId(ResidentTransactionEntity entity) {
+		return RequestType.AUTHENTICATION_REQUEST.name().equals(entity.getRequestTypeCode())
+				&& EventStatusSuccess.AUTHENTICATION_SUCCESSFUL.name().equals(entity.getStatusCode())
+						? entity.getRequestTrnId()
+						: null;
+	}
+
+}
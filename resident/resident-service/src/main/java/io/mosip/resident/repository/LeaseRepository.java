@@ -0,0 +1,90 @@
+package io.mosip.resident.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.mosip.kernel.core.util.DateUtils;
+
+/**
+ * Claims the rows of a table for processing so that several service instances
+ * can work through the same table without processing a row twice. The table
+ * must have {@code lease_owner} and {@code lease_expiry_dtimes} columns.
+ * <p>
+ * A claim locks a bounded page of pending rows with {@code FOR UPDATE SKIP
+ * LOCKED}, so concurrent claims pick disjoint pages without waiting on each
+ * other, and marks them with a lease owner and expiry time. The lease keeps the
+ * rows claimed after the short claim transaction commits, while they are
+ * processed. Leases are released when the owner is done, and lapse on their
+ * own if the owner dies.
+ */
+public abstract class LeaseRepository {
+
+	private static final String LEASE_LAPSED = " and (lease_expiry_dtimes is null or lease_expiry_dtimes < :now)";
+
+	private static final String NOT_OWNED = " and (lease_owner is null or lease_owner <> :owner)";
+
+	protected final NamedParameterJdbcTemplate jdbcTemplate;
+
+	private final TransactionTemplate transactionTemplate;
+
+	private final String table;
+
+	private final String idColumn;
+
+	@Value("${resident.batchjob.claim.lock-clause:for update skip locked}")
+	private String lockClause;
+
+	protected LeaseRepository(DataSource dataSource, String table, String idColumn) {
+		this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+		this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+		this.table = table;
+		this.idColumn = idColumn;
+	}
+
+	/**
+	 * Claims up to the given number of rows matching the condition for the
+	 * owner, in the given order, and returns their ids. Rows claimed by another
+	 * owner whose lease has not lapsed are skipped, as are rows the owner has
+	 * claimed before. The condition may use the {@code :now} parameter.
+	 */
+	protected List<String> claim(String condition, String orderBy, MapSqlParameterSource params, String owner,
+			int limit, long leaseMillis) {
+		LocalDateTime now = DateUtils.getUTCCurrentDateTime();
+		params.addValue("owner", owner)
+				.addValue("now", Timestamp.valueOf(now))
+				.addValue("expiry", Timestamp.valueOf(now.plusNanos(leaseMillis * 1_000_000)))
+				.addValue("limit", limit);
+		return transactionTemplate.execute(status -> {
+			List<String> ids = jdbcTemplate.queryForList("select " + idColumn + " from " + table + " where "
+					+ condition + LEASE_LAPSED + NOT_OWNED + " order by " + orderBy + " limit :limit " + lockClause,
+					params, String.class);
+			if (ids.isEmpty()) {
+				return ids;
+			}
+			params.addValue("ids", ids);
+			jdbcTemplate.update("update " + table + " set lease_owner = :owner, lease_expiry_dtimes = :expiry where "
+					+ idColumn + " in (:ids)" + LEASE_LAPSED, params);
+			return jdbcTemplate.queryForList("select " + idColumn + " from " + table + " where " + idColumn
+					+ " in (:ids) and lease_owner = :owner", params, String.class);
+		});
+	}
+
+	/**
+	 * Releases all rows claimed by the owner.
+	 */
+	public int release(String owner) {
+		return jdbcTemplate.update(
+				"update " + table + " set lease_owner = null, lease_expiry_dtimes = null where lease_owner = :owner",
+				new MapSqlParameterSource("owner", owner));
+	}
+
+}
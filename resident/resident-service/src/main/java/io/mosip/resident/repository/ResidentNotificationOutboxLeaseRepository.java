@@ -0,0 +1,35 @@
+package io.mosip.resident.repository;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Claims queued notifications for delivery so that several service instances
+ * can run the delivery job without sending a notification twice.
+ *
+ * @see LeaseRepository
+ */
+@Repository
+public class ResidentNotificationOutboxLeaseRepository extends LeaseRepository {
+
+	private static final String DUE = "status_code = 'PENDING' and next_attempt_dtimes <= :now";
+
+	@Autowired
+	public ResidentNotificationOutboxLeaseRepository(DataSource dataSource) {
+		super(dataSource, "resident_notification_outbox", "id");
+	}
+
+	/**
+	 * Claims up to the given number of pending notifications that are due for
+	 * the owner, earliest first, and returns their ids.
+	 */
+	public List<String> claim(String owner, int limit, long leaseMillis) {
+		return claim(DUE, "next_attempt_dtimes", new MapSqlParameterSource(), owner, limit, leaseMillis);
+	}
+
+}
@@ -0,0 +1,27 @@
+package io.mosip.resident.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.mosip.resident.entity.ResidentNotificationOutboxEntity;
+
+/**
+ * The Interface ResidentNotificationOutboxRepository.
+ *
+ * @since 1.2.0.2
+ */
+@Transactional
+@Repository
+public interface ResidentNotificationOutboxRepository extends JpaRepository<ResidentNotificationOutboxEntity, String> {
+
+	long countByStatusCode(String statusCode);
+
+	@Query("select min(o.crDtimes) from ResidentNotificationOutboxEntity o where o.statusCode = :statusCode")
+	LocalDateTime findOldestCrDtimesByStatusCode(@Param("statusCode") String statusCode);
+
+}
@@ -0,0 +1,52 @@
+package io.mosip.resident.repository;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Claims resident transactions for batch processing so that several service
+ * instances can run the same batch job without processing a record twice.
+ *
+ * @see LeaseRepository
+ */
+@Repository
+public class ResidentTransactionLeaseRepository extends LeaseRepository {
+
+	private static final String PENDING = "status_code in (:statusCodes) and request_type_code in (:requestTypeCodes)";
+
+	@Autowired
+	public ResidentTransactionLeaseRepository(DataSource dataSource) {
+		super(dataSource, "resident_transaction", "event_id");
+	}
+
+	/**
+	 * Claims up to the given number of pending records for the owner, oldest
+	 * first, and returns their event ids. Records claimed by another owner whose
+	 * lease has not lapsed are skipped, as are records the owner has claimed
+	 * before.
+	 */
+	public List<String> claim(List<String> statusCodes, List<String> requestTypeCodes, String owner, int limit,
+			long leaseMillis) {
+		return claim(PENDING, "cr_dtimes", pendingParams(statusCodes, requestTypeCodes), owner, limit, leaseMillis);
+	}
+
+	/**
+	 * Returns the number of pending records, claimed or not.
+	 */
+	public long countPending(List<String> statusCodes, List<String> requestTypeCodes) {
+		Long count = jdbcTemplate.queryForObject("select count(*) from resident_transaction where " + PENDING,
+				pendingParams(statusCodes, requestTypeCodes), Long.class);
+		return count == null ? 0 : count;
+	}
+
+	private static MapSqlParameterSource pendingParams(List<String> statusCodes, List<String> requestTypeCodes) {
+		return new MapSqlParameterSource().addValue("statusCodes", statusCodes)
+				.addValue("requestTypeCodes", requestTypeCodes);
+	}
+
+}
@@ -22,7 +22,8 @@ import io.mosip.resident.entity.ResidentTransactionEntity;
  * @since 1.2.0.1
  */
 @Repository
-public interface ResidentTransactionRepository extends JpaRepository<ResidentTransactionEntity, String> {
+public interface ResidentTransactionRepository
+		extends JpaRepository<ResidentTransactionEntity, String>, ResidentTransactionRepositoryCustom {
 	List<ResidentTransactionEntity> findByRequestTrnIdAndRefIdOrderByCrDtimesDesc(String requestTrnId, String refId);
 
 	List<ResidentTransactionEntity> findByCredentialRequestId(String credentialRequestId);
@@ -0,0 +1,29 @@
+package io.mosip.resident.repository;
+
+import java.util.List;
+
+import io.mosip.resident.dto.ServiceHistoryFilterDto;
+import io.mosip.resident.dto.ServiceHistoryPageToken;
+import io.mosip.resident.entity.ResidentTransactionEntity;
+
+/**
+ * Service history queries on resident_transaction that are built at runtime
+ * from the filter and executed with bind parameters.
+ */
+public interface ResidentTransactionRepositoryCustom {
+
+	/**
+	 * Fetches one page of service history ordered by pinned status, creation
+	 * time and event id.
+	 *
+	 * @param filter    the filter criteria
+	 * @param pageToken keyset cursor of the previous page; when present the page
+	 *                  starts right after it and {@code offset} is ignored
+	 * @param offset    number of rows to skip when no cursor is given
+	 * @param limit     maximum number of rows to fetch
+	 */
+	List<ResidentTransactionEntity> findServiceHistory(ServiceHistoryFilterDto filter,
+			ServiceHistoryPageToken pageToken, int offset, int limit);
+
+	long countServiceHistory(ServiceHistoryFilterDto filter);
+}
@@ -0,0 +1,102 @@
+package io.mosip.resident.repository;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+
+import io.mosip.resident.dto.ServiceHistoryFilterDto;
+import io.mosip.resident.dto.ServiceHistoryPageToken;
+import io.mosip.resident.entity.ResidentTransactionEntity;
+
+/**
+ * Builds the service history statement from a fixed set of clauses so that
+ * every filter combination maps to a small number of statement shapes that
+ * the database can cache, with all values passed as bind parameters.
+ */
+public class ResidentTransactionRepositoryCustomImpl implements ResidentTransactionRepositoryCustom {
+
+	private static final String SELECT_ALL = "SELECT * FROM resident_transaction";
+	private static final String SELECT_COUNT = "SELECT count(*) FROM resident_transaction";
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public List<ResidentTransactionEntity> findServiceHistory(ServiceHistoryFilterDto filter,
+			ServiceHistoryPageToken pageToken, int offset, int limit) {
+		Map<String, Object> params = new HashMap<>();
+		Query query = entityManager.createNativeQuery(serviceHistorySql(filter, pageToken, offset, limit, params),
+				ResidentTransactionEntity.class);
+		params.forEach(query::setParameter);
+		return query.getResultList();
+	}
+
+	/**
+	 * Builds the page statement, limit and offset included, and adds its bind
+	 * parameters to {@code params}. Rows after the cursor are those that come
+	 * later in (pinned_status desc, cr_dtimes, event_id) order, so rows sharing
+	 * a creation time are split between pages by event id.
+	 */
+	static String serviceHistorySql(ServiceHistoryFilterDto filter, ServiceHistoryPageToken pageToken, int offset,
+			int limit, Map<String, Object> params) {
+		StringBuilder sql = new StringBuilder(SELECT_ALL);
+		appendFilter(sql, params, filter);
+		String direction = filter.isAscending() ? "asc" : "desc";
+		if (pageToken != null) {
+			String comparator = filter.isAscending() ? ">" : "<";
+			sql.append(" and (pinned_status < :cursorPinned or (pinned_status = :cursorPinned and (cr_dtimes ")
+					.append(comparator).append(" :cursorCrDtimes or (cr_dtimes = :cursorCrDtimes and event_id ")
+					.append(comparator).append(" :cursorEventId))))");
+			params.put("cursorPinned", pageToken.isPinnedStatus());
+			params.put("cursorCrDtimes", pageToken.getCrDtimes());
+			params.put("cursorEventId", pageToken.getEventId());
+		}
+		sql.append(" order by pinned_status desc, cr_dtimes ").append(direction).append(", event_id ")
+				.append(direction).append(" limit :limit");
+		params.put("limit", limit);
+		if (pageToken == null && offset > 0) {
+			sql.append(" offset :offset");
+			params.put("offset", offset);
+		}
+		return sql.toString();
+	}
+
+	@Override
+	public long countServiceHistory(ServiceHistoryFilterDto filter) {
+		Map<String, Object> params = new HashMap<>();
+		StringBuilder sql = new StringBuilder(SELECT_COUNT);
+		appendFilter(sql, params, filter);
+		Query query = entityManager.createNativeQuery(sql.toString());
+		params.forEach(query::setParameter);
+		return ((Number) query.getSingleResult()).longValue();
+	}
+
+	private static void appendFilter(StringBuilder sql, Map<String, Object> params, ServiceHistoryFilterDto filter) {
+		sql.append(" where token_id = :tokenId");
+		params.put("tokenId", filter.getTokenId());
+		if (filter.getFromDateTime() != null && filter.getToDateTime() != null) {
+			sql.append(" and cr_dtimes between :fromDateTime and :toDateTime");
+			params.put("fromDateTime", filter.getFromDateTime());
+			params.put("toDateTime", filter.getToDateTime());
+		}
+		if (filter.getRequestTypeCodes() != null && !filter.getRequestTypeCodes().isEmpty()) {
+			sql.append(" and request_type_code in (:requestTypeCodes)");
+			params.put("requestTypeCodes", filter.getRequestTypeCodes());
+		}
+		if (filter.getStatusCodes() != null && !filter.getStatusCodes().isEmpty()) {
+			sql.append(" and status_code in (:statusCodes)");
+			params.put("statusCodes", filter.getStatusCodes());
+		}
+		if (filter.getSearchText() != null) {
+			sql.append(" and replace(event_id, '-', '') like :searchText");
+			params.put("searchText", filter.getSearchText());
+		}
+		sql.append(" and (olv_partner_id is null or olv_partner_id = :olvPartnerId)");
+		params.put("olvPartnerId", filter.getOlvPartnerId());
+	}
+}
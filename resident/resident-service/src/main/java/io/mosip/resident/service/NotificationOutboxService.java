@@ -0,0 +1,156 @@
+package io.mosip.resident.service;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.kernel.core.util.DateUtils;
+import io.mosip.resident.config.LoggerConfiguration;
+import io.mosip.resident.constant.LoggerFileConstant;
+import io.mosip.resident.constant.ResidentErrorCode;
+import io.mosip.resident.dto.NotificationRequestDto;
+import io.mosip.resident.dto.NotificationRequestDtoV2;
+import io.mosip.resident.entity.ResidentNotificationOutboxEntity;
+import io.mosip.resident.exception.ResidentServiceCheckedException;
+import io.mosip.resident.helper.ObjectStoreHelper;
+import io.mosip.resident.repository.ResidentNotificationOutboxRepository;
+import io.mosip.resident.util.JsonUtil;
+
+/**
+ * Queues notifications in the resident_notification_outbox table, so that they
+ * are delivered by {@link io.mosip.resident.batch.NotificationOutboxDeliveryJob}
+ * instead of on the request thread.
+ * <p>
+ * A notification is queued in the caller's transaction, so it is only
+ * delivered if the state change it announces is committed. The request is
+ * stored encrypted as it carries the individual id.
+ */
+@Component
+@ConditionalOnProperty(name = NotificationOutboxService.OUTBOX_ENABLED, havingValue = "true", matchIfMissing = true)
+public class NotificationOutboxService {
+
+	public static final String OUTBOX_ENABLED = "resident.notification.outbox.enabled";
+
+	public static final String PENDING = "PENDING";
+
+	public static final String DEAD = "DEAD";
+
+	private static final Logger logger = LoggerConfiguration.logConfig(NotificationOutboxService.class);
+
+	@Autowired
+	private ResidentNotificationOutboxRepository outboxRepository;
+
+	@Autowired
+	private ObjectStoreHelper objectStoreHelper;
+
+	@Autowired
+	private NotificationService notificationService;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired(required = false)
+	private MeterRegistry meterRegistry;
+
+	private TransactionTemplate transactionTemplate;
+
+	private Counter enqueuedCounter;
+
+	@PostConstruct
+	public void init() {
+		transactionTemplate = new TransactionTemplate(transactionManager);
+		if (meterRegistry != null) {
+			enqueuedCounter = Counter.builder("resident.notification.outbox.enqueued")
+					.description("Notifications queued for asynchronous delivery").register(meterRegistry);
+		}
+	}
+
+	/**
+	 * Queues the notification, joining the caller's transaction if there is one.
+	 */
+	public void enqueue(NotificationRequestDto request) throws ResidentServiceCheckedException {
+		outboxRepository.save(createEntity(request));
+		if (enqueuedCounter != null) {
+			enqueuedCounter.increment();
+		}
+	}
+
+	/**
+	 * Runs the state change and queues the notifications announcing it in one
+	 * transaction.
+	 */
+	public void saveWithNotifications(Runnable stateChange, List<? extends NotificationRequestDto> requests)
+			throws ResidentServiceCheckedException {
+		List<ResidentNotificationOutboxEntity> entities = new ArrayList<>(requests.size());
+		for (NotificationRequestDto request : requests) {
+			entities.add(createEntity(request));
+		}
+		transactionTemplate.executeWithoutResult(status -> {
+			stateChange.run();
+			if (!entities.isEmpty()) {
+				outboxRepository.saveAll(entities);
+			}
+		});
+		if (enqueuedCounter != null) {
+			enqueuedCounter.increment(entities.size());
+		}
+	}
+
+	/**
+	 * Sends a queued notification on the calling thread.
+	 */
+	public void deliver(ResidentNotificationOutboxEntity entity) throws ResidentServiceCheckedException {
+		NotificationRequestDtoV2 request;
+		try {
+			request = JsonUtil.readValue(objectStoreHelper.decryptField(entity.getPayload()),
+					NotificationRequestDtoV2.class);
+		} catch (IOException e) {
+			throw new ResidentServiceCheckedException(ResidentErrorCode.NOTIFICATION_FAILURE.getErrorCode(),
+					ResidentErrorCode.NOTIFICATION_FAILURE.getErrorMessage(), e);
+		}
+		logger.debug(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+				entity.getId(), "NotificationOutboxService::deliver()::attempt " + (entity.getAttempts() + 1));
+		notificationService.sendNotification(request);
+	}
+
+	/**
+	 * The request is stored as a {@link NotificationRequestDtoV2}, whose extra
+	 * fields are simply empty for a plain {@link NotificationRequestDto}, so both
+	 * are delivered exactly as they would have been sent directly.
+	 */
+	private ResidentNotificationOutboxEntity createEntity(NotificationRequestDto request)
+			throws ResidentServiceCheckedException {
+		String payload;
+		try {
+			payload = objectStoreHelper.encryptField(JsonUtil.writeValueAsString(request));
+		} catch (IOException e) {
+			throw new ResidentServiceCheckedException(ResidentErrorCode.NOTIFICATION_FAILURE.getErrorCode(),
+					ResidentErrorCode.NOTIFICATION_FAILURE.getErrorMessage(), e);
+		}
+		LocalDateTime now = DateUtils.getUTCCurrentDateTime();
+		ResidentNotificationOutboxEntity entity = new ResidentNotificationOutboxEntity();
+		entity.setId(UUID.randomUUID().toString());
+		if (request instanceof NotificationRequestDtoV2) {
+			entity.setEventId(((NotificationRequestDtoV2) request).getEventId());
+		}
+		entity.setPayload(payload);
+		entity.setStatusCode(PENDING);
+		entity.setNextAttemptDtimes(now);
+		entity.setCrDtimes(now);
+		return entity;
+	}
+
+}
@@ -50,9 +50,11 @@ import io.mosip.resident.util.AuditUtil;
 import io.mosip.resident.util.EventEnum;
 import io.mosip.resident.util.JsonUtil;
 import io.mosip.resident.util.ResidentServiceRestClient;
+import io.mosip.resident.util.TemplateCache;
 import io.mosip.resident.util.TemplateUtil;
 import io.mosip.resident.util.Utilities;
 import io.mosip.resident.util.Utility;
+import io.mosip.resident.util.VelocityTemplateRegistry;
 import io.mosip.resident.validator.RequestValidator;
 
 /**
@@ -69,6 +71,12 @@ public class NotificationService {
 	@Autowired
 	private TemplateManager templateManager;
 
+	@Autowired
+	private TemplateCache templateCache;
+
+	@Autowired
+	private VelocityTemplateRegistry velocityTemplateRegistry;
+
 	@Value("${resident.notification.emails}")
 	private String notificationEmails;
 
@@ -215,6 +223,18 @@ public class NotificationService {
 
 	@SuppressWarnings("unchecked")
 	private String getTemplate(String langCode, String templatetypecode) throws ResidentServiceCheckedException {
+		String fileText;
+		if (templateCache != null) {
+			fileText = templateCache.getTemplate(langCode, templatetypecode,
+					key -> getTemplateFromMasterdata(langCode, templatetypecode));
+		} else {
+			fileText = getTemplateFromMasterdata(langCode, templatetypecode);
+		}
+		return fileText.replaceAll("(^\")|(\"$)", "");
+	}
+
+	private String getTemplateFromMasterdata(String langCode, String templatetypecode)
+			throws ResidentServiceCheckedException {
 		logger.debug(LoggerFileConstant.APPLICATIONID.toString(), TEMPLATE_CODE, templatetypecode,
 				"NotificationService::getTemplate()::entry");
 		List<String> pathSegments = new ArrayList<>();
@@ -229,14 +249,14 @@ public class NotificationService {
 						ResidentErrorCode.TEMPLATE_EXCEPTION.getErrorMessage()
 								+ (resp != null ? resp.getErrors().get(0) : ""));
 			}
-			TemplateResponseDto templateResponse = JsonUtil.readValue(JsonUtil.writeValueAsString(resp.getResponse()),
+			TemplateResponseDto templateResponse = JsonUtil.mapValue(resp.getResponse(),
 					TemplateResponseDto.class);
 			logger.info(LoggerFileConstant.APPLICATIONID.toString(), TEMPLATE_CODE, templatetypecode,
 					"NotificationService::getTemplate()::getTemplateResponse::" + JsonUtil.writeValueAsString(resp));
 			List<TemplateDto> response = templateResponse.getTemplates();
 			logger.debug(LoggerFileConstant.APPLICATIONID.toString(), TEMPLATE_CODE, templatetypecode,
 					"NotificationService::getTemplate()::exit");
-			return response.get(0).getFileText().replaceAll("(^\")|(\"$)", "");
+			return response.get(0).getFileText();
 		} catch (IOException e) {
 			audit.setAuditRequestDto(EventEnum.TOKEN_GENERATION_FAILED);
 			throw new ResidentServiceCheckedException(ResidentErrorCode.TOKEN_GENERATION_FAILED.getErrorCode(),
@@ -268,11 +288,13 @@ public class NotificationService {
 				"NotificationService::templateMerge()::entry");
 		try {
 			String mergeTemplate;
-			InputStream templateInputStream = new ByteArrayInputStream(fileText.getBytes(Charset.forName("UTF-8")));
-
-			InputStream resultedTemplate = templateManager.merge(templateInputStream, mailingAttributes);
-
-			mergeTemplate = IOUtils.toString(resultedTemplate, StandardCharsets.UTF_8.name());
+			if (velocityTemplateRegistry != null) {
+				mergeTemplate = velocityTemplateRegistry.merge(fileText, mailingAttributes);
+			} else {
+				InputStream templateInputStream = new ByteArrayInputStream(fileText.getBytes(Charset.forName("UTF-8")));
+				InputStream resultedTemplate = templateManager.merge(templateInputStream, mailingAttributes);
+				mergeTemplate = IOUtils.toString(resultedTemplate, StandardCharsets.UTF_8.name());
+			}
 			logger.debug(LoggerFileConstant.APPLICATIONID.toString(), LoggerFileConstant.UIN.name(), "",
 					"NotificationService::templateMerge()::exit");
 			return mergeTemplate;
@@ -333,7 +355,7 @@ public class NotificationService {
 		req.setRequest(smsRequestDTO);
 		ResponseWrapper<NotificationResponseDTO> resp;
 		try {
-			resp = restClient.postApi(env.getProperty(ApiName.SMSNOTIFIER.name()), MediaType.APPLICATION_JSON, req,
+			resp = restClient.postApi(ApiName.SMSNOTIFIER, MediaType.APPLICATION_JSON, req,
 					ResponseWrapper.class);
 			if (nullCheckForResponse(resp)) {
 				throw new ResidentServiceException(ResidentErrorCode.INVALID_API_RESPONSE.getErrorCode(),
@@ -341,7 +363,7 @@ public class NotificationService {
 								+ (resp != null ? resp.getErrors().get(0) : ""));
 			}
 			NotificationResponseDTO notifierResponse = JsonUtil
-					.readValue(JsonUtil.writeValueAsString(resp.getResponse()), NotificationResponseDTO.class);
+					.mapValue(resp.getResponse(), NotificationResponseDTO.class);
 			logger.info(LoggerFileConstant.APPLICATIONID.toString(), LoggerFileConstant.UIN.name(), " ",
 					"NotificationService::sendSMSNotification()::response::"
 							+ JsonUtil.writeValueAsString(notifierResponse));
@@ -468,7 +490,7 @@ public class NotificationService {
 			params.add("attachments", attachment);
 			ResponseWrapper<NotificationResponseDTO> response;
 
-			response = restClient.postApi(env.getProperty(ApiName.EMAILNOTIFIER.name()), MediaType.MULTIPART_FORM_DATA, params,
+			response = restClient.postApi(ApiName.EMAILNOTIFIER, MediaType.MULTIPART_FORM_DATA, params,
 					ResponseWrapper.class);
 			if (nullCheckForResponse(response)) {
 				throw new ResidentServiceException(ResidentErrorCode.INVALID_API_RESPONSE.getErrorCode(),
@@ -476,7 +498,7 @@ public class NotificationService {
 								+ (response != null ? response.getErrors().get(0) : ""));
 			}
 			NotificationResponseDTO notifierResponse = JsonUtil
-					.readValue(JsonUtil.writeValueAsString(response.getResponse()), NotificationResponseDTO.class);
+					.mapValue(response.getResponse(), NotificationResponseDTO.class);
 			logger.info(LoggerFileConstant.APPLICATIONID.toString(), LoggerFileConstant.UIN.name(), " ",
 					"NotificationService::sendEmailNotification()::response::"
 							+ JsonUtil.writeValueAsString(notifierResponse));
@@ -1,5 +1,6 @@
 package io.mosip.resident.service;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -32,4 +33,12 @@ public interface ProxyPartnerManagementService {
 	
 	public Map<String, ?> getPartnerDetailFromPartnerId(String partnerId);
 
+	/**
+	 * Get the details of the partners of a partner type.
+	 * 
+	 * @param partnerType
+	 * @return partner details, empty if there is no partner of the type
+	 */
+	public List<Map<String, ?>> getPartnerDetailsFromPartnerType(String partnerType);
+
 }
@@ -63,6 +63,10 @@ public interface ResidentService {
 																		  LocalDate fromDateTime, LocalDate toDateTime, String serviceType, String sortType,
 																		  String searchColumn, String searchText, String langCode, int timeZoneOffset) throws ResidentServiceCheckedException, ApisResourceAccessException;
 
+	ResponseWrapper<PageDto<ServiceHistoryResponseDto>> getServiceHistory(Integer pageStart, Integer pageFetch,
+																		  LocalDate fromDateTime, LocalDate toDateTime, String serviceType, String sortType,
+																		  String searchColumn, String searchText, String langCode, int timeZoneOffset, String pageToken) throws ResidentServiceCheckedException, ApisResourceAccessException;
+
 	byte[] downloadCard(String eventId) throws ResidentServiceCheckedException;
 
 	AidStatusResponseDTO getAidStatus(AidStatusRequestDTO reqDto, boolean performOtpValidation)
@@ -0,0 +1,10 @@
+package io.mosip.resident.service;
+
+import org.springframework.stereotype.Service;
+
+import io.mosip.kernel.core.websub.model.EventModel;
+
+@Service
+public interface WebSubCertificateRotationService {
+    public void evictCertificates(EventModel eventModel);
+}
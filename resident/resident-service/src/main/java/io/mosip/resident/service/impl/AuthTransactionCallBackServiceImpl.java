@@ -2,10 +2,25 @@ package io.mosip.resident.service.impl;
 import static io.mosip.resident.constant.ResidentConstants.RESIDENT_SERVICES;
 
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Component;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.mosip.kernel.core.logger.spi.Logger;
 import io.mosip.kernel.core.util.DateUtils;
 import io.mosip.kernel.core.websub.model.EventModel;
@@ -18,12 +33,30 @@ import io.mosip.resident.constant.ResidentErrorCode;
 import io.mosip.resident.entity.ResidentTransactionEntity;
 import io.mosip.resident.exception.ApisResourceAccessException;
 import io.mosip.resident.exception.ResidentServiceCheckedException;
+import io.mosip.resident.repository.AuthTransactionBatchRepository;
 import io.mosip.resident.repository.ResidentTransactionRepository;
 import io.mosip.resident.service.AuthTransactionCallBackService;
 import io.mosip.resident.util.AuditUtil;
 import io.mosip.resident.util.EventEnum;
+import io.mosip.resident.util.MicroBatchBuffer;
 import io.mosip.resident.util.Utility;
 
+/**
+ * Records the authentication transactions reported by IDA.
+ * <p>
+ * Transactions are inserted by {@link AuthTransactionBatchRepository}, keyed
+ * by the WebSub event id of their callback so a redelivered callback is stored
+ * once. When batching is enabled, a callback is queued in a bounded buffer and
+ * the request thread waits until the micro-batch it joined is stored, so that
+ * concurrent callbacks share one multi-row insert and a callback is only
+ * acknowledged once its transaction is stored. A batch that fails is retried a
+ * few times by the buffer.
+ * <p>
+ * A callback is inserted on the request thread when it cannot be queued, or
+ * when its batch fails or is not stored within the acknowledgement timeout. If
+ * that insert fails too, an AUTHENTICATION_FAILED transaction is recorded and
+ * the callback fails, so that WebSub redelivers it.
+ */
 @Component
 public class AuthTransactionCallBackServiceImpl implements AuthTransactionCallBackService {
 
@@ -45,14 +78,79 @@ public class AuthTransactionCallBackServiceImpl implements AuthTransactionCallBa
     @Autowired
 	private Utility utility;
 
+    @Autowired
+    private AuthTransactionBatchRepository authTransactionBatchRepository;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @Value("${resident.auth-transaction.batch.enabled:true}")
+    private boolean batchEnabled;
+
+    @Value("${resident.auth-transaction.batch.capacity:10000}")
+    private int batchCapacity;
+
+    @Value("${resident.auth-transaction.batch.max-size:200}")
+    private int maxBatchSize;
+
+    @Value("${resident.auth-transaction.batch.max-delay.millisecs:50}")
+    private long maxBatchDelayMillis;
+
+    @Value("${resident.auth-transaction.batch.offer-timeout.millisecs:50}")
+    private long offerTimeoutMillis;
+
+    @Value("${resident.auth-transaction.batch.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${resident.auth-transaction.batch.retry-backoff.millisecs:100}")
+    private long retryBackoffMillis;
+
+    @Value("${resident.auth-transaction.batch.ack-timeout.millisecs:2000}")
+    private long ackTimeoutMillis;
+
+    private MicroBatchBuffer<QueuedCallback> buffer;
+
+    private Counter insertedCounter;
+
+    private Counter skippedCounter;
+
+    @PostConstruct
+    public void init() {
+        if (!batchEnabled) {
+            return;
+        }
+        if (meterRegistry != null) {
+            insertedCounter = Counter.builder("resident.auth.transaction.inserted")
+                    .description("Authentication transactions stored").register(meterRegistry);
+            skippedCounter = Counter.builder("resident.auth.transaction.skipped")
+                    .description("Authentication transactions not stored, as redelivered or failed")
+                    .register(meterRegistry);
+        }
+        buffer = new MicroBatchBuffer<>("auth-transaction", this::insertBatch,
+                (callbacks, e) -> callbacks.forEach(callback -> callback.stored.completeExceptionally(e)),
+                batchCapacity, maxBatchSize, maxBatchDelayMillis, offerTimeoutMillis, maxAttempts, retryBackoffMillis,
+                meterRegistry);
+        buffer.start();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (buffer != null) {
+            buffer.stop();
+        }
+    }
+
     @Override
     public void updateAuthTransactionCallBackService(EventModel eventModel) throws ResidentServiceCheckedException, ApisResourceAccessException, NoSuchAlgorithmException {
         logger.debug(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
                 LoggerFileConstant.APPLICATIONID.toString(), "AuthTransactionCallbackServiceImpl::updateAuthTransactionCallBackService()::entry");
         auditUtil.setAuditRequestDto(EventEnum.UPDATE_AUTH_TYPE_STATUS);
+        if (buffer != null && isBatchable(eventModel) && insertQueued(eventModel)) {
+            return;
+        }
         try {
             logger.info("AuthTransactionCallbackServiceImpl::updateAuthTransactionCallBackService()::partnerId");
-            insertInResidentTransactionTable(eventModel, EventStatusSuccess.AUTHENTICATION_SUCCESSFUL.name());
+            insertNow(eventModel);
         } catch (Exception e) {
             logger.error(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
                     LoggerFileConstant.APPLICATIONID.toString(), "AuthTransactionCallbackServiceImpl::updateAuthTransactionCallBackService()::exception");
@@ -68,6 +166,7 @@ public class AuthTransactionCallBackServiceImpl implements AuthTransactionCallBa
         
 		ResidentTransactionEntity residentTransactionEntity = utility.createEntity();
 		residentTransactionEntity.setEventId(utility.createEventId());
+		residentTransactionEntity.setRequestTrnId(eventModel.getEvent().getId());
 		residentTransactionEntity.setRequestTypeCode(RequestType.AUTHENTICATION_REQUEST.name());
 		residentTransactionEntity.setStatusCode(status);
 		residentTransactionEntity.setRefId(utility.convertToMaskDataFormat((String) eventModel.getEvent().getData().get(INDIVIDUAL_ID)));
@@ -81,4 +180,107 @@ public class AuthTransactionCallBackServiceImpl implements AuthTransactionCallBa
         logger.debug(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
                 LoggerFileConstant.APPLICATIONID.toString(), "AuthTransactionCallbackServiceImpl::insertInResidentTransactionTable()::exit");
     }
+
+    private boolean isBatchable(EventModel eventModel) {
+        return eventModel.getEvent() != null && eventModel.getEvent().getData() != null
+                && eventModel.getEvent().getData().get(TOKEN_ID) != null;
+    }
+
+    /**
+     * Queues the callback and waits until the batch it joins is stored. Returns
+     * false if the callback could not be queued, or if its batch failed or was
+     * not stored in time, in which case it is to be inserted on the request
+     * thread.
+     */
+    private boolean insertQueued(EventModel eventModel) {
+        QueuedCallback callback = new QueuedCallback(eventModel);
+        if (!buffer.offer(callback)) {
+            return false;
+        }
+        try {
+            callback.stored.get(ackTimeoutMillis, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (ExecutionException | TimeoutException e) {
+            logger.warn(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+                    eventModel.getEvent().getId(), "AuthTransactionCallbackServiceImpl::insertQueued()::"
+                            + "batch not stored, inserting on the request thread: " + e);
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Inserts the callback on the request thread, failing if its transaction
+     * could not be stored.
+     */
+    private void insertNow(EventModel eventModel) {
+        List<DataAccessException> failures = new ArrayList<>(1);
+        count(authTransactionBatchRepository.insert(List.of(createAuthTransaction(eventModel)),
+                (entity, e) -> failures.add(e)), 1);
+        if (!failures.isEmpty()) {
+            throw failures.get(0);
+        }
+    }
+
+    private void insertBatch(List<QueuedCallback> callbacks) {
+        List<ResidentTransactionEntity> entities = new ArrayList<>(callbacks.size());
+        for (QueuedCallback callback : callbacks) {
+            try {
+                entities.add(createAuthTransaction(callback.eventModel));
+            } catch (RuntimeException e) {
+                callback.stored.completeExceptionally(e);
+            }
+        }
+        Map<String, DataAccessException> failures = new HashMap<>();
+        count(authTransactionBatchRepository.insert(entities,
+                (entity, e) -> failures.put(entity.getRequestTrnId(), e)), entities.size());
+        for (QueuedCallback callback : callbacks) {
+            DataAccessException failure = failures.get(callback.eventModel.getEvent().getId());
+            if (failure == null) {
+                callback.stored.complete(null);
+            } else {
+                callback.stored.completeExceptionally(failure);
+            }
+        }
+    }
+
+    private ResidentTransactionEntity createAuthTransaction(EventModel eventModel) {
+        Map<String, Object> data = eventModel.getEvent().getData();
+        ResidentTransactionEntity residentTransactionEntity = utility.createEntity();
+        residentTransactionEntity.setEventId(utility.createEventId());
+        residentTransactionEntity.setRequestTrnId(eventModel.getEvent().getId());
+        residentTransactionEntity.setRequestTypeCode(RequestType.AUTHENTICATION_REQUEST.name());
+        residentTransactionEntity.setStatusCode(EventStatusSuccess.AUTHENTICATION_SUCCESSFUL.name());
+        residentTransactionEntity.setRefId(utility.convertToMaskDataFormat((String) data.get(INDIVIDUAL_ID)));
+        residentTransactionEntity.setIndividualId((String) data.get(INDIVIDUAL_ID));
+        residentTransactionEntity.setRequestSummary("");
+        residentTransactionEntity.setTokenId((String) data.get(TOKEN_ID));
+        residentTransactionEntity.setRequestedEntityId((String) data.get(ENTITY_ID));
+        residentTransactionEntity.setOlvPartnerId((String) data.get(OLV_PARTNER_ID));
+        return residentTransactionEntity;
+    }
+
+    private void count(int inserted, int received) {
+        if (insertedCounter != null) {
+            insertedCounter.increment(inserted);
+            skippedCounter.increment(Math.max(0, received - inserted));
+        }
+    }
+
+    /**
+     * A queued callback, completed once its transaction is stored or could not
+     * be stored.
+     */
+    private static class QueuedCallback {
+
+        private final EventModel eventModel;
+
+        private final CompletableFuture<Void> stored = new CompletableFuture<>();
+
+        private QueuedCallback(EventModel eventModel) {
+            this.eventModel = eventModel;
+        }
+    }
 }
@@ -66,6 +66,42 @@ public class BaseWebSubInitializer implements ApplicationListener<ApplicationRea
     @Value("${resident.websub.authTransaction-status.secret}")
     private String authTransactionSecret;
 
+    @Value("${resident.websub.masterdata-template.enabled:false}")
+    private boolean masterdataTemplateSubscriptionEnabled;
+
+    @Value("${resident.websub.masterdata-template.topic:MASTERDATA_TEMPLATES}")
+    private String masterdataTemplateTopic;
+
+    @Value("${resident.websub.masterdata-template.secret:${resident.websub.authtype-status.secret}}")
+    private String masterdataTemplateSecret;
+
+    @Value("${resident.websub.callback.masterdata-template.url:}")
+    private String callbackMasterdataTemplateUrl;
+
+    @Value("${resident.websub.certificate-rotation.enabled:false}")
+    private boolean certificateRotationSubscriptionEnabled;
+
+    @Value("${resident.websub.certificate-rotation.topic:CERTIFICATE_ROTATED}")
+    private String certificateRotationTopic;
+
+    @Value("${resident.websub.certificate-rotation.secret:${resident.websub.authtype-status.secret}}")
+    private String certificateRotationSecret;
+
+    @Value("${resident.websub.callback.certificate-rotation.url:}")
+    private String callbackCertificateRotationUrl;
+
+    @Value("${resident.websub.partner-update.enabled:false}")
+    private boolean partnerUpdateSubscriptionEnabled;
+
+    @Value("${resident.websub.partner-update.topic:PARTNER_UPDATED}")
+    private String partnerUpdateTopic;
+
+    @Value("${resident.websub.partner-update.secret:${resident.websub.authtype-status.secret}}")
+    private String partnerUpdateSecret;
+
+    @Value("${resident.websub.callback.partner-update.url:}")
+    private String callbackPartnerUpdateUrl;
+
     @Override
     public void onApplicationEvent(ApplicationReadyEvent applicationReadyEvent) {
         logger.info("onApplicationEvent", "BaseWebSubInitializer", "Application is ready");
@@ -77,6 +113,15 @@ public class BaseWebSubInitializer implements ApplicationListener<ApplicationRea
             //Init topic subscriptions
             initSubsriptions();
             authTransactionSubscription();
+            if (masterdataTemplateSubscriptionEnabled) {
+                masterdataTemplateSubscription();
+            }
+            if (certificateRotationSubscriptionEnabled) {
+                certificateRotationSubscription();
+            }
+            if (partnerUpdateSubscriptionEnabled) {
+                partnerUpdateSubscription();
+            }
         }, new Date(System.currentTimeMillis() + taskSubsctiptionDelay));
 
     }
@@ -85,6 +130,18 @@ public class BaseWebSubInitializer implements ApplicationListener<ApplicationRea
         subscribe(authTransactionTopic, callbackAuthTransactionUrl, authTransactionSecret, hubUrl);
     }
 
+    public void masterdataTemplateSubscription() {
+        subscribe(masterdataTemplateTopic, callbackMasterdataTemplateUrl, masterdataTemplateSecret, hubUrl);
+    }
+
+    public void certificateRotationSubscription() {
+        subscribe(certificateRotationTopic, callbackCertificateRotationUrl, certificateRotationSecret, hubUrl);
+    }
+
+    public void partnerUpdateSubscription() {
+        subscribe(partnerUpdateTopic, callbackPartnerUpdateUrl, partnerUpdateSecret, hubUrl);
+    }
+
     protected void tryRegisterTopicEvent(String eventTopic) {
         try {
             logger.debug(this.getClass().getCanonicalName(), "tryRegisterTopicEvent", "",
@@ -1,7 +1,7 @@
 package io.mosip.resident.service.impl;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -116,8 +116,9 @@ public class DocumentServiceImpl implements DocumentService {
 		DocumentDTO document = new DocumentDTO();
 		String objectNameWithPath = transactionId + "/" + documentId;
 		try {
-			String sourceFile = objectStoreHelper.getObject(objectNameWithPath);
-			document.setDocument(sourceFile.getBytes(StandardCharsets.UTF_8));
+			ByteArrayOutputStream sourceFile = new ByteArrayOutputStream();
+			objectStoreHelper.getObject(objectNameWithPath, sourceFile);
+			document.setDocument(sourceFile.toByteArray());
 		}catch (ResidentServiceException | ObjectStoreAdapterException e){
 			logger.error(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
 					LoggerFileConstant.APPLICATIONID.toString(), ExceptionUtils.getStackTrace(e));
@@ -97,9 +97,8 @@ public class DownLoadMasterDataServiceImpl implements DownLoadMasterDataService
 				.getAllTemplateBylangCodeAndTemplateTypeCode(langCode, this.env.getProperty(ResidentConstants.REGISTRATION_CENTRE_TEMPLATE_PROPERTY));
 		Map<String, Object> regCentersMap = new LinkedHashMap<>();
 		if (regCentResponseWrapper != null) {
-			RegistrationCenterResponseDto registrationCentersDtls = mapper.readValue(
-					mapper.writeValueAsString(regCentResponseWrapper.getResponse()),
-					RegistrationCenterResponseDto.class);
+			RegistrationCenterResponseDto registrationCentersDtls = mapper.convertValue(
+					regCentResponseWrapper.getResponse(), RegistrationCenterResponseDto.class);
 			List<RegistrationCenterDto> regCenterIntialList = registrationCentersDtls.getRegistrationCenters();
 			if (regCenterIntialList != null && !regCenterIntialList.isEmpty()) {
 				IntStream.range(0, regCenterIntialList.size()).forEach(i -> {
@@ -201,8 +200,8 @@ public class DownLoadMasterDataServiceImpl implements DownLoadMasterDataService
 			throws ResidentServiceCheckedException, Exception {
 		ResponseWrapper<?> responseWrapper;
 		responseWrapper = proxyMasterdataService.getRegistrationCenterWorkingDays(regCenterId, langCode);
-		WorkingDaysResponseDto workingDaysResponeDtls = mapper
-				.readValue(mapper.writeValueAsString(responseWrapper.getResponse()), WorkingDaysResponseDto.class);
+		WorkingDaysResponseDto workingDaysResponeDtls = mapper.convertValue(responseWrapper.getResponse(),
+				WorkingDaysResponseDto.class);
 		List<WorkingDaysDto> workingDaysList = workingDaysResponeDtls.getWorkingdays();
 
 		WorkingDaysDto startDay = workingDaysList.stream().min(Comparator.comparing(WorkingDaysDto::getOrder))
@@ -357,11 +357,11 @@ public class DownloadCardServiceImpl implements DownloadCardService {
             requestDto.setRequesttime(DateUtils.formatToISOString(DateUtils.getUTCCurrentDateTime()));
             requestDto.setVersion(ResidentConstants.CREDENTIAL_REQUEST_SERVICE_VERSION);
             ResponseWrapper<ResidentCredentialResponseDto> responseDto = residentServiceRestClient.postApi(
-                    environment.getProperty(ApiName.CREDENTIAL_REQ_URL.name()), MediaType.APPLICATION_JSON, requestDto,
+                    ApiName.CREDENTIAL_REQ_URL, MediaType.APPLICATION_JSON, requestDto,
                     ResponseWrapper.class);
             if(responseDto.getErrors().size()==0){
                 ResidentCredentialResponseDto residentCredentialResponseDto =
-                        JsonUtil.readValue(JsonUtil.writeValueAsString(responseDto.getResponse()),
+                        JsonUtil.mapValue(responseDto.getResponse(),
                         ResidentCredentialResponseDto.class);
                 residentTransactionEntity.setCredentialRequestId(residentCredentialResponseDto.getRequestId());
                 vidDownloadCardResponseDto.setStatus(ResidentConstants.SUCCESS);
@@ -24,7 +24,6 @@ import java.util.stream.Collectors;
 
 import javax.crypto.SecretKey;
 
-import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.bouncycastle.util.io.pem.PemObject;
 import org.bouncycastle.util.io.pem.PemReader;
@@ -72,6 +71,8 @@ import io.mosip.resident.exception.OtpValidationFailedException;
 import io.mosip.resident.exception.ResidentServiceCheckedException;
 import io.mosip.resident.repository.ResidentTransactionRepository;
 import io.mosip.resident.service.IdAuthService;
+import io.mosip.resident.util.CertificateCache;
+import io.mosip.resident.util.CertificateCache.CachedCertificate;
 import io.mosip.resident.util.ResidentServiceRestClient;
 import io.mosip.resident.validator.RequestValidator;
 import reactor.util.function.Tuple2;
@@ -82,6 +83,8 @@ public class IdAuthServiceImpl implements IdAuthService {
 
 	private static final Logger logger = LoggerConfiguration.logConfig(IdAuthServiceImpl.class);
 
+	private static final String IDA_APPLICATION_ID = "IDA";
+
 	@Value("${auth.internal.id}")
 	private String internalAuthId;
 
@@ -120,6 +123,9 @@ public class IdAuthServiceImpl implements IdAuthService {
 	
     @Autowired
     RequestValidator requestValidator;
+
+	@Autowired
+	private CertificateCache certificateCache;
 	
 	@Override
 	public boolean validateOtp(String transactionId, String individualId, String otp)
@@ -299,7 +305,7 @@ public class IdAuthServiceImpl implements IdAuthService {
 
 		AuthResponseDTO response;
 		try {
-			response = (AuthResponseDTO) restClient.postApi(environment.getProperty(ApiName.INTERNALAUTH.name()),
+			response = (AuthResponseDTO) restClient.postApi(ApiName.INTERNALAUTH,
 					MediaType.APPLICATION_JSON, authRequestDTO, AuthResponseDTO.class);
 
 			logger.debug(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.USERID.toString(), individualId,
@@ -320,13 +326,26 @@ public class IdAuthServiceImpl implements IdAuthService {
 			InvalidKeySpecException, java.security.NoSuchAlgorithmException, IOException, JsonProcessingException, CertificateEncodingException {
 
 		// encrypt AES Session Key using RSA public key
+		CachedCertificate certificate = certificateCache.getCertificate(IDA_APPLICATION_ID, refId,
+				key -> getCertificate(refId));
+		String thumbprint = certificate.getThumbprint();
+
+		PublicKey publicKey = certificate.getPublicKey();
+		byte[] asymmetricEncrypt = encryptor.asymmetricEncrypt(publicKey, sessionKey);
+		if(asymmetricEncrypt == null) {
+			asymmetricEncrypt = new byte[0];
+		}
+		return Tuples.of(asymmetricEncrypt, thumbprint);
+	}
+
+	private X509Certificate getCertificate(String refId) throws ApisResourceAccessException {
 		ResponseWrapper<?> responseWrapper = null;
 		PublicKeyResponseDto publicKeyResponsedto;
 
 		String uri = environment.getProperty(ApiName.KERNELENCRYPTIONSERVICE.name());
 		UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(uri);
 
-		builder.queryParam("applicationId", "IDA");
+		builder.queryParam("applicationId", IDA_APPLICATION_ID);
 		builder.queryParam("referenceId", refId);
 		builder.queryParam("timeStamp", DateUtils.formatToISOString(DateUtils.getUTCCurrentDateTime()));
 
@@ -340,20 +359,13 @@ public class IdAuthServiceImpl implements IdAuthService {
 							+ ExceptionUtils.getStackTrace(e));
 			throw new ApisResourceAccessException("Could not fetch public key from kernel keymanager", e);
 		}
-		publicKeyResponsedto = mapper.readValue(mapper.writeValueAsString(responseWrapper.getResponse()),
-				PublicKeyResponseDto.class);
-		X509Certificate req509 = (X509Certificate) convertToCertificate(publicKeyResponsedto.getCertificate());
-		String thumbprint = CryptoUtil.encodeToURLSafeBase64(getCertificateThumbprint(req509));
-
-		PublicKey publicKey = req509.getPublicKey();
-		if (thumbprint == null) {
-			thumbprint = "";
-		}
-		byte[] asymmetricEncrypt = encryptor.asymmetricEncrypt(publicKey, sessionKey);
-		if(asymmetricEncrypt == null) {
-			asymmetricEncrypt = new byte[0];
+		try {
+			publicKeyResponsedto = mapper.readValue(mapper.writeValueAsString(responseWrapper.getResponse()),
+					PublicKeyResponseDto.class);
+		} catch (IOException e) {
+			throw new ApisResourceAccessException("Could not read public key from kernel keymanager", e);
 		}
-		return Tuples.of(asymmetricEncrypt, thumbprint);
+		return (X509Certificate) convertToCertificate(publicKeyResponsedto.getCertificate());
 	}
 	
 	@Override
@@ -416,7 +428,7 @@ public class IdAuthServiceImpl implements IdAuthService {
 		authTypeStatusRequestDto.setRequest(authTypes);
 		AuthTypeStatusResponseDto response;
 		try {
-			response = restClient.postApi(environment.getProperty(ApiName.AUTHTYPESTATUSUPDATE.name()),
+			response = restClient.postApi(ApiName.AUTHTYPESTATUSUPDATE,
 					MediaType.APPLICATION_JSON, authTypeStatusRequestDto, AuthTypeStatusResponseDto.class);
 
 			logger.debug(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.USERID.toString(), individualId,
@@ -512,12 +524,6 @@ public class IdAuthServiceImpl implements IdAuthService {
 					ResidentErrorCode.API_RESOURCE_UNAVAILABLE.getErrorMessage(), e);
 		}
 	}
-
-	private byte[] getCertificateThumbprint(java.security.cert.Certificate cert)
-			throws java.security.cert.CertificateEncodingException {
-
-        return DigestUtils.sha256(cert.getEncoded());
-	}
 }
 	
 
@@ -18,11 +18,11 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
+
+import javax.annotation.PostConstruct;
 
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.apache.commons.lang3.tuple.ImmutablePair;
-import org.json.simple.JSONObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
@@ -31,6 +31,8 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.util.UriComponents;
 import org.springframework.web.util.UriComponentsBuilder;
 
@@ -41,6 +43,7 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import io.mosip.idrepository.core.util.TokenIDGenerator;
 import io.mosip.kernel.authcodeflowproxy.api.validator.ValidateTokenUtil;
 import io.mosip.kernel.core.http.ResponseWrapper;
@@ -64,7 +67,8 @@ import io.mosip.resident.helper.ObjectStoreHelper;
 import io.mosip.resident.repository.ResidentSessionRepository;
 import io.mosip.resident.service.IdentityService;
 import io.mosip.resident.service.ResidentVidService;
-import io.mosip.resident.util.JsonUtil;
+import io.mosip.resident.util.IdentityMapping;
+import io.mosip.resident.util.LocalCache;
 import io.mosip.resident.util.ResidentServiceRestClient;
 import io.mosip.resident.util.Utilities;
 import io.mosip.resident.util.Utility;
@@ -90,7 +94,6 @@ public class IdentityServiceImpl implements IdentityService {
 	private static final String PHONE = "phone";
 	private static final String DATE_OF_BIRTH = "dob";
 	private static final String NAME = "name";
-	private static final String MAPPING_ATTRIBUTE_SEPARATOR = ",";
     private static final String ATTRIBUTE_VALUE_SEPARATOR = " ";
     private static final String LANGUAGE = "language";
 	private static final String IMAGE = "mosip.resident.photo.token.claim-photo";
@@ -99,6 +102,7 @@ public class IdentityServiceImpl implements IdentityService {
 	private static final String VID = "VID";
 	private static final String AID = "AID";
 	private static final String  PERPETUAL_VID = "perpetualVID";
+	private static final String USER_INFO_REQUEST_ATTRIBUTE = IdentityServiceImpl.class.getName() + ".userInfo";
 
 	@Autowired
 	@Qualifier("restClientWithSelfTOkenRestTemplate")
@@ -158,8 +162,27 @@ public class IdentityServiceImpl implements IdentityService {
 	
 	@Autowired
 	private ResidentSessionRepository  residentSessionRepo;
+
+	@Autowired(required = false)
+	private MeterRegistry meterRegistry;
+
+	@Value("${mosip.resident.userinfo.cache.ttl.millisecs:60000}")
+	private long userInfoCacheTtlMillis;
+
+	@Value("${mosip.resident.userinfo.cache.max-size:10000}")
+	private int userInfoCacheMaxSize;
+
+	/** Decoded userinfo documents keyed by access token. */
+	private LocalCache<String, Map<String, Object>> userInfoCache;
 	
 	private static final Logger logger = LoggerConfiguration.logConfig(IdentityServiceImpl.class);
+
+	@PostConstruct
+	public void initUserInfoCache() {
+		if (userInfoCacheTtlMillis > 0) {
+			userInfoCache = new LocalCache<>("userinfo", userInfoCacheMaxSize, userInfoCacheTtlMillis, meterRegistry);
+		}
+	}
 	
 	@Override
     public IdentityDTO getIdentity(String id) throws ResidentServiceCheckedException{
@@ -307,15 +330,12 @@ public class IdentityServiceImpl implements IdentityService {
 
 	private String getMappingValue(Map<?, ?> identity, String mappingName, String langCode)
 			throws ResidentServiceCheckedException, IOException {
-		String mappingJson = utility.getMappingJson();
-		if (mappingJson == null || mappingJson.trim().isEmpty()) {
+		IdentityMapping identityMapping = utility.getIdentityMapping();
+		if (identityMapping == null) {
 			throw new ResidentServiceCheckedException(ResidentErrorCode.JSON_PROCESSING_EXCEPTION.getErrorCode(),
 					ResidentErrorCode.JSON_PROCESSING_EXCEPTION.getErrorMessage());
 		}
-		JSONObject mappingJsonObject = JsonUtil.readValue(mappingJson, JSONObject.class);
-		JSONObject identityMappingJsonObject = JsonUtil.getJSONObject(mappingJsonObject, IDENTITY);
-		String mappingAttributes = getMappingAttribute(identityMappingJsonObject, mappingName);
-		return Stream.of(mappingAttributes.split(MAPPING_ATTRIBUTE_SEPARATOR))
+		return identityMapping.getAttributeNames(mappingName).stream()
                 .map(mappingAttribute -> identity.get(mappingAttribute))
                 .map(attributeValue -> {
                     if(attributeValue instanceof String) {
@@ -343,14 +363,6 @@ public class IdentityServiceImpl implements IdentityService {
                     .orElse(null);
     }
 
-	private String getMappingAttribute(JSONObject identityJson, String name) {
-		JSONObject docJson = JsonUtil.getJSONObject(identityJson, name);
-		if(docJson != null) {
-			return JsonUtil.getJSONValue(docJson, VALUE);
-		}
-		return name;
-	}
-	
 	@Override
 	public String getUinForIndividualId(String idvid) throws ResidentServiceCheckedException {
 	
@@ -420,7 +432,34 @@ public class IdentityServiceImpl implements IdentityService {
 		return String.valueOf(claimValue);
 	}
 
+	/**
+	 * Returns the decoded userinfo for the access token. The document is fetched,
+	 * verified and decrypted once and then reused for the rest of the request
+	 * and, while the TTL allows, for later requests carrying the same token.
+	 */
 	private Map<String, Object> getUserInfo(String token) throws ApisResourceAccessException {
+		RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+		Map<String, Map<String, Object>> requestUserInfo = null;
+		if (requestAttributes != null) {
+			requestUserInfo = (Map<String, Map<String, Object>>) requestAttributes
+					.getAttribute(USER_INFO_REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+			if (requestUserInfo == null) {
+				requestUserInfo = new HashMap<>();
+				requestAttributes.setAttribute(USER_INFO_REQUEST_ATTRIBUTE, requestUserInfo,
+						RequestAttributes.SCOPE_REQUEST);
+			} else if (requestUserInfo.containsKey(token)) {
+				return requestUserInfo.get(token);
+			}
+		}
+		Map<String, Object> userInfo = userInfoCache == null ? fetchUserInfo(token)
+				: userInfoCache.get(token, this::fetchUserInfo);
+		if (requestUserInfo != null) {
+			requestUserInfo.put(token, userInfo);
+		}
+		return userInfo;
+	}
+
+	private Map<String, Object> fetchUserInfo(String token) throws ApisResourceAccessException {
 		UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(usefInfoEndpointUrl);
 		UriComponents uriComponent = builder.build(false).encode();
 
@@ -219,7 +219,7 @@ public class OrderCardServiceImpl implements OrderCardService {
 					}
 				} else {
 					UrlRedirectRequestDTO responseDto = new UrlRedirectRequestDTO();
-					responseDto = JsonUtil.readValue(JsonUtil.writeValueAsString(responseWrapper.getResponse()),
+					responseDto = JsonUtil.mapValue(responseWrapper.getResponse(),
 							UrlRedirectRequestDTO.class);
 					queryParams.put("trackingId", responseDto.getTrackingId());
 					queryParams.put("paymentTransactionId", responseDto.getTransactionId());
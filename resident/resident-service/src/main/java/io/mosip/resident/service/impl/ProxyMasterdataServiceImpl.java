@@ -33,6 +33,7 @@ import io.mosip.resident.util.AuditUtil;
 import io.mosip.resident.util.EventEnum;
 import io.mosip.resident.util.JsonUtil;
 import io.mosip.resident.util.ResidentServiceRestClient;
+import io.mosip.resident.util.TemplateCache;
 import reactor.util.function.Tuple2;
 import reactor.util.function.Tuples;
 
@@ -59,6 +60,9 @@ public class ProxyMasterdataServiceImpl implements ProxyMasterdataService {
 	@Autowired
 	Environment env;
 
+	@Autowired
+	private TemplateCache templateCache;
+
 	private static final Logger logger = LoggerConfiguration.logConfig(ProxyMasterdataServiceImpl.class);
 
 	@Override
@@ -404,6 +408,23 @@ public class ProxyMasterdataServiceImpl implements ProxyMasterdataService {
 	public ResponseWrapper<?> getAllTemplateBylangCodeAndTemplateTypeCode(String langCode, String templateTypeCode)
 			throws ResidentServiceCheckedException {
 		logger.debug("ProxyMasterdataServiceImpl::getAllTemplateBylangCodeAndTemplateTypeCode()::entry");
+		String template;
+		if (templateCache != null) {
+			template = templateCache.getTemplate(langCode, templateTypeCode,
+					key -> getTemplateFromMasterdata(langCode, templateTypeCode));
+		} else {
+			template = getTemplateFromMasterdata(langCode, templateTypeCode);
+		}
+		ResponseWrapper<Map> responseWrapper = new ResponseWrapper<>();
+		Map<String, String> responseMap = new HashMap<>();
+		responseMap.put(ResidentConstants.FILE_TEXT, template);
+		responseWrapper.setResponse(responseMap);
+		logger.debug("ProxyMasterdataServiceImpl::getAllTemplateBylangCodeAndTemplateTypeCode()::exit");
+		return responseWrapper;
+	}
+
+	private String getTemplateFromMasterdata(String langCode, String templateTypeCode)
+			throws ResidentServiceCheckedException {
 		ResponseWrapper<TemplateResponseDto> response = new ResponseWrapper<>();
 		Map<String, String> pathsegments = new HashMap<String, String>();
 		pathsegments.put("langcode", langCode);
@@ -417,15 +438,8 @@ public class ProxyMasterdataServiceImpl implements ProxyMasterdataService {
 				throw new ResidentServiceCheckedException(ResidentErrorCode.TEMPLATE_EXCEPTION);
 			}
 			TemplateResponseDto templateResponse = JsonUtil
-					.readValue(JsonUtil.writeValueAsString(response.getResponse()), TemplateResponseDto.class);
-			String template = templateResponse.getTemplates().get(0).getFileText();
-			ResponseWrapper<Map> responseWrapper = new ResponseWrapper<>();
-			Map<String, String> responseMap = new HashMap<>();
-			responseMap.put(ResidentConstants.FILE_TEXT, template);
-			responseWrapper.setResponse(responseMap);
-			logger.debug("ProxyMasterdataServiceImpl::getAllTemplateBylangCodeAndTemplateTypeCode()::exit");
-			return responseWrapper;
-
+					.mapValue(response.getResponse(), TemplateResponseDto.class);
+			return templateResponse.getTemplates().get(0).getFileText();
 		} catch (ApisResourceAccessException e) {
 			auditUtil.setAuditRequestDto(EventEnum.GET_TEMPLATES_EXCEPTION);
 			logger.error("Error occured in accessing templates %s", e.getMessage());
@@ -492,7 +506,7 @@ public class ProxyMasterdataServiceImpl implements ProxyMasterdataService {
 		ResponseWrapper<GenderCodeResponseDTO> responseWrapper = new ResponseWrapper<>();
 		GenderCodeResponseDTO genderCodeResponseDTO = new GenderCodeResponseDTO();
 		ResponseWrapper<?> res = getGenderTypesByLangCode(langCode);
-		GenderTypeListDTO response = JsonUtil.readValue(JsonUtil.writeValueAsString(res.getResponse()),
+		GenderTypeListDTO response = JsonUtil.mapValue(res.getResponse(),
 				GenderTypeListDTO.class);
 		Optional<String> genderCode = response.getGenderType().stream()
 				.filter(map -> map.getGenderName().equalsIgnoreCase(genderName))
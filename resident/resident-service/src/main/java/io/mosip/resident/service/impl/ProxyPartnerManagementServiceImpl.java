@@ -5,6 +5,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -20,6 +21,7 @@ import io.mosip.resident.exception.ResidentServiceException;
 import io.mosip.resident.service.ProxyPartnerManagementService;
 import io.mosip.resident.util.AuditUtil;
 import io.mosip.resident.util.EventEnum;
+import io.mosip.resident.util.PartnerDirectory;
 import io.mosip.resident.util.ResidentServiceRestClient;
 
 /**
@@ -36,6 +38,9 @@ public class ProxyPartnerManagementServiceImpl implements ProxyPartnerManagement
 	@Autowired
 	private AuditUtil auditUtil;
 
+	@Autowired(required = false)
+	private PartnerDirectory partnerDirectory;
+
 	private static final Logger logger = LoggerConfiguration.logConfig(ProxyPartnerManagementServiceImpl.class);
 
 	@Override
@@ -80,9 +85,29 @@ public class ProxyPartnerManagementServiceImpl implements ProxyPartnerManagement
 		return responseWrapper;
 	}
 	
-	@SuppressWarnings("unchecked")
 	@Override
 	public Map<String, ?> getPartnerDetailFromPartnerId(String partnerId) {
+		if (partnerDirectory != null) {
+			return partnerDirectory.getPartner(partnerId, this::getAllPartnerDetails);
+		}
+		return getAllPartnerDetails().stream()
+        		.filter(map -> ((String)map.get("partnerID")).equals(partnerId))
+        		.findAny()
+        		.orElse(Map.of());
+	}
+
+	@Override
+	public List<Map<String, ?>> getPartnerDetailsFromPartnerType(String partnerType) {
+		if (partnerDirectory != null) {
+			return partnerDirectory.getPartnersByType(partnerType, this::getAllPartnerDetails);
+		}
+		return getAllPartnerDetails().stream()
+				.filter(map -> partnerType.equals(map.get("partnerType")))
+				.collect(Collectors.toList());
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<Map<String, ?>> getAllPartnerDetails() {
 		ResponseWrapper<?> response = null;
 		try {
 			response = getPartnersByPartnerType(Optional.of(""), ApiName.PARTNER_DETAILS_NEW_URL);
@@ -91,11 +116,7 @@ public class ProxyPartnerManagementServiceImpl implements ProxyPartnerManagement
 					ResidentErrorCode.API_RESOURCE_ACCESS_EXCEPTION.getErrorMessage(), e);
 		}
 		Map<String, Object> partnerResponse = new LinkedHashMap<>((Map<String, Object>) response.getResponse());
-        List<Map<String,?>> partners = (List<Map<String, ?>>) partnerResponse.get("partners");
-        return partners.stream()
-        		.filter(map -> ((String)map.get("partnerID")).equals(partnerId))
-        		.findAny()
-        		.orElse(Map.of());
+		return (List<Map<String, ?>>) partnerResponse.get("partners");
 	}
 
 }
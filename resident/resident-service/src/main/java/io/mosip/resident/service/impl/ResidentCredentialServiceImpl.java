@@ -185,17 +185,17 @@ public class ResidentCredentialServiceImpl implements ResidentCredentialService
 				requestDto.setRequesttime(DateUtils.formatToISOString(DateUtils.getUTCCurrentDateTime()));
 				requestDto.setVersion("1.0");
 				parResponseDto = residentServiceRestClient.getApi(partnerUri, ResponseWrapper.class);
-				partnerResponseDto = JsonUtil.readValue(JsonUtil.writeValueAsString(parResponseDto.getResponse()),
+				partnerResponseDto = JsonUtil.mapValue(parResponseDto.getResponse(),
 						PartnerResponseDto.class);
 				additionalAttributes.put("partnerName", partnerResponseDto.getOrganizationName());
 				additionalAttributes.put("encryptionKey", credentialReqestDto.getEncryptionKey());
 				additionalAttributes.put("credentialName", credentialReqestDto.getCredentialType());
 
 				ResponseWrapper<ResidentCredentialResponseDto> responseDto = residentServiceRestClient.postApi(
-						env.getProperty(ApiName.CREDENTIAL_REQ_URL.name()), MediaType.APPLICATION_JSON, requestDto,
+						ApiName.CREDENTIAL_REQ_URL, MediaType.APPLICATION_JSON, requestDto,
 						ResponseWrapper.class);
-				residentCredentialResponseDto = JsonUtil.readValue(
-						JsonUtil.writeValueAsString(responseDto.getResponse()), ResidentCredentialResponseDto.class);
+				residentCredentialResponseDto = JsonUtil.mapValue(
+						responseDto.getResponse(), ResidentCredentialResponseDto.class);
 				additionalAttributes.put("RID", residentCredentialResponseDto.getRequestId());
 				if(!Utility.isSecureSession()){
 					sendNotification(dto.getIndividualId(), NotificationTemplateCode.RS_CRE_REQ_SUCCESS,
@@ -260,16 +260,16 @@ public class ResidentCredentialServiceImpl implements ResidentCredentialService
 			requestDto.setRequesttime(DateUtils.formatToISOString(DateUtils.getUTCCurrentDateTime()));
 			requestDto.setVersion("1.0");
 			parResponseDto = residentServiceRestClient.getApi(partnerUri, ResponseWrapper.class);
-			partnerResponseDto = JsonUtil.readValue(JsonUtil.writeValueAsString(parResponseDto.getResponse()),
+			partnerResponseDto = JsonUtil.mapValue(parResponseDto.getResponse(),
 					PartnerResponseDto.class);
 			additionalAttributes.put("partnerName", partnerResponseDto.getOrganizationName());
 			additionalAttributes.put("encryptionKey", credentialReqestDto.getEncryptionKey());
 			additionalAttributes.put("credentialName", credentialReqestDto.getCredentialType());
 
 			ResponseWrapper<ResidentCredentialResponseDto> responseDto = residentServiceRestClient.postApi(
-					env.getProperty(ApiName.CREDENTIAL_REQ_URL.name()), MediaType.APPLICATION_JSON, requestDto,
+					ApiName.CREDENTIAL_REQ_URL, MediaType.APPLICATION_JSON, requestDto,
 					ResponseWrapper.class);
-			residentCredentialResponseDto = JsonUtil.readValue(JsonUtil.writeValueAsString(responseDto.getResponse()),
+			residentCredentialResponseDto = JsonUtil.mapValue(responseDto.getResponse(),
 					ResidentCredentialResponseDto.class);
 			if (purpose != null) {
 				String requestSummary = prepareReqSummaryMsg(dto.getSharableAttributes());
@@ -364,8 +364,8 @@ public class ResidentCredentialServiceImpl implements ResidentCredentialService
 			}
 			URI credentailStatusUri = URI.create(credentialUrl);
 			responseDto = residentServiceRestClient.getApi(credentailStatusUri, ResponseWrapper.class);
-			credentialRequestStatusResponseDto = JsonUtil.readValue(
-					JsonUtil.writeValueAsString(responseDto.getResponse()), CredentialRequestStatusDto.class);
+			credentialRequestStatusResponseDto = JsonUtil.mapValue(
+					responseDto.getResponse(), CredentialRequestStatusDto.class);
 			URI dataShareUri = URI.create(credentialRequestStatusResponseDto.getUrl());
 			if(appId!=null){
 				return getDataShareData(appId, partnerRefId, dataShareUri);
@@ -401,7 +401,7 @@ public class ResidentCredentialServiceImpl implements ResidentCredentialService
 		request.setRequesttime(DateUtils.formatToISOString(localdatetime));
 		cryptomanagerRequestDto.setTimeStamp(localdatetime);
 		request.setRequest(cryptomanagerRequestDto);
-		String response = residentServiceRestClient.postApi(env.getProperty(ApiName.DECRYPT_API_URL.name()),
+		String response = residentServiceRestClient.postApi(ApiName.DECRYPT_API_URL,
 				MediaType.APPLICATION_JSON, request, String.class);
 		CryptomanagerResponseDto responseObject = mapper.readValue(response, CryptomanagerResponseDto.class);
 		return CryptoUtil.decodeURLSafeBase64(responseObject.getResponse().getData());
@@ -418,7 +418,7 @@ public class ResidentCredentialServiceImpl implements ResidentCredentialService
 			String credentialUrl = env.getProperty(ApiName.CREDENTIAL_STATUS_URL.name()) + requestUUID;
 			URI credentailStatusUri = URI.create(credentialUrl);
 			responseDto = residentServiceRestClient.getApi(credentailStatusUri, ResponseWrapper.class);
-			credentialRequestStatusDto = JsonUtil.readValue(JsonUtil.writeValueAsString(responseDto.getResponse()),
+			credentialRequestStatusDto = JsonUtil.mapValue(responseDto.getResponse(),
 					CredentialRequestStatusDto.class);
 			credentialRequestStatusResponseDto.setId(credentialRequestStatusDto.getId());
 			credentialRequestStatusResponseDto.setRequestId(credentialRequestStatusDto.getRequestId());
@@ -487,7 +487,7 @@ public class ResidentCredentialServiceImpl implements ResidentCredentialService
 				throw new ResidentCredentialServiceException(response.getErrors().get(0).getErrorCode(),
 						response.getErrors().get(0).getMessage());
 			}
-			credentialCancelRequestResponseDto = JsonUtil.readValue(JsonUtil.writeValueAsString(response.getResponse()),
+			credentialCancelRequestResponseDto = JsonUtil.mapValue(response.getResponse(),
 					CredentialCancelRequestResponseDto.class);
 			additionalAttributes.put("RID", credentialCancelRequestResponseDto.getRequestId());
 			sendNotification(credentialCancelRequestResponseDto.getId(), NotificationTemplateCode.RS_CRE_CANCEL_SUCCESS,
@@ -4,7 +4,6 @@ import java.security.NoSuchAlgorithmException;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.env.Environment;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 
@@ -42,9 +41,6 @@ public class ResidentOtpServiceImpl implements ResidentOtpService {
 
 	private static final Logger logger = LoggerConfiguration.logConfig(ResidentOtpServiceImpl.class);
 
-	@Autowired
-	Environment env;
-
 	@Autowired
 	private AuditUtil audit;
 
@@ -65,7 +61,7 @@ public class ResidentOtpServiceImpl implements ResidentOtpService {
 		OtpResponseDTO responseDto = null;
 		try {
 			responseDto = residentServiceRestClient.postApi(
-					env.getProperty(ApiName.OTP_GEN_URL.name()), MediaType.APPLICATION_JSON, otpRequestDTO,
+					ApiName.OTP_GEN_URL, MediaType.APPLICATION_JSON, otpRequestDTO,
 					OtpResponseDTO.class);
 			if((responseDto.getErrors() ==null || responseDto.getErrors().isEmpty() )&& responseDto.getResponse()!= null) {
 				{
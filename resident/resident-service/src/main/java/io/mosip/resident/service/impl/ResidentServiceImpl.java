@@ -72,6 +72,8 @@ import io.mosip.resident.dto.ResidentUpdateRequestDto;
 import io.mosip.resident.dto.ResidentUpdateResponseDTO;
 import io.mosip.resident.dto.ResidentUpdateResponseDTOV2;
 import io.mosip.resident.dto.ResponseDTO;
+import io.mosip.resident.dto.ServiceHistoryFilterDto;
+import io.mosip.resident.dto.ServiceHistoryPageToken;
 import io.mosip.resident.dto.ServiceHistoryResponseDto;
 import io.mosip.resident.dto.SortType;
 import io.mosip.resident.dto.UnreadNotificationDto;
@@ -98,18 +100,21 @@ import io.mosip.resident.repository.ResidentTransactionRepository;
 import io.mosip.resident.repository.ResidentUserRepository;
 import io.mosip.resident.service.DocumentService;
 import io.mosip.resident.service.IdAuthService;
+import io.mosip.resident.service.NotificationOutboxService;
 import io.mosip.resident.service.NotificationService;
 import io.mosip.resident.service.PartnerService;
 import io.mosip.resident.service.ProxyMasterdataService;
 import io.mosip.resident.service.ResidentService;
 import io.mosip.resident.util.AuditUtil;
 import io.mosip.resident.util.EventEnum;
+import io.mosip.resident.util.IdentityMapping;
 import io.mosip.resident.util.JsonUtil;
 import io.mosip.resident.util.ResidentServiceRestClient;
 import io.mosip.resident.util.TemplateUtil;
 import io.mosip.resident.util.UINCardDownloadService;
 import io.mosip.resident.util.Utilities;
 import io.mosip.resident.util.Utility;
+import io.mosip.resident.util.VelocityTemplateRegistry;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.json.simple.JSONObject;
@@ -129,13 +134,10 @@ import reactor.util.function.Tuple2;
 import reactor.util.function.Tuples;
 
 import javax.annotation.PostConstruct;
-import javax.persistence.EntityManager;
-import javax.persistence.Query;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.StringWriter;
-import java.math.BigInteger;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
@@ -152,6 +154,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -180,7 +183,6 @@ public class ResidentServiceImpl implements ResidentService {
 	private static final String PROOF_OF_IDENTITY = "poi";
 	private static final String IDENTITY = "identity";
 	private static final String VALUE = "value";
-	private static final String DOCUMENT = "documents";
 	private static final String SERVER_PROFILE_SIGN_KEY = "PROD";
 	private static final String UIN = "uin";
 	private static final String IMAGE = "mosip.resident.photo.token.claim-photo";
@@ -209,6 +211,9 @@ public class ResidentServiceImpl implements ResidentService {
 	@Autowired
 	private NotificationService notificationService;
 
+	@Autowired(required = false)
+	private NotificationOutboxService notificationOutbox;
+
 	@Autowired
 	private PartnerService partnerService;
 
@@ -236,9 +241,6 @@ public class ResidentServiceImpl implements ResidentService {
 	@Autowired
 	private Utilities utilities;
 
-	@Autowired
-	private EntityManager entityManager;
-
 	@Value("${ida.online-verification-partner-id}")
 	private String onlineVerificationPartnerId;
 
@@ -313,6 +315,9 @@ public class ResidentServiceImpl implements ResidentService {
 	@Autowired
 	private TemplateManagerBuilder templateManagerBuilder;
 
+	@Autowired
+	private VelocityTemplateRegistry velocityTemplateRegistry;
+
 	@PostConstruct
 	public void idTemplateManagerPostConstruct() {
 		templateManager = templateManagerBuilder.encodingType(ENCODE_TYPE).enableCache(false).resourceLoader(CLASSPATH)
@@ -374,7 +379,7 @@ public class ResidentServiceImpl implements ResidentService {
 		audit.setAuditRequestDto(EventEnum.GETTING_RID_STATUS);
 		try {
 			responseWrapper = (RegistrationStatusResponseDTO) residentServiceRestClient.postApi(
-					env.getProperty(ApiName.REGISTRATIONSTATUSSEARCH.name()), MediaType.APPLICATION_JSON, dto,
+					ApiName.REGISTRATIONSTATUSSEARCH, MediaType.APPLICATION_JSON, dto,
 					RegistrationStatusResponseDTO.class);
 			if (responseWrapper == null) {
 				logger.error(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
@@ -803,14 +808,37 @@ public class ResidentServiceImpl implements ResidentService {
 
 	private NotificationResponseDTO sendNotificationV2(String id, RequestType requestType, TemplateType templateType,
 			String eventId, Map<String, Object> additionalAttributes) throws ResidentServiceCheckedException {
+		return notificationService.sendNotification(
+				createNotificationRequestV2(id, requestType, templateType, eventId, additionalAttributes));
+	}
 
+	/**
+	 * Saves the transaction and queues the notification announcing it in one
+	 * database transaction when the notification outbox is enabled, otherwise
+	 * saves it and sends the notification right away.
+	 */
+	private void saveWithNotification(ResidentTransactionEntity residentTransactionEntity,
+			NotificationRequestDtoV2 notification) throws ResidentServiceCheckedException {
+		if (notification == null) {
+			residentTransactionRepository.save(residentTransactionEntity);
+		} else if (notificationOutbox != null) {
+			notificationOutbox.saveWithNotifications(() -> residentTransactionRepository.save(residentTransactionEntity),
+					List.of(notification));
+		} else {
+			residentTransactionRepository.save(residentTransactionEntity);
+			notificationService.sendNotification(notification);
+		}
+	}
+
+	private NotificationRequestDtoV2 createNotificationRequestV2(String id, RequestType requestType,
+			TemplateType templateType, String eventId, Map<String, Object> additionalAttributes) {
 		NotificationRequestDtoV2 notificationRequestDtoV2 = new NotificationRequestDtoV2();
 		notificationRequestDtoV2.setId(id);
 		notificationRequestDtoV2.setRequestType(requestType);
 		notificationRequestDtoV2.setTemplateType(templateType);
 		notificationRequestDtoV2.setEventId(eventId);
 		notificationRequestDtoV2.setAdditionalAttributes(additionalAttributes);
-		return notificationService.sendNotification(notificationRequestDtoV2);
+		return notificationRequestDtoV2;
 	}
 
 	private NotificationResponseDTO trySendNotification(String id, NotificationTemplateCode templateTypeCode,
@@ -854,6 +882,7 @@ public class ResidentServiceImpl implements ResidentService {
 		ResidentUpdateResponseDTOV2 residentUpdateResponseDTOV2 = null;
 		String eventId = null;
 		ResidentTransactionEntity residentTransactionEntity = null;
+		NotificationRequestDtoV2 failureNotification = null;
 		try {
 			if (Utility.isSecureSession()) {
 				residentUpdateResponseDTOV2 = new ResidentUpdateResponseDTOV2();
@@ -908,7 +937,7 @@ public class ResidentServiceImpl implements ResidentService {
 			jsonObject.put(IDENTITY, demographicIdentity);
 			String encodedIdentityJson = CryptoUtil.encodeToURLSafeBase64(jsonObject.toJSONString().getBytes());
 			regProcReqUpdateDto.setIdentityJson(encodedIdentityJson);
-			String mappingJson = utility.getMappingJson();
+			IdentityMapping identityMapping = utility.getIdentityMapping();
 
 			if(validateIdObject) {
 				JSONObject obj = utilities.retrieveIdrepoJson(dto.getIndividualId());
@@ -931,8 +960,7 @@ public class ResidentServiceImpl implements ResidentService {
 				}
 			}
 			
-			if (demographicIdentity == null || demographicIdentity.isEmpty() || mappingJson == null
-					|| mappingJson.trim().isEmpty()) {
+			if (demographicIdentity == null || demographicIdentity.isEmpty() || identityMapping == null) {
 				audit.setAuditRequestDto(
 						EventEnum.getEventEnumWithValue(EventEnum.JSON_PARSING_EXCEPTION, dto.getTransactionID()));
 				if (Utility.isSecureSession()) {
@@ -943,10 +971,9 @@ public class ResidentServiceImpl implements ResidentService {
 							ResidentErrorCode.JSON_PROCESSING_EXCEPTION.getErrorMessage());
 				}
 			}
-			JSONObject mappingJsonObject = JsonUtil.readValue(mappingJson, JSONObject.class);
-			validateAuthIndividualIdWithUIN(dto.getIndividualId(), dto.getIndividualIdType(), mappingJsonObject,
+			validateAuthIndividualIdWithUIN(dto.getIndividualId(), dto.getIndividualIdType(), identityMapping,
 					demographicIdentity);
-			JSONObject mappingDocument = JsonUtil.getJSONObject(mappingJsonObject, DOCUMENT);
+			JSONObject mappingDocument = identityMapping.getDocumentMappingJson();
 			List<ResidentDocuments> documents;
 			if (Utility.isSecureSession()) {
 				documents = getResidentDocuments(dto, mappingDocument);
@@ -1003,8 +1030,8 @@ public class ResidentServiceImpl implements ResidentService {
 			if (Utility.isSecureSession()) {
 				residentTransactionEntity.setStatusCode(EventStatusFailure.FAILED.name());
 				residentTransactionEntity.setRequestSummary("failed");
-				sendNotificationV2(dto.getIndividualId(), RequestType.UPDATE_MY_UIN, TemplateType.FAILURE,
-						eventId, null);
+				failureNotification = createNotificationRequestV2(dto.getIndividualId(), RequestType.UPDATE_MY_UIN,
+						TemplateType.FAILURE, eventId, null);
 			} else {
 				sendNotification(dto.getIndividualId(), NotificationTemplateCode.RS_UIN_UPDATE_FAILURE, null);
 			}
@@ -1024,8 +1051,8 @@ public class ResidentServiceImpl implements ResidentService {
 			if (Utility.isSecureSession()) {
 				residentTransactionEntity.setStatusCode(EventStatusFailure.FAILED.name());
 				residentTransactionEntity.setRequestSummary("failed");
-				sendNotificationV2(dto.getIndividualId(), RequestType.UPDATE_MY_UIN, TemplateType.FAILURE,
-						eventId, null);
+				failureNotification = createNotificationRequestV2(dto.getIndividualId(), RequestType.UPDATE_MY_UIN,
+						TemplateType.FAILURE, eventId, null);
 			} else {
 				sendNotification(dto.getIndividualId(), NotificationTemplateCode.RS_UIN_UPDATE_FAILURE, null);
 			}
@@ -1068,8 +1095,8 @@ public class ResidentServiceImpl implements ResidentService {
 			if (Utility.isSecureSession()) {
 				residentTransactionEntity.setStatusCode(EventStatusFailure.FAILED.name());
 				residentTransactionEntity.setRequestSummary("failed");
-				sendNotificationV2(dto.getIndividualId(), RequestType.UPDATE_MY_UIN, TemplateType.FAILURE,
-						eventId, null);
+				failureNotification = createNotificationRequestV2(dto.getIndividualId(), RequestType.UPDATE_MY_UIN,
+						TemplateType.FAILURE, eventId, null);
 			} else {
 				sendNotification(dto.getIndividualId(), NotificationTemplateCode.RS_UIN_UPDATE_FAILURE, null);
 			}
@@ -1090,8 +1117,8 @@ public class ResidentServiceImpl implements ResidentService {
 			if (Utility.isSecureSession()) {
 				residentTransactionEntity.setStatusCode(EventStatusFailure.FAILED.name());
 				residentTransactionEntity.setRequestSummary("failed");
-				sendNotificationV2(dto.getIndividualId(), RequestType.UPDATE_MY_UIN, TemplateType.FAILURE,
-						eventId, null);
+				failureNotification = createNotificationRequestV2(dto.getIndividualId(), RequestType.UPDATE_MY_UIN,
+						TemplateType.FAILURE, eventId, null);
 			} else {
 				sendNotification(dto.getIndividualId(), NotificationTemplateCode.RS_UIN_UPDATE_FAILURE, null);
 			}
@@ -1112,8 +1139,8 @@ public class ResidentServiceImpl implements ResidentService {
 			if (Utility.isSecureSession()) {
 				residentTransactionEntity.setStatusCode(EventStatusFailure.FAILED.name());
 				residentTransactionEntity.setRequestSummary("failed");
-				sendNotificationV2(dto.getIndividualId(), RequestType.UPDATE_MY_UIN, TemplateType.FAILURE,
-						eventId, null);
+				failureNotification = createNotificationRequestV2(dto.getIndividualId(), RequestType.UPDATE_MY_UIN,
+						TemplateType.FAILURE, eventId, null);
 			} else {
 				sendNotification(dto.getIndividualId(), NotificationTemplateCode.RS_UIN_UPDATE_FAILURE, null);
 			}
@@ -1142,7 +1169,7 @@ public class ResidentServiceImpl implements ResidentService {
 				if (residentTransactionEntity.getRequestSummary() == null) {
 					residentTransactionEntity.setRequestSummary("failed");
 				}
-				residentTransactionRepository.save(residentTransactionEntity);
+				saveWithNotification(residentTransactionEntity, failureNotification);
 			}
 		}
 		if(eventId == null) {
@@ -1288,21 +1315,30 @@ public class ResidentServiceImpl implements ResidentService {
 			throw new ResidentServiceException(ResidentErrorCode.API_RESOURCE_UNAVAILABLE, e,
 					Map.of(ResidentConstants.EVENT_ID, eventId));
 		} finally {
-			residentTransactionRepository.saveAll(residentTransactionEntities);
-
 			RequestType requestType = RequestType.AUTH_TYPE_LOCK_UNLOCK;
 			TemplateType templateType = isTransactionSuccessful ? TemplateType.REQUEST_RECEIVED : TemplateType.FAILURE;
 
-			NotificationResponseDTO notificationResponseDTO = sendNotificationV2(individualId, requestType,
-					templateType, eventId, null);
+			if (notificationOutbox != null) {
+				List<ResidentTransactionEntity> entities = residentTransactionEntities;
+				notificationOutbox.saveWithNotifications(() -> residentTransactionRepository.saveAll(entities),
+						List.of(createNotificationRequestV2(individualId, requestType, templateType, eventId, null)));
+			} else {
+				residentTransactionRepository.saveAll(residentTransactionEntities);
+				sendNotificationV2(individualId, requestType, templateType, eventId, null);
+			}
 
+			String auditMessage = "Request for auth " + authLockOrUnLockRequestDtoV2.getAuthTypes()
+					+ (isTransactionSuccessful ? " lock success" : " lock failed");
+			if (notificationOutbox != null) {
+				audit.setAuditRequestDto(EventEnum.getEventEnumWithValue(EventEnum.SEND_NOTIFICATION_QUEUED, auditMessage));
+			} else if (isTransactionSuccessful) {
+				audit.setAuditRequestDto(EventEnum.getEventEnumWithValue(EventEnum.SEND_NOTIFICATION_SUCCESS, auditMessage));
+			} else {
+				audit.setAuditRequestDto(EventEnum.getEventEnumWithValue(EventEnum.SEND_NOTIFICATION_FAILURE, auditMessage));
+			}
 			if (isTransactionSuccessful) {
-				audit.setAuditRequestDto(EventEnum.getEventEnumWithValue(EventEnum.SEND_NOTIFICATION_SUCCESS,
-						"Request for auth " + authLockOrUnLockRequestDtoV2.getAuthTypes() + " lock success"));
 				response.setMessage("The chosen authentication types have been successfully locked/unlocked.");
 			} else {
-				audit.setAuditRequestDto(EventEnum.getEventEnumWithValue(EventEnum.SEND_NOTIFICATION_FAILURE,
-						"Request for auth " + authLockOrUnLockRequestDtoV2.getAuthTypes() + " lock failed"));
 				response.setMessage("The chosen authentication types haven't been successfully locked/unlocked.");
 			}
 			response.setStatus(ResidentConstants.SUCCESS);
@@ -1374,7 +1410,7 @@ public class ResidentServiceImpl implements ResidentService {
 		PacketSignPublicKeyResponseDTO signKeyResponseDTO;
 		try {
 			HttpEntity<PacketSignPublicKeyRequestDTO> httpEntity = new HttpEntity<>(signKeyRequestDto);
-			signKeyResponseDTO = residentServiceRestClient.postApi(env.getProperty(ApiName.PACKETSIGNPUBLICKEY.name()),
+			signKeyResponseDTO = residentServiceRestClient.postApi(ApiName.PACKETSIGNPUBLICKEY,
 					MediaType.APPLICATION_JSON, httpEntity, PacketSignPublicKeyResponseDTO.class);
 			logger.debug(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.USERID.toString(),
 					SERVER_PROFILE_SIGN_KEY,
@@ -1418,7 +1454,7 @@ public class ResidentServiceImpl implements ResidentService {
 		MachineSearchResponseDTO machineSearchResponseDTO;
 		try {
 			HttpEntity<MachineSearchRequestDTO> httpEntity = new HttpEntity<>(machineSearchRequestDTO);
-			machineSearchResponseDTO = residentServiceRestClient.postApi(env.getProperty(ApiName.MACHINESEARCH.name()),
+			machineSearchResponseDTO = residentServiceRestClient.postApi(ApiName.MACHINESEARCH,
 					MediaType.APPLICATION_JSON, httpEntity, MachineSearchResponseDTO.class);
 			logger.debug(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.USERID.toString(),
 					residentMachinePrefix,
@@ -1464,7 +1500,7 @@ public class ResidentServiceImpl implements ResidentService {
 		MachineCreateResponseDTO machineCreateResponseDTO;
 		try {
 			HttpEntity<MachineCreateRequestDTO> httpEntity = new HttpEntity<>(machineCreateRequestDTO);
-			machineCreateResponseDTO = residentServiceRestClient.postApi(env.getProperty(ApiName.MACHINECREATE.name()),
+			machineCreateResponseDTO = residentServiceRestClient.postApi(ApiName.MACHINECREATE,
 					MediaType.APPLICATION_JSON, httpEntity, MachineCreateResponseDTO.class);
 			logger.debug(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.USERID.toString(),
 					residentMachinePrefix,
@@ -1488,7 +1524,7 @@ public class ResidentServiceImpl implements ResidentService {
 	}
 
 	private void validateAuthIndividualIdWithUIN(String individualId, String individualIdType,
-			JSONObject mappingJsonObject, JSONObject demographicIdentity)
+			IdentityMapping identityMapping, JSONObject demographicIdentity)
 			throws ApisResourceAccessException, ValidationFailedException, IOException {
 		String uin = "";
 		if (ResidentIndividialIDType.UIN.toString().equals(individualIdType))
@@ -1503,8 +1539,7 @@ public class ResidentServiceImpl implements ResidentService {
 					ResidentErrorCode.INDIVIDUAL_ID_TYPE_INVALID.getErrorMessage());
 		}
 
-		JSONObject identityMappingJsonObject = JsonUtil.getJSONObject(mappingJsonObject, IDENTITY);
-		String uinMapping = getDocumentName(identityMappingJsonObject, UIN);
+		String uinMapping = getDocumentName(identityMapping.getIdentityMappingJson(), UIN);
 		if (Utility.isSecureSession()) {
 			demographicIdentity.put(uinMapping, uin);
 		}
@@ -1572,6 +1607,15 @@ public class ResidentServiceImpl implements ResidentService {
 																				 LocalDate fromDateTime, LocalDate toDateTime, String serviceType, String sortType,
 																				 String statusFilter, String searchText, String langCode, int timeZoneOffset)
 			throws ResidentServiceCheckedException, ApisResourceAccessException {
+		return getServiceHistory(pageStart, pageFetch, fromDateTime, toDateTime, serviceType, sortType, statusFilter,
+				searchText, langCode, timeZoneOffset, null);
+	}
+
+	@Override
+	public ResponseWrapper<PageDto<ServiceHistoryResponseDto>> getServiceHistory(Integer pageStart, Integer pageFetch,
+																				 LocalDate fromDateTime, LocalDate toDateTime, String serviceType, String sortType,
+																				 String statusFilter, String searchText, String langCode, int timeZoneOffset, String pageToken)
+			throws ResidentServiceCheckedException, ApisResourceAccessException {
 
 		if (pageStart == null) {
 			if (pageFetch == null) {
@@ -1598,7 +1642,7 @@ public class ResidentServiceImpl implements ResidentService {
 
 		ResponseWrapper<PageDto<ServiceHistoryResponseDto>> serviceHistoryResponseDtoList = getServiceHistoryDetails(
 				sortType, pageStart, pageFetch, fromDateTime, toDateTime, serviceType, statusFilter, searchText,
-				langCode, timeZoneOffset);
+				langCode, timeZoneOffset, pageToken);
 		return serviceHistoryResponseDtoList;
 	}
 
@@ -1678,12 +1722,12 @@ public class ResidentServiceImpl implements ResidentService {
 
 	private ResponseWrapper<PageDto<ServiceHistoryResponseDto>> getServiceHistoryDetails(String sortType,
 																						 Integer pageStart, Integer pageFetch, LocalDate fromDateTime, LocalDate toDateTime,
-																						 String serviceType, String statusFilter, String searchText, String langCode, int timeZoneOffset)
+																						 String serviceType, String statusFilter, String searchText, String langCode, int timeZoneOffset, String pageToken)
 			throws ResidentServiceCheckedException, ApisResourceAccessException {
 		ResponseWrapper<PageDto<ServiceHistoryResponseDto>> responseWrapper = new ResponseWrapper<>();
 		String idaToken = identityServiceImpl.getResidentIdaToken();
 		responseWrapper.setResponse(getServiceHistoryResponse(sortType, pageStart, pageFetch, idaToken, statusFilter,
-				searchText, fromDateTime, toDateTime, serviceType, langCode, timeZoneOffset));
+				searchText, fromDateTime, toDateTime, serviceType, langCode, timeZoneOffset, pageToken));
 		responseWrapper.setId(serviceHistoryId);
 		responseWrapper.setVersion(serviceHistoryVersion);
 		responseWrapper.setResponsetime(LocalDateTime.now());
@@ -1695,112 +1739,71 @@ public class ResidentServiceImpl implements ResidentService {
 																		Integer pageFetch, String idaToken, String statusFilter, String searchText, LocalDate fromDateTime,
 																		LocalDate toDateTime, String serviceType, String langCode, int timeZoneOffset)
 			throws ResidentServiceCheckedException {
-		String nativeQueryString = getDynamicNativeQueryStringForServiceHistory(sortType, idaToken, pageStart, pageFetch, statusFilter,
-				searchText, fromDateTime, toDateTime, serviceType, timeZoneOffset);
-		Query nativeQuery = entityManager.createNativeQuery(nativeQueryString, ResidentTransactionEntity.class);
-		List<ResidentTransactionEntity> residentTransactionEntityList = (List<ResidentTransactionEntity>) nativeQuery
-				.getResultList();
-		String[] split = nativeQueryString.split("order by");
-		String nativeQueryStringWithoutOrderBy = split[0];
-		nativeQueryStringWithoutOrderBy = nativeQueryStringWithoutOrderBy.replace("*", "count(*)");
-		Query nativeQuery2 = entityManager.createNativeQuery(nativeQueryStringWithoutOrderBy);
-		BigInteger count = (BigInteger) nativeQuery2.getSingleResult();
-		int size = count.intValue();
-		return new PageDto<>(pageStart, pageFetch, size, (size / pageFetch) + 1,
-				convertResidentEntityListToServiceHistoryDto(residentTransactionEntityList, langCode, timeZoneOffset));
+		return getServiceHistoryResponse(sortType, pageStart, pageFetch, idaToken, statusFilter, searchText,
+				fromDateTime, toDateTime, serviceType, langCode, timeZoneOffset, null);
 	}
 
-	public String getDynamicNativeQueryStringForServiceHistory(String sortType, String idaToken, Integer pageStart, Integer pageFetch,
-															   String statusFilter, String searchText, LocalDate fromDateTime, LocalDate toDateTime,
-															   String serviceType, int timeZoneOffset) {
-		String query = "SELECT * FROM resident_transaction  where token_id = '"
-				+ idaToken+"'";
-		String dynamicQuery = "";
-		if (fromDateTime != null && toDateTime != null && serviceType != null && !serviceType.equalsIgnoreCase("ALL")
-				&& statusFilter != null && searchText != null) {
-			dynamicQuery = getDateQuery(fromDateTime, toDateTime, timeZoneOffset) + getServiceQuery(serviceType)
-					+ getStatusFilterQuery(statusFilter) + getSearchQuery(searchText);
-		} else if (fromDateTime != null && toDateTime != null && serviceType != null
-				&& !serviceType.equalsIgnoreCase("ALL") && statusFilter != null) {
-			dynamicQuery = getDateQuery(fromDateTime, toDateTime, timeZoneOffset) + getServiceQuery(serviceType )
-					+ getStatusFilterQuery(statusFilter );
-		} else if (fromDateTime != null && toDateTime != null && serviceType != null
-				&& !serviceType.equalsIgnoreCase("ALL") && searchText != null) {
-			dynamicQuery = getDateQuery(fromDateTime, toDateTime, timeZoneOffset) + getServiceQuery(serviceType )
-					+ getSearchQuery(searchText );
-		} else if (fromDateTime != null && toDateTime != null && statusFilter != null && searchText != null) {
-			dynamicQuery = getDateQuery(fromDateTime, toDateTime, timeZoneOffset) + getStatusFilterQuery(statusFilter )
-					+ getSearchQuery(searchText );
-		} else if (serviceType != null && !serviceType.equalsIgnoreCase("ALL") && statusFilter != null
-				&& searchText != null) {
-			dynamicQuery = getServiceQuery(serviceType ) + getStatusFilterQuery(statusFilter )
-					+ getSearchQuery(searchText );
-		} else if (serviceType != null && !serviceType.equalsIgnoreCase("ALL") && statusFilter != null) {
-			dynamicQuery = getServiceQuery(serviceType ) + getStatusFilterQuery(statusFilter );
-		} else if (serviceType != null && !serviceType.equalsIgnoreCase("ALL") && searchText != null) {
-			dynamicQuery = getServiceQuery(serviceType ) + getSearchQuery(searchText );
-		} else if (statusFilter != null && searchText != null) {
-			dynamicQuery = getStatusFilterQuery(statusFilter ) + getSearchQuery(searchText );
-		} else if (fromDateTime != null && toDateTime != null && searchText != null) {
-			dynamicQuery = getDateQuery(fromDateTime, toDateTime, timeZoneOffset) + getSearchQuery(searchText );
-		} else if (fromDateTime != null && toDateTime != null && statusFilter != null) {
-			dynamicQuery = getDateQuery(fromDateTime, toDateTime, timeZoneOffset) + getStatusFilterQuery(statusFilter );
-		} else if (fromDateTime != null && toDateTime != null && serviceType != null
-				&& !serviceType.equalsIgnoreCase("ALL")) {
-			dynamicQuery = getDateQuery(fromDateTime, toDateTime, timeZoneOffset) + getServiceQuery(serviceType );
-		} else if (fromDateTime != null && toDateTime != null) {
-			dynamicQuery = getDateQuery(fromDateTime, toDateTime, timeZoneOffset);
-		} else if (serviceType != null && !serviceType.equalsIgnoreCase("ALL")) {
-			dynamicQuery = getServiceQuery(serviceType );
-		} else if (statusFilter != null) {
-			dynamicQuery = getStatusFilterQuery(statusFilter );
-		} else if (searchText != null) {
-			dynamicQuery = getSearchQuery(searchText );
+	/**
+	 * Fetches one page of service history. When a page token from a previous
+	 * response is passed, the page is read with keyset pagination from where the
+	 * previous page ended and the total count carried in the token is reused;
+	 * otherwise the page is read by offset and the total is counted. A token
+	 * issued for a different filter or sort order is rejected.
+	 */
+	public PageDto<ServiceHistoryResponseDto> getServiceHistoryResponse(String sortType, Integer pageStart,
+																		Integer pageFetch, String idaToken, String statusFilter, String searchText, LocalDate fromDateTime,
+																		LocalDate toDateTime, String serviceType, String langCode, int timeZoneOffset, String pageToken)
+			throws ResidentServiceCheckedException {
+		ServiceHistoryFilterDto filter = getServiceHistoryFilter(sortType, idaToken, statusFilter, searchText,
+				fromDateTime, toDateTime, serviceType, timeZoneOffset);
+		ServiceHistoryPageToken cursor = pageToken == null ? null : ServiceHistoryPageToken.decode(pageToken, filter);
+		List<ResidentTransactionEntity> residentTransactionEntityList = residentTransactionRepository
+				.findServiceHistory(filter, cursor, pageStart * pageFetch, pageFetch + 1);
+		boolean hasNextPage = residentTransactionEntityList.size() > pageFetch;
+		if (hasNextPage) {
+			residentTransactionEntityList = residentTransactionEntityList.subList(0, pageFetch);
 		}
-		if(serviceType == null){
-			dynamicQuery = dynamicQuery + getServiceQueryForNullServiceType();
+		long size = cursor == null ? residentTransactionRepository.countServiceHistory(filter) : cursor.getTotalItems();
+		PageDto<ServiceHistoryResponseDto> pageDto = new PageDto<>(pageStart, pageFetch, size,
+				(int) (size / pageFetch) + 1,
+				convertResidentEntityListToServiceHistoryDto(residentTransactionEntityList, langCode, timeZoneOffset));
+		if (hasNextPage) {
+			ResidentTransactionEntity last = residentTransactionEntityList.get(residentTransactionEntityList.size() - 1);
+			pageDto.setNextPageToken(new ServiceHistoryPageToken(last.getPinnedStatus(), last.getCrDtimes(),
+					last.getEventId(), size, filter).encode());
 		}
-		dynamicQuery = dynamicQuery + getOlvPartnerIdQuery();
-		if (sortType == null) {
-			sortType = SortType.DESC.toString();
+		return pageDto;
+	}
+
+	public ServiceHistoryFilterDto getServiceHistoryFilter(String sortType, String idaToken, String statusFilter,
+			String searchText, LocalDate fromDate, LocalDate toDate, String serviceType, int timeZoneOffset) {
+		ServiceHistoryFilterDto filter = new ServiceHistoryFilterDto();
+		filter.setTokenId(idaToken);
+		filter.setAscending(SortType.ASC.toString().equalsIgnoreCase(sortType));
+		if (fromDate != null && toDate != null) {
+			//Converting local time to UTC before using in db query
+			filter.setFromDateTime(fromDate.atStartOfDay().plusMinutes(timeZoneOffset));
+			filter.setToDateTime(toDate.plusDays(1).atStartOfDay().plusMinutes(timeZoneOffset));
 		}
-
-		String orderByQuery = " order by pinned_status desc, " + "cr_dtimes " + sortType + " limit " + pageFetch
-				+ " offset " + (pageStart) * pageFetch;
-		return query + dynamicQuery + orderByQuery;
-	}
-	private String getOlvPartnerIdQuery() {
-		return " AND (olv_partner_id is null OR olv_partner_id='" + onlineVerificationPartnerId + "')";
-	}
-
-	private String getServiceQueryForNullServiceType() {
-		return " and request_type_code in (" + convertServiceTypeListToString(
-				(List<String>) convertListOfRequestTypeToListOfString(ServiceType.ALL.getRequestType())) +")";
-	}
-
-	private String getServiceQuery(String serviceType) {
-		List<String> requestTypeList = convertServiceTypeToResidentTransactionType(serviceType);
-		String requestTypeListString = convertServiceTypeListToString(requestTypeList);
-		return " and request_type_code in (" + requestTypeListString + ")";
-	}
-
-	private String getDateQuery(LocalDate fromDate, LocalDate toDate, int timeZoneOffset) {
-		//Converting local time to UTC before using in db query
-		LocalDateTime fromDateTime = fromDate.atStartOfDay().plusMinutes(timeZoneOffset);
-		LocalDateTime toDateTime = toDate.plusDays(1).atStartOfDay().plusMinutes(timeZoneOffset);
-		return " and cr_dtimes between '" +  fromDateTime + "' and '" +
-				toDateTime+ "'";
-	}
-
-	private String getSearchQuery(String searchText) {
-		String text= "%" + searchText.replace(AUTH_TYPE_SEPERATOR, "") + "%";
-		return " and Replace(event_id,'-','') like '"+text+ "'";
+		if (serviceType == null) {
+			filter.setRequestTypeCodes(
+					new ArrayList<>(convertListOfRequestTypeToListOfString(ServiceType.ALL.getRequestType())));
+		} else if (!serviceType.equalsIgnoreCase(ALL)) {
+			filter.setRequestTypeCodes(convertServiceTypeToResidentTransactionType(serviceType));
+		}
+		if (statusFilter != null) {
+			filter.setStatusCodes(getStatusCodesForFilter(statusFilter));
+		}
+		if (searchText != null) {
+			filter.setSearchText(MODULO_OPERATOR + searchText.replace(AUTH_TYPE_SEPERATOR, "") + MODULO_OPERATOR);
+		}
+		filter.setOlvPartnerId(onlineVerificationPartnerId);
+		return filter;
 	}
 
-	public String getStatusFilterQuery(String statusFilter) {
+	public List<String> getStatusCodesForFilter(String statusFilter) {
 		List<String> statusFilterList = List.of(statusFilter.split(",")).stream().map(String::trim)
 				.collect(Collectors.toList());
-		String statusFilterListString = "";
 		List<String> statusFilterListContainingALlStatus = new ArrayList<>();
 		for (String status : statusFilterList) {
 			if (status.equalsIgnoreCase(EventStatus.SUCCESS.getStatus())) {
@@ -1814,24 +1817,7 @@ public class ResidentServiceImpl implements ResidentService {
 						.map(Enum::toString).collect(Collectors.toList()));
 			}
 		}
-		statusFilterListString = convertStatusFilterListToString(statusFilterListContainingALlStatus);
-		return " and status_code in (" + statusFilterListString + ")";
-	}
-
-	public String convertStatusFilterListToString(List<String> statusFilterListContainingALlStatus) {
-		String statusFilterListString = "";
-		for (String status : statusFilterListContainingALlStatus) {
-			statusFilterListString = statusFilterListString + "'" + status + "',";
-		}
-		return statusFilterListString.substring(0, statusFilterListString.length() - 1);
-	}
-
-	public String convertServiceTypeListToString(List<String> serviceTypeList) {
-		String serviceTypeListString = "";
-		for (String serviceType : serviceTypeList) {
-			serviceTypeListString = serviceTypeListString + "'" + serviceType + "',";
-		}
-		return serviceTypeListString.substring(0, serviceTypeListString.length() - 1);
+		return statusFilterListContainingALlStatus;
 	}
 
 	private List<String> convertServiceTypeToResidentTransactionType(String serviceType) {
@@ -1851,9 +1837,29 @@ public class ResidentServiceImpl implements ResidentService {
 		return requestType.stream().map(Enum::name).collect(Collectors.toList());
 	}
 
+	/**
+	 * Renders the rows of a service history page. The description templates of
+	 * all rows are fetched up front, once per distinct template type code, and the
+	 * already loaded entities are used to fill them, so rendering does no further
+	 * lookups per row.
+	 */
 	private List<ServiceHistoryResponseDto> convertResidentEntityListToServiceHistoryDto(
 			List<ResidentTransactionEntity> residentTransactionEntityList, String langCode, int timeZoneOffset)
 			throws ResidentServiceCheckedException {
+		Map<String, String> descriptionTemplateTypeCodes = new HashMap<>();
+		for (ResidentTransactionEntity residentTransactionEntity : residentTransactionEntityList) {
+			RequestType requestType = RequestType
+					.getRequestTypeFromString(residentTransactionEntity.getRequestTypeCode());
+			Optional<String> serviceType = ServiceType.getServiceTypeFromRequestType(requestType);
+			if (serviceType.isPresent() && !serviceType.get().equals(ServiceType.ALL.name())) {
+				descriptionTemplateTypeCodes.put(residentTransactionEntity.getEventId(),
+						getDescriptionTemplateTypeCode(getEventStatusCode(residentTransactionEntity.getStatusCode()),
+								requestType));
+			}
+		}
+		Map<String, String> templates = getTemplatesForTemplateTypeCodes(langCode,
+				new HashSet<>(descriptionTemplateTypeCodes.values()));
+
 		List<ServiceHistoryResponseDto> serviceHistoryResponseDtoList = new ArrayList<>();
 		for (ResidentTransactionEntity residentTransactionEntity : residentTransactionEntityList) {
 			String statusCode = getEventStatusCode(residentTransactionEntity.getStatusCode());
@@ -1874,9 +1880,10 @@ public class ResidentServiceImpl implements ResidentService {
 			if (serviceType.isPresent()) {
 				if (!serviceType.get().equals(ServiceType.ALL.name())) {
 					serviceHistoryResponseDto.setServiceType(serviceType.get());
-					serviceHistoryResponseDto
-							.setDescription(getDescriptionForLangCode(langCode, statusCode, requestType,
-									residentTransactionEntity.getEventId()));
+					String fileText = templates
+							.get(descriptionTemplateTypeCodes.get(residentTransactionEntity.getEventId()));
+					serviceHistoryResponseDto.setDescription(
+							replacePlaceholderValueInTemplate(fileText, residentTransactionEntity, requestType, langCode));
 				}
 			} else {
 				serviceHistoryResponseDto.setDescription(requestType.name());
@@ -1888,40 +1895,52 @@ public class ResidentServiceImpl implements ResidentService {
 		return serviceHistoryResponseDtoList;
 	}
 
-	private String getDescriptionForLangCode(String langCode, String statusCode, RequestType requestType, String eventId)
+	private Map<String, String> getTemplatesForTemplateTypeCodes(String langCode, Set<String> templateTypeCodes)
 			throws ResidentServiceCheckedException {
+		Map<String, String> templates = new HashMap<>();
+		for (String templateTypeCode : templateTypeCodes) {
+			templates.put(templateTypeCode, getTemplateText(langCode, templateTypeCode));
+		}
+		return templates;
+	}
+
+	private String getTemplateText(String langCode, String templateTypeCode) throws ResidentServiceCheckedException {
+		ResponseWrapper<?> proxyResponseWrapper = proxyMasterdataService
+				.getAllTemplateBylangCodeAndTemplateTypeCode(langCode, templateTypeCode);
+		Map<String, String> templateResponse = new LinkedHashMap<>(
+				(Map<String, String>) proxyResponseWrapper.getResponse());
+		return templateResponse.get(ResidentConstants.FILE_TEXT);
+	}
+
+	private String getDescriptionTemplateTypeCode(String statusCode, RequestType requestType) {
 		TemplateType templateType;
 		if (statusCode.equalsIgnoreCase(EventStatus.SUCCESS.toString())) {
 			templateType = TemplateType.SUCCESS;
 		} else {
 			templateType = TemplateType.FAILURE;
 		}
-		String templateTypeCode = templateUtil.getPurposeTemplateTypeCode(requestType, templateType);
-		ResponseWrapper<?> proxyResponseWrapper = proxyMasterdataService
-				.getAllTemplateBylangCodeAndTemplateTypeCode(langCode, templateTypeCode);
-		Map<String, String> templateResponse = new LinkedHashMap<>(
-				(Map<String, String>) proxyResponseWrapper.getResponse());
-		String fileText = templateResponse.get(ResidentConstants.FILE_TEXT);
-		return replacePlaceholderValueInTemplate(fileText, eventId, requestType, langCode);
+		return templateUtil.getPurposeTemplateTypeCode(requestType, templateType);
 	}
 
-	private String replacePlaceholderValueInTemplate(String fileText, String eventId, RequestType requestType, String langCode) {
-		return requestType.getDescriptionTemplateVariables(templateUtil, eventId, fileText, langCode);
+	private String getDescriptionForLangCode(String langCode, String statusCode, RequestType requestType,
+			ResidentTransactionEntity residentTransactionEntity) throws ResidentServiceCheckedException {
+		String fileText = getTemplateText(langCode, getDescriptionTemplateTypeCode(statusCode, requestType));
+		return replacePlaceholderValueInTemplate(fileText, residentTransactionEntity, requestType, langCode);
 	}
 
-	public String getSummaryForLangCode(String langCode, String statusCode, RequestType requestType, String eventId)
-			throws ResidentServiceCheckedException {
-		TemplateType templateType;
+	private String replacePlaceholderValueInTemplate(String fileText, ResidentTransactionEntity residentTransactionEntity,
+			RequestType requestType, String langCode) {
+		return requestType.getDescriptionTemplateVariables(templateUtil, residentTransactionEntity, fileText, langCode);
+	}
+
+	public String getSummaryForLangCode(String langCode, String statusCode, RequestType requestType,
+			ResidentTransactionEntity residentTransactionEntity) throws ResidentServiceCheckedException {
 		if (statusCode.equalsIgnoreCase(EventStatus.SUCCESS.toString())) {
-			templateType = TemplateType.SUCCESS;
-			String templateTypeCode = templateUtil.getSummaryTemplateTypeCode(requestType, templateType);
-			ResponseWrapper<?> proxyResponseWrapper = proxyMasterdataService
-					.getAllTemplateBylangCodeAndTemplateTypeCode(langCode, templateTypeCode);
-			Map<String, String> templateResponse = new LinkedHashMap<>(
-					(Map<String, String>) proxyResponseWrapper.getResponse());
-			return replacePlaceholderValueInTemplate(templateResponse.get(ResidentConstants.FILE_TEXT), eventId, requestType, langCode);
+			String templateTypeCode = templateUtil.getSummaryTemplateTypeCode(requestType, TemplateType.SUCCESS);
+			return replacePlaceholderValueInTemplate(getTemplateText(langCode, templateTypeCode),
+					residentTransactionEntity, requestType, langCode);
 		} else {
-			return getDescriptionForLangCode(langCode, statusCode, requestType, eventId);
+			return getDescriptionForLangCode(langCode, statusCode, requestType, residentTransactionEntity);
 		}
 
 	}
@@ -2052,9 +2071,10 @@ public class ResidentServiceImpl implements ResidentService {
 
 			if (serviceType.isPresent()) {
 				if (!serviceType.get().equals(ServiceType.ALL.name())) {
-					eventStatusResponseDTO.setSummary(getSummaryForLangCode(languageCode, statusCode, requestType, eventId));
+					eventStatusResponseDTO.setSummary(getSummaryForLangCode(languageCode, statusCode, requestType,
+							residentTransactionEntity.get()));
 					eventStatusMap.put(TemplateVariablesConstants.DESCRIPTION,
-							getDescriptionForLangCode(languageCode, statusCode, requestType, eventId));
+							getDescriptionForLangCode(languageCode, statusCode, requestType, residentTransactionEntity.get()));
 				}
 			} else {
 				eventStatusResponseDTO.setSummary(requestType.name());
@@ -2200,10 +2220,14 @@ public class ResidentServiceImpl implements ResidentService {
 		servHistoryMap.put("serviceType", serviceType);
 		servHistoryMap.put("serviceHistoryDtlsList", serviceHistoryDtlsList);
 
-		InputStream serviceHistTemplate = new ByteArrayInputStream(fileText.getBytes(StandardCharsets.UTF_8));
-		InputStream serviceHistTemplateData = templateManager.merge(serviceHistTemplate, servHistoryMap);
 		StringWriter writer = new StringWriter();
-		IOUtils.copy(serviceHistTemplateData, writer, "UTF-8");
+		if (velocityTemplateRegistry != null) {
+			velocityTemplateRegistry.merge(fileText, servHistoryMap, writer);
+		} else {
+			InputStream serviceHistTemplate = new ByteArrayInputStream(fileText.getBytes(StandardCharsets.UTF_8));
+			InputStream serviceHistTemplateData = templateManager.merge(serviceHistTemplate, servHistoryMap);
+			IOUtils.copy(serviceHistTemplateData, writer, "UTF-8");
+		}
 		logger.debug("ResidentServiceImpl::residentServiceHistoryPDF()::exit");
 		return utility.signPdf(new ByteArrayInputStream(writer.toString().getBytes()), null);
 	}
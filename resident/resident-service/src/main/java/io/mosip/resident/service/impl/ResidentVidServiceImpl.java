@@ -7,6 +7,7 @@ import java.io.IOException;
 import java.net.URL;
 import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -77,10 +78,12 @@ import io.mosip.resident.exception.VidCreationException;
 import io.mosip.resident.exception.VidRevocationException;
 import io.mosip.resident.repository.ResidentTransactionRepository;
 import io.mosip.resident.service.IdAuthService;
+import io.mosip.resident.service.NotificationOutboxService;
 import io.mosip.resident.service.NotificationService;
 import io.mosip.resident.service.ResidentVidService;
 import io.mosip.resident.util.AuditUtil;
 import io.mosip.resident.util.EventEnum;
+import io.mosip.resident.util.IdentityResolutionCache;
 import io.mosip.resident.util.ResidentServiceRestClient;
 import io.mosip.resident.util.Utility;
 import reactor.util.function.Tuple2;
@@ -153,6 +156,9 @@ public class ResidentVidServiceImpl implements ResidentVidService {
 	@Autowired
 	private NotificationService notificationService;
 
+	@Autowired(required = false)
+	private NotificationOutboxService notificationOutbox;
+
 	@Autowired
 	private IdAuthService idAuthService;
 
@@ -161,6 +167,9 @@ public class ResidentVidServiceImpl implements ResidentVidService {
 	
 	@Autowired
 	private IdentityServiceImpl identityServiceImpl;
+
+	@Autowired(required = false)
+	private IdentityResolutionCache identityResolutionCache;
 	
 	@Autowired
 	private Utility utility;
@@ -212,6 +221,7 @@ public class ResidentVidServiceImpl implements ResidentVidService {
 		String phone = identityDTO.getPhone();
 		String eventId = ResidentConstants.NOT_AVAILABLE;
 		ResidentTransactionEntity residentTransactionEntity=null;
+		List<NotificationRequestDto> failureNotifications = new ArrayList<>(1);
 		try {
 			if(Utility.isSecureSession()){
 				residentTransactionEntity = createResidentTransactionEntity(requestDto);
@@ -223,6 +233,11 @@ public class ResidentVidServiceImpl implements ResidentVidService {
 			String uin = identityDTO.getUIN();
 			// generate vid
 			VidGeneratorResponseDto vidResponse = vidGenerator(requestDto, uin);
+			// a new VID may revoke the previous VID of its type; other instances
+			// drop it from their caches within the VID revocation window
+			if (identityResolutionCache != null) {
+				identityResolutionCache.evictVidsOfUin(uin);
+			}
 			audit.setAuditRequestDto(
 					EventEnum.getEventEnumWithValue(EventEnum.VID_GENERATED, requestDto.getTransactionID()));
 			// send notification
@@ -272,25 +287,25 @@ public class ResidentVidServiceImpl implements ResidentVidService {
 					requestDto.getTransactionID(), "Request to generate VID"));
 			audit.setAuditRequestDto(EventEnum.getEventEnumWithValue(EventEnum.SEND_NOTIFICATION_FAILURE,
 					requestDto.getTransactionID(), "Request to generate VID"));
-			notifyVidCreationFailureAndThrowException(requestDto, isV2Request, notificationRequestDto, eventId, residentTransactionEntity, e);
+			notifyVidCreationFailureAndThrowException(requestDto, isV2Request, notificationRequestDto, eventId, residentTransactionEntity, failureNotifications, e);
 		} catch (IOException | ApisResourceAccessException | VidCreationException e) {
 			audit.setAuditRequestDto(
 					EventEnum.getEventEnumWithValue(EventEnum.VID_GENERATION_FAILURE, requestDto.getTransactionID()));
 			audit.setAuditRequestDto(EventEnum.getEventEnumWithValue(EventEnum.SEND_NOTIFICATION_FAILURE,
 					requestDto.getTransactionID(), "Request to generate VID"));
-			notifyVidCreationFailureAndThrowException(requestDto, isV2Request, notificationRequestDto, eventId, residentTransactionEntity, e);
+			notifyVidCreationFailureAndThrowException(requestDto, isV2Request, notificationRequestDto, eventId, residentTransactionEntity, failureNotifications, e);
 		} catch (VidAlreadyPresentException e) {
 			audit.setAuditRequestDto(
 					EventEnum.getEventEnumWithValue(EventEnum.VID_ALREADY_EXISTS, requestDto.getTransactionID()));
 			audit.setAuditRequestDto(EventEnum.getEventEnumWithValue(EventEnum.SEND_NOTIFICATION_FAILURE,
 					requestDto.getTransactionID(), "Request to generate VID"));
-			notifyVidCreationFailureAndThrowException(requestDto, isV2Request, notificationRequestDto, eventId, residentTransactionEntity, e);
+			notifyVidCreationFailureAndThrowException(requestDto, isV2Request, notificationRequestDto, eventId, residentTransactionEntity, failureNotifications, e);
 		} catch (ResidentServiceCheckedException e) {
 			audit.setAuditRequestDto(
 					EventEnum.getEventEnumWithValue(EventEnum.VID_ALREADY_EXISTS, requestDto.getTransactionID()));
 			audit.setAuditRequestDto(EventEnum.getEventEnumWithValue(EventEnum.SEND_NOTIFICATION_FAILURE,
 					requestDto.getTransactionID(), "Request to generate VID"));
-			notifyVidCreationFailureAndThrowException(requestDto, isV2Request, notificationRequestDto, eventId, residentTransactionEntity, e);
+			notifyVidCreationFailureAndThrowException(requestDto, isV2Request, notificationRequestDto, eventId, residentTransactionEntity, failureNotifications, e);
 		} finally {
 			if (Utility.isSecureSession() && residentTransactionEntity != null) {
 				//if the status code will come as null, it will set it as failed.
@@ -298,7 +313,9 @@ public class ResidentVidServiceImpl implements ResidentVidService {
 					residentTransactionEntity.setStatusCode(EventStatusFailure.FAILED.name());
 					residentTransactionEntity.setRequestSummary("failed");
 				}
-				residentTransactionRepository.save(residentTransactionEntity);
+				saveWithNotifications(residentTransactionEntity, failureNotifications);
+			} else if (!failureNotifications.isEmpty()) {
+				notificationOutbox.saveWithNotifications(() -> {}, failureNotifications);
 			}
 		}
 		if (isV2Request)
@@ -423,7 +440,7 @@ public class ResidentVidServiceImpl implements ResidentVidService {
 
 		try {
 			response = (ResponseWrapper) residentServiceRestClient
-					.postApi(env.getProperty(ApiName.IDAUTHCREATEVID.name()),
+					.postApi(ApiName.IDAUTHCREATEVID,
 							MediaType.APPLICATION_JSON, request, ResponseWrapper.class);
 		} catch (Exception e) {
 			logger.error(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.REGISTRATIONID.toString(),
@@ -448,7 +465,7 @@ public class ResidentVidServiceImpl implements ResidentVidService {
 
 		}
 
-		VidGeneratorResponseDto vidResponse = mapper.readValue(mapper.writeValueAsString(response.getResponse()),
+		VidGeneratorResponseDto vidResponse = mapper.convertValue(response.getResponse(),
 				VidGeneratorResponseDto.class);
 
 		return vidResponse;
@@ -494,6 +511,7 @@ public class ResidentVidServiceImpl implements ResidentVidService {
 		}
 		String eventId = ResidentConstants.NOT_AVAILABLE;
 		ResidentTransactionEntity residentTransactionEntity = null;
+		List<NotificationRequestDto> failureNotifications = new ArrayList<>(1);
 		if(Utility.isSecureSession()) {
 			residentTransactionEntity = createResidentTransEntity(vid, indivudalId);
 			if (residentTransactionEntity != null) {
@@ -580,23 +598,30 @@ public class ResidentVidServiceImpl implements ResidentVidService {
 		} catch (JsonProcessingException e) {
 			audit.setAuditRequestDto(EventEnum.getEventEnumWithValue(EventEnum.VID_JSON_PARSING_EXCEPTION,
 					requestDto.getTransactionID(), "Request to revoke VID"));
-			notifyVidRevokeFailureAndThrowException(requestDto, isV2Request, notificationRequestDto, eventId, residentTransactionEntity, e);
+			notifyVidRevokeFailureAndThrowException(requestDto, isV2Request, notificationRequestDto, eventId, residentTransactionEntity, failureNotifications, e);
 		} catch (IOException | ApisResourceAccessException | VidRevocationException e) {
 			audit.setAuditRequestDto(
 					EventEnum.getEventEnumWithValue(EventEnum.VID_REVOKE_EXCEPTION, requestDto.getTransactionID()));
-			notifyVidRevokeFailureAndThrowException(requestDto, isV2Request, notificationRequestDto, eventId, residentTransactionEntity, e);
+			notifyVidRevokeFailureAndThrowException(requestDto, isV2Request, notificationRequestDto, eventId, residentTransactionEntity, failureNotifications, e);
 		} catch (ResidentServiceCheckedException e) {
 			audit.setAuditRequestDto(
 					EventEnum.getEventEnumWithValue(EventEnum.VID_REVOKE_EXCEPTION, requestDto.getTransactionID()));
-			notifyVidRevokeFailureAndThrowException(requestDto, isV2Request, notificationRequestDto, eventId, residentTransactionEntity, e);
+			notifyVidRevokeFailureAndThrowException(requestDto, isV2Request, notificationRequestDto, eventId, residentTransactionEntity, failureNotifications, e);
 		} finally {
+			// evicted whatever the outcome, as a failed call may still have revoked the VID;
+			// other instances drop it from their caches within the VID revocation window
+			if (identityResolutionCache != null) {
+				identityResolutionCache.evictVid(vid);
+			}
 			if (Utility.isSecureSession() && residentTransactionEntity != null) {
 				//if the status code will come as null, it will set it as failed.
 				if(residentTransactionEntity.getStatusCode()==null) {
 					residentTransactionEntity.setStatusCode(EventStatusFailure.FAILED.name());
 					residentTransactionEntity.setRequestSummary("failed");
 				}
-				residentTransactionRepository.save(residentTransactionEntity);
+				saveWithNotifications(residentTransactionEntity, failureNotifications);
+			} else if (!failureNotifications.isEmpty()) {
+				notificationOutbox.saveWithNotifications(() -> {}, failureNotifications);
 			}
 		}
 
@@ -619,34 +644,40 @@ public class ResidentVidServiceImpl implements ResidentVidService {
 	
 	private <E extends Exception> void notifyVidCreationFailureAndThrowException(BaseVidRequestDto requestDto, boolean isV2Request,
 			NotificationRequestDto notificationRequestDto, String eventId,
-			ResidentTransactionEntity residentTransactionEntity, E e)
+			ResidentTransactionEntity residentTransactionEntity, List<NotificationRequestDto> failureNotifications, E e)
 			throws ResidentServiceCheckedException, VidCreationException {
 		notifyFailureAndThrowException(requestDto, isV2Request, notificationRequestDto, eventId,
-				residentTransactionEntity, e, RequestType.GENERATE_VID, NotificationTemplateCode.RS_VIN_GEN_FAILURE,
+				residentTransactionEntity, failureNotifications, e, RequestType.GENERATE_VID, NotificationTemplateCode.RS_VIN_GEN_FAILURE,
 				"Request to generate VID", this::createVidGenerateException, VidCreationException.class);
 	}
 
 	private <E extends Exception> void notifyVidRevokeFailureAndThrowException(BaseVidRevokeRequestDTO requestDto, boolean isV2Request,
 			NotificationRequestDto notificationRequestDto, String eventId,
-			ResidentTransactionEntity residentTransactionEntity, E e)
+			ResidentTransactionEntity residentTransactionEntity, List<NotificationRequestDto> failureNotifications, E e)
 			throws ResidentServiceCheckedException, VidRevocationException {
 		notifyFailureAndThrowException(requestDto, isV2Request, notificationRequestDto, eventId,
-				residentTransactionEntity, e, RequestType.REVOKE_VID, NotificationTemplateCode.RS_VIN_REV_FAILURE,
+				residentTransactionEntity, failureNotifications, e, RequestType.REVOKE_VID, NotificationTemplateCode.RS_VIN_REV_FAILURE,
 				"Request to revoke VID", this::createVidRevocationException, VidRevocationException.class);
 	}
 
 	private <TE extends Throwable> void notifyFailureAndThrowException(ObjectWithTransactionID requestDto, boolean isV2Request,
 			NotificationRequestDto notificationRequestDto, String eventId,
-			ResidentTransactionEntity residentTransactionEntity, Throwable e, RequestType requestType, NotificationTemplateCode notificationTemplate, 
+			ResidentTransactionEntity residentTransactionEntity, List<NotificationRequestDto> failureNotifications, Throwable e, RequestType requestType, NotificationTemplateCode notificationTemplate, 
 			String auditEventName, BiFunction<String, Throwable, TE> targetExceptionCreator, Class<TE> targetExceptionClass) throws ResidentServiceCheckedException, TE {
-		notifyFailure(requestDto, isV2Request, notificationRequestDto, eventId, residentTransactionEntity, e, requestType,
-				notificationTemplate, auditEventName, targetExceptionCreator);
+		notifyFailure(requestDto, isV2Request, notificationRequestDto, eventId, residentTransactionEntity,
+				failureNotifications, e, requestType, notificationTemplate, auditEventName, targetExceptionCreator);
 		throwException(eventId, e, targetExceptionCreator, targetExceptionClass);
 	}
 
+	/**
+	 * With the notification outbox enabled, the failure notification of a v2
+	 * request is only added to the given list, so that it is queued in the same
+	 * database transaction that saves the failed transaction.
+	 */
 	private <TE extends Throwable> void notifyFailure(ObjectWithTransactionID requestDto, boolean isV2Request,
 			NotificationRequestDto notificationRequestDto, String eventId,
-			ResidentTransactionEntity residentTransactionEntity, Throwable e, RequestType requestType,
+			ResidentTransactionEntity residentTransactionEntity, List<NotificationRequestDto> failureNotifications,
+			Throwable e, RequestType requestType,
 			NotificationTemplateCode notificationTemplate, String auditEventName,
 			BiFunction<String, Throwable, TE> targetExceptionCreator) throws ResidentServiceCheckedException, TE {
 		if(isV2Request) {
@@ -655,7 +686,11 @@ public class ResidentVidServiceImpl implements ResidentVidService {
 			notificationRequestDtoV2.setRequestType(requestType);
 			notificationRequestDtoV2.setEventId(eventId);
 
-			notificationService.sendNotification(notificationRequestDto);
+			if (notificationOutbox != null) {
+				failureNotifications.add(notificationRequestDto);
+			} else {
+				notificationService.sendNotification(notificationRequestDto);
+			}
 		} else {
 			notificationRequestDto.setTemplateTypeCode(notificationTemplate);
 			notificationService.sendNotification(notificationRequestDto);
@@ -668,6 +703,20 @@ public class ResidentVidServiceImpl implements ResidentVidService {
 		}
 	}
 
+	/**
+	 * Saves the transaction and queues the given notifications in one database
+	 * transaction; without notifications the transaction is simply saved.
+	 */
+	private void saveWithNotifications(ResidentTransactionEntity residentTransactionEntity,
+			List<NotificationRequestDto> notifications) throws ResidentServiceCheckedException {
+		if (notifications.isEmpty()) {
+			residentTransactionRepository.save(residentTransactionEntity);
+		} else {
+			notificationOutbox.saveWithNotifications(() -> residentTransactionRepository.save(residentTransactionEntity),
+					notifications);
+		}
+	}
+
 	private <TE extends Throwable> void throwException(String eventId, Throwable e,
 			BiFunction<String, Throwable, TE> targetExceptionCreator, Class<TE> targetExceptionClass)
 			throws TE, ResidentServiceCheckedException {
@@ -730,16 +779,14 @@ public class ResidentVidServiceImpl implements ResidentVidService {
 		request.setVersion(version);
 		request.setRequest(vidRequestDto);
 		request.setRequesttime(DateUtils.formatToISOString(DateUtils.getUTCCurrentDateTime()));
-		String apiUrl=env.getProperty(ApiName.IDAUTHREVOKEVID.name()) + "/" + vid;
-		
 		logger.debug(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.REGISTRATIONID.toString(),
 				"",
 				"ResidentVidServiceImpl::vidDeactivator():: post REVOKEVID service call started with request data : "
 						+ JsonUtils.javaObjectToJsonString(request));
 
 		try {
-			response = (ResponseWrapper) residentServiceRestClient.patchApi(apiUrl, MediaType.APPLICATION_JSON, request,
-					ResponseWrapper.class);
+			response = (ResponseWrapper) residentServiceRestClient.patchApi(ApiName.IDAUTHREVOKEVID,
+					List.of(vid), MediaType.APPLICATION_JSON, request, ResponseWrapper.class);
 		} catch (Exception e) {
 			logger.error(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.REGISTRATIONID.toString(),
 					"", ResidentErrorCode.API_RESOURCE_UNAVAILABLE.getErrorCode()
@@ -0,0 +1,48 @@
+package io.mosip.resident.service.impl;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.kernel.core.websub.model.EventModel;
+import io.mosip.resident.config.LoggerConfiguration;
+import io.mosip.resident.constant.LoggerFileConstant;
+import io.mosip.resident.service.WebSubCertificateRotationService;
+import io.mosip.resident.util.CertificateCache;
+
+/**
+ * Evicts cached key manager certificates when a certificate is rotated. An
+ * event naming an application id and reference id evicts that certificate
+ * only, any other event evicts all certificates.
+ */
+@Component
+public class WebSubCertificateRotationServiceImpl implements WebSubCertificateRotationService {
+
+    private static final Logger logger = LoggerConfiguration.logConfig(WebSubCertificateRotationServiceImpl.class);
+
+    private static final String APPLICATION_ID = "applicationId";
+    private static final String REFERENCE_ID = "referenceId";
+
+    @Autowired
+    private CertificateCache certificateCache;
+
+    @Override
+    public void evictCertificates(EventModel eventModel) {
+        Map<String, Object> data = eventModel.getEvent().getData();
+        Object applicationId = data.get(APPLICATION_ID);
+        Object referenceId = data.get(REFERENCE_ID);
+        if (applicationId != null && referenceId != null) {
+            logger.info(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+                    LoggerFileConstant.APPLICATIONID.toString(),
+                    "WebSubCertificateRotationServiceImpl::evictCertificates():: evicting " + applicationId + ":" + referenceId);
+            certificateCache.evict(applicationId.toString(), referenceId.toString());
+        } else {
+            logger.info(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+                    LoggerFileConstant.APPLICATIONID.toString(),
+                    "WebSubCertificateRotationServiceImpl::evictCertificates():: evicting all certificates");
+            certificateCache.evictAll();
+        }
+    }
+}
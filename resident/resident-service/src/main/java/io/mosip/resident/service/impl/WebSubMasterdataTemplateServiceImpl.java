@@ -0,0 +1,48 @@
+package io.mosip.resident.service.impl;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.kernel.core.websub.model.EventModel;
+import io.mosip.resident.config.LoggerConfiguration;
+import io.mosip.resident.constant.LoggerFileConstant;
+import io.mosip.resident.service.WebSubMasterdataTemplateService;
+import io.mosip.resident.util.TemplateCache;
+
+/**
+ * Evicts cached masterdata templates when masterdata publishes a template
+ * change. An event naming a language and template type code evicts that
+ * template only, any other event evicts all templates.
+ */
+@Component
+public class WebSubMasterdataTemplateServiceImpl implements WebSubMasterdataTemplateService {
+
+    private static final Logger logger = LoggerConfiguration.logConfig(WebSubMasterdataTemplateServiceImpl.class);
+
+    private static final String LANG_CODE = "langCode";
+    private static final String TEMPLATE_TYPE_CODE = "templateTypeCode";
+
+    @Autowired
+    private TemplateCache templateCache;
+
+    @Override
+    public void evictTemplates(EventModel eventModel) {
+        Map<String, Object> data = eventModel.getEvent().getData();
+        Object langCode = data.get(LANG_CODE);
+        Object templateTypeCode = data.get(TEMPLATE_TYPE_CODE);
+        if (langCode != null && templateTypeCode != null) {
+            logger.info(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+                    LoggerFileConstant.APPLICATIONID.toString(),
+                    "WebSubMasterdataTemplateServiceImpl::evictTemplates():: evicting " + langCode + ":" + templateTypeCode);
+            templateCache.evict(langCode.toString(), templateTypeCode.toString());
+        } else {
+            logger.info(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+                    LoggerFileConstant.APPLICATIONID.toString(),
+                    "WebSubMasterdataTemplateServiceImpl::evictTemplates():: evicting all templates");
+            templateCache.evictAll();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package io.mosip.resident.service.impl;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.kernel.core.websub.model.EventModel;
+import io.mosip.resident.config.LoggerConfiguration;
+import io.mosip.resident.constant.LoggerFileConstant;
+import io.mosip.resident.service.WebSubPartnerUpdateService;
+import io.mosip.resident.util.PartnerDirectory;
+
+/**
+ * Reloads the partner directory when partner management reports a partner
+ * update. The whole list is reloaded with one call, so the event payload is
+ * not inspected.
+ */
+@Component
+public class WebSubPartnerUpdateServiceImpl implements WebSubPartnerUpdateService {
+
+    private static final Logger logger = LoggerConfiguration.logConfig(WebSubPartnerUpdateServiceImpl.class);
+
+    @Autowired
+    private PartnerDirectory partnerDirectory;
+
+    @Override
+    public void refreshPartners(EventModel eventModel) {
+        logger.info(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+                LoggerFileConstant.APPLICATIONID.toString(),
+                "WebSubPartnerUpdateServiceImpl::refreshPartners():: partner updated, reloading partner directory");
+        partnerDirectory.invalidate();
+    }
+}
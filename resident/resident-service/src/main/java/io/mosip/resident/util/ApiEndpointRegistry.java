@@ -0,0 +1,256 @@
+package io.mosip.resident.util;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.resident.config.LoggerConfiguration;
+import io.mosip.resident.constant.ApiName;
+import io.mosip.resident.constant.LoggerFileConstant;
+import io.mosip.resident.constant.ResidentErrorCode;
+import io.mosip.resident.exception.ResidentServiceException;
+
+/**
+ * The URLs of the {@link ApiName}s, parsed and encoded once.
+ * <p>
+ * Every ApiName is resolved from the environment at startup, and startup fails
+ * if one of the mandatory ApiNames is missing or is not an absolute http(s)
+ * URL. The URLs are resolved again when the config server changes any of them;
+ * a URL that becomes invalid on refresh, or a mandatory one that is removed,
+ * keeps its last valid value. Expanding a URI with path segments and query
+ * parameters gives the same result as building it with
+ * {@link UriComponentsBuilder} from the URL, without parsing the URL again.
+ * <p>
+ * The registry also names the downstream API of a request URI: the ApiName
+ * whose URL is the longest prefix of the URI, or the host and port of the URI
+ * when no ApiName matches. The names are few, so they can be used as meter
+ * tags and map keys.
+ */
+@Component
+public class ApiEndpointRegistry {
+
+	private static final Logger logger = LoggerConfiguration.logConfig(ApiEndpointRegistry.class);
+
+	private static final Set<String> API_NAMES = Arrays.stream(ApiName.values()).map(ApiName::name)
+			.collect(Collectors.toUnmodifiableSet());
+
+	@Value("${resident.endpoints.mandatory:IDREPOGETIDBYUIN,GETUINBYVID,INTERNALAUTH,TEMPLATES,SMSNOTIFIER,EMAILNOTIFIER}")
+	private String mandatoryApiNames;
+
+	@Autowired
+	private Environment environment;
+
+	private volatile Snapshot snapshot = new Snapshot(new EnumMap<>(ApiName.class));
+
+	@PostConstruct
+	public void init() {
+		snapshot = load(null);
+	}
+
+	@EventListener
+	public void onEnvironmentChange(EnvironmentChangeEvent event) {
+		if (event.getKeys().stream().anyMatch(API_NAMES::contains)) {
+			snapshot = load(snapshot);
+		}
+	}
+
+	/**
+	 * Returns the configured URL of the API, or null if it is not configured.
+	 */
+	public String getUrl(ApiName apiName) {
+		Endpoint endpoint = snapshot.endpoints.get(apiName);
+		return endpoint == null ? null : endpoint.url;
+	}
+
+	/**
+	 * Returns the URL of the API with the path segments and query parameters
+	 * appended and encoded, or null if the API is not configured. Blank path
+	 * segments are skipped.
+	 */
+	public URI getUri(ApiName apiName, List<String> pathSegments, List<String> queryParamNames,
+			List<?> queryParamValues) {
+		Endpoint endpoint = snapshot.endpoints.get(apiName);
+		if (endpoint == null) {
+			return null;
+		}
+		if (endpoint.encodedPath == null) {
+			UriComponentsBuilder builder = endpoint.template.cloneBuilder();
+			if (pathSegments != null) {
+				pathSegments.stream().filter(segment -> segment != null && !segment.isEmpty())
+						.forEach(builder::pathSegment);
+			}
+			addQueryParams(builder, queryParamNames, queryParamValues);
+			return builder.build(false).encode().toUri();
+		}
+		StringBuilder uri = new StringBuilder(endpoint.encodedPath.length() + 64).append(endpoint.encodedPath);
+		boolean trailingSlashRemoved = false;
+		if (pathSegments != null) {
+			for (String segment : pathSegments) {
+				if (segment == null || segment.isEmpty()) {
+					continue;
+				}
+				if (!trailingSlashRemoved && uri.charAt(uri.length() - 1) == '/') {
+					uri.setLength(uri.length() - 1);
+				}
+				trailingSlashRemoved = true;
+				if (StringUtils.hasText(segment)) {
+					uri.append('/').append(UriUtils.encodePathSegment(segment, StandardCharsets.UTF_8));
+				}
+			}
+		}
+		if (queryParamNames != null) {
+			for (int i = 0; i < queryParamNames.size(); i++) {
+				Object value = queryParamValues.get(i);
+				uri.append(i == 0 ? '?' : '&')
+						.append(UriUtils.encodeQueryParam(queryParamNames.get(i), StandardCharsets.UTF_8));
+				if (value != null) {
+					uri.append('=').append(UriUtils.encodeQueryParam(value.toString(), StandardCharsets.UTF_8));
+				}
+			}
+		}
+		return URI.create(uri.toString());
+	}
+
+	/**
+	 * Returns the URL of the API with its URI variables expanded and the query
+	 * parameters appended, or null if the API is not configured.
+	 */
+	public URI getUri(ApiName apiName, Map<String, ?> uriVariables, List<String> queryParamNames,
+			List<?> queryParamValues) {
+		Endpoint endpoint = snapshot.endpoints.get(apiName);
+		if (endpoint == null) {
+			return null;
+		}
+		UriComponentsBuilder builder = endpoint.template.cloneBuilder();
+		addQueryParams(builder, queryParamNames, queryParamValues);
+		return builder.build(uriVariables);
+	}
+
+	/**
+	 * Returns the name of the API the URI belongs to.
+	 */
+	public String resolve(URI uri) {
+		String url = uri.toString();
+		for (Endpoint endpoint : snapshot.byPrefixLength) {
+			if (url.startsWith(endpoint.prefix)) {
+				return endpoint.apiName.name();
+			}
+		}
+		return String.valueOf(uri.getAuthority());
+	}
+
+	/**
+	 * Returns the part of the URL before any URI variable or query.
+	 */
+	public static String prefixOf(String url) {
+		int end = url.length();
+		for (char c : new char[] { '{', '?' }) {
+			int index = url.indexOf(c);
+			if (index >= 0 && index < end) {
+				end = index;
+			}
+		}
+		return url.substring(0, end);
+	}
+
+	private Snapshot load(Snapshot previous) {
+		Set<String> mandatory = mandatoryApiNames == null ? Set.of()
+				: Arrays.stream(mandatoryApiNames.split(",")).map(String::trim).filter(StringUtils::hasText)
+						.collect(Collectors.toSet());
+		Map<ApiName, Endpoint> endpoints = new EnumMap<>(ApiName.class);
+		List<String> invalid = new ArrayList<>();
+		for (ApiName apiName : ApiName.values()) {
+			String url = environment.getProperty(apiName.name());
+			Endpoint endpoint = null;
+			if (StringUtils.hasText(url)) {
+				try {
+					endpoint = new Endpoint(apiName, url.trim());
+				} catch (IllegalArgumentException e) {
+					logger.warn(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+							"ApiEndpointRegistry::load()", "invalid url for " + apiName + ": " + e.getMessage());
+					endpoint = previous == null ? null : previous.endpoints.get(apiName);
+				}
+			} else if (mandatory.contains(apiName.name()) && previous != null) {
+				endpoint = previous.endpoints.get(apiName);
+			}
+			if (endpoint == null && mandatory.contains(apiName.name())) {
+				invalid.add(apiName.name());
+			}
+			if (endpoint != null) {
+				endpoints.put(apiName, endpoint);
+			}
+		}
+		if (!invalid.isEmpty()) {
+			throw new ResidentServiceException(ResidentErrorCode.INVALID_API_URL.getErrorCode(),
+					String.format(ResidentErrorCode.INVALID_API_URL.getErrorMessage(), invalid));
+		}
+		return new Snapshot(endpoints);
+	}
+
+	private static void addQueryParams(UriComponentsBuilder builder, List<String> queryParamNames,
+			List<?> queryParamValues) {
+		if (queryParamNames != null) {
+			for (int i = 0; i < queryParamNames.size(); i++) {
+				builder.queryParam(queryParamNames.get(i), queryParamValues.get(i));
+			}
+		}
+	}
+
+	private static final class Endpoint {
+		private final ApiName apiName;
+		private final String url;
+		private final String prefix;
+		private final UriComponentsBuilder template;
+		/** The encoded URL, or null if it has a query or fragment and must be built. */
+		private final String encodedPath;
+
+		private Endpoint(ApiName apiName, String url) {
+			this.apiName = apiName;
+			this.url = url;
+			this.prefix = prefixOf(url);
+			URI uri = URI.create(prefix);
+			if (!uri.isAbsolute() || uri.getHost() == null
+					|| !("http".equalsIgnoreCase(uri.getScheme()) || "https".equalsIgnoreCase(uri.getScheme()))) {
+				throw new IllegalArgumentException("not an absolute http(s) url: " + url);
+			}
+			this.template = UriComponentsBuilder.fromUriString(url);
+			UriComponents encoded = template.cloneBuilder().build(false).encode();
+			this.encodedPath = encoded.getQuery() == null && encoded.getFragment() == null ? encoded.toUriString()
+					: null;
+		}
+	}
+
+	private static final class Snapshot {
+		private final Map<ApiName, Endpoint> endpoints;
+		private final List<Endpoint> byPrefixLength;
+
+		private Snapshot(Map<ApiName, Endpoint> endpoints) {
+			this.endpoints = endpoints;
+			List<Endpoint> sorted = new ArrayList<>(endpoints.values());
+			sorted.sort((first, second) -> second.prefix.length() - first.prefix.length());
+			this.byPrefixLength = Collections.unmodifiableList(sorted);
+		}
+	}
+
+}
@@ -6,6 +6,7 @@ import java.net.UnknownHostException;
 import java.util.List;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -22,6 +23,8 @@ import org.springframework.web.client.RestTemplate;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.mosip.kernel.core.exception.ExceptionUtils;
 import io.mosip.kernel.core.exception.ServiceError;
 import io.mosip.kernel.core.http.RequestWrapper;
@@ -56,7 +59,31 @@ public class AuditUtil {
 
 	@Autowired
 	private Environment environment;
-	
+
+	@Autowired(required = false)
+	private MeterRegistry meterRegistry;
+
+	@Value("${mosip.resident.audit.async.enabled:true}")
+	private boolean asyncAuditEnabled;
+
+	@Value("${mosip.resident.audit.async.buffer-capacity:10000}")
+	private int auditBufferCapacity;
+
+	@Value("${mosip.resident.audit.async.max-batch-size:100}")
+	private int auditMaxBatchSize;
+
+	@Value("${mosip.resident.audit.async.flush-interval.millisecs:500}")
+	private long auditFlushIntervalMillis;
+
+	@Value("${mosip.resident.audit.async.offer-timeout.millisecs:50}")
+	private long auditOfferTimeoutMillis;
+
+	@Value("${mosip.resident.audit.async.caller-runs-on-overflow:true}")
+	private boolean auditCallerRunsOnOverflow;
+
+	private MicroBatchBuffer<AuditRequestDTO> auditEventBuffer;
+
+	private Counter droppedCounter;
   
 	/** The Constant UNKNOWN_HOST. */
 	private static final String UNKNOWN_HOST = "Unknown Host";
@@ -85,6 +112,23 @@ public class AuditUtil {
 	public void getHostDetails() {
 		hostIpAddress = getServerIp();
 		hostName = getServerName();
+		if (asyncAuditEnabled) {
+			auditEventBuffer = new MicroBatchBuffer<>("audit", events -> events.forEach(this::callAuditManager),
+					auditBufferCapacity, auditMaxBatchSize, auditFlushIntervalMillis, auditOfferTimeoutMillis,
+					meterRegistry);
+			auditEventBuffer.start();
+			if (meterRegistry != null) {
+				droppedCounter = Counter.builder("resident.audit.dropped")
+						.description("Audit events dropped because the buffer was full").register(meterRegistry);
+			}
+		}
+	}
+
+	@PreDestroy
+	public void flushPendingAudits() {
+		if (auditEventBuffer != null) {
+			auditEventBuffer.stop();
+		}
 	}
 	
 	public  void setAuditRequestDto(EventEnum eventEnum) {
@@ -123,7 +167,31 @@ public class AuditUtil {
 		auditRequestDto.setId(eventEnum.getId());
 		auditRequestDto.setIdType(eventEnum.getIdType());
 		auditRequestDto.setCreatedBy(ResidentConstants.RESIDENT);
-		callAuditManager(auditRequestDto);
+		submitAudit(auditRequestDto);
+	}
+
+	/**
+	 * Queues the audit event for the background flusher, or sends it right away
+	 * when asynchronous auditing is disabled. An event that cannot be queued
+	 * because the buffer is full is either sent on the calling thread or
+	 * dropped, based on the overflow setting. Both count as rejected by the
+	 * buffer; only dropped events count as {@code resident.audit.dropped}.
+	 *
+	 * @param auditRequestDto the audit request dto
+	 */
+	public void submitAudit(AuditRequestDTO auditRequestDto) {
+		if (auditEventBuffer != null && auditEventBuffer.offer(auditRequestDto)) {
+			return;
+		}
+		if (auditEventBuffer == null || auditCallerRunsOnOverflow) {
+			callAuditManager(auditRequestDto);
+		} else {
+			if (droppedCounter != null) {
+				droppedCounter.increment();
+			}
+			logger.error(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+					auditRequestDto.getEventId(), "Audit buffer is full, dropping audit event");
+		}
 	}
 	
 	public void callAuditManager(AuditRequestDTO auditRequestDto) {
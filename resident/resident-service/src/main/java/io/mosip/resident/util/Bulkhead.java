@@ -0,0 +1,59 @@
+package io.mosip.resident.util;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Limits the number of concurrent calls to one downstream service, so a slow
+ * service can tie up at most its own share of the calling threads.
+ * <p>
+ * A caller that cannot get a permit within the configured wait time is
+ * rejected. Calls in flight and rejections are published as
+ * {@code resident.bulkhead.*} meters tagged with the bulkhead name.
+ */
+public class Bulkhead {
+
+	private static final String METRIC_PREFIX = "resident.bulkhead";
+
+	private final Semaphore permits;
+
+	private final long maxWaitMillis;
+
+	private final Counter rejectedCounter;
+
+	public Bulkhead(String name, int maxConcurrentCalls, long maxWaitMillis, MeterRegistry meterRegistry) {
+		this.permits = new Semaphore(maxConcurrentCalls, true);
+		this.maxWaitMillis = maxWaitMillis;
+		if (meterRegistry != null) {
+			Gauge.builder(METRIC_PREFIX + ".active", permits, p -> maxConcurrentCalls - p.availablePermits())
+					.tag("bulkhead", name).description("Calls in flight").register(meterRegistry);
+			this.rejectedCounter = Counter.builder(METRIC_PREFIX + ".rejected").tag("bulkhead", name)
+					.description("Calls rejected because the bulkhead was full").register(meterRegistry);
+		} else {
+			this.rejectedCounter = null;
+		}
+	}
+
+	/**
+	 * Waits for a permit for at most the configured wait time. Returns false if
+	 * no permit became available, in which case the call must not be made.
+	 */
+	public boolean tryAcquire() throws InterruptedException {
+		if (permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS)) {
+			return true;
+		}
+		if (rejectedCounter != null) {
+			rejectedCounter.increment();
+		}
+		return false;
+	}
+
+	public void release() {
+		permits.release();
+	}
+
+}
@@ -0,0 +1,186 @@
+package io.mosip.resident.util;
+
+import java.security.PublicKey;
+import java.security.cert.CertificateEncodingException;
+import java.security.cert.X509Certificate;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.PostConstruct;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.kernel.core.util.CryptoUtil;
+import io.mosip.resident.config.LoggerConfiguration;
+import io.mosip.resident.constant.LoggerFileConstant;
+import io.mosip.resident.constant.ResidentConstants;
+import io.mosip.resident.constant.ResidentErrorCode;
+import io.mosip.resident.exception.CertificateException;
+
+/**
+ * Cache of key manager certificates keyed by application id and reference id,
+ * held in parsed form together with their thumbprint.
+ * <p>
+ * A certificate is refreshed in the background when it is close to its
+ * {@code notAfter} date or has been cached for longer than the refresh
+ * interval, so callers rarely wait for the key manager. A certificate is never
+ * served after it has expired. Entries can be evicted on certificate rotation
+ * events; a certificate loaded while an entry was evicted is not cached, as
+ * it may be the one that was rotated out.
+ */
+@Component
+public class CertificateCache {
+
+	private static final Logger logger = LoggerConfiguration.logConfig(CertificateCache.class);
+
+	@Value("${mosip.resident.certificate.cache.ttl.millisecs:86400000}")
+	private long ttlMillis;
+
+	@Value("${mosip.resident.certificate.cache.refresh-ahead.millisecs:3600000}")
+	private long refreshAheadMillis;
+
+	@Value("${mosip.resident.certificate.cache.max-size:50}")
+	private int maxSize;
+
+	@Autowired
+	@Qualifier("cacheRefreshExecutor")
+	private TaskExecutor refreshExecutor;
+
+	@Autowired(required = false)
+	private MeterRegistry meterRegistry;
+
+	private LocalCache<String, CachedCertificate> cache;
+
+	private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+	@PostConstruct
+	public void init() {
+		cache = new LocalCache<>("certificates", maxSize, ttlMillis, meterRegistry);
+	}
+
+	/**
+	 * Returns the certificate, loading it with the given loader when it is not
+	 * cached, has expired or has been cached for longer than the refresh
+	 * interval. If loading fails and a cached certificate is still valid, that
+	 * certificate is returned.
+	 */
+	public <E extends Exception> CachedCertificate getCertificate(String applicationId, String referenceId,
+			LocalCache.Loader<String, X509Certificate, E> loader) throws E {
+		String key = getKey(applicationId, referenceId);
+		long now = System.currentTimeMillis();
+		CachedCertificate certificate = cache.get(key);
+		if (certificate != null && now < certificate.getNotAfter()) {
+			if (now > certificate.getNotAfter() - refreshAheadMillis
+					|| cache.getAgeMillis(key) > ttlMillis - refreshAheadMillis) {
+				refreshAsync(key, loader);
+			}
+			return certificate;
+		}
+		long generation = cache.getGeneration();
+		try {
+			certificate = CachedCertificate.of(loader.load(key));
+		} catch (Exception e) {
+			CachedCertificate staleCertificate = cache.getStale(key);
+			if (staleCertificate != null && now < staleCertificate.getNotAfter()) {
+				logger.warn(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(), key,
+						"CertificateCache::getCertificate():: serving cached certificate as key manager is not reachable: "
+								+ e.getMessage());
+				return staleCertificate;
+			}
+			throw e;
+		}
+		cache.putIfNotInvalidated(key, certificate, generation);
+		return certificate;
+	}
+
+	public void evict(String applicationId, String referenceId) {
+		cache.invalidate(getKey(applicationId, referenceId));
+	}
+
+	public void evictAll() {
+		cache.invalidateAll();
+	}
+
+	private <E extends Exception> void refreshAsync(String key,
+			LocalCache.Loader<String, X509Certificate, E> loader) {
+		if (!refreshing.add(key)) {
+			return;
+		}
+		long generation = cache.getGeneration();
+		try {
+			refreshExecutor.execute(() -> {
+				try {
+					if (!cache.putIfNotInvalidated(key, CachedCertificate.of(loader.load(key)), generation)) {
+						logger.debug(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+								key, "CertificateCache::refreshAsync():: discarded certificate loaded before an eviction");
+					}
+				} catch (Exception e) {
+					logger.warn(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(), key,
+							"CertificateCache::refreshAsync():: " + ExceptionUtils.getStackTrace(e));
+				} finally {
+					refreshing.remove(key);
+				}
+			});
+		} catch (TaskRejectedException e) {
+			refreshing.remove(key);
+			logger.warn(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(), key,
+					"CertificateCache::refreshAsync():: refresh skipped as the refresh executor is busy");
+		}
+	}
+
+	private String getKey(String applicationId, String referenceId) {
+		return applicationId + ResidentConstants.COLON + referenceId;
+	}
+
+	/**
+	 * A parsed certificate together with its public key and Base64 URL encoded
+	 * SHA-256 thumbprint.
+	 */
+	public static final class CachedCertificate {
+		private final X509Certificate certificate;
+		private final String thumbprint;
+		private final long notAfter;
+
+		private CachedCertificate(X509Certificate certificate, String thumbprint) {
+			this.certificate = certificate;
+			this.thumbprint = thumbprint;
+			this.notAfter = certificate.getNotAfter().getTime();
+		}
+
+		public static CachedCertificate of(X509Certificate certificate) {
+			try {
+				return new CachedCertificate(certificate,
+						CryptoUtil.encodeToURLSafeBase64(DigestUtils.sha256(certificate.getEncoded())));
+			} catch (CertificateEncodingException e) {
+				throw new CertificateException(ResidentErrorCode.API_RESOURCE_UNAVAILABLE.getErrorCode(),
+						ResidentErrorCode.API_RESOURCE_UNAVAILABLE.getErrorMessage(), e);
+			}
+		}
+
+		public X509Certificate getCertificate() {
+			return certificate;
+		}
+
+		public PublicKey getPublicKey() {
+			return certificate.getPublicKey();
+		}
+
+		public String getThumbprint() {
+			return thumbprint;
+		}
+
+		public long getNotAfter() {
+			return notAfter;
+		}
+	}
+
+}
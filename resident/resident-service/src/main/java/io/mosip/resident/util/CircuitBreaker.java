@@ -0,0 +1,104 @@
+package io.mosip.resident.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Stops calls to a downstream service that keeps failing, so callers fail
+ * fast instead of waiting on it.
+ * <p>
+ * The breaker opens after the configured number of consecutive failures and
+ * rejects calls until the open interval has passed. It then lets a single
+ * probe call through: the breaker closes if the probe succeeds and opens again
+ * if it fails. The state (0 closed, 1 open, 2 half open) and rejections are
+ * published as {@code resident.circuitbreaker.*} meters tagged with the
+ * breaker name.
+ */
+public class CircuitBreaker {
+
+	private static final String METRIC_PREFIX = "resident.circuitbreaker";
+
+	public enum State {
+		CLOSED, OPEN, HALF_OPEN
+	}
+
+	private final int failureThreshold;
+
+	private final long openMillis;
+
+	private final Counter rejectedCounter;
+
+	private State state = State.CLOSED;
+
+	private int consecutiveFailures;
+
+	private long openedAt;
+
+	private boolean probeInFlight;
+
+	public CircuitBreaker(String name, int failureThreshold, long openMillis, MeterRegistry meterRegistry) {
+		this.failureThreshold = failureThreshold;
+		this.openMillis = openMillis;
+		if (meterRegistry != null) {
+			Gauge.builder(METRIC_PREFIX + ".state", this, breaker -> breaker.getState().ordinal())
+					.tag("circuitbreaker", name).description("0 closed, 1 open, 2 half open")
+					.register(meterRegistry);
+			this.rejectedCounter = Counter.builder(METRIC_PREFIX + ".rejected").tag("circuitbreaker", name)
+					.description("Calls rejected because the circuit breaker was open").register(meterRegistry);
+		} else {
+			this.rejectedCounter = null;
+		}
+	}
+
+	/**
+	 * Returns false if the call must not be made. A caller that gets true must
+	 * report the outcome with {@link #onSuccess()} or {@link #onFailure()}, or
+	 * call {@link #release()} if the call ended without an outcome to report.
+	 */
+	public synchronized boolean tryAcquire() {
+		if (state == State.OPEN && System.currentTimeMillis() - openedAt >= openMillis) {
+			state = State.HALF_OPEN;
+			probeInFlight = false;
+		}
+		if (state == State.CLOSED || (state == State.HALF_OPEN && !probeInFlight)) {
+			probeInFlight = state == State.HALF_OPEN;
+			return true;
+		}
+		if (rejectedCounter != null) {
+			rejectedCounter.increment();
+		}
+		return false;
+	}
+
+	public synchronized void onSuccess() {
+		consecutiveFailures = 0;
+		probeInFlight = false;
+		state = State.CLOSED;
+	}
+
+	public synchronized void onFailure() {
+		probeInFlight = false;
+		if (state == State.OPEN) {
+			return;
+		}
+		if (state == State.HALF_OPEN || ++consecutiveFailures >= failureThreshold) {
+			state = State.OPEN;
+			openedAt = System.currentTimeMillis();
+			consecutiveFailures = 0;
+		}
+	}
+
+	/**
+	 * Ends a call without recording its outcome, so that a half open breaker
+	 * lets the next probe through instead of waiting for this one forever.
+	 */
+	public synchronized void release() {
+		probeInFlight = false;
+	}
+
+	public synchronized State getState() {
+		return state;
+	}
+
+}
@@ -1,20 +1,17 @@
 package io.mosip.resident.util;
 
-import java.io.IOException;
 import java.security.SecureRandom;
 import java.time.format.DateTimeParseException;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.env.Environment;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.util.CollectionUtils;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-
 import io.mosip.commons.packet.constants.CryptomanagerConstant;
 import io.mosip.commons.packet.dto.packet.DecryptResponseDto;
 import io.mosip.commons.packet.exception.ApiNotAccessibleException;
@@ -33,12 +30,6 @@ import io.mosip.resident.exception.PacketEncryptionFailureException;
 @Component
 public class EncryptorUtil {
 
-    @Autowired
-    private Environment env;
-
-    @Autowired
-    private ObjectMapper mapper;
-
     @Value("${mosip.kernel.cryptomanager.request_version:v1}")
     private String APPLICATION_VERSION;
 
@@ -51,10 +42,12 @@ public class EncryptorUtil {
     @Autowired
     private ResidentServiceRestClient restClientService;
 
-    private static final String IO_EXCEPTION = "Exception while reading packet inputStream";
     private static final String DATE_TIME_EXCEPTION = "Error while parsing packet timestamp";
     public static final String APPLICATION_ID = "REGISTRATION";
     private static final String DECRYPT_SERVICE_ID = "mosip.cryptomanager.decrypt";
+    private static final ParameterizedTypeReference<ResponseWrapper<DecryptResponseDto>> ENCRYPT_RESPONSE_TYPE =
+            new ParameterizedTypeReference<ResponseWrapper<DecryptResponseDto>>() {
+            };
 
     public String encrypt(byte[] data, String refId) {
         try {
@@ -79,19 +72,17 @@ public class EncryptorUtil {
             request.setRequesttime(DateUtils.getUTCCurrentDateTime());
             request.setVersion(APPLICATION_VERSION);
 
-            ResponseWrapper responseDto = restClientService
-                    .postApi(env.getProperty(ApiName.ENCRYPTURL.name()), MediaType.APPLICATION_JSON, request, ResponseWrapper.class);
+            ResponseWrapper<DecryptResponseDto> responseDto = restClientService
+                    .postTypedApi(ApiName.ENCRYPTURL, MediaType.APPLICATION_JSON, request, ENCRYPT_RESPONSE_TYPE);
             if (responseDto != null && !CollectionUtils.isEmpty(responseDto.getErrors())) {
-                ServiceError error = (ServiceError) responseDto.getErrors().get(0);
+                ServiceError error = responseDto.getErrors().get(0);
                 throw new PacketEncryptionFailureException(error.getMessage());
             }
             if(responseDto != null && responseDto.getResponse() != null) {
-                DecryptResponseDto responseObject = mapper.readValue(mapper.writeValueAsString(responseDto.getResponse()), DecryptResponseDto.class);
+                DecryptResponseDto responseObject = responseDto.getResponse();
                 return CryptoUtil.encodeToURLSafeBase64(mergeEncryptedData(CryptoUtil.decodeURLSafeBase64(responseObject.getData()), nonce, aad));
             }
             throw new PacketEncryptionFailureException("Packet encryption failed");
-        } catch (IOException e) {
-            throw new PacketDecryptionFailureException(IO_EXCEPTION, e);
         } catch (DateTimeParseException e) {
             throw new PacketDecryptionFailureException(DATE_TIME_EXCEPTION);
         } catch (Exception e) {
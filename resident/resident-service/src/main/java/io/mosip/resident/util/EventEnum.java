@@ -76,6 +76,9 @@ public enum EventEnum {
 	SEND_NOTIFICATION_SUCCESS("RES-SER-208", RegistrationConstants.SYSTEM, "%s",
 			"Sending notification for transaction id %s", "RES-SER", "Residence service", "RS-NOT", "Notification section",
 			RegistrationConstants.RESIDENT_APPLICATION_ID, RegistrationConstants.RESIDENT_APPLICATION_NAME),
+	SEND_NOTIFICATION_QUEUED("RES-SER-289", RegistrationConstants.SYSTEM, "%s",
+			"Notification queued for transaction id %s", "RES-SER", "Residence service", "RS-NOT", "Notification section",
+			RegistrationConstants.RESIDENT_APPLICATION_ID, RegistrationConstants.RESIDENT_APPLICATION_NAME),
 	
 	VALIDATE_OTP("RES-SER-113", RegistrationConstants.SYSTEM, "%s", "Validate OTP for %s", "RES-SER",
 			"Residence service", "RS-OTP", "Otp section", RegistrationConstants.RESIDENT_APPLICATION_ID,
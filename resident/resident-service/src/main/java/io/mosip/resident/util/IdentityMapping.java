@@ -0,0 +1,150 @@
+package io.mosip.resident.util;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+
+import io.mosip.resident.constant.MappingJsonConstants;
+
+/**
+ * Parsed form of the identity mapping JSON, built once per version of the
+ * mapping file.
+ * <p>
+ * The comma separated attribute names of every identity mapping entry are
+ * split up front, so lookups do not parse or split anything. Instances are
+ * shared between requests and are replaced as a whole when the mapping file
+ * changes, so they never hand out their own state: the JSON getters return
+ * copies and the lists are unmodifiable.
+ */
+public final class IdentityMapping {
+
+	private static final String DOCUMENT = "documents";
+
+	private static final String MAPPING_ATTRIBUTE_SEPARATOR = ",";
+
+	private final JSONObject identityMappingJson;
+
+	private final JSONObject documentMappingJson;
+
+	private final List<String> identityMappingKeys;
+
+	private final Map<String, String> mappingValues;
+
+	private final Map<String, List<String>> attributeNames;
+
+	private IdentityMapping(JSONObject mappingJson) {
+		this.identityMappingJson = JsonUtil.getJSONObject(mappingJson, MappingJsonConstants.IDENTITY);
+		this.documentMappingJson = JsonUtil.getJSONObject(mappingJson, DOCUMENT);
+		Map<String, String> values = new HashMap<>();
+		Map<String, List<String>> names = new HashMap<>();
+		List<String> keys = new ArrayList<>();
+		if (identityMappingJson != null) {
+			for (Object key : identityMappingJson.keySet()) {
+				keys.add(String.valueOf(key));
+				Object mapping = identityMappingJson.get(key);
+				if (mapping instanceof Map && ((Map<?, ?>) mapping).get(MappingJsonConstants.VALUE) instanceof String) {
+					String value = (String) ((Map<?, ?>) mapping).get(MappingJsonConstants.VALUE);
+					values.put(String.valueOf(key), value);
+					names.put(String.valueOf(key), List.of(value.split(MAPPING_ATTRIBUTE_SEPARATOR)));
+				}
+			}
+		}
+		this.identityMappingKeys = Collections.unmodifiableList(keys);
+		this.mappingValues = Collections.unmodifiableMap(values);
+		this.attributeNames = Collections.unmodifiableMap(names);
+	}
+
+	public static IdentityMapping parse(String mappingJson) throws IOException {
+		return of(JsonUtil.readValue(mappingJson, JSONObject.class));
+	}
+
+	public static IdentityMapping of(JSONObject mappingJson) {
+		return new IdentityMapping(mappingJson);
+	}
+
+	/**
+	 * Returns a copy of the identity section of the mapping, or null when there
+	 * is none.
+	 */
+	public JSONObject getIdentityMappingJson() {
+		return copy(identityMappingJson);
+	}
+
+	/**
+	 * Returns a copy of the documents section of the mapping, or null when there
+	 * is none.
+	 */
+	public JSONObject getDocumentMappingJson() {
+		return copy(documentMappingJson);
+	}
+
+	public List<String> getIdentityMappingKeys() {
+		return identityMappingKeys;
+	}
+
+	/**
+	 * Returns the raw mapping value of the identity mapping entry, or null when
+	 * there is no such entry.
+	 */
+	public String getMappingValue(String mappingName) {
+		return mappingValues.get(mappingName);
+	}
+
+	/**
+	 * Returns the identity attribute names mapped to the given mapping name. When
+	 * the name is not mapped it is taken to be an attribute name itself.
+	 */
+	public List<String> getAttributeNames(String mappingName) {
+		List<String> names = attributeNames.get(mappingName);
+		return names != null ? names : List.of(mappingName);
+	}
+
+	private static JSONObject copy(JSONObject json) {
+		return json != null ? new JSONObject(copyMap(json)) : null;
+	}
+
+	/**
+	 * Copies nested maps and lists as well, keeping their types, since callers
+	 * such as {@link JsonUtil#getJSONObject(JSONObject, Object)} check them.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static Object copyValue(Object value) {
+		if (value instanceof JSONObject) {
+			return new JSONObject(copyMap((Map) value));
+		}
+		if (value instanceof Map) {
+			return copyMap((Map) value);
+		}
+		if (value instanceof JSONArray) {
+			JSONArray array = new JSONArray();
+			for (Object element : (List<?>) value) {
+				array.add(copyValue(element));
+			}
+			return array;
+		}
+		if (value instanceof List) {
+			List<Object> list = new ArrayList<>();
+			for (Object element : (List<?>) value) {
+				list.add(copyValue(element));
+			}
+			return list;
+		}
+		return value;
+	}
+
+	private static LinkedHashMap<Object, Object> copyMap(Map<?, ?> map) {
+		LinkedHashMap<Object, Object> copy = new LinkedHashMap<>();
+		for (Map.Entry<?, ?> entry : map.entrySet()) {
+			copy.put(entry.getKey(), copyValue(entry.getValue()));
+		}
+		return copy;
+	}
+
+}
@@ -0,0 +1,29 @@
+package io.mosip.resident.util;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds the parsed identity mapping shared by {@link Utility} and
+ * {@link Utilities}.
+ * <p>
+ * The mapping is replaced as a whole when the mapping file is reloaded, so
+ * both utilities always see the same version of it.
+ */
+@Component
+public class IdentityMappingHolder {
+
+	private volatile IdentityMapping identityMapping;
+
+	/**
+	 * Returns the current identity mapping, or null when it has not been loaded
+	 * yet.
+	 */
+	public IdentityMapping getIdentityMapping() {
+		return identityMapping;
+	}
+
+	public void setIdentityMapping(IdentityMapping identityMapping) {
+		this.identityMapping = identityMapping;
+	}
+
+}
@@ -0,0 +1,199 @@
+package io.mosip.resident.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.annotation.PostConstruct;
+import javax.crypto.Cipher;
+import javax.crypto.KeyGenerator;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.mosip.kernel.core.util.CryptoUtil;
+import io.mosip.resident.constant.ResidentErrorCode;
+import io.mosip.resident.exception.ResidentServiceException;
+
+/**
+ * Caches the UIN of a VID, so that a VID used on every request of a session
+ * is resolved by idrepo once.
+ * <p>
+ * Ids never sit in memory in the clear: keys are HMACs of the ids and UINs are
+ * held AES-GCM encrypted, both under keys generated at startup that never
+ * leave the process. VIDs are evicted
+ * when they are revoked, and all VIDs of a UIN when a new VID is generated for
+ * it, as that may revoke the previous one. The cached VIDs of a UIN are
+ * indexed by the UIN hash, so that evicting them does not scan the cache; the
+ * index expires with the VIDs it points to.
+ * <p>
+ * Evictions only reach the cache of the instance that revoked or generated the
+ * VID. Other instances may keep resolving a revoked VID from their own cache
+ * until it expires, so VIDs are cached for at most the revocation window,
+ * whatever the TTL of the cache. WebSub is not used to spread the evictions, as
+ * it delivers an event to one instance of a subscriber, not to each of them.
+ * Hits and misses are published as {@code resident.cache.gets} tagged
+ * {@code vid-uin}.
+ */
+@Component
+public class IdentityResolutionCache {
+
+	private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+	private static final String CIPHER_ALGORITHM = "AES/GCM/NoPadding";
+
+	private static final int IV_LENGTH = 12;
+
+	private static final int TAG_LENGTH_BITS = 128;
+
+	@Value("${mosip.resident.identity-resolution.cache.ttl.millisecs:300000}")
+	private long ttlMillis;
+
+	@Value("${mosip.resident.identity-resolution.cache.max-size:50000}")
+	private int maxSize;
+
+	/**
+	 * The longest time a VID revoked on another instance may still resolve
+	 * from the cache of this one.
+	 */
+	@Value("${mosip.resident.identity-resolution.cache.vid.revocation-window.millisecs:60000}")
+	private long vidRevocationWindowMillis;
+
+	@Autowired(required = false)
+	private MeterRegistry meterRegistry;
+
+	private final SecureRandom secureRandom = new SecureRandom();
+
+	private SecretKey hmacKey;
+
+	private SecretKey encryptionKey;
+
+	private LocalCache<String, EncryptedUin> uinCache;
+
+	/**
+	 * The hashes of the cached VIDs of each UIN, keyed by the UIN hash. Updated
+	 * under its own lock, so that a VID put while the VIDs of its UIN are
+	 * evicted is not lost.
+	 */
+	private LocalCache<String, Set<String>> vidsByUin;
+
+	@PostConstruct
+	public void init() {
+		byte[] hmacKeyBytes = new byte[32];
+		secureRandom.nextBytes(hmacKeyBytes);
+		hmacKey = new SecretKeySpec(hmacKeyBytes, HMAC_ALGORITHM);
+		try {
+			KeyGenerator keyGenerator = KeyGenerator.getInstance("AES");
+			keyGenerator.init(256, secureRandom);
+			encryptionKey = keyGenerator.generateKey();
+		} catch (GeneralSecurityException e) {
+			throw exception(e);
+		}
+		long vidTtlMillis = Math.min(ttlMillis, vidRevocationWindowMillis);
+		uinCache = new LocalCache<>("vid-uin", maxSize, vidTtlMillis, meterRegistry);
+		vidsByUin = new LocalCache<>("uin-vids", maxSize, vidTtlMillis, null);
+	}
+
+	/**
+	 * Returns the cached UIN of the VID, or null if it is not cached.
+	 */
+	public String getUin(String vid) {
+		EncryptedUin uin = uinCache.get(hash(vid));
+		return uin == null ? null : decrypt(uin.encryptedUin);
+	}
+
+	public void putUin(String vid, String uin) {
+		if (vid != null && uin != null) {
+			String vidHash = hash(vid);
+			String uinHash = hash(uin);
+			uinCache.put(vidHash, new EncryptedUin(encrypt(uin)));
+			synchronized (vidsByUin) {
+				Set<String> vids = vidsByUin.getStale(uinHash);
+				if (vids == null) {
+					vids = new HashSet<>();
+				}
+				vids.add(vidHash);
+				vidsByUin.put(uinHash, vids);
+			}
+		}
+	}
+
+	public void evictVid(String vid) {
+		if (vid != null) {
+			uinCache.invalidate(hash(vid));
+		}
+	}
+
+	/**
+	 * Evicts all cached VIDs of the UIN.
+	 */
+	public void evictVidsOfUin(String uin) {
+		if (uin != null) {
+			String uinHash = hash(uin);
+			Set<String> vids;
+			synchronized (vidsByUin) {
+				vids = vidsByUin.getStale(uinHash);
+				vidsByUin.invalidate(uinHash);
+			}
+			if (vids != null) {
+				vids.forEach(uinCache::invalidate);
+			}
+		}
+	}
+
+	private String hash(String id) {
+		try {
+			Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+			mac.init(hmacKey);
+			return CryptoUtil.encodeToURLSafeBase64(mac.doFinal(String.valueOf(id).getBytes(StandardCharsets.UTF_8)));
+		} catch (GeneralSecurityException e) {
+			throw exception(e);
+		}
+	}
+
+	private byte[] encrypt(String data) {
+		try {
+			byte[] iv = new byte[IV_LENGTH];
+			secureRandom.nextBytes(iv);
+			Cipher cipher = Cipher.getInstance(CIPHER_ALGORITHM);
+			cipher.init(Cipher.ENCRYPT_MODE, encryptionKey, new GCMParameterSpec(TAG_LENGTH_BITS, iv));
+			byte[] cipherText = cipher.doFinal(data.getBytes(StandardCharsets.UTF_8));
+			return ByteBuffer.allocate(IV_LENGTH + cipherText.length).put(iv).put(cipherText).array();
+		} catch (GeneralSecurityException e) {
+			throw exception(e);
+		}
+	}
+
+	private String decrypt(byte[] data) {
+		try {
+			Cipher cipher = Cipher.getInstance(CIPHER_ALGORITHM);
+			cipher.init(Cipher.DECRYPT_MODE, encryptionKey, new GCMParameterSpec(TAG_LENGTH_BITS, data, 0, IV_LENGTH));
+			return new String(cipher.doFinal(data, IV_LENGTH, data.length - IV_LENGTH), StandardCharsets.UTF_8);
+		} catch (GeneralSecurityException e) {
+			throw exception(e);
+		}
+	}
+
+	private static ResidentServiceException exception(GeneralSecurityException e) {
+		return new ResidentServiceException(ResidentErrorCode.ENCRYPT_DECRYPT_ERROR.getErrorCode(),
+				ResidentErrorCode.ENCRYPT_DECRYPT_ERROR.getErrorMessage(), e);
+	}
+
+	private static final class EncryptedUin {
+		private final byte[] encryptedUin;
+
+		private EncryptedUin(byte[] encryptedUin) {
+			this.encryptedUin = encryptedUin;
+		}
+	}
+
+}
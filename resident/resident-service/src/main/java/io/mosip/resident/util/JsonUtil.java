@@ -6,8 +6,11 @@ import java.io.InputStreamReader;
 import java.io.UnsupportedEncodingException;
 import java.lang.reflect.Array;
 import java.lang.reflect.Field;
+import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.LinkedHashMap;
+import java.util.Map;
 
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
@@ -260,4 +263,63 @@ public class JsonUtil {
 		return (T) objectMapper.convertValue(request, typeReference);
 	}
 
+	/**
+	 * Maps a value that is already decoded, such as the response of a
+	 * ResponseWrapper, to the given type. Unlike
+	 * {@code readValue(writeValueAsString(fromValue), clazz)} the value is never
+	 * written out as JSON text and parsed again. Mapping errors are thrown as
+	 * IOExceptions, as readValue does.
+	 *
+	 * @param fromValue   the decoded value
+	 * @param toValueType the type to map to
+	 * @return the mapped value
+	 * @throws IOException if the value cannot be mapped to the type
+	 */
+	public static <T> T mapValue(Object fromValue, Class<T> toValueType) throws IOException {
+		try {
+			return objectMapper.convertValue(fromValue, toValueType);
+		} catch (IllegalArgumentException e) {
+			if (e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
+			}
+			throw new IOException(e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Copies an already decoded JSON object into the json-simple types that
+	 * JSONParser gives for the same document: objects become JSONObjects,
+	 * arrays JSONArrays, integral numbers Longs and decimal numbers Doubles.
+	 *
+	 * @param value the decoded object, usually a map
+	 * @return the JSON object
+	 */
+	public static JSONObject toJSONObject(Object value) {
+		Object map = value == null || value instanceof Map ? value : objectMapper.convertValue(value, LinkedHashMap.class);
+		return (JSONObject) toJsonSimple(map);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Object toJsonSimple(Object value) {
+		if (value instanceof Map) {
+			JSONObject jsonObject = new JSONObject();
+			((Map<?, ?>) value).forEach((key, item) -> jsonObject.put(String.valueOf(key), toJsonSimple(item)));
+			return jsonObject;
+		}
+		if (value instanceof Collection) {
+			JSONArray jsonArray = new JSONArray();
+			for (Object item : (Collection<?>) value) {
+				jsonArray.add(toJsonSimple(item));
+			}
+			return jsonArray;
+		}
+		if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+			return ((Number) value).longValue();
+		}
+		if (value instanceof Float || value instanceof BigDecimal) {
+			return ((Number) value).doubleValue();
+		}
+		return value;
+	}
+
 }
@@ -0,0 +1,52 @@
+package io.mosip.resident.util;
+
+import java.util.Objects;
+import java.util.function.UnaryOperator;
+
+/**
+ * An encrypted value that is decrypted the first time it is read.
+ * <p>
+ * The holder remembers the encrypted value it belongs to, so an entity can
+ * tell whether its column still holds that value or has since been replaced
+ * with a new plain value that needs encrypting.
+ */
+public final class LazyDecryptedValue {
+
+	private final String encryptedValue;
+
+	private UnaryOperator<String> decryptor;
+
+	private String value;
+
+	public LazyDecryptedValue(String encryptedValue, UnaryOperator<String> decryptor) {
+		this.encryptedValue = encryptedValue;
+		this.decryptor = decryptor;
+	}
+
+	/**
+	 * Returns a holder for a value whose plain form is already known, such as a
+	 * value that has just been encrypted.
+	 */
+	public static LazyDecryptedValue decrypted(String encryptedValue, String value) {
+		LazyDecryptedValue decryptedValue = new LazyDecryptedValue(encryptedValue, null);
+		decryptedValue.value = value;
+		return decryptedValue;
+	}
+
+	public synchronized String get() {
+		if (decryptor != null) {
+			value = decryptor.apply(encryptedValue);
+			decryptor = null;
+		}
+		return value;
+	}
+
+	public synchronized boolean isDecrypted() {
+		return decryptor == null;
+	}
+
+	public boolean isDecryptionOf(Object encryptedValue) {
+		return Objects.equals(this.encryptedValue, encryptedValue);
+	}
+
+}
@@ -0,0 +1,206 @@
+package io.mosip.resident.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Small size-bounded, TTL based in-memory cache used for values that are
+ * expensive to fetch from other services and safe to reuse for a short time.
+ * <p>
+ * Entries are kept in load order, so when the cache is full the entry loaded
+ * first, which is also the first to expire, is evicted in constant time. All
+ * access goes through the lock of the cache, which keeps the size bound
+ * exact. Hits and misses are published as {@code resident.cache.gets}
+ * counters tagged with the cache name.
+ * <p>
+ * A value loaded in the background is cached with
+ * {@link #putIfNotInvalidated}, which drops it if an entry was invalidated
+ * while it was being loaded, so that a refresh racing an eviction cannot
+ * write the evicted value back.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class LocalCache<K, V> {
+
+	private static final String METRIC_NAME = "resident.cache.gets";
+
+	private final Map<K, CacheEntry<V>> entries;
+
+	private final long ttlMillis;
+
+	private long generation;
+
+	private final Counter hitCounter;
+
+	private final Counter missCounter;
+
+	/**
+	 * Loads the value for a key when it is not cached.
+	 */
+	@FunctionalInterface
+	public interface Loader<K, V, E extends Exception> {
+		V load(K key) throws E;
+	}
+
+	public LocalCache(String name, int maxSize, long ttlMillis, MeterRegistry meterRegistry) {
+		this.entries = new LinkedHashMap<K, CacheEntry<V>>() {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<K, CacheEntry<V>> eldest) {
+				return size() > maxSize;
+			}
+		};
+		this.ttlMillis = ttlMillis;
+		if (meterRegistry != null) {
+			this.hitCounter = Counter.builder(METRIC_NAME).tag("cache", name).tag("result", "hit")
+					.register(meterRegistry);
+			this.missCounter = Counter.builder(METRIC_NAME).tag("cache", name).tag("result", "miss")
+					.register(meterRegistry);
+			Gauge.builder("resident.cache.size", this, LocalCache::size).tag("cache", name).register(meterRegistry);
+		} else {
+			this.hitCounter = null;
+			this.missCounter = null;
+		}
+	}
+
+	/**
+	 * Returns the cached value if present and not expired, otherwise null.
+	 */
+	public V get(K key) {
+		CacheEntry<V> entry = entry(key);
+		if (entry != null && !isExpired(entry)) {
+			increment(hitCounter);
+			return entry.value;
+		}
+		increment(missCounter);
+		return null;
+	}
+
+	/**
+	 * Returns the cached value, loading and caching it when absent or expired.
+	 * Null values returned by the loader are not cached.
+	 */
+	public <E extends Exception> V get(K key, Loader<K, V, E> loader) throws E {
+		V value = get(key);
+		if (value == null) {
+			value = loader.load(key);
+			if (value != null) {
+				put(key, value);
+			}
+		}
+		return value;
+	}
+
+	/**
+	 * Returns the cached value even if it has expired, or null when the key was
+	 * never loaded or has been evicted. Does not record a hit or miss.
+	 */
+	public V getStale(K key) {
+		CacheEntry<V> entry = entry(key);
+		return entry == null ? null : entry.value;
+	}
+
+	/**
+	 * Returns the age of the cached entry in milliseconds, or -1 if absent.
+	 */
+	public long getAgeMillis(K key) {
+		CacheEntry<V> entry = entry(key);
+		return entry == null ? -1 : System.currentTimeMillis() - entry.loadedAt;
+	}
+
+	/**
+	 * Caches the value, moving the key to the end of the load order and
+	 * evicting the entry loaded first if the cache is full.
+	 */
+	public void put(K key, V value) {
+		CacheEntry<V> entry = new CacheEntry<>(value, System.currentTimeMillis());
+		synchronized (entries) {
+			entries.remove(key);
+			entries.put(key, entry);
+		}
+	}
+
+	/**
+	 * Returns the generation of the cache, which changes whenever an entry is
+	 * invalidated. Taken before a load and passed to
+	 * {@link #putIfNotInvalidated}.
+	 */
+	public long getGeneration() {
+		synchronized (entries) {
+			return generation;
+		}
+	}
+
+	/**
+	 * Caches the value unless an entry has been invalidated since the given
+	 * generation was taken, and returns whether it was cached.
+	 */
+	public boolean putIfNotInvalidated(K key, V value, long loadGeneration) {
+		CacheEntry<V> entry = new CacheEntry<>(value, System.currentTimeMillis());
+		synchronized (entries) {
+			if (generation != loadGeneration) {
+				return false;
+			}
+			entries.remove(key);
+			entries.put(key, entry);
+			return true;
+		}
+	}
+
+	public void invalidate(K key) {
+		synchronized (entries) {
+			generation++;
+			entries.remove(key);
+		}
+	}
+
+	public void invalidateAll() {
+		synchronized (entries) {
+			generation++;
+			entries.clear();
+		}
+	}
+
+	public int size() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+
+	public long getTtlMillis() {
+		return ttlMillis;
+	}
+
+	private boolean isExpired(CacheEntry<V> entry) {
+		return System.currentTimeMillis() - entry.loadedAt > ttlMillis;
+	}
+
+	private CacheEntry<V> entry(K key) {
+		synchronized (entries) {
+			return entries.get(key);
+		}
+	}
+
+	private static void increment(Counter counter) {
+		if (counter != null) {
+			counter.increment();
+		}
+	}
+
+	private static class CacheEntry<V> {
+		private final V value;
+		private final long loadedAt;
+
+		private CacheEntry(V value, long loadedAt) {
+			this.value = value;
+			this.loadedAt = loadedAt;
+		}
+	}
+
+}
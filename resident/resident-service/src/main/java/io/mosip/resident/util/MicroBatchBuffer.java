@@ -0,0 +1,266 @@
+package io.mosip.resident.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import org.apache.commons.lang3.exception.ExceptionUtils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.resident.config.LoggerConfiguration;
+import io.mosip.resident.constant.LoggerFileConstant;
+
+/**
+ * Bounded in-memory buffer that hands its items to a sink in micro-batches,
+ * from a single background worker.
+ * <p>
+ * A batch is handed over once it holds the maximum batch size, or once its
+ * first item has waited for the maximum delay, whichever comes first. When the
+ * buffer is full, {@link #offer(Object)} waits for at most the offer timeout
+ * and then returns false, leaving the caller to handle the item itself.
+ * The sink must not keep the list it is given.
+ * <p>
+ * A batch the sink fails on is handed to it again, up to the maximum number of
+ * attempts, with a growing pause in between. A batch that still fails is given
+ * to the failure handler together with the last failure, so that its items can
+ * be dead-lettered or reported back to whoever queued them. Meters are
+ * published as {@code resident.microbatch.*} tagged with the buffer name.
+ *
+ * @param <T> the item type
+ */
+public class MicroBatchBuffer<T> {
+
+	private static final Logger logger = LoggerConfiguration.logConfig(MicroBatchBuffer.class);
+
+	private static final String METRIC_PREFIX = "resident.microbatch";
+
+	private final String name;
+
+	private final BlockingQueue<T> queue;
+
+	private final Consumer<List<T>> sink;
+
+	private final BiConsumer<List<T>, RuntimeException> failureHandler;
+
+	private final int maxBatchSize;
+
+	private final long maxDelayMillis;
+
+	private final long offerTimeoutMillis;
+
+	private final int maxAttempts;
+
+	private final long retryBackoffMillis;
+
+	private final Counter rejectedCounter;
+
+	private final Counter failedCounter;
+
+	private final DistributionSummary batchSizeSummary;
+
+	private final Timer flushTimer;
+
+	private volatile boolean running;
+
+	private volatile boolean stopped;
+
+	private Thread worker;
+
+	/**
+	 * Creates a buffer that hands each batch to the sink once, and logs the
+	 * batches the sink fails on.
+	 */
+	public MicroBatchBuffer(String name, Consumer<List<T>> sink, int capacity, int maxBatchSize, long maxDelayMillis,
+			long offerTimeoutMillis, MeterRegistry meterRegistry) {
+		this(name, sink, null, capacity, maxBatchSize, maxDelayMillis, offerTimeoutMillis, 1, 0, meterRegistry);
+	}
+
+	public MicroBatchBuffer(String name, Consumer<List<T>> sink, BiConsumer<List<T>, RuntimeException> failureHandler,
+			int capacity, int maxBatchSize, long maxDelayMillis, long offerTimeoutMillis, int maxAttempts,
+			long retryBackoffMillis, MeterRegistry meterRegistry) {
+		this.name = name;
+		this.sink = sink;
+		this.failureHandler = failureHandler;
+		this.queue = new ArrayBlockingQueue<>(capacity);
+		this.maxBatchSize = maxBatchSize;
+		this.maxDelayMillis = maxDelayMillis;
+		this.offerTimeoutMillis = offerTimeoutMillis;
+		this.maxAttempts = Math.max(1, maxAttempts);
+		this.retryBackoffMillis = retryBackoffMillis;
+		if (meterRegistry != null) {
+			Gauge.builder(METRIC_PREFIX + ".queue.depth", queue, BlockingQueue::size).tag("buffer", name)
+					.description("Items waiting to be flushed").register(meterRegistry);
+			this.rejectedCounter = Counter.builder(METRIC_PREFIX + ".rejected").tag("buffer", name)
+					.description("Items not queued because the buffer was full").register(meterRegistry);
+			this.failedCounter = Counter.builder(METRIC_PREFIX + ".failed").tag("buffer", name)
+					.description("Items in batches the sink failed on after all attempts").register(meterRegistry);
+			this.batchSizeSummary = DistributionSummary.builder(METRIC_PREFIX + ".batch.size").tag("buffer", name)
+					.description("Items per flushed batch").register(meterRegistry);
+			this.flushTimer = Timer.builder(METRIC_PREFIX + ".flush.latency").tag("buffer", name)
+					.description("Time taken to flush one batch").register(meterRegistry);
+		} else {
+			this.rejectedCounter = null;
+			this.failedCounter = null;
+			this.batchSizeSummary = null;
+			this.flushTimer = null;
+		}
+	}
+
+	public synchronized void start() {
+		if (running) {
+			return;
+		}
+		running = true;
+		worker = new Thread(this::drainLoop, "resident-" + name + "-flusher");
+		worker.setDaemon(true);
+		worker.start();
+	}
+
+	/**
+	 * Stops the worker and flushes whatever is left in the buffer on the calling
+	 * thread.
+	 */
+	public synchronized void stop() {
+		stopped = true;
+		running = false;
+		if (worker != null) {
+			worker.interrupt();
+			try {
+				worker.join(maxDelayMillis * 2 + 1000);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		List<T> remaining = new ArrayList<>();
+		queue.drainTo(remaining);
+		for (int from = 0; from < remaining.size(); from += maxBatchSize) {
+			flush(remaining.subList(from, Math.min(from + maxBatchSize, remaining.size())));
+		}
+	}
+
+	/**
+	 * Queues the item, waiting for at most the offer timeout if the buffer is
+	 * full. Returns false if the item was not queued, which is also the case
+	 * once the buffer is stopped.
+	 */
+	public boolean offer(T item) {
+		boolean queued;
+		try {
+			queued = !stopped && queue.offer(item, offerTimeoutMillis, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			queued = false;
+		}
+		if (!queued && rejectedCounter != null) {
+			rejectedCounter.increment();
+		}
+		return queued;
+	}
+
+	public int size() {
+		return queue.size();
+	}
+
+	private void drainLoop() {
+		List<T> batch = new ArrayList<>(maxBatchSize);
+		while (running) {
+			try {
+				T first = queue.poll(maxDelayMillis, TimeUnit.MILLISECONDS);
+				if (first == null) {
+					continue;
+				}
+				batch.add(first);
+				long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+				while (batch.size() < maxBatchSize) {
+					queue.drainTo(batch, maxBatchSize - batch.size());
+					long remainingNanos = deadline - System.nanoTime();
+					if (batch.size() >= maxBatchSize || remainingNanos <= 0) {
+						break;
+					}
+					T next = queue.poll(remainingNanos, TimeUnit.NANOSECONDS);
+					if (next == null) {
+						break;
+					}
+					batch.add(next);
+				}
+				flush(batch);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				flush(batch);
+				break;
+			} finally {
+				batch.clear();
+			}
+		}
+	}
+
+	private void flush(List<T> batch) {
+		if (batch.isEmpty()) {
+			return;
+		}
+		long start = System.nanoTime();
+		RuntimeException failure = null;
+		for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+			try {
+				sink.accept(batch);
+				failure = null;
+				break;
+			} catch (RuntimeException e) {
+				failure = e;
+				logger.warn(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(), name,
+						"Micro-batch flush attempt " + attempt + " of " + maxAttempts + " failed: " + e.getMessage());
+				if (attempt < maxAttempts && !pause(retryBackoffMillis * attempt)) {
+					break;
+				}
+			}
+		}
+		if (flushTimer != null) {
+			flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+			batchSizeSummary.record(batch.size());
+		}
+		if (failure != null) {
+			fail(batch, failure);
+		}
+	}
+
+	private void fail(List<T> batch, RuntimeException failure) {
+		if (failedCounter != null) {
+			failedCounter.increment(batch.size());
+		}
+		if (failureHandler == null) {
+			logger.error(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(), name,
+					"Micro-batch flush failed: " + ExceptionUtils.getStackTrace(failure));
+			return;
+		}
+		try {
+			failureHandler.accept(batch, failure);
+		} catch (RuntimeException e) {
+			logger.error(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(), name,
+					"Micro-batch failure handler failed: " + ExceptionUtils.getStackTrace(e));
+		}
+	}
+
+	/**
+	 * Waits before the next attempt. Returns false if interrupted, in which case
+	 * the batch is not attempted again.
+	 */
+	private static boolean pause(long millis) {
+		try {
+			Thread.sleep(millis);
+			return true;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+}
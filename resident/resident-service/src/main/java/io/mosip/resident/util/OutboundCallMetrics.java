@@ -0,0 +1,312 @@
+package io.mosip.resident.util;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Records every outbound call by the downstream API it goes to, named by
+ * {@link ApiEndpointRegistry}, its HTTP method and its outcome.
+ * <p>
+ * Calls are published as the {@code resident.outbound.calls} timer, with a
+ * latency histogram, the {@code resident.outbound.request.bytes} and
+ * {@code resident.outbound.response.bytes} summaries and the
+ * {@code resident.outbound.errors} counter. Latency is measured until the
+ * response body is closed, so it includes reading the body. The mean and
+ * maximum latency of each API over a sliding window are also kept in memory
+ * for the {@code outboundcalls} actuator endpoint.
+ */
+@Component
+public class OutboundCallMetrics {
+
+	private static final String METRIC_PREFIX = "resident.outbound";
+
+	public static final String SUCCESS = "SUCCESS";
+
+	public static final String CLIENT_ERROR = "CLIENT_ERROR";
+
+	public static final String SERVER_ERROR = "SERVER_ERROR";
+
+	public static final String IO_ERROR = "IO_ERROR";
+
+	public static final String REJECTED = "REJECTED";
+
+	@Value("${resident.outbound.metrics.histogram.enabled:true}")
+	private boolean histogramEnabled;
+
+	@Value("${resident.outbound.metrics.window.millisecs:300000}")
+	private long windowMillis;
+
+	@Value("${resident.outbound.metrics.window.buckets:10}")
+	private int windowBuckets;
+
+	@Autowired
+	private ApiEndpointRegistry apiEndpointRegistry;
+
+	@Autowired(required = false)
+	private MeterRegistry meterRegistry;
+
+	private final Map<String, SlidingWindow> windows = new ConcurrentHashMap<>();
+
+	private final ClientHttpRequestInterceptor interceptor = this::intercept;
+
+	/**
+	 * Returns the interceptor that records each call made through a rest
+	 * template.
+	 */
+	public ClientHttpRequestInterceptor getInterceptor() {
+		return interceptor;
+	}
+
+	/**
+	 * Adds the recording interceptor to the rest template, after the
+	 * interceptors already on it. The template is modified, so it must not be
+	 * one shared with other beans.
+	 */
+	public RestTemplate install(RestTemplate restTemplate) {
+		if (!restTemplate.getInterceptors().contains(interceptor)) {
+			restTemplate.getInterceptors().add(interceptor);
+		}
+		return restTemplate;
+	}
+
+	/**
+	 * Records a call made outside the instrumented rest templates.
+	 */
+	public void record(String api, String method, String outcome, long nanos, long requestBytes,
+			long responseBytes) {
+		if (meterRegistry != null) {
+			Timer.builder(METRIC_PREFIX + ".calls").tag("api", api).tag("method", method).tag("outcome", outcome)
+					.publishPercentileHistogram(histogramEnabled).description("Outbound calls")
+					.register(meterRegistry).record(nanos, TimeUnit.NANOSECONDS);
+			DistributionSummary.builder(METRIC_PREFIX + ".request.bytes").tag("api", api).tag("method", method)
+					.baseUnit("bytes").description("Outbound request body sizes").register(meterRegistry)
+					.record(requestBytes);
+			DistributionSummary.builder(METRIC_PREFIX + ".response.bytes").tag("api", api).tag("method", method)
+					.baseUnit("bytes").description("Outbound response body sizes").register(meterRegistry)
+					.record(responseBytes);
+			if (!SUCCESS.equals(outcome)) {
+				Counter.builder(METRIC_PREFIX + ".errors").tag("api", api).tag("method", method)
+						.tag("outcome", outcome).description("Failed outbound calls").register(meterRegistry)
+						.increment();
+			}
+		}
+		windows.computeIfAbsent(api, name -> new SlidingWindow(windowMillis, windowBuckets))
+				.record(System.currentTimeMillis(), nanos, !SUCCESS.equals(outcome));
+	}
+
+	/**
+	 * Returns the APIs with the highest mean latency over the sliding window,
+	 * slowest first. A limit below one returns no APIs.
+	 */
+	public List<Map<String, Object>> slowest(int limit) {
+		long now = System.currentTimeMillis();
+		List<Map<String, Object>> slowest = new ArrayList<>();
+		windows.forEach((api, window) -> {
+			Map<String, Object> stats = window.snapshot(now);
+			if (stats != null) {
+				Map<String, Object> entry = new LinkedHashMap<>();
+				entry.put("api", api);
+				entry.putAll(stats);
+				slowest.add(entry);
+			}
+		});
+		slowest.sort(Comparator.comparingDouble(entry -> -((Double) entry.get("meanMillis"))));
+		return slowest.size() > limit ? new ArrayList<>(slowest.subList(0, Math.max(0, limit))) : slowest;
+	}
+
+	private ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+			throws IOException {
+		String api = apiEndpointRegistry.resolve(request.getURI());
+		String method = String.valueOf(request.getMethod());
+		long start = System.nanoTime();
+		ClientHttpResponse response;
+		try {
+			response = execution.execute(request, body);
+		} catch (IOException e) {
+			String outcome = e instanceof ResilientHttpTransport.CallNotPermittedException ? REJECTED : IO_ERROR;
+			record(api, method, outcome, System.nanoTime() - start, body.length, 0);
+			throw e;
+		}
+		return new RecordingResponse(response, api, method, outcomeOf(response.getRawStatusCode()), start,
+				body.length);
+	}
+
+	/**
+	 * Returns the outcome tag of a response with the given status code.
+	 */
+	public static String outcomeOf(int status) {
+		HttpStatus.Series series = HttpStatus.Series.resolve(status);
+		if (series == HttpStatus.Series.CLIENT_ERROR) {
+			return CLIENT_ERROR;
+		}
+		return series == HttpStatus.Series.SERVER_ERROR ? SERVER_ERROR : SUCCESS;
+	}
+
+	private final class RecordingResponse implements ClientHttpResponse {
+		private final ClientHttpResponse response;
+		private final String api;
+		private final String method;
+		private final String outcome;
+		private final long start;
+		private final long requestBytes;
+		private final AtomicBoolean recorded = new AtomicBoolean();
+		private long responseBytes;
+		private InputStream body;
+
+		private RecordingResponse(ClientHttpResponse response, String api, String method, String outcome,
+				long start, long requestBytes) {
+			this.response = response;
+			this.api = api;
+			this.method = method;
+			this.outcome = outcome;
+			this.start = start;
+			this.requestBytes = requestBytes;
+		}
+
+		@Override
+		public InputStream getBody() throws IOException {
+			if (body == null) {
+				body = new FilterInputStream(response.getBody()) {
+					@Override
+					public int read() throws IOException {
+						int read = super.read();
+						if (read >= 0) {
+							responseBytes++;
+						}
+						return read;
+					}
+
+					@Override
+					public int read(byte[] buffer, int offset, int length) throws IOException {
+						int read = super.read(buffer, offset, length);
+						if (read > 0) {
+							responseBytes += read;
+						}
+						return read;
+					}
+				};
+			}
+			return body;
+		}
+
+		@Override
+		public HttpHeaders getHeaders() {
+			return response.getHeaders();
+		}
+
+		@Override
+		public HttpStatus getStatusCode() throws IOException {
+			return response.getStatusCode();
+		}
+
+		@Override
+		public int getRawStatusCode() throws IOException {
+			return response.getRawStatusCode();
+		}
+
+		@Override
+		public String getStatusText() throws IOException {
+			return response.getStatusText();
+		}
+
+		@Override
+		public void close() {
+			long contentLength = response.getHeaders().getContentLength();
+			response.close();
+			if (recorded.compareAndSet(false, true)) {
+				record(api, method, outcome, System.nanoTime() - start, requestBytes,
+						Math.max(contentLength, responseBytes));
+			}
+		}
+	}
+
+	/**
+	 * Call counts and latencies of one API in time buckets covering the window.
+	 */
+	private static final class SlidingWindow {
+		private final long bucketMillis;
+		private final long[] epochs;
+		private final long[] calls;
+		private final long[] errors;
+		private final long[] totalNanos;
+		private final long[] maxNanos;
+
+		private SlidingWindow(long windowMillis, int buckets) {
+			this.bucketMillis = Math.max(1, windowMillis / buckets);
+			this.epochs = new long[buckets];
+			this.calls = new long[buckets];
+			this.errors = new long[buckets];
+			this.totalNanos = new long[buckets];
+			this.maxNanos = new long[buckets];
+		}
+
+		private synchronized void record(long now, long nanos, boolean error) {
+			long epoch = now / bucketMillis;
+			int index = (int) (epoch % epochs.length);
+			if (epochs[index] != epoch) {
+				epochs[index] = epoch;
+				calls[index] = 0;
+				errors[index] = 0;
+				totalNanos[index] = 0;
+				maxNanos[index] = 0;
+			}
+			calls[index]++;
+			if (error) {
+				errors[index]++;
+			}
+			totalNanos[index] += nanos;
+			maxNanos[index] = Math.max(maxNanos[index], nanos);
+		}
+
+		private synchronized Map<String, Object> snapshot(long now) {
+			long oldestEpoch = now / bucketMillis - epochs.length + 1;
+			long windowCalls = 0;
+			long windowErrors = 0;
+			long windowNanos = 0;
+			long windowMaxNanos = 0;
+			for (int i = 0; i < epochs.length; i++) {
+				if (epochs[i] >= oldestEpoch) {
+					windowCalls += calls[i];
+					windowErrors += errors[i];
+					windowNanos += totalNanos[i];
+					windowMaxNanos = Math.max(windowMaxNanos, maxNanos[i]);
+				}
+			}
+			if (windowCalls == 0) {
+				return null;
+			}
+			Map<String, Object> stats = new LinkedHashMap<>();
+			stats.put("calls", windowCalls);
+			stats.put("errors", windowErrors);
+			stats.put("meanMillis", windowNanos / 1e6 / windowCalls);
+			stats.put("maxMillis", windowMaxNanos / 1e6);
+			return stats;
+		}
+	}
+
+}
@@ -0,0 +1,33 @@
+package io.mosip.resident.util;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint listing the slowest downstream APIs over the sliding
+ * window of {@link OutboundCallMetrics}, e.g.
+ * {@code GET /actuator/outboundcalls?limit=5}.
+ */
+@Component
+@Endpoint(id = "outboundcalls")
+public class OutboundCallsEndpoint {
+
+	@Value("${resident.outbound.metrics.top-n:10}")
+	private int defaultLimit;
+
+	@Autowired
+	private OutboundCallMetrics outboundCallMetrics;
+
+	@ReadOperation
+	public List<Map<String, Object>> slowest(@Nullable Integer limit) {
+		return outboundCallMetrics.slowest(limit == null ? defaultLimit : limit);
+	}
+
+}
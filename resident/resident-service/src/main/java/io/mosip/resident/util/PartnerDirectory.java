@@ -0,0 +1,223 @@
+package io.mosip.resident.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PostConstruct;
+
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.resident.config.LoggerConfiguration;
+import io.mosip.resident.constant.LoggerFileConstant;
+
+/**
+ * In-memory copy of the partner list of partner management, indexed by
+ * partner id and by partner type.
+ * <p>
+ * The list is loaded on first use and reloaded in the background once it is
+ * older than the refresh interval, so lookups are map reads. After
+ * {@link #invalidate()}, called on partner update events, the next lookup
+ * reloads the list before answering. A background reload that started before
+ * the list was invalidated or reloaded is discarded, so it cannot replace a
+ * newer list. If partner management cannot be reached, the last list loaded
+ * keeps being served.
+ */
+@Component
+public class PartnerDirectory {
+
+	private static final Logger logger = LoggerConfiguration.logConfig(PartnerDirectory.class);
+
+	private static final String METRIC_PREFIX = "resident.partner.directory";
+
+	private static final String PARTNER_ID = "partnerID";
+
+	private static final String PARTNER_TYPE = "partnerType";
+
+	@Value("${mosip.resident.partner.directory.refresh.millisecs:900000}")
+	private long refreshMillis;
+
+	@Autowired
+	@Qualifier("cacheRefreshExecutor")
+	private TaskExecutor refreshExecutor;
+
+	@Autowired(required = false)
+	private MeterRegistry meterRegistry;
+
+	private volatile Snapshot snapshot;
+
+	private volatile boolean invalidated;
+
+	/**
+	 * Bumped on every invalidation and reload, so that a background reload can
+	 * tell whether the list changed while it was loading.
+	 */
+	private final AtomicLong generation = new AtomicLong();
+
+	private final AtomicBoolean refreshing = new AtomicBoolean();
+
+	private Counter loadFailureCounter;
+
+	@PostConstruct
+	public void init() {
+		if (meterRegistry != null) {
+			Gauge.builder(METRIC_PREFIX + ".size", this, directory -> {
+				Snapshot current = directory.snapshot;
+				return current == null ? 0 : current.partnersById.size();
+			}).description("Partners held in the directory").register(meterRegistry);
+			Gauge.builder(METRIC_PREFIX + ".age.seconds", this, directory -> {
+				Snapshot current = directory.snapshot;
+				return current == null ? 0 : (System.currentTimeMillis() - current.loadedAt) / 1000d;
+			}).description("Age of the partner list held in the directory").register(meterRegistry);
+			loadFailureCounter = Counter.builder(METRIC_PREFIX + ".load.failures")
+					.description("Failed loads of the partner list").register(meterRegistry);
+		}
+	}
+
+	/**
+	 * Returns the details of the partner, or an empty map if there is no such
+	 * partner.
+	 */
+	public <E extends Exception> Map<String, ?> getPartner(String partnerId, Loader<E> loader) throws E {
+		return getSnapshot(loader).partnersById.getOrDefault(partnerId, Map.of());
+	}
+
+	/**
+	 * Returns the details of the partners of the given type.
+	 */
+	public <E extends Exception> List<Map<String, ?>> getPartnersByType(String partnerType, Loader<E> loader)
+			throws E {
+		return getSnapshot(loader).partnersByType.getOrDefault(partnerType, List.of());
+	}
+
+	/**
+	 * Makes the next lookup reload the partner list.
+	 */
+	public void invalidate() {
+		generation.incrementAndGet();
+		invalidated = true;
+	}
+
+	private <E extends Exception> Snapshot getSnapshot(Loader<E> loader) throws E {
+		Snapshot current = snapshot;
+		if (current == null || invalidated) {
+			return load(loader);
+		}
+		if (System.currentTimeMillis() - current.loadedAt > refreshMillis) {
+			refreshAsync(loader);
+		}
+		return current;
+	}
+
+	private synchronized <E extends Exception> Snapshot load(Loader<E> loader) throws E {
+		Snapshot current = snapshot;
+		if (current != null && !invalidated) {
+			return current;
+		}
+		try {
+			invalidated = false;
+			generation.incrementAndGet();
+			current = new Snapshot(loader.load());
+			snapshot = current;
+			return current;
+		} catch (Exception e) {
+			if (loadFailureCounter != null) {
+				loadFailureCounter.increment();
+			}
+			if (current != null) {
+				logger.warn(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+						"PartnerDirectory::load()", "serving cached partners as partner management is not reachable: "
+								+ e.getMessage());
+				return current;
+			}
+			throw e;
+		}
+	}
+
+	private <E extends Exception> void refreshAsync(Loader<E> loader) {
+		if (!refreshing.compareAndSet(false, true)) {
+			return;
+		}
+		long started = generation.get();
+		try {
+			refreshExecutor.execute(() -> {
+				try {
+					publish(new Snapshot(loader.load()), started);
+				} catch (Exception e) {
+					if (loadFailureCounter != null) {
+						loadFailureCounter.increment();
+					}
+					logger.warn(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+							"PartnerDirectory::refreshAsync()", ExceptionUtils.getStackTrace(e));
+				} finally {
+					refreshing.set(false);
+				}
+			});
+		} catch (TaskRejectedException e) {
+			refreshing.set(false);
+			logger.warn(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+					"PartnerDirectory::refreshAsync()", "refresh skipped as the refresh executor is busy");
+		}
+	}
+
+	/**
+	 * Replaces the list with one loaded in the background, unless the list was
+	 * invalidated or reloaded since that load started. Synchronized with
+	 * {@link #load(Loader)}, which bumps the generation before it loads.
+	 */
+	private synchronized void publish(Snapshot loaded, long started) {
+		if (generation.get() == started) {
+			snapshot = loaded;
+		} else {
+			logger.debug(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+					"PartnerDirectory::publish()", "discarded partners loaded before the directory was invalidated");
+		}
+	}
+
+	/**
+	 * Loads the partner list from partner management.
+	 */
+	@FunctionalInterface
+	public interface Loader<E extends Exception> {
+		List<Map<String, ?>> load() throws E;
+	}
+
+	private static final class Snapshot {
+		private final Map<String, Map<String, ?>> partnersById;
+		private final Map<String, List<Map<String, ?>>> partnersByType;
+		private final long loadedAt = System.currentTimeMillis();
+
+		private Snapshot(List<Map<String, ?>> partners) {
+			Map<String, Map<String, ?>> byId = new HashMap<>(partners.size() * 2);
+			Map<String, List<Map<String, ?>>> byType = new HashMap<>();
+			for (Map<String, ?> partner : partners) {
+				Object partnerId = partner.get(PARTNER_ID);
+				if (partnerId != null) {
+					byId.putIfAbsent(partnerId.toString(), partner);
+				}
+				Object partnerType = partner.get(PARTNER_TYPE);
+				if (partnerType != null) {
+					byType.computeIfAbsent(partnerType.toString(), type -> new ArrayList<>()).add(partner);
+				}
+			}
+			byType.replaceAll((type, list) -> Collections.unmodifiableList(list));
+			this.partnersById = Collections.unmodifiableMap(byId);
+			this.partnersByType = Collections.unmodifiableMap(byType);
+		}
+	}
+
+}
@@ -0,0 +1,44 @@
+package io.mosip.resident.util;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spaces out calls to a downstream service so that no more than the
+ * configured number of calls per second are started, across all threads.
+ * <p>
+ * Each call reserves the next free slot and sleeps until it is due, so callers
+ * are served in the order they asked and short bursts are smoothed out rather
+ * than rejected.
+ */
+public class RateLimiter {
+
+	private final long intervalNanos;
+
+	private long nextFreeNanos;
+
+	public RateLimiter(double permitsPerSecond) {
+		if (permitsPerSecond <= 0) {
+			throw new IllegalArgumentException("permitsPerSecond must be positive");
+		}
+		this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+		this.nextFreeNanos = System.nanoTime();
+	}
+
+	/**
+	 * Blocks until the caller may start its call.
+	 */
+	public void acquire() throws InterruptedException {
+		long waitNanos = reserve();
+		if (waitNanos > 0) {
+			TimeUnit.NANOSECONDS.sleep(waitNanos);
+		}
+	}
+
+	private synchronized long reserve() {
+		long now = System.nanoTime();
+		long slot = Math.max(nextFreeNanos, now);
+		nextFreeNanos = slot + intervalNanos;
+		return slot - now;
+	}
+
+}
@@ -1,6 +1,7 @@
 package io.mosip.resident.util;
 
 import java.net.URI;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -9,6 +10,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.core.env.Environment;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -45,6 +47,9 @@ public class ResidentServiceRestClient {
 	
 	@Autowired
 	Environment environment;
+
+	@Autowired(required = false)
+	private ApiEndpointRegistry apiEndpointRegistry;
 	
 	public ResidentServiceRestClient() {
 		this(new RestTemplate());
@@ -97,6 +102,12 @@ public class ResidentServiceRestClient {
 	public Object getApi(ApiName apiName, List<String> pathsegments, String queryParamName, String queryParamValue,
 			Class<?> responseType) throws ApisResourceAccessException {
 
+		if (apiEndpointRegistry != null) {
+			return StringUtils.isNotEmpty(queryParamName)
+					? getApi(apiName, pathsegments, Arrays.asList(queryParamName.split(",")),
+							Arrays.asList((Object[]) queryParamValue.split(",")), responseType)
+					: getApi(apiName, pathsegments, (List<String>) null, null, responseType);
+		}
 		Object obj = null;
 		String apiHostIpPort = environment.getProperty(apiName.name());
 		UriComponentsBuilder builder = null;
@@ -139,6 +150,10 @@ public class ResidentServiceRestClient {
 	public Object getApi(ApiName apiName, List<String> pathsegments, List<String> queryParamName,
 			List<Object> queryParamValue, Class<?> responseType) throws ApisResourceAccessException {
 
+		if (apiEndpointRegistry != null) {
+			return getApiOrNull(apiEndpointRegistry.getUri(apiName, pathsegments, queryParamName, queryParamValue),
+					responseType);
+		}
 		Object obj = null;
 		String apiHostIpPort = environment.getProperty(apiName.name());
 		UriComponentsBuilder builder = null;
@@ -185,6 +200,10 @@ public class ResidentServiceRestClient {
 	public <T> T getApi(ApiName apiName, Map<String, ?> pathsegments, List<String> queryParamName,
 			List<Object> queryParamValue, Class<?> responseType) throws ApisResourceAccessException {
 
+		if (apiEndpointRegistry != null) {
+			return (T) getApiOrNull(apiEndpointRegistry.getUri(apiName, pathsegments, queryParamName, queryParamValue),
+					responseType);
+		}
 		String apiHostIpPort = environment.getProperty(apiName.name());
 		Object obj = null;
 		UriComponentsBuilder builder = null;
@@ -212,6 +231,74 @@ public class ResidentServiceRestClient {
 		return (T) obj;
 	}
 
+	/**
+	 * Calls the URI built by the endpoint registry, which is null if the API is
+	 * not configured.
+	 */
+	private Object getApiOrNull(URI uri, Class<?> responseType) throws ApisResourceAccessException {
+		if (uri == null) {
+			return null;
+		}
+		try {
+			return getApi(uri, responseType);
+		} catch (Exception e) {
+			logger.error(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+					LoggerFileConstant.APPLICATIONID.toString(), e.getMessage() + ExceptionUtils.getStackTrace(e));
+			throw new ApisResourceAccessException("Exception occurred while accessing ", e);
+		}
+	}
+
+	/**
+	 * Gets the api, decoding the body straight into a generic type such as
+	 * {@code ResponseWrapper<TemplateResponseDto>}, so that the response need
+	 * not be written back to JSON and read again as the expected type.
+	 *
+	 * @param <T>          the generic type
+	 * @param responseType the response type
+	 * @return the api
+	 * @throws ApisResourceAccessException
+	 */
+	public <T> T getTypedApi(URI uri, ParameterizedTypeReference<T> responseType)
+			throws ApisResourceAccessException {
+		try {
+			return residentRestTemplate.exchange(uri, HttpMethod.GET, setRequestHeader(null, null), responseType)
+					.getBody();
+		} catch (Exception e) {
+			logger.error(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+					LoggerFileConstant.APPLICATIONID.toString(), e.getMessage() + ExceptionUtils.getStackTrace(e));
+			throw new ApisResourceAccessException("Exception occurred while accessing " + uri, e);
+		}
+	}
+
+	public <T> T getTypedApi(ApiName apiName, List<String> pathsegments, List<String> queryParamName,
+			List<Object> queryParamValue, ParameterizedTypeReference<T> responseType)
+			throws ApisResourceAccessException {
+		URI uri;
+		if (apiEndpointRegistry != null) {
+			uri = apiEndpointRegistry.getUri(apiName, pathsegments, queryParamName, queryParamValue);
+		} else {
+			String apiHostIpPort = environment.getProperty(apiName.name());
+			if (apiHostIpPort == null) {
+				return null;
+			}
+			UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(apiHostIpPort);
+			if (pathsegments != null) {
+				for (String segment : pathsegments) {
+					if (!((segment == null) || (("").equals(segment)))) {
+						builder.pathSegment(segment);
+					}
+				}
+			}
+			if (queryParamName != null) {
+				for (int i = 0; i < queryParamName.size(); i++) {
+					builder.queryParam(queryParamName.get(i), queryParamValue.get(i));
+				}
+			}
+			uri = builder.build(false).encode().toUri();
+		}
+		return uri == null ? null : getTypedApi(uri, responseType);
+	}
+
 	@SuppressWarnings("unchecked")
 	public <T> T postApi(String uri, MediaType mediaType, Object requestType, Class<?> responseClass)
 			throws ApisResourceAccessException {
@@ -230,6 +317,29 @@ public class ResidentServiceRestClient {
 		}
 	}
 
+	/**
+	 * Posts to the api, decoding the body straight into a generic type such as
+	 * {@code ResponseWrapper<DecryptResponseDto>}.
+	 *
+	 * @param <T>          the generic type
+	 * @param responseType the response type
+	 * @return the response body
+	 * @throws ApisResourceAccessException
+	 */
+	public <T> T postTypedApi(String uri, MediaType mediaType, Object requestType,
+			ParameterizedTypeReference<T> responseType) throws ApisResourceAccessException {
+		try {
+			logger.info(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+					LoggerFileConstant.APPLICATIONID.toString(), uri);
+			return residentRestTemplate
+					.exchange(uri, HttpMethod.POST, setRequestHeader(requestType, mediaType), responseType).getBody();
+		} catch (Exception e) {
+			logger.error(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+					LoggerFileConstant.APPLICATIONID.toString(), e.getMessage() + ExceptionUtils.getStackTrace(e));
+			throw new ApisResourceAccessException("Exception occurred while accessing " + uri, e);
+		}
+	}
+
 	/**
 	 * Patch api.
 	 *
@@ -297,6 +407,128 @@ public class ResidentServiceRestClient {
 		return result;
 	}
 
+	/**
+	 * Posts to the api, resolving its url through the endpoint registry rather
+	 * than reading and parsing it from the environment on every call.
+	 *
+	 * @param <T>           the generic type
+	 * @param apiName       the api name
+	 * @param mediaType     the media type
+	 * @param requestType   the request type
+	 * @param responseClass the response class
+	 * @return the response body
+	 * @throws ApisResourceAccessException
+	 */
+	public <T> T postApi(ApiName apiName, MediaType mediaType, Object requestType, Class<?> responseClass)
+			throws ApisResourceAccessException {
+		return postApi(getUri(apiName, null), mediaType, requestType, responseClass);
+	}
+
+	public <T> T postTypedApi(ApiName apiName, MediaType mediaType, Object requestType,
+			ParameterizedTypeReference<T> responseType) throws ApisResourceAccessException {
+		return postTypedApi(getUri(apiName, null), mediaType, requestType, responseType);
+	}
+
+	public <T> T patchApi(ApiName apiName, List<String> pathsegments, MediaType mediaType, Object requestType,
+			Class<?> responseClass) throws ApisResourceAccessException {
+		return patchApi(getUri(apiName, pathsegments), mediaType, requestType, responseClass);
+	}
+
+	public <T> T putApi(ApiName apiName, Object requestType, Class<?> responseClass, MediaType mediaType)
+			throws ApisResourceAccessException {
+		return putApi(getUri(apiName, null), requestType, responseClass, mediaType);
+	}
+
+	/**
+	 * Gets the url of the api with the path segments appended, from the endpoint
+	 * registry when there is one.
+	 *
+	 * @throws ApisResourceAccessException if the api is not configured
+	 */
+	private URI getUri(ApiName apiName, List<String> pathsegments) throws ApisResourceAccessException {
+		URI uri = null;
+		if (apiEndpointRegistry != null) {
+			uri = apiEndpointRegistry.getUri(apiName, pathsegments, null, null);
+		} else {
+			String apiHostIpPort = environment.getProperty(apiName.name());
+			if (apiHostIpPort != null) {
+				UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(apiHostIpPort);
+				if (pathsegments != null) {
+					for (String segment : pathsegments) {
+						if (!((segment == null) || (("").equals(segment)))) {
+							builder.pathSegment(segment);
+						}
+					}
+				}
+				uri = builder.build(false).encode().toUri();
+			}
+		}
+		if (uri == null) {
+			throw new ApisResourceAccessException("Exception occurred while accessing " + apiName.name());
+		}
+		return uri;
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> T postApi(URI uri, MediaType mediaType, Object requestType, Class<?> responseClass)
+			throws ApisResourceAccessException {
+		try {
+			logger.info(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+					LoggerFileConstant.APPLICATIONID.toString(), uri.toString());
+			return (T) residentRestTemplate.postForObject(uri, setRequestHeader(requestType, mediaType),
+					responseClass);
+		} catch (Exception e) {
+			logger.error(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+					LoggerFileConstant.APPLICATIONID.toString(), e.getMessage() + ExceptionUtils.getStackTrace(e));
+			throw new ApisResourceAccessException("Exception occurred while accessing " + uri, e);
+		}
+	}
+
+	private <T> T postTypedApi(URI uri, MediaType mediaType, Object requestType,
+			ParameterizedTypeReference<T> responseType) throws ApisResourceAccessException {
+		try {
+			logger.info(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+					LoggerFileConstant.APPLICATIONID.toString(), uri.toString());
+			return residentRestTemplate
+					.exchange(uri, HttpMethod.POST, setRequestHeader(requestType, mediaType), responseType).getBody();
+		} catch (Exception e) {
+			logger.error(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+					LoggerFileConstant.APPLICATIONID.toString(), e.getMessage() + ExceptionUtils.getStackTrace(e));
+			throw new ApisResourceAccessException("Exception occurred while accessing " + uri, e);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> T patchApi(URI uri, MediaType mediaType, Object requestType, Class<?> responseClass)
+			throws ApisResourceAccessException {
+		try {
+			logger.info(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+					LoggerFileConstant.APPLICATIONID.toString(), uri.toString());
+			return (T) residentRestTemplate.patchForObject(uri, setRequestHeader(requestType, mediaType),
+					responseClass);
+		} catch (Exception e) {
+			logger.error(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+					LoggerFileConstant.APPLICATIONID.toString(), e.getMessage() + ExceptionUtils.getStackTrace(e));
+			throw new ApisResourceAccessException("Exception occurred while accessing " + uri, e);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> T putApi(URI uri, Object requestType, Class<?> responseClass, MediaType mediaType)
+			throws ApisResourceAccessException {
+		try {
+			logger.info(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+					LoggerFileConstant.APPLICATIONID.toString(), uri.toString());
+			ResponseEntity<T> response = (ResponseEntity<T>) residentRestTemplate.exchange(uri, HttpMethod.PUT,
+					setRequestHeader(requestType.toString(), mediaType), responseClass);
+			return response.getBody();
+		} catch (Exception e) {
+			logger.error(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+					LoggerFileConstant.APPLICATIONID.toString(), e.getMessage() + ExceptionUtils.getStackTrace(e));
+			throw new ApisResourceAccessException("Exception occured while accessing " + uri, e);
+		}
+	}
+
 	/**
 	 * this method sets token to header of the request
 	 *
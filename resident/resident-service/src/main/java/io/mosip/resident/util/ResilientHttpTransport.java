@@ -0,0 +1,313 @@
+package io.mosip.resident.util;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.apache.http.HttpHost;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.protocol.HttpContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.resident.config.LoggerConfiguration;
+import io.mosip.resident.constant.ApiName;
+import io.mosip.resident.constant.LoggerFileConstant;
+
+/**
+ * Pooled HTTP transport for the rest templates behind
+ * {@link ResidentServiceRestClient}, so that one slow downstream service can
+ * not tie up every request thread.
+ * <p>
+ * Calls are matched to their {@link ApiName}, or to their host when no ApiName
+ * matches, by {@link ApiEndpointRegistry}. Each ApiName gets its own connect
+ * and read timeouts, bulkhead and retry settings, read from
+ * {@code resident.rest.<ApiName>.*} and falling back to the
+ * {@code resident.rest.*} defaults. Each host gets a circuit breaker and can
+ * get its own connection pool size through
+ * {@code resident.rest.<ApiName>.pool.max-per-route}. Only GETs are retried, on
+ * connection failures and 502, 503 and 504 responses, with full-jitter
+ * exponential backoff; read timeouts are not retried as the time has already
+ * been spent.
+ */
+@Component
+public class ResilientHttpTransport {
+
+	private static final Logger logger = LoggerConfiguration.logConfig(ResilientHttpTransport.class);
+
+	private static final String PROPERTY_PREFIX = "resident.rest.";
+
+	@Value("${resident.rest.enabled:true}")
+	private boolean enabled;
+
+	@Value("${resident.rest.pool.max-total:200}")
+	private int poolMaxTotal;
+
+	@Value("${resident.rest.pool.max-per-route:50}")
+	private int poolMaxPerRoute;
+
+	@Value("${resident.rest.pool.idle-timeout.millisecs:30000}")
+	private long poolIdleTimeoutMillis;
+
+	@Autowired
+	private Environment environment;
+
+	@Autowired
+	private ApiEndpointRegistry apiEndpointRegistry;
+
+	@Autowired(required = false)
+	private MeterRegistry meterRegistry;
+
+	private PoolingHttpClientConnectionManager connectionManager;
+
+	private CloseableHttpClient httpClient;
+
+	private ClientHttpRequestFactory requestFactory;
+
+	private final Map<String, Policy> policies = new ConcurrentHashMap<>();
+
+	private final Map<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+
+	private final ClientHttpRequestInterceptor interceptor = this::intercept;
+
+	@PostConstruct
+	public void init() {
+		connectionManager = new PoolingHttpClientConnectionManager();
+		connectionManager.setMaxTotal(poolMaxTotal);
+		connectionManager.setDefaultMaxPerRoute(poolMaxPerRoute);
+		for (ApiName apiName : ApiName.values()) {
+			String url = apiEndpointRegistry.getUrl(apiName);
+			Integer maxPerRoute = environment.getProperty(PROPERTY_PREFIX + apiName.name() + ".pool.max-per-route",
+					Integer.class);
+			if (url != null && maxPerRoute != null) {
+				try {
+					URI uri = URI.create(ApiEndpointRegistry.prefixOf(url));
+					connectionManager.setMaxPerRoute(routeOf(uri), maxPerRoute);
+				} catch (IllegalArgumentException e) {
+					logger.warn(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+							"ResilientHttpTransport::init()", "invalid url for " + apiName.name() + ": " + url);
+				}
+			}
+		}
+		httpClient = HttpClients.custom().setConnectionManager(connectionManager).useSystemProperties()
+				.evictExpiredConnections().evictIdleConnections(poolIdleTimeoutMillis, TimeUnit.MILLISECONDS)
+				.disableAutomaticRetries().build();
+		requestFactory = new PolicyRequestFactory();
+	}
+
+	@PreDestroy
+	public void shutdown() throws IOException {
+		if (httpClient != null) {
+			httpClient.close();
+		}
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Returns the request factory that sends requests through the pooled client
+	 * with the connect and read timeouts of their ApiName.
+	 */
+	public ClientHttpRequestFactory getRequestFactory() {
+		return requestFactory;
+	}
+
+	/**
+	 * Returns the interceptor that applies the bulkhead, circuit breaker and
+	 * retry settings of each call's ApiName. It should run after any
+	 * interceptor that prepares the request, such as the auth token
+	 * interceptor.
+	 */
+	public ClientHttpRequestInterceptor getInterceptor() {
+		return interceptor;
+	}
+
+	/**
+	 * Makes the rest template send its requests through the pooled client and
+	 * the per ApiName policies. Interceptors already on the template are kept
+	 * and run first. The template is modified, so it must not be one shared
+	 * with other beans.
+	 */
+	public RestTemplate install(RestTemplate restTemplate) {
+		if (enabled && !restTemplate.getInterceptors().contains(interceptor)) {
+			restTemplate.setRequestFactory(requestFactory);
+			restTemplate.getInterceptors().add(interceptor);
+		}
+		return restTemplate;
+	}
+
+	private ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+			throws IOException {
+		Policy policy = policyFor(request.getURI());
+		int maxAttempts = request.getMethod() == HttpMethod.GET ? policy.maxAttempts : 1;
+		for (int attempt = 1;; attempt++) {
+			acquire(policy);
+			boolean recorded = false;
+			boolean retry;
+			try {
+				ClientHttpResponse response = execution.execute(request, body);
+				int status = response.getRawStatusCode();
+				recorded = true;
+				if (status < 500) {
+					policy.circuitBreaker.onSuccess();
+					return response;
+				}
+				policy.circuitBreaker.onFailure();
+				retry = attempt < maxAttempts && (status == 502 || status == 503 || status == 504);
+				if (!retry) {
+					return response;
+				}
+				response.close();
+			} catch (IOException e) {
+				recorded = true;
+				policy.circuitBreaker.onFailure();
+				if (attempt >= maxAttempts || e instanceof SocketTimeoutException) {
+					throw e;
+				}
+			} finally {
+				if (!recorded) {
+					policy.circuitBreaker.release();
+				}
+				policy.bulkhead.release();
+			}
+			logger.debug(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+					"ResilientHttpTransport::intercept()", "retrying " + policy.name + " attempt " + (attempt + 1));
+			backoff(policy, attempt);
+		}
+	}
+
+	private void acquire(Policy policy) throws IOException {
+		try {
+			if (!policy.bulkhead.tryAcquire()) {
+				throw new CallNotPermittedException(policy.name + " bulkhead is full");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("interrupted waiting for " + policy.name + " bulkhead");
+		}
+		if (!policy.circuitBreaker.tryAcquire()) {
+			policy.bulkhead.release();
+			throw new CallNotPermittedException("circuit breaker of " + policy.host + " is open");
+		}
+	}
+
+	private static void backoff(Policy policy, int attempt) throws InterruptedIOException {
+		long ceiling = Math.min(policy.maxBackoffMillis, policy.backoffMillis << Math.min(attempt - 1, 20));
+		try {
+			Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("interrupted backing off " + policy.name);
+		}
+	}
+
+	private Policy policyFor(URI uri) {
+		return policies.computeIfAbsent(apiEndpointRegistry.resolve(uri), name -> new Policy(name, uri));
+	}
+
+	private <T> T property(String key, String name, Class<T> type, T defaultValue) {
+		T value = environment.getProperty(PROPERTY_PREFIX + key + "." + name, type);
+		return value != null ? value : environment.getProperty(PROPERTY_PREFIX + name, type, defaultValue);
+	}
+
+	private static HttpRoute routeOf(URI uri) {
+		boolean secure = "https".equalsIgnoreCase(uri.getScheme());
+		int port = uri.getPort() > 0 ? uri.getPort() : (secure ? 443 : 80);
+		return new HttpRoute(new HttpHost(uri.getHost(), port, uri.getScheme()), null, secure);
+	}
+
+	/**
+	 * Thrown when a call is not made because its bulkhead is full or the
+	 * circuit breaker of its host is open.
+	 */
+	public static class CallNotPermittedException extends IOException {
+
+		private static final long serialVersionUID = 1L;
+
+		public CallNotPermittedException(String message) {
+			super(message);
+		}
+	}
+
+	private class PolicyRequestFactory extends HttpComponentsClientHttpRequestFactory {
+
+		private PolicyRequestFactory() {
+			super(httpClient);
+		}
+
+		@Override
+		protected HttpContext createHttpContext(HttpMethod httpMethod, URI uri) {
+			HttpClientContext context = HttpClientContext.create();
+			context.setRequestConfig(policyFor(uri).requestConfig);
+			return context;
+		}
+
+		@Override
+		public void destroy() {
+			// the client is shared by all templates and closed on shutdown
+		}
+	}
+
+	private final class Policy {
+		private final String name;
+		private final String host;
+		private final RequestConfig requestConfig;
+		private final Bulkhead bulkhead;
+		private final CircuitBreaker circuitBreaker;
+		private final int maxAttempts;
+		private final long backoffMillis;
+		private final long maxBackoffMillis;
+
+		private Policy(String name, URI uri) {
+			this.name = name;
+			this.host = String.valueOf(uri.getAuthority());
+			this.requestConfig = RequestConfig.custom()
+					.setConnectTimeout(property(name, "connect-timeout.millisecs", Integer.class, 5000))
+					.setSocketTimeout(property(name, "read-timeout.millisecs", Integer.class, 30000))
+					.setConnectionRequestTimeout(
+							property(name, "connection-request-timeout.millisecs", Integer.class, 5000))
+					.build();
+			this.bulkhead = new Bulkhead("http-" + name,
+					property(name, "bulkhead.max-concurrent-calls", Integer.class, 50),
+					property(name, "bulkhead.max-wait.millisecs", Long.class, 100L), meterRegistry);
+			this.circuitBreaker = circuitBreakers.computeIfAbsent(host,
+					key -> new CircuitBreaker("http-" + key,
+							environment.getProperty(PROPERTY_PREFIX + "circuit-breaker.failure-threshold",
+									Integer.class, 20),
+							environment.getProperty(PROPERTY_PREFIX + "circuit-breaker.open.millisecs", Long.class,
+									30000L),
+							meterRegistry));
+			this.maxAttempts = Math.max(1, property(name, "retry.max-attempts", Integer.class, 3));
+			this.backoffMillis = property(name, "retry.backoff.millisecs", Long.class, 100L);
+			this.maxBackoffMillis = property(name, "retry.max-backoff.millisecs", Long.class, 2000L);
+		}
+	}
+
+}
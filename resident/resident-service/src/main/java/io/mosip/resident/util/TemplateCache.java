@@ -0,0 +1,135 @@
+package io.mosip.resident.util;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.PostConstruct;
+
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.resident.config.LoggerConfiguration;
+import io.mosip.resident.constant.LoggerFileConstant;
+import io.mosip.resident.constant.ResidentConstants;
+
+/**
+ * Cache of masterdata template text keyed by language code and template type
+ * code.
+ * <p>
+ * Entries that are close to expiry are served as is and refreshed in the
+ * background, so callers rarely wait for masterdata. When masterdata cannot
+ * be reached the last known text is served instead of failing. Entries can be
+ * evicted on masterdata change events; a text loaded while an entry was
+ * evicted is not cached, as it may be the one that was changed.
+ */
+@Component
+public class TemplateCache {
+
+	private static final Logger logger = LoggerConfiguration.logConfig(TemplateCache.class);
+
+	@Value("${mosip.resident.template.cache.ttl.millisecs:86400000}")
+	private long ttlMillis;
+
+	@Value("${mosip.resident.template.cache.refresh-ahead.millisecs:3600000}")
+	private long refreshAheadMillis;
+
+	@Value("${mosip.resident.template.cache.max-size:2000}")
+	private int maxSize;
+
+	@Autowired
+	@Qualifier("cacheRefreshExecutor")
+	private TaskExecutor refreshExecutor;
+
+	@Autowired(required = false)
+	private MeterRegistry meterRegistry;
+
+	private LocalCache<String, String> cache;
+
+	private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+	@PostConstruct
+	public void init() {
+		cache = new LocalCache<>("templates", maxSize, ttlMillis, meterRegistry);
+	}
+
+	/**
+	 * Returns the template text, loading it with the given loader when it is not
+	 * cached or has expired. If loading fails and an expired text is still held,
+	 * that text is returned.
+	 */
+	public <E extends Exception> String getTemplate(String langCode, String templateTypeCode,
+			LocalCache.Loader<String, String, E> loader) throws E {
+		String key = getKey(langCode, templateTypeCode);
+		String template = cache.get(key);
+		if (template != null) {
+			if (cache.getAgeMillis(key) > ttlMillis - refreshAheadMillis) {
+				refreshAsync(key, loader);
+			}
+			return template;
+		}
+		long generation = cache.getGeneration();
+		try {
+			template = loader.load(key);
+		} catch (Exception e) {
+			String staleTemplate = cache.getStale(key);
+			if (staleTemplate != null) {
+				logger.warn(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(), key,
+						"TemplateCache::getTemplate():: serving stale template as masterdata is not reachable: "
+								+ e.getMessage());
+				return staleTemplate;
+			}
+			throw e;
+		}
+		if (template != null) {
+			cache.putIfNotInvalidated(key, template, generation);
+		}
+		return template;
+	}
+
+	public void evict(String langCode, String templateTypeCode) {
+		cache.invalidate(getKey(langCode, templateTypeCode));
+	}
+
+	public void evictAll() {
+		cache.invalidateAll();
+	}
+
+	private <E extends Exception> void refreshAsync(String key, LocalCache.Loader<String, String, E> loader) {
+		if (!refreshing.add(key)) {
+			return;
+		}
+		long generation = cache.getGeneration();
+		try {
+			refreshExecutor.execute(() -> {
+				try {
+					String template = loader.load(key);
+					if (template != null && !cache.putIfNotInvalidated(key, template, generation)) {
+						logger.debug(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
+								key, "TemplateCache::refreshAsync():: discarded template loaded before an eviction");
+					}
+				} catch (Exception e) {
+					logger.warn(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(), key,
+							"TemplateCache::refreshAsync():: " + ExceptionUtils.getStackTrace(e));
+				} finally {
+					refreshing.remove(key);
+				}
+			});
+		} catch (TaskRejectedException e) {
+			refreshing.remove(key);
+			logger.warn(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(), key,
+					"TemplateCache::refreshAsync():: refresh skipped as the refresh executor is busy");
+		}
+	}
+
+	private String getKey(String langCode, String templateTypeCode) {
+		return langCode + ResidentConstants.COLON + templateTypeCode;
+	}
+
+}
@@ -14,6 +14,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import io.mosip.kernel.core.http.ResponseWrapper;
 import io.mosip.kernel.core.logger.spi.Logger;
@@ -56,6 +58,7 @@ import reactor.util.function.Tuples;
     private static final String LOGO_URL = "logoUrl";
     private static final CharSequence GENERATED = "generated";
     private static final CharSequence REVOKED = "revoked";
+    private static final String TEMPLATE_REQUEST_ATTRIBUTE = TemplateUtil.class.getName() + ".templates";
 
     @Autowired
     private ResidentTransactionRepository residentTransactionRepository;
@@ -159,7 +162,33 @@ import reactor.util.function.Tuples;
                 (languageCode, AuthenticationModeEnum.getTemplatePropertyName(authenticationMode, env));
     }
 
+    /**
+     * Returns the template text for the language and template type code. Within
+     * an HTTP request the text is fetched from masterdata once per pair and reused,
+     * so rendering a page of rows does not repeat the same lookup.
+     */
     public String getTemplateValueFromTemplateTypeCodeAndLangCode(String languageCode, String templateTypeCode){
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null) {
+            return fetchTemplateValue(languageCode, templateTypeCode);
+        }
+        Map<String, String> requestTemplates = (Map<String, String>) requestAttributes
+                .getAttribute(TEMPLATE_REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (requestTemplates == null) {
+            requestTemplates = new HashMap<>();
+            requestAttributes.setAttribute(TEMPLATE_REQUEST_ATTRIBUTE, requestTemplates,
+                    RequestAttributes.SCOPE_REQUEST);
+        }
+        String key = languageCode + ResidentConstants.COLON + templateTypeCode;
+        if (requestTemplates.containsKey(key)) {
+            return requestTemplates.get(key);
+        }
+        String templateValue = fetchTemplateValue(languageCode, templateTypeCode);
+        requestTemplates.put(key, templateValue);
+        return templateValue;
+    }
+
+    private String fetchTemplateValue(String languageCode, String templateTypeCode){
         ResponseWrapper<?> proxyResponseWrapper = null;
         try {
             proxyResponseWrapper = proxyMasterdataService
@@ -173,34 +202,32 @@ import reactor.util.function.Tuples;
     }
 
 
-    public String getDescriptionTemplateVariablesForAuthenticationRequest(String eventId, String fileText, String languageCode){
+    public String getDescriptionTemplateVariablesForAuthenticationRequest(ResidentTransactionEntity residentTransactionEntity, String fileText, String languageCode){
         return fileText;
     }
 
-    public String getDescriptionTemplateVariablesForShareCredential(String eventId, String fileText, String languageCode) {
-         ResidentTransactionEntity residentTransactionEntity =getEntityFromEventId(eventId);
+    public String getDescriptionTemplateVariablesForShareCredential(ResidentTransactionEntity residentTransactionEntity, String fileText, String languageCode) {
          return residentCredentialServiceImpl.prepareReqSummaryMsg(Collections.singletonList(
                     residentTransactionEntity.getAttributeList()));
     }
 
-    public String getDescriptionTemplateVariablesForDownloadPersonalizedCard(String eventId, String fileText, String languageCode){
-        return addAttributeInPurpose(fileText, getEntityFromEventId(eventId).getAttributeList(), languageCode);
+    public String getDescriptionTemplateVariablesForDownloadPersonalizedCard(ResidentTransactionEntity residentTransactionEntity, String fileText, String languageCode){
+        return addAttributeInPurpose(fileText, residentTransactionEntity.getAttributeList(), languageCode);
     }
 
-    public String getDescriptionTemplateVariablesForOrderPhysicalCard(String eventId, String fileText, String languageCode){
+    public String getDescriptionTemplateVariablesForOrderPhysicalCard(ResidentTransactionEntity residentTransactionEntity, String fileText, String languageCode){
         return fileText;
     }
 
-    public String getDescriptionTemplateVariablesForGetMyId(String eventId, String fileText, String languageCode){
+    public String getDescriptionTemplateVariablesForGetMyId(ResidentTransactionEntity residentTransactionEntity, String fileText, String languageCode){
         return fileText;
     }
 
-    public String getDescriptionTemplateVariablesForUpdateMyUin(String eventId, String fileText, String languageCode){
+    public String getDescriptionTemplateVariablesForUpdateMyUin(ResidentTransactionEntity residentTransactionEntity, String fileText, String languageCode){
         return fileText;
     }
 
-    public String getDescriptionTemplateVariablesForManageMyVid(String eventId, String fileText, String languageCode) {
-        ResidentTransactionEntity residentTransactionEntity = getEntityFromEventId(eventId);
+    public String getDescriptionTemplateVariablesForManageMyVid(ResidentTransactionEntity residentTransactionEntity, String fileText, String languageCode) {
         fileText = fileText.replace(ResidentConstants.DOLLAR + ResidentConstants.VID_TYPE,
                 replaceNullWithEmptyString(residentTransactionEntity.getRefIdType()));
         fileText = fileText.replace(ResidentConstants.MASKED_VID, replaceNullWithEmptyString(
@@ -214,12 +241,11 @@ import reactor.util.function.Tuples;
         return fileText;
     }
 
-    public String getDescriptionTemplateVariablesForVidCardDownload(String eventId, String fileText, String languageCode){
+    public String getDescriptionTemplateVariablesForVidCardDownload(ResidentTransactionEntity residentTransactionEntity, String fileText, String languageCode){
         return fileText;
     }
 
-    public String getDescriptionTemplateVariablesForValidateOtp(String eventId, String fileText, String languageCode) {
-        ResidentTransactionEntity residentTransactionEntity = getEntityFromEventId(eventId);
+    public String getDescriptionTemplateVariablesForValidateOtp(ResidentTransactionEntity residentTransactionEntity, String fileText, String languageCode) {
         String purpose = residentTransactionEntity.getPurpose();
         if (purpose != null && !purpose.isEmpty()) {
             fileText = fileText.replace(ResidentConstants.DOLLAR + ResidentConstants.CHANNEL,
@@ -228,8 +254,7 @@ import reactor.util.function.Tuples;
         return fileText;
     }
 
-    public String getDescriptionTemplateVariablesForSecureMyId(String eventId, String fileText, String languageCode){
-        ResidentTransactionEntity residentTransactionEntity = getEntityFromEventId(eventId);
+    public String getDescriptionTemplateVariablesForSecureMyId(ResidentTransactionEntity residentTransactionEntity, String fileText, String languageCode){
             String purpose = residentTransactionEntity.getPurpose();
             if (purpose != null && !purpose.isEmpty())
                 return purpose;
@@ -391,7 +416,7 @@ import reactor.util.function.Tuples;
         try {
             purpose = residentService.getSummaryForLangCode(languageCode, residentService.getEventStatusCode(
                             residentTransactionEntity.getStatusCode()),
-                    RequestType.valueOf(residentTransactionEntity.getRequestTypeCode().trim()), residentTransactionEntity.getEventId());
+                    RequestType.valueOf(residentTransactionEntity.getRequestTypeCode().trim()), residentTransactionEntity);
         } catch (ResidentServiceCheckedException e) {
             return "";
         }
@@ -1,6 +1,7 @@
 package io.mosip.resident.util;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.apache.http.Header;
@@ -21,6 +22,7 @@ import io.mosip.kernel.core.util.DateUtils;
 import io.mosip.kernel.core.util.StringUtils;
 import io.mosip.kernel.core.util.TokenHandlerUtil;
 import io.mosip.resident.config.LoggerConfiguration;
+import io.mosip.resident.constant.ApiName;
 import io.mosip.resident.constant.LoggerFileConstant;
 import io.mosip.resident.dto.ClientIdSecretKeyRequestDto;
 import io.mosip.resident.dto.TokenRequestDto;
@@ -34,6 +36,9 @@ public class TokenGenerator {
     @Autowired
     Environment environment;
 
+    @Autowired(required = false)
+    private OutboundCallMetrics outboundCallMetrics;
+
 	private static final String AUTHORIZATION = "Authorization=";
 
 
@@ -77,9 +82,17 @@ public class TokenGenerator {
             StringEntity postingString = new StringEntity(gson.toJson(tokenRequest));
             post.setEntity(postingString);
             post.setHeader("Content-type", "application/json");
-            HttpResponse response = httpClient.execute(post);
+            long start = System.nanoTime();
+            HttpResponse response;
+            try {
+                response = httpClient.execute(post);
+            } catch (IOException e) {
+                recordCall(null, start, postingString.getContentLength(), 0);
+                throw e;
+            }
             org.apache.http.HttpEntity entity = response.getEntity();
             String responseBody = EntityUtils.toString(entity, "UTF-8");
+            recordCall(response, start, postingString.getContentLength(), responseBytes(entity, responseBody));
             logger.info(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.APPLICATIONID.toString(),
                     LoggerFileConstant.APPLICATIONID.toString(), "Resonse body=> " + responseBody);
             Header[] cookie = response.getHeaders("Set-Cookie");
@@ -99,6 +112,26 @@ public class TokenGenerator {
 		return AUTHORIZATION + token;
     }
 
+    private void recordCall(HttpResponse response, long start, long requestBytes, long responseBytes) {
+        if (outboundCallMetrics != null) {
+            String outcome = response == null ? OutboundCallMetrics.IO_ERROR
+                    : OutboundCallMetrics.outcomeOf(response.getStatusLine().getStatusCode());
+            outboundCallMetrics.record(ApiName.KERNELAUTHMANAGER.name(), "POST", outcome, System.nanoTime() - start,
+                    requestBytes, responseBytes);
+        }
+    }
+
+    /**
+     * The size of the response body in bytes: the Content-Length, or the UTF-8
+     * encoded length of the body when the response is chunked.
+     */
+    private static long responseBytes(org.apache.http.HttpEntity entity, String responseBody) {
+        if (entity.getContentLength() >= 0) {
+            return entity.getContentLength();
+        }
+        return responseBody == null ? 0 : responseBody.getBytes(StandardCharsets.UTF_8).length;
+    }
+
     private ClientIdSecretKeyRequestDto setRequestDto() {
         ClientIdSecretKeyRequestDto request = new ClientIdSecretKeyRequestDto();
         request.setAppId(environment.getProperty("resident.appid"));
@@ -43,7 +43,7 @@ public class UINCardDownloadService {
 		request.setRequesttime(DateUtils.formatToISOString(DateUtils.getUTCCurrentDateTime()));
 		byte[]	response;
 		try {
-			response = (byte[]) residentServiceRestClient.postApi(env.getProperty(ApiName.REGPROCPRINT.name()),
+			response = (byte[]) residentServiceRestClient.postApi(ApiName.REGPROCPRINT,
 					null, request, byte[].class);
 			if(response ==null) {
 				throw new ApisResourceAccessException();
@@ -0,0 +1,124 @@
+package io.mosip.resident.util;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Properties;
+
+import javax.annotation.PostConstruct;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.velocity.Template;
+import org.apache.velocity.VelocityContext;
+import org.apache.velocity.exception.VelocityException;
+import org.apache.velocity.runtime.RuntimeConstants;
+import org.apache.velocity.runtime.RuntimeInstance;
+import org.apache.velocity.runtime.log.NullLogChute;
+import org.apache.velocity.runtime.parser.ParseException;
+import org.apache.velocity.runtime.parser.node.SimpleNode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.mosip.resident.constant.ResidentErrorCode;
+import io.mosip.resident.exception.ResidentServiceCheckedException;
+
+/**
+ * Registry of compiled Velocity templates keyed by the SHA-256 hash of the
+ * template text.
+ * <p>
+ * Template text fetched from masterdata is parsed once and the resulting
+ * {@link Template} is reused for every merge, instead of parsing the source on
+ * each SMS, email or PDF. Since the key is the content hash, a changed template
+ * text is compiled afresh and the old entry simply ages out.
+ */
+@Component
+public class VelocityTemplateRegistry {
+
+	private static final int MAX_REUSED_BUFFER_SIZE = 64 * 1024;
+
+	@Value("${mosip.resident.template.registry.max-size:500}")
+	private int maxSize;
+
+	@Autowired(required = false)
+	private MeterRegistry meterRegistry;
+
+	private RuntimeInstance runtimeInstance;
+
+	private LocalCache<String, Template> templates;
+
+	private final ThreadLocal<StringWriter> writers = ThreadLocal.withInitial(StringWriter::new);
+
+	@PostConstruct
+	public void init() {
+		Properties properties = new Properties();
+		properties.put(RuntimeConstants.INPUT_ENCODING, StandardCharsets.UTF_8.name());
+		properties.put(RuntimeConstants.OUTPUT_ENCODING, StandardCharsets.UTF_8.name());
+		properties.put(RuntimeConstants.ENCODING_DEFAULT, StandardCharsets.UTF_8.name());
+		properties.put(RuntimeConstants.RUNTIME_LOG_LOGSYSTEM_CLASS, NullLogChute.class.getName());
+		runtimeInstance = new RuntimeInstance();
+		runtimeInstance.init(properties);
+		templates = new LocalCache<>("velocity-templates", maxSize, Long.MAX_VALUE, meterRegistry);
+	}
+
+	/**
+	 * Merges the template text with the given values and returns the result.
+	 * The merge is written into a buffer reused by the calling thread.
+	 */
+	public String merge(String templateText, Map<String, Object> values) throws ResidentServiceCheckedException {
+		StringWriter writer = writers.get();
+		try {
+			merge(templateText, values, writer);
+			return writer.toString();
+		} catch (IOException e) {
+			throw new ResidentServiceCheckedException(ResidentErrorCode.IO_EXCEPTION.getErrorCode(),
+					ResidentErrorCode.IO_EXCEPTION.getErrorMessage(), e);
+		} finally {
+			StringBuffer buffer = writer.getBuffer();
+			if (buffer.capacity() > MAX_REUSED_BUFFER_SIZE) {
+				writers.remove();
+			} else {
+				buffer.setLength(0);
+			}
+		}
+	}
+
+	/**
+	 * Merges the template text with the given values directly into the writer.
+	 */
+	public void merge(String templateText, Map<String, Object> values, Writer writer)
+			throws ResidentServiceCheckedException, IOException {
+		Template template = templates.get(DigestUtils.sha256Hex(templateText), key -> compile(key, templateText));
+		try {
+			template.merge(new VelocityContext(values), writer);
+		} catch (VelocityException e) {
+			throw new ResidentServiceCheckedException(ResidentErrorCode.TEMPLATE_EXCEPTION.getErrorCode(),
+					ResidentErrorCode.TEMPLATE_EXCEPTION.getErrorMessage(), e);
+		}
+		writer.flush();
+	}
+
+	public int size() {
+		return templates.size();
+	}
+
+	private Template compile(String name, String templateText) throws ResidentServiceCheckedException {
+		try {
+			SimpleNode node = runtimeInstance.parse(new StringReader(templateText), name);
+			Template template = new Template();
+			template.setName(name);
+			template.setRuntimeServices(runtimeInstance);
+			template.setData(node);
+			template.initDocument();
+			return template;
+		} catch (ParseException | VelocityException e) {
+			throw new ResidentServiceCheckedException(ResidentErrorCode.TEMPLATE_EXCEPTION.getErrorCode(),
+					ResidentErrorCode.TEMPLATE_EXCEPTION.getErrorMessage(), e);
+		}
+	}
+
+}
@@ -0,0 +1,187 @@
+package io.mosip.resident.batch;
+
+import static io.mosip.resident.constant.EventStatusInProgress.NEW;
+import static io.mosip.resident.constant.EventStatusInProgress.PRINTING;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.mosip.kernel.core.http.ResponseWrapper;
+import io.mosip.resident.constant.ApiName;
+import io.mosip.resident.constant.RequestType;
+import io.mosip.resident.entity.ResidentTransactionEntity;
+import io.mosip.resident.repository.ResidentTransactionRepository;
+import io.mosip.resident.service.IdentityService;
+import io.mosip.resident.service.NotificationService;
+import io.mosip.resident.service.ResidentService;
+import io.mosip.resident.util.ResidentServiceRestClient;
+
+/**
+ * Runs the credential status batch job against stubbed credential and order
+ * services with fixed latencies, and checks that the calls run in parallel on
+ * the workers of their service, and that the per-service worker limits and
+ * the credential service rate limit hold under load.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class CredentialStatusUpdateBatchJobLoadTest {
+
+	private static final long CREDENTIAL_STATUS_LATENCY_MILLIS = 2;
+
+	private static final long ORDER_STATUS_LATENCY_MILLIS = 10;
+
+	@InjectMocks
+	private CredentialStatusUpdateBatchJob job;
+
+	@Mock
+	private ResidentTransactionRepository repo;
+
+	@Mock
+	private ResidentServiceRestClient residentServiceRestClient;
+
+	@Mock
+	private NotificationService notificationService;
+
+	@Mock
+	private IdentityService identityService;
+
+	@Mock
+	private ResidentService residentService;
+
+	private final Map<ApiName, AtomicInteger> active = new EnumMap<>(ApiName.class);
+
+	private final Map<ApiName, AtomicInteger> maxActive = new EnumMap<>(ApiName.class);
+
+	private final Map<ApiName, AtomicInteger> calls = new EnumMap<>(ApiName.class);
+
+	private final Map<ApiName, Set<String>> threads = new EnumMap<>(ApiName.class);
+
+	@Before
+	public void setUp() throws Exception {
+		ReflectionTestUtils.setField(job, "statusCodes", "NEW,ISSUED,PRINTING");
+		ReflectionTestUtils.setField(job, "requestTypeCodes", "VID_CARD_DOWNLOAD,ORDER_PHYSICAL_CARD");
+		ReflectionTestUtils.setField(job, "claimEnabled", false);
+		ReflectionTestUtils.setField(job, "credentialStatusMaxConcurrent", 6);
+		ReflectionTestUtils.setField(job, "orderStatusMaxConcurrent", 2);
+		for (ApiName apiName : List.of(ApiName.CREDENTIAL_STATUS_URL, ApiName.GET_ORDER_STATUS_URL)) {
+			active.put(apiName, new AtomicInteger());
+			maxActive.put(apiName, new AtomicInteger());
+			calls.put(apiName, new AtomicInteger());
+			threads.put(apiName, ConcurrentHashMap.newKeySet());
+		}
+		when(residentServiceRestClient.getApi(any(ApiName.class), anyList(), anyList(), anyList(), any()))
+				.thenAnswer(invocation -> stub(invocation.getArgument(0)));
+	}
+
+	@After
+	public void tearDown() {
+		job.shutdown();
+	}
+
+	@Test
+	public void testWorkerLimitsHoldUnderLoad() throws Exception {
+		ReflectionTestUtils.setField(job, "parallelism", 8);
+		job.init();
+		for (int backlog : new int[] { 50, 100, 200 }) {
+			run(backlog);
+		}
+		assertTrue(maxActive.get(ApiName.CREDENTIAL_STATUS_URL).get() <= 6);
+		assertTrue(maxActive.get(ApiName.GET_ORDER_STATUS_URL).get() <= 2);
+		assertEquals(350 * 3 / 4, calls.get(ApiName.CREDENTIAL_STATUS_URL).get());
+		assertEquals(350 / 4, calls.get(ApiName.GET_ORDER_STATUS_URL).get());
+	}
+
+	@Test
+	public void testSerialRunMakesOneCallAtATime() throws Exception {
+		ReflectionTestUtils.setField(job, "parallelism", 1);
+		job.init();
+		run(100);
+		assertEquals(1, maxActive.get(ApiName.CREDENTIAL_STATUS_URL).get());
+		assertEquals(1, maxActive.get(ApiName.GET_ORDER_STATUS_URL).get());
+		assertEquals(75, calls.get(ApiName.CREDENTIAL_STATUS_URL).get());
+		assertEquals(25, calls.get(ApiName.GET_ORDER_STATUS_URL).get());
+	}
+
+	@Test
+	public void testParallelRunCallsEachServiceFromItsOwnWorkers() throws Exception {
+		ReflectionTestUtils.setField(job, "parallelism", 8);
+		job.init();
+		run(100);
+		assertTrue(maxActive.get(ApiName.CREDENTIAL_STATUS_URL).get() > 1);
+		assertTrue(threads.get(ApiName.CREDENTIAL_STATUS_URL).stream()
+				.allMatch(thread -> thread.startsWith("credential-status-")));
+		assertTrue(threads.get(ApiName.GET_ORDER_STATUS_URL).stream()
+				.allMatch(thread -> thread.startsWith("order-status-")));
+		assertTrue(threads.get(ApiName.CREDENTIAL_STATUS_URL).size() <= 6);
+		assertTrue(threads.get(ApiName.GET_ORDER_STATUS_URL).size() <= 2);
+	}
+
+	@Test
+	public void testRateLimitedCallsAreNotRejected() throws Exception {
+		ReflectionTestUtils.setField(job, "parallelism", 8);
+		ReflectionTestUtils.setField(job, "credentialStatusRateLimit", 100d);
+		job.init();
+		run(80);
+		assertEquals(60, calls.get(ApiName.CREDENTIAL_STATUS_URL).get());
+		assertEquals(20, calls.get(ApiName.GET_ORDER_STATUS_URL).get());
+	}
+
+	private void run(int backlog) throws Exception {
+		List<ResidentTransactionEntity> txns = new ArrayList<>(backlog);
+		for (int i = 0; i < backlog; i++) {
+			txns.add(txn(i % 4 == 3));
+		}
+		when(repo.findByStatusCodeInAndRequestTypeCodeInOrderByCrDtimesAsc(anyList(), anyList())).thenReturn(txns);
+		job.scheduleCredentialStatusUpdateJob();
+	}
+
+	private ResidentTransactionEntity txn(boolean order) {
+		ResidentTransactionEntity txn = new ResidentTransactionEntity();
+		txn.setEventId(UUID.randomUUID().toString());
+		txn.setIndividualId("individualId");
+		txn.setRequestTrnId("requestTrnId");
+		txn.setCredentialRequestId(UUID.randomUUID().toString());
+		txn.setRequestTypeCode(order ? RequestType.ORDER_PHYSICAL_CARD.name() : RequestType.VID_CARD_DOWNLOAD.name());
+		txn.setStatusCode(order ? PRINTING.name() : NEW.name());
+		return txn;
+	}
+
+	private ResponseWrapper<Map<String, String>> stub(ApiName apiName) throws InterruptedException {
+		int current = active.get(apiName).incrementAndGet();
+		maxActive.get(apiName).accumulateAndGet(current, Math::max);
+		calls.get(apiName).incrementAndGet();
+		threads.get(apiName).add(Thread.currentThread().getName());
+		try {
+			ResponseWrapper<Map<String, String>> responseWrapper = new ResponseWrapper<>();
+			if (apiName == ApiName.CREDENTIAL_STATUS_URL) {
+				Thread.sleep(CREDENTIAL_STATUS_LATENCY_MILLIS);
+				responseWrapper.setResponse(Map.of("statusCode", "ISSUED"));
+			} else {
+				Thread.sleep(ORDER_STATUS_LATENCY_MILLIS);
+				responseWrapper.setResponse(Map.of("trackingId", "trackingId"));
+			}
+			return responseWrapper;
+		} finally {
+			active.get(apiName).decrementAndGet();
+		}
+	}
+}
@@ -6,8 +6,12 @@ import static io.mosip.resident.constant.EventStatusInProgress.ISSUED;
 import static io.mosip.resident.constant.EventStatusInProgress.NEW;
 import static io.mosip.resident.constant.EventStatusInProgress.PAYMENT_CONFIRMED;
 import static io.mosip.resident.constant.EventStatusInProgress.PRINTING;
+import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
 
 import java.util.List;
@@ -36,12 +40,15 @@ import io.mosip.resident.constant.RequestType;
 import io.mosip.resident.constant.ResidentErrorCode;
 import io.mosip.resident.controller.ResidentController;
 import io.mosip.resident.dto.IdentityDTO;
+import io.mosip.resident.dto.NotificationRequestDtoV2;
 import io.mosip.resident.dto.RegStatusCheckResponseDTO;
 import io.mosip.resident.entity.ResidentTransactionEntity;
 import io.mosip.resident.exception.ApisResourceAccessException;
 import io.mosip.resident.exception.ResidentServiceCheckedException;
+import io.mosip.resident.repository.ResidentTransactionLeaseRepository;
 import io.mosip.resident.repository.ResidentTransactionRepository;
 import io.mosip.resident.service.IdentityService;
+import io.mosip.resident.service.NotificationOutboxService;
 import io.mosip.resident.service.NotificationService;
 import io.mosip.resident.service.ResidentService;
 import io.mosip.resident.util.ResidentServiceRestClient;
@@ -79,6 +86,9 @@ public class CredentialStatusUpdateBatchJobTest {
 	@Mock
 	private ResidentService residentService;
 
+	@Mock
+	private ResidentTransactionLeaseRepository leaseRepository;
+
 	@Before
 	public void init() {
 		ReflectionTestUtils.setField(job, "publicUrl", "http://localhost");
@@ -358,4 +368,48 @@ public class CredentialStatusUpdateBatchJobTest {
 		when(repo.findByStatusCodeInAndRequestTypeCodeInOrderByCrDtimesAsc(anyList(), anyList())).thenReturn(List.of(txn));
 		job.scheduleCredentialStatusUpdateJob();
 	}
+
+	@Test
+	public void testScheduleCredentialStatusUpdateJobClaimsPages() throws ResidentServiceCheckedException {
+		ReflectionTestUtils.setField(job, "claimEnabled", true);
+		ReflectionTestUtils.setField(job, "claimPageSize", 1);
+		ResidentTransactionEntity txn1 = new ResidentTransactionEntity();
+		txn1.setEventId("eventId1");
+		txn1.setStatusCode(NEW.name());
+		txn1.setRequestTypeCode(RequestType.VID_CARD_DOWNLOAD.name());
+		ResidentTransactionEntity txn2 = new ResidentTransactionEntity();
+		txn2.setEventId("eventId2");
+		txn2.setStatusCode(NEW.name());
+		txn2.setRequestTypeCode(RequestType.VID_CARD_DOWNLOAD.name());
+		when(leaseRepository.claim(anyList(), anyList(), anyString(), anyInt(), anyLong()))
+				.thenReturn(List.of("eventId1")).thenReturn(List.of("eventId2")).thenReturn(List.of());
+		when(repo.findAllById(List.of("eventId1"))).thenReturn(List.of(txn1));
+		when(repo.findAllById(List.of("eventId2"))).thenReturn(List.of(txn2));
+		job.scheduleCredentialStatusUpdateJob();
+		Mockito.verify(repo).saveAll(List.of(txn1));
+		Mockito.verify(repo).saveAll(List.of(txn2));
+		Mockito.verify(leaseRepository).release(anyString());
+		Mockito.verify(repo, Mockito.never()).findByStatusCodeInAndRequestTypeCodeInOrderByCrDtimesAsc(anyList(), anyList());
+	}
+
+	@Test
+	public void testScheduleCredentialStatusUpdateJobQueuesNotifications() throws ResidentServiceCheckedException {
+		NotificationOutboxService notificationOutbox = Mockito.mock(NotificationOutboxService.class);
+		ReflectionTestUtils.setField(job, "notificationOutbox", notificationOutbox);
+		ResidentTransactionEntity txn = new ResidentTransactionEntity();
+		txn.setEventId("eventId");
+		txn.setIndividualId("individualId");
+		txn.setStatusCode(FAILED.name());
+		txn.setRequestTypeCode(RequestType.VID_CARD_DOWNLOAD.name());
+		when(repo.findByStatusCodeInAndRequestTypeCodeInOrderByCrDtimesAsc(anyList(), anyList())).thenReturn(List.of(txn));
+		job.scheduleCredentialStatusUpdateJob();
+		ArgumentCaptor<Runnable> save = ArgumentCaptor.forClass(Runnable.class);
+		ArgumentCaptor<List<NotificationRequestDtoV2>> notifications = ArgumentCaptor.forClass(List.class);
+		Mockito.verify(notificationOutbox).saveWithNotifications(save.capture(), notifications.capture());
+		assertEquals(1, notifications.getValue().size());
+		assertEquals("eventId", notifications.getValue().get(0).getEventId());
+		Mockito.verify(notificationService, Mockito.never()).sendNotification(any(NotificationRequestDtoV2.class));
+		save.getValue().run();
+		Mockito.verify(repo).saveAll(List.of(txn));
+	}
 }
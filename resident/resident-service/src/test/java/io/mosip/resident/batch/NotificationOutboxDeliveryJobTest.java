@@ -0,0 +1,140 @@
+package io.mosip.resident.batch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.mosip.kernel.core.util.DateUtils;
+import io.mosip.resident.constant.ResidentErrorCode;
+import io.mosip.resident.entity.ResidentNotificationOutboxEntity;
+import io.mosip.resident.exception.ResidentServiceCheckedException;
+import io.mosip.resident.repository.ResidentNotificationOutboxLeaseRepository;
+import io.mosip.resident.repository.ResidentNotificationOutboxRepository;
+import io.mosip.resident.service.NotificationOutboxService;
+import io.mosip.resident.util.AuditUtil;
+import io.mosip.resident.util.EventEnum;
+
+@RunWith(MockitoJUnitRunner.class)
+public class NotificationOutboxDeliveryJobTest {
+
+	@InjectMocks
+	private NotificationOutboxDeliveryJob job;
+
+	@Mock
+	private ResidentNotificationOutboxRepository outboxRepository;
+
+	@Mock
+	private ResidentNotificationOutboxLeaseRepository leaseRepository;
+
+	@Mock
+	private NotificationOutboxService notificationOutboxService;
+
+	@Mock
+	private AuditUtil audit;
+
+	private ResidentNotificationOutboxEntity entity;
+
+	@Before
+	public void setUp() {
+		ReflectionTestUtils.setField(job, "workers", 2);
+		ReflectionTestUtils.setField(job, "pageSize", 10);
+		ReflectionTestUtils.setField(job, "leaseMillis", 60000L);
+		ReflectionTestUtils.setField(job, "maxAttempts", 3);
+		ReflectionTestUtils.setField(job, "initialBackoffMillis", 1000L);
+		ReflectionTestUtils.setField(job, "maxBackoffMillis", 3000L);
+		job.init();
+		entity = new ResidentNotificationOutboxEntity();
+		entity.setId("id");
+		entity.setEventId("eventId");
+		entity.setStatusCode(NotificationOutboxService.PENDING);
+		entity.setCrDtimes(DateUtils.getUTCCurrentDateTime());
+		entity.setLeaseOwner("owner");
+	}
+
+	@After
+	public void tearDown() {
+		job.shutdown();
+	}
+
+	@Test
+	public void testDeliveredNotificationIsRemoved() throws Exception {
+		claimOnePage();
+		job.deliverPendingNotifications();
+		verify(notificationOutboxService).deliver(entity);
+		verify(outboxRepository).deleteAll(List.of(entity));
+		verify(outboxRepository, never()).saveAll(any());
+		verify(audit).setAuditRequestDto(EventEnum.SEND_NOTIFICATION_SUCCESS);
+	}
+
+	@Test
+	public void testFailedNotificationIsRetriedLater() throws Exception {
+		claimOnePage();
+		doThrow(new ResidentServiceCheckedException(ResidentErrorCode.NOTIFICATION_FAILURE))
+				.when(notificationOutboxService).deliver(entity);
+		LocalDateTime before = DateUtils.getUTCCurrentDateTime();
+		job.deliverPendingNotifications();
+		verify(outboxRepository).saveAll(List.of(entity));
+		verify(outboxRepository, never()).deleteAll(any());
+		assertEquals(1, entity.getAttempts());
+		assertEquals(NotificationOutboxService.PENDING, entity.getStatusCode());
+		verify(audit, never()).setAuditRequestDto(any());
+		assertTrue(!entity.getNextAttemptDtimes().isBefore(before.plusSeconds(1)));
+		assertTrue(entity.getLastError().startsWith("ResidentServiceCheckedException"));
+		assertNull(entity.getLeaseOwner());
+	}
+
+	@Test
+	public void testNotificationIsDeadAfterMaxAttempts() throws Exception {
+		claimOnePage();
+		entity.setAttempts(2);
+		doThrow(new ResidentServiceCheckedException(ResidentErrorCode.NOTIFICATION_FAILURE))
+				.when(notificationOutboxService).deliver(entity);
+		job.deliverPendingNotifications();
+		verify(outboxRepository).saveAll(List.of(entity));
+		assertEquals(3, entity.getAttempts());
+		assertEquals(NotificationOutboxService.DEAD, entity.getStatusCode());
+		verify(audit).setAuditRequestDto(EventEnum.SEND_NOTIFICATION_FAILURE);
+	}
+
+	@Test
+	public void testNothingToDeliver() throws Exception {
+		job.deliverPendingNotifications();
+		verify(leaseRepository).claim(anyString(), eq(10), eq(60000L));
+		verify(leaseRepository).release(anyString());
+		verify(notificationOutboxService, never()).deliver(any());
+	}
+
+	@Test
+	public void testBackoffDoublesUpToMax() {
+		assertEquals(1000L, job.getBackoffMillis(1));
+		assertEquals(2000L, job.getBackoffMillis(2));
+		assertEquals(3000L, job.getBackoffMillis(3));
+		assertEquals(3000L, job.getBackoffMillis(40));
+	}
+
+	private void claimOnePage() {
+		when(leaseRepository.claim(anyString(), anyInt(), anyLong())).thenReturn(List.of("id"), List.of());
+		when(outboxRepository.findAllById(List.of("id"))).thenReturn(List.of(entity));
+	}
+}
@@ -0,0 +1,130 @@
+package io.mosip.resident.batch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.mosip.kernel.core.util.DateUtils;
+import io.mosip.resident.repository.ResidentNotificationOutboxLeaseRepository;
+
+/**
+ * Claims queued notifications from an embedded database, alone and with
+ * several claimers at the same time, and checks that only due notifications
+ * are claimed, earliest first, and each of them exactly once.
+ */
+public class ResidentNotificationOutboxLeaseRepositoryTest {
+
+	private static final int NOTIFICATIONS = 200;
+
+	private static final int NODES = 4;
+
+	private JdbcTemplate jdbcTemplate;
+
+	private ResidentNotificationOutboxLeaseRepository leaseRepository;
+
+	@Before
+	public void setUp() {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(
+				"jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000", "sa", "");
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		jdbcTemplate.execute("create table resident_notification_outbox (id varchar(36) primary key,"
+				+ " status_code varchar(36), next_attempt_dtimes timestamp, lease_owner varchar(64),"
+				+ " lease_expiry_dtimes timestamp)");
+		LocalDateTime now = DateUtils.getUTCCurrentDateTime();
+		List<Object[]> rows = new ArrayList<>();
+		for (int i = 0; i < NOTIFICATIONS; i++) {
+			rows.add(new Object[] { "notification" + i, "PENDING",
+					Timestamp.valueOf(now.minusHours(1).plusSeconds(NOTIFICATIONS - i)) });
+		}
+		rows.add(new Object[] { "later", "PENDING", Timestamp.valueOf(now.plusHours(1)) });
+		rows.add(new Object[] { "dead", "DEAD", Timestamp.valueOf(now.minusHours(2)) });
+		jdbcTemplate.batchUpdate(
+				"insert into resident_notification_outbox (id, status_code, next_attempt_dtimes) values (?, ?, ?)",
+				rows);
+		leaseRepository = new ResidentNotificationOutboxLeaseRepository(dataSource);
+		ReflectionTestUtils.setField(leaseRepository, "lockClause", "for update");
+	}
+
+	@After
+	public void tearDown() {
+		jdbcTemplate.execute("shutdown");
+	}
+
+	@Test
+	public void testDueNotificationsAreClaimedEarliestFirst() {
+		List<String> ids = leaseRepository.claim("owner", 3, 60000);
+		assertEquals(List.of("notification199", "notification198", "notification197"), ids);
+		List<String> all = leaseRepository.claim("owner", NOTIFICATIONS + 2, 60000);
+		assertEquals(NOTIFICATIONS - 3, all.size());
+		assertTrue(!all.contains("later") && !all.contains("dead"));
+	}
+
+	@Test
+	public void testClaimedNotificationsAreSkippedUntilReleased() {
+		List<String> ids = leaseRepository.claim("owner", 10, 60000);
+		assertTrue(leaseRepository.claim("other", 10, 60000).stream().noneMatch(ids::contains));
+		assertEquals(10, leaseRepository.release("owner"));
+		assertEquals(ids, leaseRepository.claim("third", 10, 60000));
+	}
+
+	@Test
+	public void testLapsedLeaseCanBeClaimedByOtherOwner() {
+		List<String> ids = leaseRepository.claim("owner", 5, -1000);
+		assertEquals(ids, leaseRepository.claim("other", 5, 60000));
+	}
+
+	@Test
+	public void testNoNotificationIsClaimedTwice() throws Exception {
+		Map<String, AtomicInteger> claims = new ConcurrentHashMap<>();
+		ExecutorService nodes = Executors.newFixedThreadPool(NODES);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> futures = new ArrayList<>();
+		for (int i = 0; i < NODES; i++) {
+			futures.add(nodes.submit(() -> {
+				String owner = UUID.randomUUID().toString();
+				start.await();
+				int failures = 0;
+				while (true) {
+					List<String> ids;
+					try {
+						ids = leaseRepository.claim(owner, 7, 60000);
+					} catch (DataAccessException e) {
+						assertTrue("too many failed claims", ++failures < 100);
+						continue;
+					}
+					if (ids.isEmpty()) {
+						return null;
+					}
+					ids.forEach(id -> claims.computeIfAbsent(id, key -> new AtomicInteger()).incrementAndGet());
+				}
+			}));
+		}
+		start.countDown();
+		for (Future<?> future : futures) {
+			future.get();
+		}
+		nodes.shutdown();
+		assertEquals(NOTIFICATIONS, claims.size());
+		claims.forEach((id, count) -> assertEquals(id, 1, count.get()));
+	}
+}
@@ -0,0 +1,132 @@
+package io.mosip.resident.batch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.mosip.resident.repository.ResidentTransactionLeaseRepository;
+
+/**
+ * Runs several claimers against an embedded database at the same time, the
+ * way several service instances run the credential status batch job, and
+ * checks that every pending record is claimed exactly once.
+ */
+public class ResidentTransactionLeaseRepositoryTest {
+
+	private static final int RECORDS = 500;
+
+	private static final int NODES = 8;
+
+	private static final List<String> STATUS_CODES = List.of("NEW", "ISSUED");
+
+	private static final List<String> REQUEST_TYPE_CODES = List.of("VID_CARD_DOWNLOAD");
+
+	private JdbcTemplate jdbcTemplate;
+
+	private ResidentTransactionLeaseRepository leaseRepository;
+
+	@Before
+	public void setUp() {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(
+				"jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000", "sa", "");
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		jdbcTemplate.execute("create table resident_transaction (event_id varchar(64) primary key,"
+				+ " status_code varchar(36), request_type_code varchar(128), cr_dtimes timestamp,"
+				+ " lease_owner varchar(64), lease_expiry_dtimes timestamp)");
+		LocalDateTime crDtimes = LocalDateTime.now().minusDays(1);
+		List<Object[]> rows = new ArrayList<>();
+		for (int i = 0; i < RECORDS; i++) {
+			rows.add(new Object[] { "event" + i, i % 2 == 0 ? "NEW" : "ISSUED", "VID_CARD_DOWNLOAD",
+					Timestamp.valueOf(crDtimes.plusSeconds(i)) });
+		}
+		rows.add(new Object[] { "stored", "STORED", "VID_CARD_DOWNLOAD", Timestamp.valueOf(crDtimes) });
+		rows.add(new Object[] { "update", "NEW", "UPDATE_MY_UIN", Timestamp.valueOf(crDtimes) });
+		jdbcTemplate.batchUpdate(
+				"insert into resident_transaction (event_id, status_code, request_type_code, cr_dtimes) values (?, ?, ?, ?)",
+				rows);
+		leaseRepository = new ResidentTransactionLeaseRepository(dataSource);
+		ReflectionTestUtils.setField(leaseRepository, "lockClause", "for update");
+	}
+
+	@After
+	public void tearDown() {
+		jdbcTemplate.execute("shutdown");
+	}
+
+	@Test
+	public void testNoRecordIsClaimedTwice() throws Exception {
+		Map<String, AtomicInteger> claims = new ConcurrentHashMap<>();
+		ExecutorService nodes = Executors.newFixedThreadPool(NODES);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> futures = new ArrayList<>();
+		for (int i = 0; i < NODES; i++) {
+			futures.add(nodes.submit(() -> {
+				String owner = UUID.randomUUID().toString();
+				start.await();
+				int failures = 0;
+				while (true) {
+					List<String> eventIds;
+					try {
+						eventIds = leaseRepository.claim(STATUS_CODES, REQUEST_TYPE_CODES, owner, 7, 60000);
+					} catch (DataAccessException e) {
+						assertTrue("too many failed claims", ++failures < 100);
+						continue;
+					}
+					if (eventIds.isEmpty()) {
+						return null;
+					}
+					eventIds.forEach(eventId -> claims.computeIfAbsent(eventId, id -> new AtomicInteger()).incrementAndGet());
+				}
+			}));
+		}
+		start.countDown();
+		for (Future<?> future : futures) {
+			future.get();
+		}
+		nodes.shutdown();
+		assertEquals(RECORDS, claims.size());
+		claims.forEach((eventId, count) -> assertEquals(eventId, 1, count.get()));
+		assertEquals(Integer.valueOf(RECORDS), jdbcTemplate.queryForObject(
+				"select count(*) from resident_transaction where lease_owner is not null", Integer.class));
+	}
+
+	@Test
+	public void testReleasedRecordsCanBeClaimedAgain() {
+		String owner = UUID.randomUUID().toString();
+		List<String> eventIds = leaseRepository.claim(STATUS_CODES, REQUEST_TYPE_CODES, owner, 10, 60000);
+		assertEquals(10, eventIds.size());
+		assertEquals("event0", eventIds.get(0));
+		assertEquals(10, leaseRepository.claim(STATUS_CODES, REQUEST_TYPE_CODES, "other", 10, 60000).size());
+		assertEquals(10, leaseRepository.release(owner));
+		assertEquals(eventIds, leaseRepository.claim(STATUS_CODES, REQUEST_TYPE_CODES, "third", 10, 60000));
+		assertEquals(RECORDS, leaseRepository.countPending(STATUS_CODES, REQUEST_TYPE_CODES));
+	}
+
+	@Test
+	public void testLapsedLeaseCanBeClaimedByOtherOwner() {
+		List<String> eventIds = leaseRepository.claim(STATUS_CODES, REQUEST_TYPE_CODES, "owner", 5, -1000);
+		assertEquals(eventIds, leaseRepository.claim(STATUS_CODES, REQUEST_TYPE_CODES, "other", 5, 60000));
+		assertTrue(leaseRepository.claim(STATUS_CODES, REQUEST_TYPE_CODES, "other", 5, 60000).stream()
+				.noneMatch(eventIds::contains));
+	}
+}
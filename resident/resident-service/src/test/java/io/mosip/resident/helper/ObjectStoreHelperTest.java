@@ -1,18 +1,24 @@
 package io.mosip.resident.helper;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.Charset;
+import java.util.Base64;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.commons.io.IOUtils;
 import org.junit.Before;
@@ -74,7 +80,7 @@ public class ObjectStoreHelperTest {
 		responseWrapper.setResponse(data);
 		responseWrapper.setErrors(errors);
 		try {
-			when(restClient.postApi(any(), any(), any(), any())).thenReturn(responseWrapper);
+			when(restClient.postApi(anyString(), any(), any(), any())).thenReturn(responseWrapper);
 		} catch (ApisResourceAccessException e) {
 			e.printStackTrace();
 			fail(e.getMessage());
@@ -145,7 +151,7 @@ public class ObjectStoreHelperTest {
 	
 	@Test(expected = ResidentServiceException.class)
 	public void testPutObjectEncryptionDecryptionRestCallFailed() throws IOException, ApisResourceAccessException {
-		when(restClient.postApi(any(), any(), any(), any())).thenThrow(new ApisResourceAccessException());
+		when(restClient.postApi(anyString(), any(), any(), any())).thenThrow(new ApisResourceAccessException());
 		helper.putObject("name", new ByteArrayInputStream("abc".getBytes()));
 	}
 	
@@ -177,6 +183,41 @@ public class ObjectStoreHelperTest {
 		assertNull(process.getValue());
 	}
 	
+	@Test
+	public void testGetObjectStreamsEnvelopeIntoCallerStream() throws IOException {
+		ReflectionTestUtils.setField(helper, "envelopeEncryptionEnabled", true);
+		ReflectionTestUtils.setField(helper, "envelopeChunkSize", 1024);
+		ReflectionTestUtils.setField(helper, "dataKeyProvider", new DataKeyProvider("test-keys",
+				new DataKeyProvider.KeyWrapper() {
+					@Override
+					public String wrap(String encodedKey) {
+						return encodedKey;
+					}
+
+					@Override
+					public String unwrap(String wrappedKey) {
+						return wrappedKey;
+					}
+				}, 60000, 10, null));
+		byte[] document = new byte[10 * 1024 + 7];
+		new Random(document.length).nextBytes(document);
+		ArgumentCaptor<InputStream> data = ArgumentCaptor.forClass(InputStream.class);
+		helper.putObject("name", new ByteArrayInputStream(document));
+		verify(adapter).putObject(any(), any(), any(), any(), any(), data.capture());
+		when(adapter.getObject(any(), any(), any(), any(), any()))
+				.thenReturn(new ByteArrayInputStream(IOUtils.toByteArray(data.getValue())));
+		AtomicBoolean closed = new AtomicBoolean();
+		ByteArrayOutputStream out = new ByteArrayOutputStream() {
+			@Override
+			public void close() {
+				closed.set(true);
+			}
+		};
+		helper.getObject("name", out);
+		assertEquals(Base64.getUrlEncoder().encodeToString(document), out.toString("US-ASCII"));
+		assertFalse(closed.get());
+	}
+
 	@Test(expected = ResidentServiceException.class)
 	public void testGetObjectException() throws IOException {
 		when(adapter.getObject(any(), any(), any(), any(), any())).thenThrow(new ObjectStoreAdapterException("", ""));
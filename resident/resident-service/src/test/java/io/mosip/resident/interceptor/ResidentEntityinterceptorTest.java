@@ -1,5 +1,6 @@
 package io.mosip.resident.interceptor;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 
 import org.junit.Before;
@@ -7,6 +8,7 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.test.context.ContextConfiguration;
@@ -55,6 +57,47 @@ public class ResidentEntityinterceptorTest {
         assertFalse(residentEntityInterceptor.onLoad(new ResidentSessionEntity(), null, state, propertyName, null));
     }
 
+    @Test
+    public void testOnLoadDoesNotDecryptIndividualId(){
+        ResidentTransactionEntity entity = new ResidentTransactionEntity();
+        assertFalse(residentEntityInterceptor.onLoad(entity, null, state, propertyName, null));
+        assertEquals("k", state[0]);
+        Mockito.verify(objectStoreHelper, Mockito.never()).decryptField(Mockito.anyString());
+    }
+
+    @Test
+    public void testLoadedIndividualIdIsDecryptedOnce(){
+        Mockito.when(objectStoreHelper.decryptField("k")).thenReturn("1234567890");
+        ResidentTransactionEntity entity = new ResidentTransactionEntity();
+        residentEntityInterceptor.onLoad(entity, null, state, propertyName, null);
+        assertEquals("1234567890", entity.getIndividualId());
+        assertEquals("1234567890", entity.getIndividualId());
+        Mockito.verify(objectStoreHelper, Mockito.times(1)).decryptField("k");
+    }
+
+    @Test
+    public void testOnSaveEncryptsIndividualId(){
+        state[0] = "1234567890";
+        Mockito.when(objectStoreHelper.encryptField("1234567890")).thenReturn("REV2.key.data");
+        assertFalse(residentEntityInterceptor.onSave(residentTransactionEntity, null, state, propertyName, null));
+        assertEquals("REV2.key.data", state[0]);
+        assertEquals("1234567890", residentTransactionEntity.getIndividualId());
+        assertFalse(residentEntityInterceptor.onFlushDirty(residentTransactionEntity, null, state, null, propertyName, null));
+        Mockito.verify(objectStoreHelper, Mockito.times(1)).encryptField("1234567890");
+    }
+
+    @Test
+    public void testOnFlushDirtyEncryptsChangedIndividualId(){
+        ResidentTransactionEntity entity = new ResidentTransactionEntity();
+        residentEntityInterceptor.onLoad(entity, null, state, propertyName, null);
+        entity.setIndividualId("2345678901");
+        state[0] = "2345678901";
+        Mockito.when(objectStoreHelper.encryptField("2345678901")).thenReturn("REV2.key.data");
+        residentEntityInterceptor.onFlushDirty(entity, null, state, null, propertyName, null);
+        assertEquals("REV2.key.data", state[0]);
+        assertEquals("2345678901", entity.getIndividualId());
+    }
+
     @Test
     public void testOnFlushDirty(){
         assertFalse(residentEntityInterceptor.onFlushDirty(residentTransactionEntity, null, state, null, propertyName, null));
@@ -0,0 +1,166 @@
+package io.mosip.resident.repository;
+
+import static org.junit.Assert.assertEquals;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import io.mosip.resident.dto.ServiceHistoryFilterDto;
+import io.mosip.resident.dto.ServiceHistoryPageToken;
+
+/**
+ * Runs the service history statement against an embedded database and pages
+ * through rows that share their creation time, in both sort directions, to
+ * check that keyset pages neither skip nor repeat rows.
+ */
+public class ResidentTransactionRepositoryCustomImplTest {
+
+	private static final String TOKEN_ID = "token";
+
+	private static final LocalDateTime CR_DTIMES = LocalDateTime.of(2026, 10, 1, 10, 0);
+
+	private JdbcTemplate jdbcTemplate;
+
+	private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+	private List<Row> rows;
+
+	@Before
+	public void setUp() {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(
+				"jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+		jdbcTemplate.execute("create table resident_transaction (event_id varchar(64) primary key,"
+				+ " token_id varchar(128), pinned_status boolean, cr_dtimes timestamp, request_type_code varchar(128),"
+				+ " status_code varchar(36), olv_partner_id varchar(36))");
+		rows = new ArrayList<>();
+		// Three creation times shared by several rows each, some of them pinned, plus rows of another resident.
+		for (int i = 0; i < 23; i++) {
+			rows.add(new Row(String.format("event-%02d", (i * 7) % 23), i % 5 == 0, CR_DTIMES.plusMinutes(i % 3),
+					i % 4 == 0 ? "FAILED" : "SUCCESS"));
+		}
+		List<Object[]> values = new ArrayList<>();
+		for (Row row : rows) {
+			values.add(new Object[] { row.eventId, TOKEN_ID, row.pinned, Timestamp.valueOf(row.crDtimes),
+					"AUTHENTICATION_REQUEST", row.statusCode });
+		}
+		values.add(new Object[] { "other-00", "other", false, Timestamp.valueOf(CR_DTIMES), "AUTHENTICATION_REQUEST",
+				"SUCCESS" });
+		jdbcTemplate.batchUpdate("insert into resident_transaction (event_id, token_id, pinned_status, cr_dtimes,"
+				+ " request_type_code, status_code) values (?, ?, ?, ?, ?, ?)", values);
+	}
+
+	@After
+	public void tearDown() {
+		jdbcTemplate.execute("shutdown");
+	}
+
+	@Test
+	public void testKeysetPagesDescending() {
+		assertEquals(expected(rows, false), pageThrough(filter(false), 4));
+	}
+
+	@Test
+	public void testKeysetPagesAscending() {
+		assertEquals(expected(rows, true), pageThrough(filter(true), 4));
+	}
+
+	@Test
+	public void testKeysetPagesWithOnePerPage() {
+		assertEquals(expected(rows, false), pageThrough(filter(false), 1));
+		assertEquals(expected(rows, true), pageThrough(filter(true), 1));
+	}
+
+	@Test
+	public void testKeysetPagesMatchOffsetPages() {
+		ServiceHistoryFilterDto filter = filter(true);
+		List<String> byOffset = new ArrayList<>();
+		for (int offset = 0; offset < rows.size(); offset += 5) {
+			byOffset.addAll(eventIds(query(filter, null, offset, 5)));
+		}
+		assertEquals(pageThrough(filter, 5), byOffset);
+	}
+
+	@Test
+	public void testKeysetPagesApplyFilter() {
+		ServiceHistoryFilterDto filter = filter(false);
+		filter.setStatusCodes(List.of("SUCCESS"));
+		List<Row> succeeded = rows.stream().filter(row -> row.statusCode.equals("SUCCESS"))
+				.collect(Collectors.toList());
+		assertEquals(expected(succeeded, false), pageThrough(filter, 3));
+	}
+
+	private List<String> pageThrough(ServiceHistoryFilterDto filter, int pageSize) {
+		List<String> eventIds = new ArrayList<>();
+		ServiceHistoryPageToken pageToken = null;
+		while (true) {
+			List<Map<String, Object>> page = query(filter, pageToken, 0, pageSize);
+			eventIds.addAll(eventIds(page));
+			if (page.size() < pageSize) {
+				return eventIds;
+			}
+			Map<String, Object> last = page.get(page.size() - 1);
+			pageToken = new ServiceHistoryPageToken((Boolean) last.get("PINNED_STATUS"),
+					((Timestamp) last.get("CR_DTIMES")).toLocalDateTime(), (String) last.get("EVENT_ID"), rows.size(),
+					filter);
+		}
+	}
+
+	private List<Map<String, Object>> query(ServiceHistoryFilterDto filter, ServiceHistoryPageToken pageToken,
+			int offset, int limit) {
+		Map<String, Object> params = new HashMap<>();
+		String sql = ResidentTransactionRepositoryCustomImpl.serviceHistorySql(filter, pageToken, offset, limit,
+				params);
+		params.replaceAll((name, value) -> value instanceof LocalDateTime
+				? Timestamp.valueOf((LocalDateTime) value) : value);
+		return namedParameterJdbcTemplate.queryForList(sql, params);
+	}
+
+	private static List<String> eventIds(List<Map<String, Object>> page) {
+		return page.stream().map(row -> (String) row.get("EVENT_ID")).collect(Collectors.toList());
+	}
+
+	private static ServiceHistoryFilterDto filter(boolean ascending) {
+		ServiceHistoryFilterDto filter = new ServiceHistoryFilterDto();
+		filter.setTokenId(TOKEN_ID);
+		filter.setAscending(ascending);
+		filter.setOlvPartnerId("mpartner-default-auth");
+		return filter;
+	}
+
+	private static List<String> expected(List<Row> rows, boolean ascending) {
+		Comparator<Row> order = Comparator.comparing((Row row) -> row.crDtimes).thenComparing(row -> row.eventId);
+		return rows.stream()
+				.sorted(Comparator.comparing((Row row) -> !row.pinned).thenComparing(ascending ? order : order.reversed()))
+				.map(row -> row.eventId).collect(Collectors.toList());
+	}
+
+	private static class Row {
+		private final String eventId;
+		private final boolean pinned;
+		private final LocalDateTime crDtimes;
+		private final String statusCode;
+
+		private Row(String eventId, boolean pinned, LocalDateTime crDtimes, String statusCode) {
+			this.eventId = eventId;
+			this.pinned = pinned;
+			this.crDtimes = crDtimes;
+			this.statusCode = statusCode;
+		}
+	}
+}
@@ -1,7 +1,9 @@
 package io.mosip.resident.service.impl;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertNotNull;
 
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -87,24 +89,32 @@ public class DocumentServiceImplTest {
 
 	@Test
 	public void testFetchDocumentByDocId() throws Exception {
-		Mockito.when(objectStoreHelper.getObject(Mockito.anyString())).thenReturn("value");
-		assertNotNull(documentServiceImpl.fetchDocumentByDocId("transactionId", "docId"));
+		mockGetObject("value");
+		assertArrayEquals("value".getBytes(),
+				documentServiceImpl.fetchDocumentByDocId("transactionId", "docId").getDocument());
 	}
 
 	@Test
 	public void testDeleteDocumentSuccess() throws Exception {
-		Mockito.when(objectStoreHelper.getObject(Mockito.anyString())).thenReturn("value");
+		mockGetObject("value");
 		Mockito.when(objectStoreHelper.deleteObject(Mockito.anyString())).thenReturn(true);
 		assertNotNull(documentServiceImpl.deleteDocument("transactionId", "documentId"));
 	}
 
 	@Test
 	public void testDeleteDocumentFailure() throws Exception {
-		Mockito.when(objectStoreHelper.getObject(Mockito.anyString())).thenReturn("value");
+		mockGetObject("value");
 		Mockito.when(objectStoreHelper.deleteObject(Mockito.anyString())).thenReturn(false);
 		assertNotNull(documentServiceImpl.deleteDocument("transactionId", "documentId"));
 	}
 
+	private void mockGetObject(String value) {
+		Mockito.doAnswer(invocation -> {
+			invocation.<OutputStream>getArgument(1).write(value.getBytes());
+			return null;
+		}).when(objectStoreHelper).getObject(Mockito.anyString(), Mockito.any(OutputStream.class));
+	}
+
 	private DocumentRequestDTO getDocumentRqtDto() {
 		DocumentRequestDTO request = new DocumentRequestDTO();
 		request.setDocCatCode("DocCatCode");
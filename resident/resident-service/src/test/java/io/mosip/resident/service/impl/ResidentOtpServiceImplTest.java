@@ -21,6 +21,7 @@ import org.springframework.test.context.ContextConfiguration;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.mosip.resident.constant.ApiName;
 import io.mosip.resident.dto.AuthError;
 import io.mosip.resident.dto.IdentityDTO;
 import io.mosip.resident.dto.IndividualIdOtpRequestDTO;
@@ -79,7 +80,7 @@ public class ResidentOtpServiceImplTest {
 		OtpResponseDTO responseDto = getOtpResponseDTO();
 		responseDto.setTransactionID("1232323232");
 
-		when(residentServiceRestClient.postApi(any(), any(), any(), any())).thenReturn(responseDto);
+		when(residentServiceRestClient.postApi(any(ApiName.class), any(), any(), any())).thenReturn(responseDto);
 		IndividualIdOtpRequestDTO aidOtpRequestDTO = getAidOtpRequestDTO();
 		aidOtpRequestDTO.setIndividualId("9054257143");
 		aidOtpRequestDTO.setOtpChannel(List.of("EMAIL", "PHONE"));
@@ -138,7 +139,7 @@ public class ResidentOtpServiceImplTest {
 		Mockito.when(identityServiceImpl.getIdentity(otpRequestDTO.getIndividualId())).thenReturn(identityDTO);
 		when(identityServiceImpl.getIndividualIdForAid(any())).thenReturn(otpRequestDTO.getIndividualId());
 		Mockito.when(residentOtpServiceImpl.generateOtp(any())).thenThrow(new ResidentServiceCheckedException());
-		Mockito.when(residentServiceRestClient.postApi(any(), any(), any(), any())).thenReturn(otpResponseDTO);
+		Mockito.when(residentServiceRestClient.postApi(any(ApiName.class), any(), any(), any())).thenReturn(otpResponseDTO);
 		assertNotNull(residentOtpServiceImpl.generateOtpForIndividualId(aidOtpRequestDTO));
 	}
 
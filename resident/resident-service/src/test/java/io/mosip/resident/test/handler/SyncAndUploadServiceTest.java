@@ -27,6 +27,7 @@ import io.mosip.kernel.core.exception.BaseCheckedException;
 import io.mosip.kernel.core.util.DateUtils;
 import io.mosip.kernel.core.util.JsonUtils;
 import io.mosip.kernel.core.util.exception.JsonProcessingException;
+import io.mosip.resident.constant.ApiName;
 import io.mosip.resident.dto.PacketGeneratorResDto;
 import io.mosip.resident.dto.PacketReceiverResponseDTO;
 import io.mosip.resident.dto.PacketReceiverSubResponseDTO;
@@ -95,7 +96,7 @@ public class SyncAndUploadServiceTest {
         Mockito.when(gsonBuilder.create()).thenReturn(gson);
         //PowerMockito.whenNew(Gson.class).withNoArguments().thenReturn(gson);
         Mockito.when(env.getProperty(any())).thenReturn("property");
-        Mockito.when(restClientService.postApi(any(), any(), any(), any(Class.class))).thenReturn(new String(""));
+        Mockito.when(restClientService.postApi(any(ApiName.class), any(), any(), any(Class.class))).thenReturn(new String(""));
         Mockito.when(encryptorUtil.encrypt(any(), any())).thenReturn("encrypted request String");
 
         PacketReceiverSubResponseDTO packetReceiverSubResponseDTO = new PacketReceiverSubResponseDTO();
@@ -134,7 +135,7 @@ public class SyncAndUploadServiceTest {
 
     @Test(expected = BaseCheckedException.class)
     public void testApisResourceAccessException() throws BaseCheckedException {
-        Mockito.when(restClientService.postApi(any(), any(), any(), any(Class.class))).thenThrow(new ApisResourceAccessException("ApisResourceAccessException"));
+        Mockito.when(restClientService.postApi(any(ApiName.class), any(), any(), any(Class.class))).thenThrow(new ApisResourceAccessException("ApisResourceAccessException"));
 
         PacketGeneratorResDto response = syncAndUploadService.uploadUinPacket(registartionId, creationTime, regType, packetZipBytes);
     }
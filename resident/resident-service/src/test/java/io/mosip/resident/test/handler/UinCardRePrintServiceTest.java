@@ -37,6 +37,7 @@ import io.mosip.commons.packet.dto.PacketInfo;
 import io.mosip.commons.packet.exception.PacketCreatorException;
 import io.mosip.commons.packet.facade.PacketWriter;
 import io.mosip.kernel.core.exception.BaseCheckedException;
+import io.mosip.resident.constant.ApiName;
 import io.mosip.resident.constant.CardType;
 import io.mosip.resident.constant.MappingJsonConstants;
 import io.mosip.resident.dto.ErrorDTO;
@@ -201,7 +202,7 @@ public class UinCardRePrintServiceTest {
         vidResDTO.setVid("2345");
         vidResponseDTO1.setResponse(vidResDTO);
 
-        Mockito.when(restClientService.postApi(any(), any(), any(), any(Class.class))).thenReturn(vidResponseDTO1);
+        Mockito.when(restClientService.postApi(any(ApiName.class), any(), any(), any(Class.class))).thenReturn(vidResponseDTO1);
         Mockito.when(utilities.getUinByVid(any())).thenReturn("12345");
 
         PacketGeneratorResDto result = uinCardRePrintService.createPacket(regProcRePrintRequestDto);
@@ -220,7 +221,7 @@ public class UinCardRePrintServiceTest {
         vidResDTO.setVid("2345");
         vidResponseDTO1.setResponse(vidResDTO);
 
-        Mockito.when(restClientService.postApi(any(), any(), any(), any(Class.class))).thenReturn(vidResponseDTO1);
+        Mockito.when(restClientService.postApi(any(ApiName.class), any(), any(), any(Class.class))).thenReturn(vidResponseDTO1);
         Mockito.when(utilities.getUinByVid(any())).thenReturn("12345");
 
         PacketGeneratorResDto result = uinCardRePrintService.createPacket(regProcRePrintRequestDto);
@@ -237,7 +238,7 @@ public class UinCardRePrintServiceTest {
         ErrorDTO errorDTO = new ErrorDTO("", "");
         vidResponseDTO1.setErrors(Lists.newArrayList(errorDTO));
 
-        Mockito.when(restClientService.postApi(any(), any(), any(), any(Class.class))).thenReturn(vidResponseDTO1);
+        Mockito.when(restClientService.postApi(any(ApiName.class), any(), any(), any(Class.class))).thenReturn(vidResponseDTO1);
         Mockito.when(utilities.getUinByVid(any())).thenReturn("12345");
 
         PacketGeneratorResDto result = uinCardRePrintService.createPacket(regProcRePrintRequestDto);
@@ -0,0 +1,96 @@
+package io.mosip.resident.test.helper;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import io.mosip.resident.exception.ResidentServiceException;
+import io.mosip.resident.helper.DataKeyProvider;
+import io.mosip.resident.helper.DataKeyProvider.DataKey;
+
+public class DataKeyProviderTest {
+
+	private final AtomicInteger wraps = new AtomicInteger();
+
+	private final AtomicInteger unwraps = new AtomicInteger();
+
+	private final DataKeyProvider.KeyWrapper keyWrapper = new DataKeyProvider.KeyWrapper() {
+		@Override
+		public String wrap(String encodedKey) {
+			wraps.incrementAndGet();
+			return "wrapped" + encodedKey;
+		}
+
+		@Override
+		public String unwrap(String wrappedKey) {
+			unwraps.incrementAndGet();
+			return wrappedKey.substring("wrapped".length());
+		}
+	};
+
+	@Test
+	public void testActiveKeyIsWrappedOnce() {
+		DataKeyProvider dataKeyProvider = new DataKeyProvider("test-keys", keyWrapper, 60000, 10, null);
+		DataKey dataKey = dataKeyProvider.getActiveKey();
+		assertSame(dataKey, dataKeyProvider.getActiveKey());
+		assertSame(dataKey, dataKeyProvider.getKey(dataKey.getWrappedKey()));
+		assertEquals(1, wraps.get());
+		assertEquals(0, unwraps.get());
+	}
+
+	@Test
+	public void testActiveKeyIsRotated() throws InterruptedException {
+		DataKeyProvider dataKeyProvider = new DataKeyProvider("test-keys", keyWrapper, 1, 10, null);
+		DataKey dataKey = dataKeyProvider.getActiveKey();
+		Thread.sleep(5);
+		DataKey rotatedKey = dataKeyProvider.getActiveKey();
+		assertNotEquals(dataKey.getKeyId(), rotatedKey.getKeyId());
+		assertSame(dataKey, dataKeyProvider.getKey(dataKey.getWrappedKey()));
+		assertEquals(2, wraps.get());
+	}
+
+	@Test
+	public void testUnknownKeyIsUnwrappedOnce() {
+		DataKey dataKey = new DataKeyProvider("other-keys", keyWrapper, 60000, 10, null).getActiveKey();
+		DataKeyProvider dataKeyProvider = new DataKeyProvider("test-keys", keyWrapper, 60000, 10, null);
+		DataKey unwrappedKey = dataKeyProvider.getKey(dataKey.getWrappedKey());
+		assertArrayEquals(dataKey.getKey().getEncoded(), unwrappedKey.getKey().getEncoded());
+		assertSame(unwrappedKey, dataKeyProvider.getKey(dataKey.getWrappedKey()));
+		assertEquals(1, unwraps.get());
+	}
+
+	@Test
+	public void testKeyIsResolvedById() {
+		Map<String, String> wrappedKeys = new ConcurrentHashMap<>();
+		DataKeyProvider.WrappedKeyStore keyStore = new DataKeyProvider.WrappedKeyStore() {
+			@Override
+			public void save(String keyId, String wrappedKey) {
+				wrappedKeys.put(keyId, wrappedKey);
+			}
+
+			@Override
+			public String load(String keyId) {
+				return wrappedKeys.get(keyId);
+			}
+		};
+		DataKey dataKey = new DataKeyProvider("other-keys", keyWrapper, keyStore, 60000, 10, null).getActiveKey();
+		assertEquals(dataKey.getWrappedKey(), wrappedKeys.get(dataKey.getKeyId()));
+		DataKeyProvider dataKeyProvider = new DataKeyProvider("test-keys", keyWrapper, keyStore, 60000, 10, null);
+		DataKey unwrappedKey = dataKeyProvider.getKeyById(dataKey.getKeyId());
+		assertArrayEquals(dataKey.getKey().getEncoded(), unwrappedKey.getKey().getEncoded());
+		assertSame(unwrappedKey, dataKeyProvider.getKeyById(dataKey.getKeyId()));
+		assertEquals(1, unwraps.get());
+	}
+
+	@Test(expected = ResidentServiceException.class)
+	public void testUnknownKeyIdIsRejected() {
+		new DataKeyProvider("test-keys", keyWrapper, 60000, 10, null).getKeyById("0123456789abcdef");
+	}
+}
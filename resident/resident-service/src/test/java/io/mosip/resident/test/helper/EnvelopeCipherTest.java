@@ -0,0 +1,169 @@
+package io.mosip.resident.test.helper;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.NullOutputStream;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.mosip.kernel.core.util.CryptoUtil;
+import io.mosip.resident.helper.DataKeyProvider;
+import io.mosip.resident.helper.DataKeyProvider.DataKey;
+import io.mosip.resident.helper.EnvelopeCipher;
+
+public class EnvelopeCipherTest {
+
+	private static final int CHUNK_SIZE = 64 * 1024;
+
+	private static final int DOCUMENT_SIZE = 5 * 1024 * 1024;
+
+	private DataKeyProvider dataKeyProvider;
+
+	private DataKey dataKey;
+
+	@Before
+	public void setUp() {
+		dataKeyProvider = new DataKeyProvider("test-keys", new DataKeyProvider.KeyWrapper() {
+			@Override
+			public String wrap(String encodedKey) {
+				return "wrapped" + encodedKey;
+			}
+
+			@Override
+			public String unwrap(String wrappedKey) {
+				return wrappedKey.substring("wrapped".length());
+			}
+		}, 60000, 10, null);
+		dataKey = dataKeyProvider.getActiveKey();
+	}
+
+	@Test
+	public void testRoundTrip() throws IOException {
+		for (int size : new int[] { 0, 1, CHUNK_SIZE - 1, CHUNK_SIZE, CHUNK_SIZE + 1, 3 * CHUNK_SIZE }) {
+			byte[] data = randomBytes(size);
+			byte[] encrypted = IOUtils.toByteArray(EnvelopeCipher.encrypt(new ByteArrayInputStream(data), dataKey, CHUNK_SIZE));
+			PushbackInputStream encryptedStream = new PushbackInputStream(new ByteArrayInputStream(encrypted),
+					EnvelopeCipher.getMagicLength());
+			assertTrue(EnvelopeCipher.isEnvelope(encryptedStream));
+			assertArrayEquals(data, IOUtils.toByteArray(EnvelopeCipher.decrypt(encryptedStream, dataKeyProvider::getKey)));
+		}
+	}
+
+	@Test
+	public void testLegacyDataIsNotEnvelope() throws IOException {
+		String legacy = CryptoUtil.encodeToURLSafeBase64("legacy".getBytes());
+		PushbackInputStream data = new PushbackInputStream(new ByteArrayInputStream(legacy.getBytes()),
+				EnvelopeCipher.getMagicLength());
+		assertFalse(EnvelopeCipher.isEnvelope(data));
+		assertEquals(legacy, IOUtils.toString(data, "UTF-8"));
+	}
+
+	@Test(expected = IOException.class)
+	public void testTamperedDataIsRejected() throws IOException {
+		byte[] encrypted = IOUtils.toByteArray(
+				EnvelopeCipher.encrypt(new ByteArrayInputStream(randomBytes(3 * CHUNK_SIZE)), dataKey, CHUNK_SIZE));
+		encrypted[encrypted.length / 2] ^= 1;
+		IOUtils.toByteArray(EnvelopeCipher.decrypt(new ByteArrayInputStream(encrypted), dataKeyProvider::getKey));
+	}
+
+	@Test(expected = IOException.class)
+	public void testTruncatedDataIsRejected() throws IOException {
+		byte[] encrypted = IOUtils.toByteArray(
+				EnvelopeCipher.encrypt(new ByteArrayInputStream(randomBytes(3 * CHUNK_SIZE)), dataKey, CHUNK_SIZE));
+		byte[] truncated = Arrays.copyOf(encrypted, encrypted.length - 21);
+		IOUtils.toByteArray(EnvelopeCipher.decrypt(new ByteArrayInputStream(truncated), dataKeyProvider::getKey));
+	}
+
+	@Test
+	public void testEncryptionReadsAheadAtMostOneChunk() throws IOException {
+		CountingInputStream source = new CountingInputStream(new GeneratedInputStream(DOCUMENT_SIZE));
+		InputStream encrypted = EnvelopeCipher.encrypt(source, dataKey, CHUNK_SIZE);
+		byte[] buffer = new byte[8 * 1024];
+		long consumed = 0;
+		int count;
+		while ((count = encrypted.read(buffer)) != -1) {
+			consumed += count;
+			assertTrue(source.count - consumed <= CHUNK_SIZE);
+		}
+		assertEquals(DOCUMENT_SIZE, source.count);
+		assertTrue(consumed > DOCUMENT_SIZE);
+	}
+
+	@Test
+	public void testDecryptionReadsAheadAtMostOneChunk() throws IOException {
+		byte[] encrypted = IOUtils.toByteArray(
+				EnvelopeCipher.encrypt(new GeneratedInputStream(DOCUMENT_SIZE), dataKey, CHUNK_SIZE));
+		CountingInputStream source = new CountingInputStream(new ByteArrayInputStream(encrypted));
+		InputStream decrypted = EnvelopeCipher.decrypt(source, dataKeyProvider::getKey);
+		byte[] buffer = new byte[8 * 1024];
+		long consumed = 0;
+		int count;
+		while ((count = decrypted.read(buffer)) != -1) {
+			consumed += count;
+			assertTrue(source.count - consumed <= 2 * CHUNK_SIZE);
+		}
+		assertEquals(DOCUMENT_SIZE, consumed);
+		assertEquals(0, IOUtils.copyLarge(decrypted, NullOutputStream.NULL_OUTPUT_STREAM));
+	}
+
+	private byte[] randomBytes(int size) {
+		byte[] data = new byte[size];
+		new Random(size).nextBytes(data);
+		return data;
+	}
+
+	private static class CountingInputStream extends FilterInputStream {
+		private long count;
+
+		CountingInputStream(InputStream in) {
+			super(in);
+		}
+
+		@Override
+		public int read() throws IOException {
+			int value = super.read();
+			if (value != -1) {
+				count++;
+			}
+			return value;
+		}
+
+		@Override
+		public int read(byte[] buffer, int offset, int length) throws IOException {
+			int read = super.read(buffer, offset, length);
+			if (read > 0) {
+				count += read;
+			}
+			return read;
+		}
+	}
+
+	/**
+	 * Produces a large document without holding it in memory.
+	 */
+	private static class GeneratedInputStream extends InputStream {
+		private final long size;
+		private long position;
+
+		GeneratedInputStream(long size) {
+			this.size = size;
+		}
+
+		@Override
+		public int read() {
+			return position < size ? (int) (position++ % 251) : -1;
+		}
+	}
+}
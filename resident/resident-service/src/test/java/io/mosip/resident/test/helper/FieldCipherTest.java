@@ -0,0 +1,108 @@
+package io.mosip.resident.test.helper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.mosip.resident.exception.ResidentServiceException;
+import io.mosip.resident.helper.DataKeyProvider;
+import io.mosip.resident.helper.DataKeyProvider.DataKey;
+import io.mosip.resident.helper.FieldCipher;
+
+public class FieldCipherTest {
+
+	private final Map<String, String> wrappedKeys = new ConcurrentHashMap<>();
+
+	private final DataKeyProvider.WrappedKeyStore keyStore = new DataKeyProvider.WrappedKeyStore() {
+		@Override
+		public void save(String keyId, String wrappedKey) {
+			wrappedKeys.put(keyId, wrappedKey);
+		}
+
+		@Override
+		public String load(String keyId) {
+			return wrappedKeys.get(keyId);
+		}
+	};
+
+	private DataKeyProvider dataKeyProvider;
+
+	@Before
+	public void setUp() {
+		dataKeyProvider = new DataKeyProvider("test-keys", new DataKeyProvider.KeyWrapper() {
+			@Override
+			public String wrap(String encodedKey) {
+				return "wrapped" + encodedKey;
+			}
+
+			@Override
+			public String unwrap(String wrappedKey) {
+				return wrappedKey.substring("wrapped".length());
+			}
+		}, keyStore, 60000, 10, null);
+	}
+
+	@Test
+	public void testEncryptDecrypt() {
+		String encryptedData = FieldCipher.encrypt("2345678901", dataKeyProvider.getActiveKey());
+		assertTrue(FieldCipher.isEncrypted(encryptedData));
+		assertNotEquals(encryptedData, FieldCipher.encrypt("2345678901", dataKeyProvider.getActiveKey()));
+		assertEquals("2345678901", FieldCipher.decrypt(encryptedData, dataKeyProvider));
+	}
+
+	@Test
+	public void testValueHoldsKeyIdNotWrappedKey() {
+		DataKey dataKey = dataKeyProvider.getActiveKey();
+		String encryptedData = FieldCipher.encrypt("2345678901", dataKey);
+		assertTrue(encryptedData.startsWith("REV2." + dataKey.getKeyId() + "."));
+		assertFalse(encryptedData.contains(dataKey.getWrappedKey()));
+	}
+
+	@Test
+	public void testDecryptValueWithWrappedKey() {
+		DataKey dataKey = dataKeyProvider.getActiveKey();
+		String encryptedData = FieldCipher.encrypt("2345678901", dataKey);
+		String legacyData = "REV1." + dataKey.getWrappedKey() + encryptedData.substring(encryptedData.lastIndexOf('.'));
+		assertTrue(FieldCipher.isEncrypted(legacyData));
+		assertEquals("2345678901", FieldCipher.decrypt(legacyData, dataKeyProvider));
+	}
+
+	@Test
+	public void testDecryptWithKeyFromOtherInstance() {
+		DataKey dataKey = dataKeyProvider.getActiveKey();
+		String encryptedData = FieldCipher.encrypt("2345678901", dataKey);
+		DataKeyProvider otherProvider = new DataKeyProvider("other-keys", new DataKeyProvider.KeyWrapper() {
+			@Override
+			public String wrap(String encodedKey) {
+				throw new UnsupportedOperationException();
+			}
+
+			@Override
+			public String unwrap(String wrappedKey) {
+				return wrappedKey.substring("wrapped".length());
+			}
+		}, keyStore, 60000, 10, null);
+		assertEquals("2345678901", FieldCipher.decrypt(encryptedData, otherProvider));
+	}
+
+	@Test
+	public void testKeyManagerCipherTextIsNotEncryptedLocally() {
+		assertFalse(FieldCipher.isEncrypted("MIIBIjANBgkqhkiG9w0BAQEFAAOCAQ8AMIIBCgKCAQEA"));
+		assertFalse(FieldCipher.isEncrypted(null));
+	}
+
+	@Test(expected = ResidentServiceException.class)
+	public void testTamperedValue() {
+		String encryptedData = FieldCipher.encrypt("2345678901", dataKeyProvider.getActiveKey());
+		char last = encryptedData.charAt(encryptedData.length() - 2);
+		FieldCipher.decrypt(encryptedData.substring(0, encryptedData.length() - 2) + (last == 'A' ? 'B' : 'A')
+				+ encryptedData.charAt(encryptedData.length() - 1), dataKeyProvider);
+	}
+}
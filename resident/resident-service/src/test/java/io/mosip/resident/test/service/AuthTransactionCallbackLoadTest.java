@@ -0,0 +1,235 @@
+package io.mosip.resident.test.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.mosip.kernel.core.websub.model.Event;
+import io.mosip.kernel.core.websub.model.EventModel;
+import io.mosip.resident.constant.RequestType;
+import io.mosip.resident.entity.ResidentTransactionEntity;
+import io.mosip.resident.helper.ObjectStoreHelper;
+import io.mosip.resident.repository.AuthTransactionBatchRepository;
+import io.mosip.resident.service.impl.AuthTransactionCallBackServiceImpl;
+import io.mosip.resident.util.AuditUtil;
+import io.mosip.resident.util.Utility;
+
+/**
+ * Feeds concurrent authentication callbacks through the batching path into an
+ * embedded database, and checks that they share multi-row inserts, that each
+ * callback is stored before it is acknowledged, and that redelivered callbacks
+ * are stored once.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class AuthTransactionCallbackLoadTest {
+
+	private static final int CALLBACKS = 5000;
+
+	private static final int DELIVERY_THREADS = 100;
+
+	@Mock
+	private Utility utility;
+
+	@Mock
+	private AuditUtil auditUtil;
+
+	@Mock
+	private ObjectStoreHelper objectStoreHelper;
+
+	private JdbcTemplate jdbcTemplate;
+
+	private AuthTransactionBatchRepository batchRepository;
+
+	private AuthTransactionCallBackServiceImpl callBackService;
+
+	private SimpleMeterRegistry meterRegistry;
+
+	private ExecutorService deliveries;
+
+	@Before
+	public void setUp() {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(
+				"jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		jdbcTemplate.execute("create table resident_transaction (event_id varchar(64) primary key,"
+				+ " request_trn_id varchar(64), auth_callback_id varchar(64), request_dtimes timestamp not null, response_dtime timestamp not null,"
+				+ " request_type_code varchar(128) not null, request_summary varchar(1024) not null,"
+				+ " status_code varchar(36) not null, ref_id varchar(64), token_id varchar(128) not null,"
+				+ " requested_entity_id varchar(36), olv_partner_id varchar(36), individual_id varchar(1024),"
+				+ " cr_by varchar(256) not null, cr_dtimes timestamp not null, read_status boolean not null)");
+		// H2 has no ON CONFLICT, so redeliveries are only filtered before the insert.
+		jdbcTemplate.execute("create unique index idx_restrn_auth_callback_id on resident_transaction (auth_callback_id)");
+
+		lenient().when(utility.createEntity()).thenAnswer(invocation -> {
+			ResidentTransactionEntity entity = new ResidentTransactionEntity();
+			LocalDateTime now = LocalDateTime.now();
+			entity.setRequestDtimes(now);
+			entity.setResponseDtime(now);
+			entity.setCrBy("RESIDENT_SERVICES");
+			entity.setCrDtimes(now);
+			entity.setReadStatus(true);
+			return entity;
+		});
+		lenient().when(utility.createEventId()).thenAnswer(invocation -> UUID.randomUUID().toString());
+		lenient().when(utility.convertToMaskDataFormat(anyString())).thenReturn("XXXXXX1234");
+		lenient().when(objectStoreHelper.encryptField(anyString())).thenAnswer(invocation -> "enc:" + invocation.getArgument(0));
+
+		batchRepository = new AuthTransactionBatchRepository(dataSource);
+		ReflectionTestUtils.setField(batchRepository, "objectStoreHelper", objectStoreHelper);
+		ReflectionTestUtils.setField(batchRepository, "conflictClause", "");
+
+		meterRegistry = new SimpleMeterRegistry();
+		deliveries = Executors.newFixedThreadPool(DELIVERY_THREADS);
+		callBackService = new AuthTransactionCallBackServiceImpl();
+		ReflectionTestUtils.setField(callBackService, "utility", utility);
+		ReflectionTestUtils.setField(callBackService, "auditUtil", auditUtil);
+		ReflectionTestUtils.setField(callBackService, "authTransactionBatchRepository", batchRepository);
+		ReflectionTestUtils.setField(callBackService, "meterRegistry", meterRegistry);
+		ReflectionTestUtils.setField(callBackService, "batchEnabled", true);
+		ReflectionTestUtils.setField(callBackService, "batchCapacity", CALLBACKS);
+		ReflectionTestUtils.setField(callBackService, "maxBatchSize", 200);
+		ReflectionTestUtils.setField(callBackService, "maxBatchDelayMillis", 50L);
+		ReflectionTestUtils.setField(callBackService, "offerTimeoutMillis", 1000L);
+		ReflectionTestUtils.setField(callBackService, "maxAttempts", 3);
+		ReflectionTestUtils.setField(callBackService, "retryBackoffMillis", 10L);
+		ReflectionTestUtils.setField(callBackService, "ackTimeoutMillis", 10000L);
+		callBackService.init();
+	}
+
+	@After
+	public void tearDown() {
+		deliveries.shutdown();
+		callBackService.shutdown();
+		jdbcTemplate.execute("shutdown");
+	}
+
+	@Test
+	public void testAcknowledgedCallbacksAreStoredInBatches() throws Exception {
+		List<String> ids = new ArrayList<>();
+		for (int i = 0; i < CALLBACKS; i++) {
+			ids.add("event" + i);
+		}
+		deliver(ids);
+		assertEquals(CALLBACKS, count("event%"));
+		assertEquals("enc:individual1", jdbcTemplate.queryForObject(
+				"select individual_id from resident_transaction where request_trn_id = 'event1'", String.class));
+		assertEquals(CALLBACKS, meterRegistry.get("resident.auth.transaction.inserted").counter().count(), 0);
+		assertTrue(meterRegistry.get("resident.microbatch.batch.size").summary().mean() > 1);
+	}
+
+	@Test
+	public void testRedeliveredCallbacksAreStoredOnce() throws Exception {
+		List<String> ids = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			ids.add("event" + i);
+			ids.add("event" + i);
+		}
+		deliver(ids);
+		assertEquals(100, count("event%"));
+		ids.clear();
+		for (int i = 50; i < 150; i++) {
+			ids.add("event" + i);
+		}
+		deliver(ids);
+		assertEquals(150, count("event%"));
+		assertEquals(150, meterRegistry.get("resident.auth.transaction.inserted").counter().count(), 0);
+	}
+
+	@Test
+	public void testFailedRowDoesNotLoseBatch() {
+		List<ResidentTransactionEntity> entities = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			ResidentTransactionEntity entity = utility.createEntity();
+			entity.setEventId("id" + i);
+			entity.setRequestTrnId("event" + i);
+			entity.setRequestTypeCode(RequestType.AUTHENTICATION_REQUEST.name());
+			entity.setRequestSummary("");
+			entity.setStatusCode("AUTHENTICATION_SUCCESSFUL");
+			entity.setTokenId(i == 3 ? null : "token" + i);
+			entities.add(entity);
+		}
+		List<String> failed = new ArrayList<>();
+		assertEquals(9, batchRepository.insert(entities, (entity, e) -> failed.add(entity.getRequestTrnId())));
+		assertEquals(9, count("event%"));
+		assertEquals(List.of("event3"), failed);
+	}
+
+	@Test
+	public void testFailedTransactionDoesNotBlockSuccessfulOne() {
+		ResidentTransactionEntity failedEntity = authTransaction("id0", "event0", "AUTHENTICATION_FAILED");
+		ResidentTransactionEntity successfulEntity = authTransaction("id1", "event0", "AUTHENTICATION_SUCCESSFUL");
+		assertEquals(1, batchRepository.insert(List.of(failedEntity), (entity, e) -> fail()));
+		assertEquals(1, batchRepository.insert(List.of(successfulEntity), (entity, e) -> fail()));
+		assertEquals(0, batchRepository.insert(List.of(authTransaction("id2", "event0", "AUTHENTICATION_SUCCESSFUL")),
+				(entity, e) -> fail()));
+		assertEquals(List.of("id1"), jdbcTemplate.queryForList(
+				"select event_id from resident_transaction where auth_callback_id = 'event0'", String.class));
+		assertEquals(2, count("event0"));
+	}
+
+	private ResidentTransactionEntity authTransaction(String eventId, String requestTrnId, String statusCode) {
+		ResidentTransactionEntity entity = utility.createEntity();
+		entity.setEventId(eventId);
+		entity.setRequestTrnId(requestTrnId);
+		entity.setRequestTypeCode(RequestType.AUTHENTICATION_REQUEST.name());
+		entity.setRequestSummary("");
+		entity.setStatusCode(statusCode);
+		entity.setTokenId("token" + eventId);
+		return entity;
+	}
+
+	private EventModel callback(String id) {
+		Event event = new Event();
+		event.setId(id);
+		event.setData(Map.of("individualId", "individual" + id.substring(5), "tokenId", "token" + id, "entityId",
+				"entity", "olv_partner_id", "mpartner-default-auth"));
+		EventModel eventModel = new EventModel();
+		eventModel.setEvent(event);
+		return eventModel;
+	}
+
+	/**
+	 * Delivers the callbacks from concurrent threads, as WebSub does, and
+	 * returns once all of them are acknowledged.
+	 */
+	private void deliver(List<String> ids) throws Exception {
+		List<Future<?>> futures = new ArrayList<>(ids.size());
+		for (String id : ids) {
+			futures.add(deliveries.submit(() -> {
+				callBackService.updateAuthTransactionCallBackService(callback(id));
+				return null;
+			}));
+		}
+		for (Future<?> future : futures) {
+			future.get();
+		}
+	}
+
+	private int count(String requestTrnId) {
+		return jdbcTemplate.queryForObject("select count(*) from resident_transaction where request_trn_id like ?",
+				Integer.class, requestTrnId);
+	}
+
+}
@@ -1,14 +1,19 @@
 package io.mosip.resident.test.service;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
 import static org.powermock.api.mockito.PowerMockito.mock;
 
 import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
+import java.util.function.BiConsumer;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -17,6 +22,8 @@ import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.core.env.Environment;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
@@ -32,6 +39,7 @@ import io.mosip.kernel.websub.api.model.UnsubscriptionRequest;
 import io.mosip.resident.entity.ResidentTransactionEntity;
 import io.mosip.resident.exception.ApisResourceAccessException;
 import io.mosip.resident.exception.ResidentServiceCheckedException;
+import io.mosip.resident.repository.AuthTransactionBatchRepository;
 import io.mosip.resident.repository.ResidentTransactionRepository;
 import io.mosip.resident.service.impl.AuthTransactionCallBackServiceImpl;
 import io.mosip.resident.service.impl.IdentityServiceImpl;
@@ -65,6 +73,9 @@ public class AuthTransactionCallbackServiceTest {
     @Mock
     private ResidentTransactionRepository residentTransactionRepository;
 
+    @Mock
+    private AuthTransactionBatchRepository authTransactionBatchRepository;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -110,4 +121,32 @@ public class AuthTransactionCallbackServiceTest {
         Mockito.lenient().doThrow(ResidentServiceCheckedException.class).when(authTransactionCallBackService).updateAuthTransactionCallBackService(Mockito.any());
     }
 
+    @Test
+    public void testAuthTransactionCallBackServiceStoresRequestTrnId() throws Exception {
+        authTransactionCallBackService.updateAuthTransactionCallBackService(eventModel);
+        ArgumentCaptor<List<ResidentTransactionEntity>> captor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(authTransactionBatchRepository).insert(captor.capture(), Mockito.any());
+        assertEquals("12345", captor.getValue().get(0).getRequestTrnId());
+        assertEquals("AUTHENTICATION_SUCCESSFUL", captor.getValue().get(0).getStatusCode());
+    }
+
+    @Test
+    public void testAuthTransactionCallBackServiceInsertFailure() throws Exception {
+        Mockito.when(authTransactionBatchRepository.insert(Mockito.anyList(), Mockito.any())).thenAnswer(invocation -> {
+            List<ResidentTransactionEntity> entities = invocation.getArgument(0);
+            BiConsumer<ResidentTransactionEntity, DataAccessException> failureHandler = invocation.getArgument(1);
+            failureHandler.accept(entities.get(0), new DataIntegrityViolationException("insert failed"));
+            return 0;
+        });
+        try {
+            authTransactionCallBackService.updateAuthTransactionCallBackService(eventModel);
+            fail();
+        } catch (ResidentServiceCheckedException e) {
+            ArgumentCaptor<ResidentTransactionEntity> captor = ArgumentCaptor.forClass(ResidentTransactionEntity.class);
+            Mockito.verify(residentTransactionRepository).save(captor.capture());
+            assertEquals("12345", captor.getValue().getRequestTrnId());
+            assertEquals("AUTHENTICATION_FAILED", captor.getValue().getStatusCode());
+        }
+    }
+
 }
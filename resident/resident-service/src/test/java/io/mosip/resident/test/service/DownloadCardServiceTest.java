@@ -25,6 +25,7 @@ import org.springframework.test.context.ContextConfiguration;
 
 import io.mosip.kernel.core.exception.BaseCheckedException;
 import io.mosip.kernel.core.exception.ServiceError;
+import io.mosip.resident.constant.ApiName;
 import io.mosip.resident.constant.PacketStatus;
 import io.mosip.resident.constant.ResidentConstants;
 import io.mosip.resident.constant.ResidentErrorCode;
@@ -281,7 +282,7 @@ public class DownloadCardServiceTest {
         residentCredentialResponseDto.setId("123");
         residentCredentialResponseDto.setRequestId("123");
         responseWrapper.setResponse(residentCredentialResponseDto);
-        Mockito.when(residentServiceRestClient.postApi(any(), any(), any(), any())).thenReturn(responseWrapper);
+        Mockito.when(residentServiceRestClient.postApi(any(ApiName.class), any(), any(), any())).thenReturn(responseWrapper);
 		assertEquals("12345", downloadCardService.getVidCardEventId("123", 0).getT2());
     }
     
@@ -303,7 +304,7 @@ public class DownloadCardServiceTest {
         responseWrapper.setErrors(List.of(new ServiceError(ResidentErrorCode.VID_REQUEST_CARD_FAILED.getErrorCode(),
                 ResidentErrorCode.VID_REQUEST_CARD_FAILED.getErrorMessage())));
         responseWrapper.setResponse(residentCredentialResponseDto);
-        Mockito.when(residentServiceRestClient.postApi(any(), any(), any(), any())).thenReturn(responseWrapper);
+        Mockito.when(residentServiceRestClient.postApi(any(ApiName.class), any(), any(), any())).thenReturn(responseWrapper);
 		downloadCardService.getVidCardEventId("123", 0);
     }
 
@@ -312,7 +313,7 @@ public class DownloadCardServiceTest {
 		ResponseWrapper<VidDownloadCardResponseDto> vidDownloadCardResponseDtoResponseWrapper = new ResponseWrapper<>();
         VidDownloadCardResponseDto vidDownloadCardResponseDto = new VidDownloadCardResponseDto();
         vidDownloadCardResponseDtoResponseWrapper.setResponse(vidDownloadCardResponseDto);
-        Mockito.when(residentServiceRestClient.postApi(any(), any(), any(), any())).thenThrow(new ApisResourceAccessException());
+        Mockito.when(residentServiceRestClient.postApi(any(ApiName.class), any(), any(), any())).thenThrow(new ApisResourceAccessException());
 		downloadCardService.getVidCardEventId("123", 0);
     }
 
@@ -336,7 +337,7 @@ public class DownloadCardServiceTest {
         residentCredentialResponseDto.setId("123");
         residentCredentialResponseDto.setRequestId("123");
         responseWrapper.setResponse(residentCredentialResponseDto);
-        Mockito.when(residentServiceRestClient.postApi(any(), any(), any(), any())).thenReturn(responseWrapper);
+        Mockito.when(residentServiceRestClient.postApi(any(ApiName.class), any(), any(), any())).thenReturn(responseWrapper);
         ResponseWrapper<List<Map<String,?>>> vidResponse = new ResponseWrapper<>();
         Map<String, Object> vidDetails = new HashMap<>();
         vidDetails.put("vidType", "perpetual");
@@ -7,12 +7,14 @@ import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
 import java.net.URI;
 import java.security.PrivateKey;
 import java.security.PublicKey;
+import java.security.cert.X509Certificate;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -41,6 +43,7 @@ import io.mosip.kernel.core.crypto.spi.CryptoCoreSpec;
 import io.mosip.kernel.core.http.ResponseWrapper;
 import io.mosip.kernel.core.util.DateUtils;
 import io.mosip.kernel.keygenerator.bouncycastle.KeyGenerator;
+import io.mosip.resident.constant.ApiName;
 import io.mosip.resident.constant.AuthTypeStatus;
 import io.mosip.resident.constant.IdType;
 import io.mosip.resident.constant.ResidentErrorCode;
@@ -62,6 +65,9 @@ import io.mosip.resident.service.IdAuthService;
 import io.mosip.resident.service.ProxyIdRepoService;
 import io.mosip.resident.service.impl.IdAuthServiceImpl;
 import io.mosip.resident.service.impl.IdentityServiceImpl;
+import io.mosip.resident.util.CertificateCache;
+import io.mosip.resident.util.CertificateCache.CachedCertificate;
+import io.mosip.resident.util.LocalCache;
 import io.mosip.resident.util.ResidentServiceRestClient;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -101,8 +107,15 @@ public class IdAuthServiceTest {
     @Mock
     private IdentityServiceImpl identityService;
 
+    @Mock
+    private CertificateCache certificateCache;
+
     @Before
-    public void setup() {
+    public void setup() throws Exception {
+        lenient().when(certificateCache.getCertificate(anyString(), anyString(), any())).thenAnswer(invocation -> {
+            LocalCache.Loader<String, X509Certificate, Exception> loader = invocation.getArgument(2);
+            return CachedCertificate.of(loader.load(invocation.getArgument(1)));
+        });
 
         // when(environment.getProperty(ApiName.KERNELENCRYPTIONSERVICE.name()))
         // .thenReturn("https://dev.mosip.net/idauthentication/v1/internal/getCertificate");
@@ -112,7 +125,7 @@ public class IdAuthServiceTest {
     @Test
     public void testAuthTypeStatusUpdateSuccess() throws ApisResourceAccessException, ResidentServiceCheckedException {
         AuthTypeStatusResponseDto authTypeStatusResponseDto = new AuthTypeStatusResponseDto();
-        when(restClient.postApi(any(), any(), any(), any())).thenReturn(authTypeStatusResponseDto);
+        when(restClient.postApi(any(ApiName.class), any(), any(), any())).thenReturn(authTypeStatusResponseDto);
         List<String> authTypes = new ArrayList<>();
         authTypes.add("bio");
         Map<String, AuthTypeStatus> authTypeStatusMap=authTypes.stream().distinct().collect(Collectors.toMap(Function.identity(), str -> AuthTypeStatus.LOCK));
@@ -124,7 +137,7 @@ public class IdAuthServiceTest {
     @Test(expected = ApisResourceAccessException.class)
     public void testAuthTypeStatusUpdateFailure() throws ApisResourceAccessException, ResidentServiceCheckedException {
 
-        when(restClient.postApi(any(), any(), any(), any())).thenThrow(new ApisResourceAccessException());
+        when(restClient.postApi(any(ApiName.class), any(), any(), any())).thenThrow(new ApisResourceAccessException());
         List<String> authTypes = new ArrayList<>();
         authTypes.add("bio-FIR");
         Map<String, AuthTypeStatus> authTypeStatusMap=authTypes.stream().distinct().collect(Collectors.toMap(Function.identity(), str -> AuthTypeStatus.LOCK));
@@ -221,7 +234,7 @@ public class IdAuthServiceTest {
 
         when(encryptor.asymmetricEncrypt(any(), any())).thenReturn(request.getBytes());
 
-        when(restClient.postApi(any(), any(), any(), any(Class.class))).thenReturn(response);
+        when(restClient.postApi(any(ApiName.class), any(), any(), any(Class.class))).thenReturn(response);
         when(identityService.getIDATokenForIndividualId(anyString())).thenReturn("346697314566835424394775924659202696");
 		when(residentTransactionRepository.findTopByRequestTrnIdAndTokenIdAndStatusCodeOrderByCrDtimesDesc(anyString(),
 				anyString(), anyString())).thenReturn(residentTransactionEntity);
@@ -286,7 +299,7 @@ public class IdAuthServiceTest {
 
         doReturn(objectMapper.writeValueAsString(responseDto)).when(mapper).writeValueAsString(any());
         doReturn(responseDto).when(mapper).readValue(anyString(), any(Class.class));
-        when(restClient.postApi(any(), any(), any(), any(Class.class))).thenReturn(response);
+        when(restClient.postApi(any(ApiName.class), any(), any(), any(Class.class))).thenReturn(response);
 
         idAuthService.validateOtp(transactionID, individualId, otp);
     }
@@ -363,7 +376,7 @@ public class IdAuthServiceTest {
 		List<ErrorDTO> errorList = new ArrayList<ErrorDTO>();
 		errorList.add(error);
 		authTypeStatusResponseDto.setErrors(errorList);
-        when(restClient.postApi(any(), any(), any(), any())).thenReturn(authTypeStatusResponseDto);
+        when(restClient.postApi(any(ApiName.class), any(), any(), any())).thenReturn(authTypeStatusResponseDto);
         List<String> authTypes = new ArrayList<>();
         authTypes.add("bio-FIR");
         Map<String, AuthTypeStatus> authTypeStatusMap=authTypes.stream().distinct().collect(Collectors.toMap(Function.identity(), str -> AuthTypeStatus.LOCK));
@@ -375,7 +388,7 @@ public class IdAuthServiceTest {
     public void testAuthTypeStatusUpdateUnlockSuccessWithUnlockForSeconds()
             throws ApisResourceAccessException, ResidentServiceCheckedException {
         AuthTypeStatusResponseDto authTypeStatusResponseDto = new AuthTypeStatusResponseDto();
-        when(restClient.postApi(any(), any(), any(), any())).thenReturn(authTypeStatusResponseDto);
+        when(restClient.postApi(any(ApiName.class), any(), any(), any())).thenReturn(authTypeStatusResponseDto);
         List<String> authTypes = new ArrayList<>();
         authTypes.add("bio-FIR");
         boolean isUpdated = idAuthService.authTypeStatusUpdate("1234567891", authTypes, AuthTypeStatus.UNLOCK,
@@ -7,6 +7,8 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.File;
@@ -64,6 +66,8 @@ import io.mosip.resident.service.IdentityService;
 import io.mosip.resident.service.ResidentVidService;
 import io.mosip.resident.service.impl.IdentityServiceImpl;
 import io.mosip.resident.util.AuditUtil;
+import io.mosip.resident.util.IdentityMapping;
+import io.mosip.resident.util.LocalCache;
 import io.mosip.resident.util.ResidentServiceRestClient;
 import io.mosip.resident.util.Utilities;
 import io.mosip.resident.util.Utility;
@@ -217,7 +221,7 @@ public class IdentityServiceTest {
 		File idJson = new File(classLoader.getResource("IdentityMapping.json").getFile());
 		InputStream is = new FileInputStream(idJson);
 		String mappingJson = IOUtils.toString(is, "UTF-8");
-		when(utility.getMappingJson()).thenReturn(mappingJson);
+		when(utility.getIdentityMapping()).thenReturn(IdentityMapping.parse(mappingJson));
 	}
 
 	@Test
@@ -314,6 +318,18 @@ public class IdentityServiceTest {
 		assertEquals("value", result.get("claim"));
 	}
 
+	@Test
+	public void testGetUserInfoServedFromCache() throws Exception {
+		ReflectionTestUtils.setField(identityService, "userInfoCache", new LocalCache<>("userinfo", 10, 60000, null));
+		Tuple3<URI, MultiValueMap<String, String>, Map<String, Object>> tuple3 = loadUserInfoMethod();
+		when(restClientWithPlainRestTemplate.getApi(tuple3.getT1(), String.class, tuple3.getT2()))
+				.thenReturn(objectMapper.writeValueAsString(tuple3.getT3()));
+		ReflectionTestUtils.invokeMethod(identityService, "getUserInfo", token);
+		Map<String, Object> result = ReflectionTestUtils.invokeMethod(identityService, "getUserInfo", token);
+		assertEquals("value", result.get("claim"));
+		verify(restClientWithPlainRestTemplate, times(1)).getApi(tuple3.getT1(), String.class, tuple3.getT2());
+	}
+
 	@Test
 	public void testGetIndividualIdForAid() throws Exception{
 		Tuple3<URI, MultiValueMap<String, String>, Map<String, Object>> tuple3 = loadUserInfoMethod();
@@ -405,8 +421,7 @@ public class IdentityServiceTest {
 		tuple3.getT3().put("photo", "NGFjNzk1OTYyYWRkIiwiYWNyIjoiMSIsInJlYWxtX2FjY2VzcyI6eyJyb2xlcyI6WyJ");
 		when(restClientWithPlainRestTemplate.getApi(tuple3.getT1(), String.class, tuple3.getT2()))
 				.thenReturn(objectMapper.writeValueAsString(tuple3.getT3()));
-		String mappingJson = "mappingJson";
-		when(utility.getMappingJson()).thenReturn(mappingJson);
+		when(utility.getIdentityMapping()).thenThrow(new IOException());
 		IdentityDTO result = identityService.getIdentity("6", false, "eng");
 		assertNotNull(result);
 		assertEquals("6", result.getUIN());
@@ -0,0 +1,120 @@
+package io.mosip.resident.test.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import io.mosip.resident.constant.NotificationTemplateCode;
+import io.mosip.resident.constant.RequestType;
+import io.mosip.resident.constant.TemplateType;
+import io.mosip.resident.dto.NotificationRequestDto;
+import io.mosip.resident.dto.NotificationRequestDtoV2;
+import io.mosip.resident.entity.ResidentNotificationOutboxEntity;
+import io.mosip.resident.helper.ObjectStoreHelper;
+import io.mosip.resident.repository.ResidentNotificationOutboxRepository;
+import io.mosip.resident.repository.ResidentTransactionRepository;
+import io.mosip.resident.service.NotificationOutboxService;
+import io.mosip.resident.service.NotificationService;
+
+@RunWith(MockitoJUnitRunner.class)
+public class NotificationOutboxServiceTest {
+
+	@InjectMocks
+	private NotificationOutboxService notificationOutboxService;
+
+	@Mock
+	private ResidentNotificationOutboxRepository outboxRepository;
+
+	@Mock
+	private ObjectStoreHelper objectStoreHelper;
+
+	@Mock
+	private NotificationService notificationService;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	@Mock
+	private ResidentTransactionRepository residentTransactionRepository;
+
+	@Before
+	public void setUp() {
+		notificationOutboxService.init();
+	}
+
+	@Test
+	public void testEnqueueStoresEncryptedRequest() throws Exception {
+		when(objectStoreHelper.encryptField(anyString())).thenAnswer(invocation -> "enc:" + invocation.getArgument(0));
+		NotificationRequestDtoV2 request = new NotificationRequestDtoV2(TemplateType.SUCCESS, RequestType.GENERATE_VID,
+				"eventId");
+		request.setId("individualId");
+		notificationOutboxService.enqueue(request);
+		ArgumentCaptor<ResidentNotificationOutboxEntity> captor = ArgumentCaptor
+				.forClass(ResidentNotificationOutboxEntity.class);
+		verify(outboxRepository).save(captor.capture());
+		ResidentNotificationOutboxEntity entity = captor.getValue();
+		assertEquals("eventId", entity.getEventId());
+		assertEquals(NotificationOutboxService.PENDING, entity.getStatusCode());
+		assertEquals(0, entity.getAttempts());
+		assertTrue(entity.getPayload().startsWith("enc:"));
+		assertTrue(entity.getPayload().contains("individualId"));
+	}
+
+	@Test
+	public void testSaveWithNotificationsUsesOneTransaction() throws Exception {
+		when(objectStoreHelper.encryptField(anyString())).thenReturn("enc");
+		notificationOutboxService.saveWithNotifications(() -> residentTransactionRepository.saveAll(List.of()),
+				List.of(new NotificationRequestDtoV2(TemplateType.FAILURE, RequestType.AUTH_TYPE_LOCK_UNLOCK, "eventId")));
+		InOrder inOrder = inOrder(transactionManager, residentTransactionRepository, outboxRepository);
+		inOrder.verify(transactionManager).getTransaction(any());
+		inOrder.verify(residentTransactionRepository).saveAll(List.of());
+		inOrder.verify(outboxRepository).saveAll(any());
+		inOrder.verify(transactionManager).commit(any());
+	}
+
+	@Test
+	public void testSaveWithoutNotifications() throws Exception {
+		notificationOutboxService.saveWithNotifications(() -> residentTransactionRepository.saveAll(List.of()),
+				List.of());
+		verify(residentTransactionRepository).saveAll(List.of());
+		verify(outboxRepository, never()).saveAll(any());
+	}
+
+	@Test
+	public void testDeliverSendsStoredRequest() throws Exception {
+		NotificationRequestDto request = new NotificationRequestDto("individualId",
+				NotificationTemplateCode.RS_VIN_GEN_FAILURE, null);
+		ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+		when(objectStoreHelper.encryptField(payload.capture())).thenReturn("enc");
+		notificationOutboxService.enqueue(request);
+		ArgumentCaptor<ResidentNotificationOutboxEntity> captor = ArgumentCaptor
+				.forClass(ResidentNotificationOutboxEntity.class);
+		verify(outboxRepository).save(captor.capture());
+		when(objectStoreHelper.decryptField("enc")).thenReturn(payload.getValue());
+
+		notificationOutboxService.deliver(captor.getValue());
+		ArgumentCaptor<NotificationRequestDto> sent = ArgumentCaptor.forClass(NotificationRequestDto.class);
+		verify(notificationService).sendNotification(sent.capture());
+		assertEquals("individualId", sent.getValue().getId());
+		assertEquals(NotificationTemplateCode.RS_VIN_GEN_FAILURE, sent.getValue().getTemplateTypeCode());
+		assertNull(((NotificationRequestDtoV2) sent.getValue()).getRequestType());
+	}
+}
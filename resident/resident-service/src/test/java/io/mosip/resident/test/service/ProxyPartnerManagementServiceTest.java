@@ -106,6 +106,16 @@ public class ProxyPartnerManagementServiceTest {
 		assertEquals("2345671", result.get("partnerID"));
 	}
 
+	@Test
+	public void testGetPartnerDetailsFromPartnerType() {
+		responseWrapper.setResponse(Map.of("partners", List.of(Map.of("partnerID", "2345671", "partnerType",
+				"Credential_Partner"), Map.of("partnerID", "2345672", "partnerType", "Device_Provider"))));
+		List<Map<String, ?>> result = proxyPartnerManagementService
+				.getPartnerDetailsFromPartnerType("Credential_Partner");
+		assertEquals(1, result.size());
+		assertEquals("2345671", result.get(0).get("partnerID"));
+	}
+
 	@Test(expected = ResidentServiceException.class)
 	public void testGetPartnerDetailFromPartnerIdException() throws ResidentServiceCheckedException, ApisResourceAccessException {
 		when(residentServiceRestClient.getApi(any(), (List<String>) any(), (List<String>) any(), any(), any()))
@@ -158,7 +158,7 @@ public class ResidentCredentialServiceTest {
         String partnerUrl = env.getProperty(ApiName.PARTNER_API_URL.name()) + "/" + residentCredentialRequestDto.getIssuer();
         URI partnerUri = URI.create(partnerUrl);
         when(residentServiceRestClient.getApi(partnerUri, ResponseWrapper.class)).thenReturn(partnerResponseDtoResponseWrapper);
-        when(residentServiceRestClient.postApi(any(), any(), any(), any())).thenReturn(response);
+        when(residentServiceRestClient.postApi(any(ApiName.class), any(), any(), any())).thenReturn(response);
 
         ResidentCredentialResponseDto credentialResponseDto = residentCredentialService.reqCredential(residentCredentialRequestDto);
         assertEquals("10001100010006920211220064226", credentialResponseDto.getRequestId());
@@ -203,7 +203,7 @@ public class ResidentCredentialServiceTest {
         String partnerUrl = env.getProperty(ApiName.PARTNER_API_URL.name()) + "/" + residentCredentialRequestDto.getIssuer();
         URI partnerUri = URI.create(partnerUrl);
         when(residentServiceRestClient.getApi(partnerUri, ResponseWrapper.class)).thenReturn(partnerResponseDtoResponseWrapper);
-        when(residentServiceRestClient.postApi(any(), any(), any(), any())).thenThrow(ApisResourceAccessException.class);
+        when(residentServiceRestClient.postApi(any(ApiName.class), any(), any(), any())).thenThrow(ApisResourceAccessException.class);
         residentCredentialService.reqCredential(residentCredentialRequestDto);
     }
     
@@ -231,7 +231,7 @@ public class ResidentCredentialServiceTest {
         String partnerUrl = env.getProperty(ApiName.PARTNER_API_URL.name()) + "/" + residentCredentialRequestDto.getIssuer();
         URI partnerUri = URI.create(partnerUrl);
         when(residentServiceRestClient.getApi(partnerUri, ResponseWrapper.class)).thenReturn(partnerResponseDtoResponseWrapper);
-        when(residentServiceRestClient.postApi(any(), any(), any(), any())).thenReturn(partnerResponseDtoResponseWrapper);
+        when(residentServiceRestClient.postApi(any(ApiName.class), any(), any(), any())).thenReturn(partnerResponseDtoResponseWrapper);
 
         residentCredentialService.reqCredential(residentCredentialRequestDto);
     }
@@ -259,7 +259,7 @@ public class ResidentCredentialServiceTest {
         String partnerUrl = env.getProperty(ApiName.PARTNER_API_URL.name()) + "/" + residentCredentialRequestDto.getIssuer();
         URI partnerUri = URI.create(partnerUrl);
         when(residentServiceRestClient.getApi(partnerUri, ResponseWrapper.class)).thenReturn(partnerResponseDtoResponseWrapper);
-        when(residentServiceRestClient.postApi(any(), any(), any(), any())).thenReturn(response);
+        when(residentServiceRestClient.postApi(any(ApiName.class), any(), any(), any())).thenReturn(response);
 
         Tuple2<ResidentCredentialResponseDtoV2, String> credentialResponseDto = residentCredentialService.shareCredential(residentCredentialRequestDto,"SHARE_CRED_WITH_PARTNER");
         assertNotNull(credentialResponseDto.getT1().getStatus());
@@ -288,7 +288,7 @@ public class ResidentCredentialServiceTest {
         String partnerUrl = env.getProperty(ApiName.PARTNER_API_URL.name()) + "/" + residentCredentialRequestDto.getIssuer();
         URI partnerUri = URI.create(partnerUrl);
         when(residentServiceRestClient.getApi(partnerUri, ResponseWrapper.class)).thenReturn(partnerResponseDtoResponseWrapper);
-        when(residentServiceRestClient.postApi(any(), any(), any(), any())).thenReturn(response);
+        when(residentServiceRestClient.postApi(any(ApiName.class), any(), any(), any())).thenReturn(response);
 
         Tuple2<ResidentCredentialResponseDtoV2, String> credentialResponseDto = residentCredentialService.shareCredential(residentCredentialRequestDto,"SHARE_CRED_WITH_PARTNER","Banking");
         assertNotNull(credentialResponseDto.getT1().getStatus());
@@ -318,7 +318,7 @@ public class ResidentCredentialServiceTest {
         String partnerUrl = env.getProperty(ApiName.PARTNER_API_URL.name()) + "/" + residentCredentialRequestDto.getIssuer();
         URI partnerUri = URI.create(partnerUrl);
         when(residentServiceRestClient.getApi(partnerUri, ResponseWrapper.class)).thenReturn(partnerResponseDtoResponseWrapper);
-        when(residentServiceRestClient.postApi(any(), any(), any(), any())).thenReturn(response);
+        when(residentServiceRestClient.postApi(any(ApiName.class), any(), any(), any())).thenReturn(response);
 
         Tuple2<ResidentCredentialResponseDtoV2, String> credentialResponseDto = residentCredentialService.shareCredential(residentCredentialRequestDto,"SHARE_CRED_WITH_PARTNER");
         assertNotNull(credentialResponseDto.getT1().getStatus());
@@ -347,7 +347,7 @@ public class ResidentCredentialServiceTest {
         String partnerUrl = env.getProperty(ApiName.PARTNER_API_URL.name()) + "/" + residentCredentialRequestDto.getIssuer();
         URI partnerUri = URI.create(partnerUrl);
         when(residentServiceRestClient.getApi(partnerUri, ResponseWrapper.class)).thenReturn(partnerResponseDtoResponseWrapper);
-        when(residentServiceRestClient.postApi(any(), any(), any(), any())).thenThrow(ApisResourceAccessException.class);
+        when(residentServiceRestClient.postApi(any(ApiName.class), any(), any(), any())).thenThrow(ApisResourceAccessException.class);
         residentCredentialService.shareCredential(residentCredentialRequestDto,"SHARE_CRED_WITH_PARTNER");
     }
 
@@ -373,7 +373,7 @@ public class ResidentCredentialServiceTest {
         String partnerUrl = env.getProperty(ApiName.PARTNER_API_URL.name()) + "/" + residentCredentialRequestDto.getIssuer();
         URI partnerUri = URI.create(partnerUrl);
         when(residentServiceRestClient.getApi(partnerUri, ResponseWrapper.class)).thenReturn(partnerResponseDtoResponseWrapper);
-        when(residentServiceRestClient.postApi(any(), any(), any(), any())).thenReturn(partnerResponseDtoResponseWrapper);
+        when(residentServiceRestClient.postApi(any(ApiName.class), any(), any(), any())).thenReturn(partnerResponseDtoResponseWrapper);
 
         residentCredentialService.shareCredential(residentCredentialRequestDto,"SHARE_CRED_WITH_PARTNER");
     }
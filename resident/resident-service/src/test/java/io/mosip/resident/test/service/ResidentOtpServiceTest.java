@@ -1,7 +1,7 @@
 package io.mosip.resident.test.service;
 
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -15,7 +15,6 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
-import org.springframework.core.env.Environment;
 import org.springframework.test.context.ContextConfiguration;
 
 import io.mosip.resident.constant.ApiName;
@@ -39,9 +38,6 @@ public class ResidentOtpServiceTest {
     @Mock
     private ResidentServiceRestClient residentServiceRestClient;
 
-    @Mock
-    Environment env;
-
     @Mock
     private AuditUtil audit;
 
@@ -60,25 +56,20 @@ public class ResidentOtpServiceTest {
 
     @Test
     public void testGenerateOtp() throws ApisResourceAccessException, ResidentServiceCheckedException, NoSuchAlgorithmException {
-        String otpAPIUrl = "https://dev2.mosip.net/idauthentication/v1/internal/otp";
         OtpResponseDTO otpResponseDTO = new OtpResponseDTO();
-        when(env.getProperty(ApiName.OTP_GEN_URL.name())).thenReturn(otpAPIUrl);
-        when(residentServiceRestClient.postApi(anyString(), any(), any(), any(Class.class))).thenReturn(otpResponseDTO);
+        when(residentServiceRestClient.postApi(any(ApiName.class), any(), any(), any(Class.class))).thenReturn(otpResponseDTO);
 
         OtpRequestDTO otpRequestDTO = new OtpRequestDTO();
         otpRequestDTO.setIndividualId("8251649601");
 
         residentOtpService.generateOtp(otpRequestDTO);
 
-        verify(residentServiceRestClient, times(1)).postApi(anyString(), any(), any(), any(Class.class));
-        verify(env, times(1)).getProperty(ApiName.OTP_GEN_URL.name());
+        verify(residentServiceRestClient, times(1)).postApi(eq(ApiName.OTP_GEN_URL), any(), any(), any(Class.class));
     }
 
     @Test(expected = ResidentServiceException.class)
     public void testGenerateOtpThrowsResidentServiceException() throws ApisResourceAccessException, ResidentServiceCheckedException, NoSuchAlgorithmException {
-        String otpAPIUrl = "https://dev2.mosip.net/idauthentication/v1/internal/otp";
-        when(env.getProperty(ApiName.OTP_GEN_URL.name())).thenReturn(otpAPIUrl);
-        when(residentServiceRestClient.postApi(anyString(), any(), any(), any(Class.class))).thenThrow(new ApisResourceAccessException());
+        when(residentServiceRestClient.postApi(any(ApiName.class), any(), any(), any(Class.class))).thenThrow(new ApisResourceAccessException());
 
         OtpRequestDTO otpRequestDTO = new OtpRequestDTO();
         residentOtpService.generateOtp(otpRequestDTO);
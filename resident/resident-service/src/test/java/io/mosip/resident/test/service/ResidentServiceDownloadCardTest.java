@@ -7,7 +7,6 @@ import static org.mockito.Mockito.when;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.math.BigInteger;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
@@ -17,8 +16,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
-import javax.persistence.EntityManager;
-import javax.persistence.Query;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -110,9 +107,6 @@ public class ResidentServiceDownloadCardTest {
     @Mock
     private TemplateManager templateManager;
     
-    @Mock
-	private EntityManager entityManager;
-    
     @Mock
     private Utility utility;
 
@@ -121,7 +115,6 @@ public class ResidentServiceDownloadCardTest {
     private String idType;
     private String resultResponse;
 
-    private Query query;
     private Optional<ResidentTransactionEntity> residentTransactionEntity;
     private ResponseWrapper<DigitalCardStatusResponseDto> responseDto;
     DigitalCardStatusResponseDto digitalCardStatusResponseDto;
@@ -150,10 +143,7 @@ public class ResidentServiceDownloadCardTest {
         Mockito.when(environment.getProperty(Mockito.anyString())).thenReturn(ApiName.DIGITAL_CARD_STATUS_URL.toString());
         Mockito.when(residentServiceRestClient.getApi((URI)any(), any(Class.class))).thenReturn(responseDto);
         Mockito.when(objectStoreHelper.decryptData(Mockito.anyString(), Mockito.anyString(), Mockito.anyString())).thenReturn("ZGF0YQ==");
-        query = Mockito.mock(Query.class);
-        Mockito.when(entityManager.createNativeQuery(Mockito.anyString(), (Class) Mockito.any())).thenReturn(query);
-        Mockito.when(entityManager.createNativeQuery(Mockito.anyString())).thenReturn(query);
-        Mockito.when(query.getSingleResult()).thenReturn(BigInteger.valueOf(1));
+        Mockito.when(residentTransactionRepository.countServiceHistory(Mockito.any())).thenReturn(1L);
     }
 
     @Test
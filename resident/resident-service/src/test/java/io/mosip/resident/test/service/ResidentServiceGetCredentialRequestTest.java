@@ -17,6 +17,7 @@ import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.core.env.Environment;
 
 import io.mosip.kernel.core.idvalidator.spi.RidValidator;
+import io.mosip.resident.constant.ApiName;
 import io.mosip.resident.dto.RegistrationStatusDTO;
 import io.mosip.resident.dto.RegistrationStatusResponseDTO;
 import io.mosip.resident.dto.RequestDTO;
@@ -35,7 +36,6 @@ public class ResidentServiceGetCredentialRequestTest {
     private static final String DATETIME_PATTERN = "mosip.utc-datetime-pattern";
     private static final String STATUS_CHECK_ID = "mosip.resident.service.status.check.id";
     private static final String STATUS_CHECEK_VERSION = "mosip.resident.service.status.check.version";
-    private static final String REGISTRATIONSTATUSSEARCH = "REGISTRATIONSTATUSSEARCH";
     @Mock
     ResidentServiceRestClient residentServiceRestClient;
 
@@ -71,7 +71,6 @@ public class ResidentServiceGetCredentialRequestTest {
         Mockito.when(env.getProperty(STATUS_CHECK_ID)).thenReturn("id");
         Mockito.when(env.getProperty(STATUS_CHECEK_VERSION)).thenReturn("version");
         Mockito.when(env.getProperty(DATETIME_PATTERN)).thenReturn("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
-        Mockito.when(env.getProperty(REGISTRATIONSTATUSSEARCH)).thenReturn(REGISTRATIONSTATUSSEARCH);
 
 
         responseWrapper = new RegistrationStatusResponseDTO();
@@ -84,7 +83,7 @@ public class ResidentServiceGetCredentialRequestTest {
         list.add(response);
         responseWrapper.setResponse(list);
 
-        Mockito.when(residentServiceRestClient.postApi(any(), any(), any(), any())).thenReturn(responseWrapper);
+        Mockito.when(residentServiceRestClient.postApi(any(ApiName.class), any(), any(), any())).thenReturn(responseWrapper);
         Mockito.doNothing().when(audit).setAuditRequestDto(Mockito.any());
     }
 
@@ -8,10 +8,13 @@ import io.mosip.resident.constant.ServiceType;
 import io.mosip.resident.dto.AidStatusRequestDTO;
 import io.mosip.resident.dto.AutnTxnDto;
 import io.mosip.resident.dto.PageDto;
+import io.mosip.resident.dto.ServiceHistoryFilterDto;
+import io.mosip.resident.dto.ServiceHistoryPageToken;
 import io.mosip.resident.dto.ServiceHistoryResponseDto;
 import io.mosip.resident.entity.ResidentSessionEntity;
 import io.mosip.resident.entity.ResidentTransactionEntity;
 import io.mosip.resident.exception.ApisResourceAccessException;
+import io.mosip.resident.exception.InvalidInputException;
 import io.mosip.resident.exception.OtpValidationFailedException;
 import io.mosip.resident.exception.ResidentServiceCheckedException;
 import io.mosip.resident.exception.ResidentServiceException;
@@ -31,6 +34,7 @@ import io.mosip.resident.validator.RequestValidator;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -40,10 +44,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.test.context.junit4.SpringRunner;
 
-import javax.persistence.EntityManager;
-import javax.persistence.Query;
 import java.io.IOException;
-import java.math.BigInteger;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -51,6 +52,8 @@ import java.util.List;
 import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 
 /**
  * This class is used to test the get service history service
@@ -102,8 +105,6 @@ public class ResidentServiceGetServiceHistoryTest {
     @Mock
     private ProxyMasterdataService proxyMasterdataService;
 
-    @Mock
-    private EntityManager entityManager;
 
     List<AutnTxnDto> details = null;
 
@@ -124,7 +125,6 @@ public class ResidentServiceGetServiceHistoryTest {
 
     private ResidentSessionEntity residentSessionEntity;
 
-    private Query query;
 
     @Before
     public void setup() throws ResidentServiceCheckedException, ApisResourceAccessException, IOException {
@@ -152,10 +152,7 @@ public class ResidentServiceGetServiceHistoryTest {
         partnerIds.add("m-partner-default-auth");
         partnerIds.add("MOVP");
 
-        query = Mockito.mock(Query.class);
-        Mockito.when(entityManager.createNativeQuery(Mockito.anyString(), (Class) Mockito.any())).thenReturn(query);
-        Mockito.when(entityManager.createNativeQuery(Mockito.anyString())).thenReturn(query);
-        Mockito.when(query.getSingleResult()).thenReturn(BigInteger.valueOf(1));
+        Mockito.when(residentTransactionRepository.countServiceHistory(Mockito.any())).thenReturn(1L);
 
         Mockito.when(residentTransactionRepository.findByTokenAndTransactionType(Mockito.anyString(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyString())).thenReturn(residentTransactionEntityList);
 
@@ -362,6 +359,69 @@ public class ResidentServiceGetServiceHistoryTest {
                 null, "123", "eng", 0).getResponse().getPageSize());
 
     }
+    @Test
+    public void testGetServiceHistoryReturnsNextPageToken() throws ResidentServiceCheckedException, ApisResourceAccessException {
+        Mockito.when(residentTransactionRepository.countServiceHistory(Mockito.any())).thenReturn(5L);
+        Mockito.when(residentTransactionRepository.findServiceHistory(Mockito.any(), Mockito.isNull(), Mockito.anyInt(), Mockito.anyInt()))
+                .thenReturn(List.of(residentTransactionEntity, residentTransactionEntity, residentTransactionEntity));
+        PageDto<ServiceHistoryResponseDto> firstPage = residentServiceImpl.getServiceHistory(0, 2, null, null,
+                null, sortType, null, null, "eng", 0).getResponse();
+        assertEquals(2, firstPage.getData().size());
+        assertEquals(5, firstPage.getTotalItems());
+        assertNotNull(firstPage.getNextPageToken());
+
+        ArgumentCaptor<ServiceHistoryFilterDto> filter = ArgumentCaptor.forClass(ServiceHistoryFilterDto.class);
+        Mockito.verify(residentTransactionRepository).findServiceHistory(filter.capture(), Mockito.isNull(),
+                Mockito.anyInt(), Mockito.anyInt());
+        ServiceHistoryPageToken pageToken = ServiceHistoryPageToken.decode(firstPage.getNextPageToken(),
+                filter.getValue());
+        assertEquals(residentTransactionEntity.getEventId(), pageToken.getEventId());
+        assertEquals(residentTransactionEntity.getCrDtimes(), pageToken.getCrDtimes());
+        Mockito.when(residentTransactionRepository.findServiceHistory(Mockito.any(), Mockito.any(ServiceHistoryPageToken.class), Mockito.anyInt(), Mockito.anyInt()))
+                .thenReturn(List.of(residentTransactionEntity));
+        PageDto<ServiceHistoryResponseDto> nextPage = residentServiceImpl.getServiceHistory(1, 2, null, null,
+                null, sortType, null, null, "eng", 0, firstPage.getNextPageToken()).getResponse();
+        assertEquals(1, nextPage.getData().size());
+        assertEquals(5, nextPage.getTotalItems());
+        assertNull(nextPage.getNextPageToken());
+        Mockito.verify(residentTransactionRepository, Mockito.times(1)).countServiceHistory(Mockito.any());
+    }
+
+    @Test(expected = InvalidInputException.class)
+    public void testGetServiceHistoryRejectsPageTokenOfOtherFilter() throws ResidentServiceCheckedException, ApisResourceAccessException {
+        Mockito.when(residentTransactionRepository.countServiceHistory(Mockito.any())).thenReturn(5L);
+        Mockito.when(residentTransactionRepository.findServiceHistory(Mockito.any(), Mockito.isNull(), Mockito.anyInt(), Mockito.anyInt()))
+                .thenReturn(List.of(residentTransactionEntity, residentTransactionEntity, residentTransactionEntity));
+        String nextPageToken = residentServiceImpl.getServiceHistory(0, 2, null, null,
+                null, "ASC", null, null, "eng", 0).getResponse().getNextPageToken();
+        residentServiceImpl.getServiceHistory(1, 2, null, null, null, "DESC", null, null, "eng", 0, nextPageToken);
+    }
+
+    @Test
+    public void testGetServiceHistoryFetchesTemplatesOncePerPage() throws ResidentServiceCheckedException, ApisResourceAccessException {
+        List<ResidentTransactionEntity> page = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            ResidentTransactionEntity entity = new ResidentTransactionEntity();
+            entity.setEventId("eventId" + i);
+            entity.setRequestTypeCode(RequestType.AUTHENTICATION_REQUEST.name());
+            entity.setStatusCode(EventStatusSuccess.AUTHENTICATION_SUCCESSFUL.name());
+            entity.setCrDtimes(LocalDateTime.now());
+            page.add(entity);
+        }
+        Mockito.when(residentTransactionRepository.findServiceHistory(Mockito.any(), Mockito.any(), Mockito.anyInt(), Mockito.anyInt()))
+                .thenReturn(page);
+        assertEquals(10, residentServiceImpl.getServiceHistory(0, 10, null, null,
+                null, sortType, null, null, "eng", 0).getResponse().getData().size());
+        Mockito.verify(proxyMasterdataService, Mockito.times(1))
+                .getAllTemplateBylangCodeAndTemplateTypeCode(Mockito.anyString(), Mockito.anyString());
+        Mockito.verify(residentTransactionRepository, Mockito.never()).findById(Mockito.anyString());
+    }
+
+    @Test(expected = InvalidInputException.class)
+    public void testGetServiceHistoryInvalidPageToken() throws ResidentServiceCheckedException, ApisResourceAccessException {
+        residentServiceImpl.getServiceHistory(0, 2, null, null, null, sortType, null, null, "eng", 0, "invalid-token");
+    }
+
     @Test
     public void testGetAidStatus() throws OtpValidationFailedException, ResidentServiceCheckedException, ApisResourceAccessException {
         AidStatusRequestDTO aidStatusRequestDTO = new AidStatusRequestDTO();
@@ -23,6 +23,7 @@ import org.springframework.web.client.HttpServerErrorException;
 import io.mosip.kernel.core.exception.BaseCheckedException;
 import io.mosip.kernel.core.exception.ServiceError;
 import io.mosip.kernel.core.idvalidator.spi.UinValidator;
+import io.mosip.resident.constant.ApiName;
 import io.mosip.resident.constant.IdType;
 import io.mosip.resident.dto.NotificationResponseDTO;
 import io.mosip.resident.dto.PacketGeneratorResDto;
@@ -177,7 +178,7 @@ public class ResidentServiceReqReprintTest {
 		reprintResp.setRegistrationId("10008200070004620191203115734");
 		reprintResp.setStatus("success");
 		response.setResponse(reprintResp);
-		Mockito.when(residentServiceRestClient.postApi(any(), any(), any(), any())).thenReturn(response);
+		Mockito.when(residentServiceRestClient.postApi(any(ApiName.class), any(), any(), any())).thenReturn(response);
 		NotificationResponseDTO notificationResponse = new NotificationResponseDTO();
 		notificationResponse.setMessage("Notification sent to registered contact details");
 		notificationResponse.setStatus("success");
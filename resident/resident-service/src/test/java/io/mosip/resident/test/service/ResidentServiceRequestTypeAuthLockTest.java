@@ -41,6 +41,7 @@ import io.mosip.resident.exception.ResidentServiceException;
 import io.mosip.resident.repository.ResidentTransactionRepository;
 import io.mosip.resident.service.DocumentService;
 import io.mosip.resident.service.IdAuthService;
+import io.mosip.resident.service.NotificationOutboxService;
 import io.mosip.resident.service.NotificationService;
 import io.mosip.resident.service.PartnerService;
 import io.mosip.resident.service.ResidentService;
@@ -48,6 +49,7 @@ import io.mosip.resident.service.impl.IdentityServiceImpl;
 import io.mosip.resident.service.impl.PartnerServiceImpl;
 import io.mosip.resident.service.impl.ResidentServiceImpl;
 import io.mosip.resident.util.AuditUtil;
+import io.mosip.resident.util.EventEnum;
 import io.mosip.resident.util.UINCardDownloadService;
 import io.mosip.resident.util.Utility;
 import reactor.util.function.Tuple2;
@@ -153,6 +155,25 @@ public class ResidentServiceRequestTypeAuthLockTest {
 		}
 	}
 
+	@Test
+	public void testReqAuthTypeStatusUpdateAuditsQueuedNotification()
+			throws ApisResourceAccessException, ResidentServiceCheckedException {
+		NotificationOutboxService notificationOutbox = Mockito.mock(NotificationOutboxService.class);
+		ReflectionTestUtils.setField(residentService, "notificationOutbox", notificationOutbox);
+		AuthLockOrUnLockRequestDtoV2 authLockOrUnLockRequestDtoV2 = new AuthLockOrUnLockRequestDtoV2();
+		AuthTypeStatusDtoV2 authTypeStatusDto = new AuthTypeStatusDtoV2();
+		authTypeStatusDto.setAuthType("OTP");
+		authTypeStatusDto.setLocked(true);
+		authTypeStatusDto.setUnlockForSeconds(10L);
+		authLockOrUnLockRequestDtoV2.setAuthTypes(List.of(authTypeStatusDto));
+		Mockito.when(idAuthService.authTypeStatusUpdateForRequestId(any(), any(), any())).thenReturn("123");
+		residentService.reqAauthTypeStatusUpdateV2(authLockOrUnLockRequestDtoV2);
+		Mockito.verify(notificationOutbox).saveWithNotifications(any(), any());
+		Mockito.verify(audit).setAuditRequestDto(EventEnum.SEND_NOTIFICATION_QUEUED);
+		Mockito.verify(audit, Mockito.never()).setAuditRequestDto(EventEnum.SEND_NOTIFICATION_SUCCESS);
+		Mockito.verify(notificationService, Mockito.never()).sendNotification(any());
+	}
+
 	@Test(expected = ResidentServiceException.class)
 	public void testReqAuthTypeLockFailed()
 			throws ApisResourceAccessException, ResidentServiceCheckedException {
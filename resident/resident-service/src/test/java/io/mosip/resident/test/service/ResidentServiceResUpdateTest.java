@@ -75,6 +75,7 @@ import io.mosip.resident.service.ProxyMasterdataService;
 import io.mosip.resident.service.impl.IdentityServiceImpl;
 import io.mosip.resident.service.impl.ResidentServiceImpl;
 import io.mosip.resident.util.AuditUtil;
+import io.mosip.resident.util.IdentityMapping;
 import io.mosip.resident.util.ResidentServiceRestClient;
 import io.mosip.resident.util.Utilities;
 import io.mosip.resident.util.Utility;
@@ -188,7 +189,7 @@ public class ResidentServiceResUpdateTest {
 		File idJson = new File(classLoader.getResource("IdentityMapping.json").getFile());
 		InputStream is = new FileInputStream(idJson);
 		String mappingJson = IOUtils.toString(is, "UTF-8");
-		Mockito.when(utility.getMappingJson()).thenReturn(mappingJson);
+		Mockito.when(utility.getIdentityMapping()).thenReturn(IdentityMapping.parse(mappingJson));
 
 		Mockito.when(idAuthService.validateOtp(Mockito.anyString(), Mockito.anyString(), Mockito.anyString()))
 				.thenReturn(true);
@@ -230,12 +231,10 @@ public class ResidentServiceResUpdateTest {
 		updateDto.setRegistrationId("10008100670001720191120095702");
 		Mockito.when(residentUpdateService.createPacket(any())).thenReturn(updateDto);
 
-		Mockito.when(env.getProperty(ApiName.PACKETSIGNPUBLICKEY.name())).thenReturn("PACKETSIGNPUBLICKEY");
-		Mockito.when(env.getProperty(ApiName.MACHINESEARCH.name())).thenReturn("MACHINESEARCH");
 
-		Mockito.when(residentServiceRestClient.postApi(eq("PACKETSIGNPUBLICKEY"), any(MediaType.class),
+		Mockito.when(residentServiceRestClient.postApi(eq(ApiName.PACKETSIGNPUBLICKEY), any(MediaType.class),
 				any(HttpEntity.class), eq(PacketSignPublicKeyResponseDTO.class))).thenReturn(responseDto);
-		Mockito.when(residentServiceRestClient.postApi(eq("MACHINESEARCH"), any(MediaType.class), any(HttpEntity.class),
+		Mockito.when(residentServiceRestClient.postApi(eq(ApiName.MACHINESEARCH), any(MediaType.class), any(HttpEntity.class),
 				eq(MachineSearchResponseDTO.class))).thenReturn(machineSearchResponseDTO);
 
 		when(utilities.getLanguageCode()).thenReturn("eng");
@@ -244,7 +243,7 @@ public class ResidentServiceResUpdateTest {
 	@Test(expected = ResidentServiceException.class)
 	public void reqUinUpdateGetPublicKeyFromKeyManagerThrowsApiResourceExceptionTest()
 			throws ResidentServiceCheckedException, ApisResourceAccessException {
-		when(residentServiceRestClient.postApi(eq("PACKETSIGNPUBLICKEY"), any(MediaType.class), any(HttpEntity.class),
+		when(residentServiceRestClient.postApi(eq(ApiName.PACKETSIGNPUBLICKEY), any(MediaType.class), any(HttpEntity.class),
 				eq(PacketSignPublicKeyResponseDTO.class))).thenThrow(new ApisResourceAccessException());
 		residentServiceImpl.reqUinUpdate(dto);
 	}
@@ -262,7 +261,7 @@ public class ResidentServiceResUpdateTest {
 		responseDto.setVersion(null);
 		responseDto.setResponsetime("2022-01-28T06:51:30.286Z");
 		responseDto.setErrors(errorDTOS);
-		when(residentServiceRestClient.postApi(any(), any(), any(), any(Class.class))).thenReturn(responseDto);
+		when(residentServiceRestClient.postApi(any(ApiName.class), any(), any(), any(Class.class))).thenReturn(responseDto);
 		residentServiceImpl.reqUinUpdate(dto);
 	}
 
@@ -274,14 +273,14 @@ public class ResidentServiceResUpdateTest {
 		responseDto.setVersion(null);
 		responseDto.setResponsetime("2022-01-28T06:51:30.286Z");
 		responseDto.setResponse(null);
-		when(residentServiceRestClient.postApi(any(), any(), any(), any(Class.class))).thenReturn(responseDto);
+		when(residentServiceRestClient.postApi(any(ApiName.class), any(), any(), any(Class.class))).thenReturn(responseDto);
 		residentServiceImpl.reqUinUpdate(dto);
 	}
 
 	@Test(expected = ResidentServiceException.class)
 	public void reqUinUpdateSearchMachineInMasterServiceThrowsApisResourceAccessExceptionTest()
 			throws ApisResourceAccessException, ResidentServiceCheckedException, OtpValidationFailedException {
-		Mockito.when(residentServiceRestClient.postApi(eq("MACHINESEARCH"), any(MediaType.class), any(HttpEntity.class),
+		Mockito.when(residentServiceRestClient.postApi(eq(ApiName.MACHINESEARCH), any(MediaType.class), any(HttpEntity.class),
 				eq(MachineSearchResponseDTO.class))).thenThrow(new ApisResourceAccessException());
 		residentServiceImpl.reqUinUpdate(dto);
 
@@ -301,7 +300,7 @@ public class ResidentServiceResUpdateTest {
 		machineSearchResponseDTO.setVersion("1.0");
 		machineSearchResponseDTO.setResponsetime("2022-01-28T06:25:23.958Z");
 		machineSearchResponseDTO.setErrors(errorDTOS);
-		when(residentServiceRestClient.postApi(eq("MACHINESEARCH"), any(MediaType.class), any(HttpEntity.class),
+		when(residentServiceRestClient.postApi(eq(ApiName.MACHINESEARCH), any(MediaType.class), any(HttpEntity.class),
 				eq(MachineSearchResponseDTO.class))).thenReturn(machineSearchResponseDTO);
 		residentServiceImpl.reqUinUpdate(dto);
 	}
@@ -323,7 +322,7 @@ public class ResidentServiceResUpdateTest {
 	@Test(expected = ResidentServiceException.class)
 	public void reqUinUpdateGetMachineIdTestWithSecureSessionDemographicEntityFailed() throws BaseCheckedException, IOException {
 		IdentityServiceTest.getAuthUserDetailsFromAuthentication();
-		Mockito.when(utility.getMappingJson()).thenReturn(null);
+		Mockito.when(utility.getIdentityMapping()).thenReturn(null);
 		Tuple2<Object, String> residentUpdateResponseDTO = residentServiceImpl.reqUinUpdate(dto);
 		assertEquals(((ResidentUpdateResponseDTO) residentUpdateResponseDTO.getT1()).getRegistrationId(), updateDto.getRegistrationId());
 	}
@@ -355,7 +354,7 @@ public class ResidentServiceResUpdateTest {
 		machineSearchResponseDTO.setVersion("1.0");
 		machineSearchResponseDTO.setResponsetime("2022-01-28T06:25:23.958Z");
 		machineSearchResponseDTO.setResponse(response);
-		Mockito.when(residentServiceRestClient.postApi(eq("MACHINESEARCH"), any(MediaType.class), any(HttpEntity.class),
+		Mockito.when(residentServiceRestClient.postApi(eq(ApiName.MACHINESEARCH), any(MediaType.class), any(HttpEntity.class),
 				eq(MachineSearchResponseDTO.class))).thenReturn(machineSearchResponseDTO);
 
 		MachineCreateResponseDTO machineCreateResponseDTO = new MachineCreateResponseDTO();
@@ -368,19 +367,18 @@ public class ResidentServiceResUpdateTest {
 		newMachineDTO.setPublicKey(publicKey);
 		newMachineDTO.setSignPublicKey(publicKey);
 		machineCreateResponseDTO.setResponse(newMachineDTO);
-		Mockito.when(env.getProperty(ApiName.MACHINECREATE.name())).thenReturn("MACHINECREATE");
-		Mockito.when(residentServiceRestClient.postApi(eq("MACHINECREATE"), any(MediaType.class), any(HttpEntity.class),
+		Mockito.when(residentServiceRestClient.postApi(eq(ApiName.MACHINECREATE), any(MediaType.class), any(HttpEntity.class),
 				eq(MachineCreateResponseDTO.class))).thenReturn(machineCreateResponseDTO);
 		Tuple2<Object, String> residentUpdateResponseDTO = residentServiceImpl.reqUinUpdate(dto);
 		assertEquals(((ResidentUpdateResponseDTO) residentUpdateResponseDTO.getT1()).getRegistrationId(), updateDto.getRegistrationId());
-		verify(residentServiceRestClient, atLeast(3)).postApi(any(), any(), any(), any(Class.class));
+		verify(residentServiceRestClient, atLeast(3)).postApi(any(ApiName.class), any(), any(), any(Class.class));
 	}
 
 	@Test
 	public void reqUinUpdateGetMachineIdReturnsTest() throws BaseCheckedException, IOException {
 		Tuple2<Object, String> residentUpdateResponseDTO = residentServiceImpl.reqUinUpdate(dto);
 		assertEquals(((ResidentUpdateResponseDTO) residentUpdateResponseDTO.getT1()).getRegistrationId(), updateDto.getRegistrationId());
-		verify(residentServiceRestClient, atLeast(2)).postApi(any(), any(), any(), any(Class.class));
+		verify(residentServiceRestClient, atLeast(2)).postApi(any(ApiName.class), any(), any(), any(Class.class));
 	}
 
 	@Test(expected = ResidentServiceException.class)
@@ -403,8 +401,8 @@ public class ResidentServiceResUpdateTest {
 	}
 
 	@Test(expected = ResidentServiceException.class)
-	public void JsonParsingException() throws ResidentServiceCheckedException {
-		Mockito.when(utility.getMappingJson()).thenReturn(null);
+	public void JsonParsingException() throws ResidentServiceCheckedException, IOException {
+		Mockito.when(utility.getIdentityMapping()).thenReturn(null);
 		residentServiceImpl.reqUinUpdate(dto);
 
 	}
@@ -6,15 +6,19 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.mosip.kernel.core.exception.ServiceError;
 import io.mosip.kernel.core.util.DateUtils;
+import io.mosip.resident.constant.ApiName;
 import io.mosip.resident.constant.ResidentConstants;
+import io.mosip.resident.constant.TemplateType;
 import io.mosip.resident.dto.IdentityDTO;
 import io.mosip.resident.dto.NotificationRequestDto;
+import io.mosip.resident.dto.NotificationRequestDtoV2;
 import io.mosip.resident.dto.NotificationResponseDTO;
 import io.mosip.resident.dto.ResponseWrapper;
 import io.mosip.resident.dto.VidGeneratorResponseDto;
 import io.mosip.resident.dto.VidRequestDto;
 import io.mosip.resident.dto.VidResponseDto;
 import io.mosip.resident.dto.VidRevokeRequestDTO;
+import io.mosip.resident.dto.VidRevokeRequestDTOV2;
 import io.mosip.resident.dto.VidRevokeResponseDTO;
 import io.mosip.resident.entity.ResidentTransactionEntity;
 import io.mosip.resident.exception.ApisResourceAccessException;
@@ -23,10 +27,12 @@ import io.mosip.resident.exception.ResidentServiceCheckedException;
 import io.mosip.resident.exception.VidRevocationException;
 import io.mosip.resident.repository.ResidentTransactionRepository;
 import io.mosip.resident.service.IdAuthService;
+import io.mosip.resident.service.NotificationOutboxService;
 import io.mosip.resident.service.NotificationService;
 import io.mosip.resident.service.impl.IdentityServiceImpl;
 import io.mosip.resident.service.impl.ResidentVidServiceImpl;
 import io.mosip.resident.util.AuditUtil;
+import io.mosip.resident.util.IdentityResolutionCache;
 import io.mosip.resident.util.JsonUtil;
 import io.mosip.resident.util.ResidentServiceRestClient;
 import io.mosip.resident.util.Utility;
@@ -36,6 +42,7 @@ import org.json.simple.JSONObject;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -58,7 +65,9 @@ import java.util.Map;
 import java.util.UUID;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doReturn;
@@ -190,7 +199,7 @@ public class ResidentVidServiceTest {
         response.setResponse(vidGeneratorResponseDto);
 
         when(idAuthService.validateOtp(anyString(), anyString(), anyString())).thenThrow(new ApisResourceAccessException());
-        when(residentServiceRestClient.postApi(any(), any(), any(), any())).thenReturn(response);
+        when(residentServiceRestClient.postApi(any(ApiName.class), any(), any(), any())).thenReturn(response);
 
         ResponseWrapper<VidResponseDto> result = residentVidService.generateVid(requestDto, vid);
         if(result!=null) {
@@ -269,13 +278,37 @@ public class ResidentVidServiceTest {
 		
 		doReturn(dto).when(mapper).convertValue(any(), any(Class.class));
 		when(idAuthService.validateOtp(anyString(), anyString(), anyString())).thenReturn(Boolean.TRUE);
-		when(residentServiceRestClient.patchApi(any(), any(), any(), any())).thenReturn(responseWrapper);
+		when(residentServiceRestClient.patchApi(any(ApiName.class), any(), any(), any(), any())).thenReturn(responseWrapper);
         when(identityServiceImpl.getUinForIndividualId(vid)).thenReturn("1234567890");
 
 		ResponseWrapper<VidRevokeResponseDTO> result2 = residentVidService.revokeVid(vidRevokeRequest,vid, "1234567890");
 
 		assertEquals("Vid successfully generated", result2.getResponse().getMessage().toString());
 	}
+
+	@Test
+	public void revokeVidEvictsResolvedUinTest() throws OtpValidationFailedException, IOException,
+			ApisResourceAccessException, ResidentServiceCheckedException {
+		String vid = "1234567890";
+		IdentityResolutionCache identityResolutionCache = new IdentityResolutionCache();
+		ReflectionTestUtils.setField(identityResolutionCache, "ttlMillis", 60000L);
+		ReflectionTestUtils.setField(identityResolutionCache, "maxSize", 10);
+		identityResolutionCache.init();
+		identityResolutionCache.putUin(vid, "9876543210");
+		ReflectionTestUtils.setField(residentVidService, "identityResolutionCache", identityResolutionCache);
+
+		VidGeneratorResponseDto dto = new VidGeneratorResponseDto();
+		dto.setVidStatus("Deactive");
+		ResponseWrapper<VidGeneratorResponseDto> responseWrapper = new ResponseWrapper<>();
+		responseWrapper.setResponse(dto);
+		doReturn(dto).when(mapper).convertValue(any(), any(Class.class));
+		when(idAuthService.validateOtp(anyString(), anyString(), anyString())).thenReturn(Boolean.TRUE);
+		when(residentServiceRestClient.patchApi(any(ApiName.class), any(), any(), any(), any())).thenReturn(responseWrapper);
+		when(identityServiceImpl.getUinForIndividualId(vid)).thenReturn("1234567890");
+
+		residentVidService.revokeVid(vidRevokeRequest, vid, "1234567890");
+		assertNull(identityResolutionCache.getUin(vid));
+	}
     
     @Test(expected = OtpValidationFailedException.class)
     public void otpValidationFailedTest1() throws ResidentServiceCheckedException, OtpValidationFailedException, ApisResourceAccessException {
@@ -300,12 +333,34 @@ public class ResidentVidServiceTest {
 		when(idAuthService.validateOtp(anyString(), anyString(), anyString())).thenReturn(Boolean.TRUE);
 		when(idAuthService.validateOtp(anyString(), anyString(), anyString())).thenReturn(Boolean.TRUE);
 
-        when(residentServiceRestClient.patchApi(any(), any(), any(), any())).thenThrow(new ApisResourceAccessException());
+        when(residentServiceRestClient.patchApi(any(ApiName.class), any(), any(), any(), any())).thenThrow(new ApisResourceAccessException());
 
         when(identityServiceImpl.getUinForIndividualId(vid)).thenReturn("1234567890");
         residentVidService.revokeVid(vidRevokeRequest,vid, "12345");
     }
     
+	@Test
+	public void revokeVidV2FailureQueuesNotificationThroughOutboxTest() throws OtpValidationFailedException,
+			ApisResourceAccessException, ResidentServiceCheckedException {
+		NotificationOutboxService notificationOutbox = Mockito.mock(NotificationOutboxService.class);
+		ReflectionTestUtils.setField(residentVidService, "notificationOutbox", notificationOutbox);
+		when(residentServiceRestClient.patchApi(any(ApiName.class), any(), any(), any(), any())).thenThrow(new ApisResourceAccessException());
+		VidRevokeRequestDTOV2 request = new VidRevokeRequestDTOV2();
+		request.setTransactionID("1111122222");
+		request.setVidStatus("REVOKE");
+		try {
+			residentVidService.revokeVidV2(request, vid, "12345");
+			fail();
+		} catch (VidRevocationException e) {
+			ArgumentCaptor<List<NotificationRequestDto>> notifications = ArgumentCaptor.forClass(List.class);
+			Mockito.verify(notificationOutbox).saveWithNotifications(any(), notifications.capture());
+			assertEquals(TemplateType.FAILURE,
+					((NotificationRequestDtoV2) notifications.getValue().get(0)).getTemplateType());
+			Mockito.verify(notificationOutbox, Mockito.never()).enqueue(any());
+			Mockito.verify(notificationService, Mockito.never()).sendNotification(any(NotificationRequestDto.class));
+		}
+	}
+
     @Test(expected = VidRevocationException.class)
     public void idRepoAppExceptionTest() throws ResidentServiceCheckedException, OtpValidationFailedException, ApisResourceAccessException {
 
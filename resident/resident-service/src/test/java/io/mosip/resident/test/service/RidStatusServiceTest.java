@@ -20,6 +20,7 @@ import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
 
 import io.mosip.kernel.core.idvalidator.spi.RidValidator;
+import io.mosip.resident.constant.ApiName;
 import io.mosip.resident.dto.ErrorDTO;
 import io.mosip.resident.dto.RegStatusCheckResponseDTO;
 import io.mosip.resident.dto.RegistrationStatusDTO;
@@ -39,7 +40,6 @@ public class RidStatusServiceTest {
 	private static final String DATETIME_PATTERN = "mosip.utc-datetime-pattern";
 	private static final String STATUS_CHECK_ID = "mosip.resident.service.status.check.id";
 	private static final String STATUS_CHECEK_VERSION = "mosip.resident.service.status.check.version";
-	private static final String REGISTRATIONSTATUSSEARCH = "REGISTRATIONSTATUSSEARCH";
 	@Mock
 	ResidentServiceRestClient residentServiceRestClient;
 
@@ -72,7 +72,6 @@ public class RidStatusServiceTest {
 		Mockito.when(env.getProperty(STATUS_CHECK_ID)).thenReturn("id");
 		Mockito.when(env.getProperty(STATUS_CHECEK_VERSION)).thenReturn("version");
 		Mockito.when(env.getProperty(DATETIME_PATTERN)).thenReturn("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
-		Mockito.when(env.getProperty(REGISTRATIONSTATUSSEARCH)).thenReturn(REGISTRATIONSTATUSSEARCH);
 
 
 		responseWrapper = new RegistrationStatusResponseDTO();
@@ -85,7 +84,7 @@ public class RidStatusServiceTest {
 		list.add(response);
 		responseWrapper.setResponse(list);
 
-		Mockito.when(residentServiceRestClient.postApi(any(), any(), any(), any())).thenReturn(responseWrapper);
+		Mockito.when(residentServiceRestClient.postApi(any(ApiName.class), any(), any(), any())).thenReturn(responseWrapper);
 		Mockito.doNothing().when(audit).setAuditRequestDto(Mockito.any());
 	}
 
@@ -145,10 +144,10 @@ public class RidStatusServiceTest {
 
 		}
 		try {
-			Mockito.when(residentServiceRestClient.postApi(any(), any(), any(), any())).thenReturn(null);
+			Mockito.when(residentServiceRestClient.postApi(any(ApiName.class), any(), any(), any())).thenReturn(null);
 			residentService.getRidStatus(requestDTO);
 		} catch (RIDInvalidException e) {
-			Mockito.when(residentServiceRestClient.postApi(any(), any(), any(), any()))
+			Mockito.when(residentServiceRestClient.postApi(any(ApiName.class), any(), any(), any()))
 					.thenReturn(responseWrapper);
 		}
 		List<ErrorDTO> errors = new ArrayList<>();
@@ -170,7 +169,7 @@ public class RidStatusServiceTest {
 	@Test(expected = ResidentServiceException.class)
 	public void apiResourceClientExceptionTest() throws ApisResourceAccessException, IOException {
 		HttpClientErrorException clientExp = new HttpClientErrorException(HttpStatus.BAD_GATEWAY);
-		Mockito.when(residentServiceRestClient.postApi(any(), any(), any(), any()))
+		Mockito.when(residentServiceRestClient.postApi(any(ApiName.class), any(), any(), any()))
 				.thenThrow(new ApisResourceAccessException("http client exp", clientExp));
 		residentService.getRidStatus(requestDTO);
 	}
@@ -178,14 +177,14 @@ public class RidStatusServiceTest {
 	@Test(expected = ResidentServiceException.class)
 	public void apiResourceServerExceptionTest() throws ApisResourceAccessException, IOException {
 		HttpServerErrorException serverExp = new HttpServerErrorException(HttpStatus.BAD_GATEWAY);
-		Mockito.when(residentServiceRestClient.postApi(any(), any(), any(), any()))
+		Mockito.when(residentServiceRestClient.postApi(any(ApiName.class), any(), any(), any()))
 				.thenThrow(new ApisResourceAccessException("http client exp", serverExp));
 		residentService.getRidStatus(requestDTO);
 	}
 
 	@Test(expected = ResidentServiceException.class)
 	public void apiResourceUnknownExceptionTest() throws ApisResourceAccessException, IOException {
-		Mockito.when(residentServiceRestClient.postApi(any(), any(), any(), any()))
+		Mockito.when(residentServiceRestClient.postApi(any(ApiName.class), any(), any(), any()))
 				.thenThrow(new ApisResourceAccessException("http client exp", new RuntimeException()));
 		residentService.getRidStatus(requestDTO);
 	}
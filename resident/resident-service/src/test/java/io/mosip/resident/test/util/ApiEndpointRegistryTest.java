@@ -0,0 +1,128 @@
+package io.mosip.resident.test.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import io.mosip.resident.constant.ApiName;
+import io.mosip.resident.exception.ResidentServiceException;
+import io.mosip.resident.util.ApiEndpointRegistry;
+
+public class ApiEndpointRegistryTest {
+
+	private MockEnvironment environment;
+
+	private ApiEndpointRegistry registry;
+
+	@Before
+	public void setUp() {
+		environment = new MockEnvironment();
+		environment.setProperty(ApiName.INTERNALAUTHTRANSACTIONS.name(),
+				"https://int.mosip.io/idauthentication/v1/internal/authTransactions");
+		environment.setProperty(ApiName.TEMPLATES.name(), "https://int.mosip.io/v1/masterdata/templates/");
+		environment.setProperty(ApiName.RETRIEVE_VIDS.name(), "https://int.mosip.io/idrepository/v1/vid/uin/{uin}");
+		environment.setProperty(ApiName.GET_ORDER_STATUS_URL.name(),
+				"https://int.mosip.io/v1/order/status?source=resident");
+		environment.setProperty(ApiName.PARTNER_API_URL.name(), "https://int.mosip.io/v1/partnermanager/partners");
+		registry = new ApiEndpointRegistry();
+		ReflectionTestUtils.setField(registry, "environment", environment);
+		ReflectionTestUtils.setField(registry, "mandatoryApiNames", "TEMPLATES");
+		registry.init();
+	}
+
+	@Test
+	public void testUriSameAsBuiltFromUrl() {
+		assertSameAsBuilt(ApiName.INTERNALAUTHTRANSACTIONS, Arrays.asList("individualId", "1234"),
+				Arrays.asList("pageStart", "pageFetch"), Arrays.asList(1, 50));
+		assertSameAsBuilt(ApiName.TEMPLATES, Arrays.asList("eng", "", null, "RS_UIN RPR/SUCCESS"), null, null);
+		assertSameAsBuilt(ApiName.TEMPLATES, null, null, null);
+		assertSameAsBuilt(ApiName.RETRIEVE_VIDS, null, null, null);
+		assertSameAsBuilt(ApiName.GET_ORDER_STATUS_URL, Arrays.asList("resident"), Arrays.asList("transactionId"),
+				Arrays.asList("a b&c=d"));
+		assertSameAsBuilt(ApiName.PARTNER_API_URL, null, Arrays.asList("partnerType", "flag"),
+				Arrays.asList("Online_Verification_Partner", null));
+	}
+
+	@Test
+	public void testUriVariablesExpanded() {
+		assertEquals(URI.create("https://int.mosip.io/idrepository/v1/vid/uin/3527812406?idType=UIN"),
+				registry.getUri(ApiName.RETRIEVE_VIDS, Map.of("uin", "3527812406"), List.of("idType"),
+						List.of("UIN")));
+	}
+
+	@Test
+	public void testUnconfiguredApi() {
+		assertNull(registry.getUrl(ApiName.PDFSIGN));
+		assertNull(registry.getUri(ApiName.PDFSIGN, List.of("sign"), null, null));
+	}
+
+	@Test
+	public void testApiNameResolvedByLongestPrefix() {
+		environment.setProperty(ApiName.PARTNER_SERVICE_URL.name(), "https://int.mosip.io/v1/partnermanager");
+		registry.init();
+		assertEquals("PARTNER_API_URL",
+				registry.resolve(URI.create("https://int.mosip.io/v1/partnermanager/partners/mpartner-default-print")));
+		assertEquals("PARTNER_SERVICE_URL",
+				registry.resolve(URI.create("https://int.mosip.io/v1/partnermanager/policies")));
+		assertEquals("RETRIEVE_VIDS", registry.resolve(URI.create("https://int.mosip.io/idrepository/v1/vid/uin/1")));
+		assertEquals("config-server:51000", registry.resolve(URI.create("http://config-server:51000/resident/mz")));
+	}
+
+	@Test(expected = ResidentServiceException.class)
+	public void testMissingMandatoryApiFailsStartup() {
+		ReflectionTestUtils.setField(registry, "mandatoryApiNames", "TEMPLATES,PDFSIGN");
+		registry.init();
+	}
+
+	@Test(expected = ResidentServiceException.class)
+	public void testInvalidMandatoryApiFailsStartup() {
+		environment.setProperty(ApiName.TEMPLATES.name(), "int.mosip.io/v1/masterdata/templates");
+		registry.init();
+	}
+
+	@Test
+	public void testRefreshedOnEnvironmentChange() {
+		environment.setProperty(ApiName.PARTNER_API_URL.name(), "https://partner.mosip.io/v1/partners");
+		environment.setProperty(ApiName.TEMPLATES.name(), "");
+		registry.onEnvironmentChange(new EnvironmentChangeEvent(environment,
+				Set.of(ApiName.PARTNER_API_URL.name(), ApiName.TEMPLATES.name())));
+		assertEquals("https://partner.mosip.io/v1/partners", registry.getUrl(ApiName.PARTNER_API_URL));
+		assertEquals("https://int.mosip.io/v1/masterdata/templates/", registry.getUrl(ApiName.TEMPLATES));
+
+		environment.setProperty(ApiName.PARTNER_API_URL.name(), "https://partner.mosip.io/v2/partners");
+		registry.onEnvironmentChange(new EnvironmentChangeEvent(environment, Set.of("mosip.resident.other")));
+		assertEquals("https://partner.mosip.io/v1/partners", registry.getUrl(ApiName.PARTNER_API_URL));
+	}
+
+	private void assertSameAsBuilt(ApiName apiName, List<String> pathSegments, List<String> queryParamNames,
+			List<?> queryParamValues) {
+		UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(environment.getProperty(apiName.name()));
+		if (pathSegments != null) {
+			for (String segment : pathSegments) {
+				if (!((segment == null) || (("").equals(segment)))) {
+					builder.pathSegment(segment);
+				}
+			}
+		}
+		if (queryParamNames != null) {
+			for (int i = 0; i < queryParamNames.size(); i++) {
+				builder.queryParam(queryParamNames.get(i), queryParamValues.get(i));
+			}
+		}
+		assertEquals(builder.build(false).encode().toUri(),
+				registry.getUri(apiName, pathSegments, queryParamNames, queryParamValues));
+	}
+
+}
@@ -2,6 +2,8 @@ package io.mosip.resident.test.util;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.powermock.api.mockito.PowerMockito.when;
@@ -33,6 +35,7 @@ import org.springframework.web.client.RestTemplate;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.mosip.kernel.core.http.RequestWrapper;
 import io.mosip.kernel.core.http.ResponseWrapper;
 import io.mosip.kernel.core.util.DateUtils;
@@ -144,4 +147,66 @@ public class AuditUtilTest {
 
     }
 
+    @Test
+    public void testQueuedAuditIsSentByWorker() {
+        enableAsyncAudit(true);
+        auditUtil.getHostDetails();
+        auditUtil.submitAudit(auditEvent("RES-SER-1"));
+        verify(restTemplate, timeout(5000)).exchange(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(Class.class), Mockito.any(Object.class));
+        auditUtil.flushPendingAudits();
+    }
+
+    @Test
+    public void testFlushPendingAuditsSendsQueuedAudits() {
+        enableAsyncAudit(true);
+        ReflectionTestUtils.setField(auditUtil, "auditMaxBatchSize", 10);
+        ReflectionTestUtils.setField(auditUtil, "auditFlushIntervalMillis", 60000L);
+        auditUtil.getHostDetails();
+        auditUtil.submitAudit(auditEvent("RES-SER-1"));
+        auditUtil.submitAudit(auditEvent("RES-SER-2"));
+        auditUtil.flushPendingAudits();
+        verify(restTemplate, times(2)).exchange(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(Class.class), Mockito.any(Object.class));
+    }
+
+    @Test
+    public void testOverflowRunsOnCaller() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ReflectionTestUtils.setField(auditUtil, "meterRegistry", meterRegistry);
+        enableAsyncAudit(true);
+        auditUtil.getHostDetails();
+        auditUtil.flushPendingAudits();
+        auditUtil.submitAudit(auditEvent("RES-SER-1"));
+        verify(restTemplate, times(1)).exchange(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(Class.class), Mockito.any(Object.class));
+        assertEquals(1.0, meterRegistry.get("resident.microbatch.rejected").counter().count(), 0);
+        assertEquals(0.0, meterRegistry.get("resident.audit.dropped").counter().count(), 0);
+    }
+
+    @Test
+    public void testOverflowDropsWhenCallerRunsDisabled() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ReflectionTestUtils.setField(auditUtil, "meterRegistry", meterRegistry);
+        enableAsyncAudit(false);
+        auditUtil.getHostDetails();
+        auditUtil.flushPendingAudits();
+        auditUtil.submitAudit(auditEvent("RES-SER-1"));
+        verify(restTemplate, never()).exchange(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(Class.class), Mockito.any(Object.class));
+        assertEquals(1.0, meterRegistry.get("resident.microbatch.rejected").counter().count(), 0);
+        assertEquals(1.0, meterRegistry.get("resident.audit.dropped").counter().count(), 0);
+    }
+
+    private void enableAsyncAudit(boolean callerRunsOnOverflow) {
+        ReflectionTestUtils.setField(auditUtil, "asyncAuditEnabled", true);
+        ReflectionTestUtils.setField(auditUtil, "auditBufferCapacity", 10);
+        ReflectionTestUtils.setField(auditUtil, "auditMaxBatchSize", 1);
+        ReflectionTestUtils.setField(auditUtil, "auditFlushIntervalMillis", 10L);
+        ReflectionTestUtils.setField(auditUtil, "auditOfferTimeoutMillis", 1L);
+        ReflectionTestUtils.setField(auditUtil, "auditCallerRunsOnOverflow", callerRunsOnOverflow);
+    }
+
+    private AuditRequestDTO auditEvent(String eventId) {
+        AuditRequestDTO auditRequestDTO = new AuditRequestDTO();
+        auditRequestDTO.setEventId(eventId);
+        return auditRequestDTO;
+    }
+
 }
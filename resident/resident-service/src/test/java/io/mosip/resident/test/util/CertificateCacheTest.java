@@ -0,0 +1,131 @@
+package io.mosip.resident.test.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.security.cert.X509Certificate;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.mosip.resident.exception.ApisResourceAccessException;
+import io.mosip.resident.util.CertificateCache;
+import io.mosip.resident.util.CertificateCache.CachedCertificate;
+import io.mosip.resident.util.LocalCache;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CertificateCacheTest {
+
+	@InjectMocks
+	private CertificateCache certificateCache;
+
+	@Mock
+	private TaskExecutor refreshExecutor;
+
+	private AtomicInteger loads;
+
+	private LocalCache.Loader<String, X509Certificate, ApisResourceAccessException> loader;
+
+	@Before
+	public void setUp() throws Exception {
+		ReflectionTestUtils.setField(certificateCache, "ttlMillis", 60000L);
+		ReflectionTestUtils.setField(certificateCache, "refreshAheadMillis", 1000L);
+		ReflectionTestUtils.setField(certificateCache, "maxSize", 10);
+		certificateCache.init();
+		loads = new AtomicInteger();
+		loader = key -> certificate(loads.incrementAndGet(), System.currentTimeMillis() + 3600000L);
+	}
+
+	@Test
+	public void testCertificateLoadedOnce() throws Exception {
+		CachedCertificate certificate = certificateCache.getCertificate("IDA", "INTERNAL", loader);
+		assertSame(certificate, certificateCache.getCertificate("IDA", "INTERNAL", loader));
+		assertEquals(1, loads.get());
+	}
+
+	@Test
+	public void testEvictReloadsCertificate() throws Exception {
+		certificateCache.getCertificate("IDA", "INTERNAL", loader);
+		certificateCache.getCertificate("IDA", "PARTNER", loader);
+		certificateCache.evict("IDA", "INTERNAL");
+		certificateCache.getCertificate("IDA", "INTERNAL", loader);
+		certificateCache.getCertificate("IDA", "PARTNER", loader);
+		assertEquals(3, loads.get());
+		certificateCache.evictAll();
+		certificateCache.getCertificate("IDA", "PARTNER", loader);
+		assertEquals(4, loads.get());
+	}
+
+	@Test
+	public void testExpiredCertificateIsNotServed() throws Exception {
+		certificateCache.getCertificate("IDA", "INTERNAL",
+				key -> certificate(loads.incrementAndGet(), System.currentTimeMillis() - 1));
+		certificateCache.getCertificate("IDA", "INTERNAL", loader);
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	public void testCertificateRefreshedAheadOfExpiry() throws Exception {
+		Mockito.doAnswer(invocation -> {
+			((Runnable) invocation.getArgument(0)).run();
+			return null;
+		}).when(refreshExecutor).execute(Mockito.any(Runnable.class));
+		CachedCertificate certificate = certificateCache.getCertificate("IDA", "INTERNAL",
+				key -> certificate(loads.incrementAndGet(), System.currentTimeMillis() + 500));
+		assertSame(certificate, certificateCache.getCertificate("IDA", "INTERNAL", loader));
+		assertEquals(2, loads.get());
+		certificateCache.getCertificate("IDA", "INTERNAL", loader);
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	public void testRefreshStartedBeforeEvictIsDiscarded() throws Exception {
+		ArgumentCaptor<Runnable> refresh = ArgumentCaptor.forClass(Runnable.class);
+		Mockito.doNothing().when(refreshExecutor).execute(refresh.capture());
+		certificateCache.getCertificate("IDA", "INTERNAL",
+				key -> certificate(loads.incrementAndGet(), System.currentTimeMillis() + 500));
+		certificateCache.getCertificate("IDA", "INTERNAL", loader);
+		certificateCache.evict("IDA", "INTERNAL");
+		refresh.getValue().run();
+		assertEquals(2, loads.get());
+		CachedCertificate certificate = certificateCache.getCertificate("IDA", "INTERNAL", loader);
+		assertEquals(3, loads.get());
+		assertSame(certificate, certificateCache.getCertificate("IDA", "INTERNAL", loader));
+	}
+
+	@Test
+	public void testValidCertificateServedWhenKeyManagerFails() throws Exception {
+		ReflectionTestUtils.setField(certificateCache, "ttlMillis", 1L);
+		ReflectionTestUtils.setField(certificateCache, "refreshAheadMillis", 0L);
+		certificateCache.init();
+		CachedCertificate certificate = certificateCache.getCertificate("IDA", "INTERNAL", loader);
+		Thread.sleep(5);
+		assertSame(certificate, certificateCache.getCertificate("IDA", "INTERNAL", key -> {
+			throw new ApisResourceAccessException();
+		}));
+	}
+
+	@Test(expected = ApisResourceAccessException.class)
+	public void testFailureWithoutCachedCertificate() throws Exception {
+		certificateCache.getCertificate("IDA", "INTERNAL", key -> {
+			throw new ApisResourceAccessException();
+		});
+	}
+
+	private X509Certificate certificate(int serial, long notAfter) throws Exception {
+		X509Certificate certificate = Mockito.mock(X509Certificate.class);
+		Mockito.when(certificate.getNotAfter()).thenReturn(new Date(notAfter));
+		Mockito.when(certificate.getEncoded()).thenReturn(new byte[] { (byte) serial });
+		return certificate;
+	}
+}
@@ -0,0 +1,69 @@
+package io.mosip.resident.test.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.mosip.resident.util.CircuitBreaker;
+import io.mosip.resident.util.CircuitBreaker.State;
+
+public class CircuitBreakerTest {
+
+	private SimpleMeterRegistry meterRegistry;
+
+	private CircuitBreaker circuitBreaker;
+
+	@Before
+	public void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		circuitBreaker = new CircuitBreaker("test", 2, 0, meterRegistry);
+	}
+
+	@Test
+	public void testOpensAfterConsecutiveFailures() {
+		circuitBreaker = new CircuitBreaker("test", 2, 60000, meterRegistry);
+		recordFailure();
+		assertTrue(circuitBreaker.tryAcquire());
+		circuitBreaker.onSuccess();
+		recordFailure();
+		assertEquals(State.CLOSED, circuitBreaker.getState());
+		recordFailure();
+		assertEquals(State.OPEN, circuitBreaker.getState());
+		assertFalse(circuitBreaker.tryAcquire());
+		assertEquals(1.0, meterRegistry.get("resident.circuitbreaker.rejected").counter().count(), 0);
+	}
+
+	@Test
+	public void testLetsOneProbeThroughWhenHalfOpen() {
+		recordFailure();
+		recordFailure();
+		assertTrue(circuitBreaker.tryAcquire());
+		assertEquals(State.HALF_OPEN, circuitBreaker.getState());
+		assertFalse(circuitBreaker.tryAcquire());
+		circuitBreaker.onSuccess();
+		assertEquals(State.CLOSED, circuitBreaker.getState());
+		assertTrue(circuitBreaker.tryAcquire());
+	}
+
+	@Test
+	public void testReleasedProbeLetsNextProbeThrough() {
+		recordFailure();
+		recordFailure();
+		assertTrue(circuitBreaker.tryAcquire());
+		circuitBreaker.release();
+		assertEquals(State.HALF_OPEN, circuitBreaker.getState());
+		assertTrue(circuitBreaker.tryAcquire());
+		circuitBreaker.onFailure();
+		assertEquals(State.OPEN, circuitBreaker.getState());
+	}
+
+	private void recordFailure() {
+		assertTrue(circuitBreaker.tryAcquire());
+		circuitBreaker.onFailure();
+	}
+
+}
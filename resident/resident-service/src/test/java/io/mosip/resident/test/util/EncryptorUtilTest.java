@@ -22,15 +22,16 @@ import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PowerMockIgnore;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
-import org.springframework.core.env.Environment;
-
-import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.ParameterizedTypeReference;
 
+import io.mosip.commons.packet.constants.CryptomanagerConstant;
 import io.mosip.commons.packet.dto.packet.DecryptResponseDto;
 import io.mosip.commons.packet.exception.PacketDecryptionFailureException;
 import io.mosip.kernel.core.exception.ServiceError;
 import io.mosip.kernel.core.http.RequestWrapper;
+import io.mosip.kernel.core.util.CryptoUtil;
 import io.mosip.kernel.core.util.DateUtils;
+import io.mosip.resident.constant.ApiName;
 import io.mosip.resident.dto.CryptomanagerRequestDto;
 import io.mosip.resident.util.EncryptorUtil;
 import io.mosip.resident.util.ResidentServiceRestClient;
@@ -46,12 +47,6 @@ public class EncryptorUtilTest {
     @InjectMocks
     private EncryptorUtil encryptorUtil;
 
-    @Mock
-    private ObjectMapper objectMapper;
-
-    @Mock
-    private Environment env;
-
     @Mock
     private ResidentServiceRestClient restClientService;
 
@@ -59,15 +54,12 @@ public class EncryptorUtilTest {
     ArgumentCaptor<RequestWrapper<CryptomanagerRequestDto>> requestCaptor;
 
     @Captor
-    ArgumentCaptor<String> stringCaptor;
+    ArgumentCaptor<ApiName> apiNameCaptor;
 
     private LocalDateTime localDateTime;
-    private String encryptAPIUrl;
 
     @Before
     public void setUp() throws Exception {
-        encryptAPIUrl = "http://kernel-keymanager-service/v1/keymanager/encrypt";
-
         PowerMockito.mockStatic(DateUtils.class);
 
         localDateTime = DateUtils.getUTCCurrentDateTime();
@@ -81,24 +73,16 @@ public class EncryptorUtilTest {
         decryptResponseDto.setData(encryptedData);
         io.mosip.resident.dto.ResponseWrapper<DecryptResponseDto> responseWrapper = new io.mosip.resident.dto.ResponseWrapper<>();
         responseWrapper.setResponse(decryptResponseDto);
-        String encryptedJsonString = "{\n" +
-                "\"data\": " + encryptedData +
-                "\n}";
 
-        when(env.getProperty(Mockito.anyString())).thenReturn(encryptAPIUrl);
-        when(restClientService.postApi(Mockito.anyString(), Mockito.any(), Mockito.any(), Mockito.any(Class.class))).thenReturn(responseWrapper);
-        when(objectMapper.readValue(Mockito.anyString(), Mockito.any(Class.class))).thenReturn(decryptResponseDto);
-        when(objectMapper.writeValueAsString(responseWrapper.getResponse())).thenReturn(encryptedJsonString);
+        when(restClientService.postTypedApi(Mockito.any(ApiName.class), Mockito.any(), Mockito.any(), Mockito.any(ParameterizedTypeReference.class))).thenReturn(responseWrapper);
 
         byte[] bytes = "Encrypt String".getBytes();
         String refId = "CenterID_MachineID";
-        encryptorUtil.encrypt(bytes, refId);
+        String encrypted = encryptorUtil.encrypt(bytes, refId);
 
-        verify(env, times(1)).getProperty(Mockito.anyString());
-        verify(restClientService, times(1)).postApi(stringCaptor.capture(), Mockito.any(), requestCaptor.capture(), Mockito.any(Class.class));
+        verify(restClientService, times(1)).postTypedApi(apiNameCaptor.capture(), Mockito.any(), requestCaptor.capture(), Mockito.any(ParameterizedTypeReference.class));
 
-        final String envUrl = stringCaptor.getValue();
-        assertEquals(encryptAPIUrl, envUrl);
+        assertEquals(ApiName.ENCRYPTURL, apiNameCaptor.getValue());
 
         final RequestWrapper<CryptomanagerRequestDto> requestDtoRequestWrapper = requestCaptor.getValue();
         assertNotNull("Request is not null", requestDtoRequestWrapper);
@@ -106,11 +90,10 @@ public class EncryptorUtilTest {
         assertEquals("REGISTRATION", requestDtoRequestWrapper.getRequest().getApplicationId());
         assertEquals(localDateTime, requestDtoRequestWrapper.getRequest().getTimeStamp());
 
-        verify(objectMapper, times(1)).readValue(stringCaptor.capture(), Mockito.any(Class.class));
-        String jsonString = stringCaptor.getValue();
-        assertEquals(encryptedJsonString, jsonString);
-
-        verify(objectMapper, times(1)).writeValueAsString(responseWrapper.getResponse());
+        // nonce and aad are prepended to the data decoded from the typed response
+        assertEquals(CryptoUtil.decodeURLSafeBase64(encryptedData).length + CryptomanagerConstant.GCM_NONCE_LENGTH
+                + CryptomanagerConstant.GCM_AAD_LENGTH,
+                CryptoUtil.decodeURLSafeBase64(encrypted).length);
     }
 
     @Test(expected = PacketDecryptionFailureException.class)
@@ -120,8 +103,7 @@ public class EncryptorUtilTest {
         io.mosip.resident.dto.ResponseWrapper<DecryptResponseDto> responseWrapper = new io.mosip.resident.dto.ResponseWrapper<>();
         responseWrapper.setErrors(errors);
 
-        when(env.getProperty(Mockito.anyString())).thenReturn(encryptAPIUrl);
-        when(restClientService.postApi(Mockito.anyString(), Mockito.any(), Mockito.any(), Mockito.any(Class.class))).thenReturn(responseWrapper);
+        when(restClientService.postTypedApi(Mockito.any(ApiName.class), Mockito.any(), Mockito.any(), Mockito.any(ParameterizedTypeReference.class))).thenReturn(responseWrapper);
 
         byte[] bytes = "Encrypt String".getBytes();
         String refId = "CenterID_MachineID";
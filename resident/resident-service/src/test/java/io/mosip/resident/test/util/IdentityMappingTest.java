@@ -0,0 +1,71 @@
+package io.mosip.resident.test.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.io.IOUtils;
+import org.json.simple.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.mosip.resident.util.IdentityMapping;
+
+public class IdentityMappingTest {
+
+	private IdentityMapping identityMapping;
+
+	@Before
+	public void setUp() throws IOException {
+		try (InputStream is = getClass().getClassLoader().getResourceAsStream("IdentityMapping.json")) {
+			identityMapping = IdentityMapping.parse(IOUtils.toString(is, "UTF-8"));
+		}
+	}
+
+	@Test
+	public void testAttributeNamesAreSplit() {
+		assertEquals(List.of("firstName", "lastName", "middleName"), identityMapping.getAttributeNames("name"));
+		assertEquals("firstName,lastName,middleName", identityMapping.getMappingValue("name"));
+	}
+
+	@Test
+	public void testUnmappedNameIsUsedAsAttribute() {
+		assertEquals(List.of("photo"), identityMapping.getAttributeNames("photo"));
+		assertNull(identityMapping.getMappingValue("photo"));
+	}
+
+	@Test
+	public void testIdentityAndDocumentMappings() {
+		assertTrue(identityMapping.getIdentityMappingKeys().contains("name"));
+		assertEquals("proofOfAddress",
+				((Map<?, ?>) identityMapping.getDocumentMappingJson().get("poa")).get("value"));
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testMappingKeysAreImmutable() {
+		identityMapping.getIdentityMappingKeys().add("photo");
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testMappingJsonIsCopied() {
+		JSONObject identityMappingJson = identityMapping.getIdentityMappingJson();
+		identityMappingJson.remove("name");
+		((Map<String, Object>) identityMapping.getDocumentMappingJson().get("poa")).put("value", "changed");
+		assertTrue(identityMapping.getIdentityMappingJson().containsKey("name"));
+		assertEquals("proofOfAddress",
+				((Map<?, ?>) identityMapping.getDocumentMappingJson().get("poa")).get("value"));
+		assertTrue(identityMapping.getIdentityMappingJson().get("name") instanceof LinkedHashMap);
+	}
+
+	@Test(expected = IOException.class)
+	public void testInvalidMappingJson() throws IOException {
+		IdentityMapping.parse("mappingJson");
+	}
+}
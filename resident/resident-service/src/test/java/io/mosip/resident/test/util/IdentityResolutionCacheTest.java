@@ -0,0 +1,98 @@
+package io.mosip.resident.test.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.mosip.resident.util.IdentityResolutionCache;
+import io.mosip.resident.util.LocalCache;
+
+public class IdentityResolutionCacheTest {
+
+	private static final String UIN = "3527812406";
+
+	private static final String VID = "6241572684701486";
+
+	private SimpleMeterRegistry meterRegistry;
+
+	private IdentityResolutionCache cache;
+
+	@Before
+	public void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		cache = new IdentityResolutionCache();
+		ReflectionTestUtils.setField(cache, "ttlMillis", 60000L);
+		ReflectionTestUtils.setField(cache, "maxSize", 10);
+		ReflectionTestUtils.setField(cache, "vidRevocationWindowMillis", 30000L);
+		ReflectionTestUtils.setField(cache, "meterRegistry", meterRegistry);
+		cache.init();
+	}
+
+	@Test
+	public void testUinResolvedFromCache() {
+		assertNull(cache.getUin(VID));
+		cache.putUin(VID, UIN);
+		assertEquals(UIN, cache.getUin(VID));
+		assertEquals(1.0, meterRegistry.get("resident.cache.gets").tags("cache", "vid-uin", "result", "hit")
+				.counter().count(), 0);
+		assertEquals(1.0, meterRegistry.get("resident.cache.gets").tags("cache", "vid-uin", "result", "miss")
+				.counter().count(), 0);
+	}
+
+	@Test
+	public void testIdsNotHeldInClear() {
+		cache.putUin(VID, UIN);
+		LocalCache<?, ?> uinCache = (LocalCache<?, ?>) ReflectionTestUtils.getField(cache, "uinCache");
+		Map<?, ?> entries = (Map<?, ?>) ReflectionTestUtils.getField(uinCache, "entries");
+		Object key = entries.keySet().iterator().next();
+		Object value = ReflectionTestUtils.getField(ReflectionTestUtils.getField(entries.get(key), "value"),
+				"encryptedUin");
+		assertFalse(key.toString().contains(VID));
+		assertFalse(new String((byte[]) value).contains(UIN));
+	}
+
+	@Test
+	public void testRevokedVidStopsResolving() {
+		cache.putUin(VID, UIN);
+		cache.putUin("6241572684701487", "3527812407");
+		cache.evictVid(VID);
+		assertNull(cache.getUin(VID));
+		assertEquals("3527812407", cache.getUin("6241572684701487"));
+	}
+
+	@Test
+	public void testNewVidEvictsVidsOfUin() {
+		cache.putUin(VID, UIN);
+		cache.putUin("6241572684701487", UIN);
+		cache.putUin("6241572684701488", "3527812407");
+		cache.evictVidsOfUin(UIN);
+		assertNull(cache.getUin(VID));
+		assertNull(cache.getUin("6241572684701487"));
+		assertEquals("3527812407", cache.getUin("6241572684701488"));
+	}
+
+	@Test
+	public void testVidPutAfterEvictionIsIndexed() {
+		cache.putUin(VID, UIN);
+		cache.evictVidsOfUin(UIN);
+		cache.putUin("6241572684701487", UIN);
+		assertEquals(UIN, cache.getUin("6241572684701487"));
+		cache.evictVidsOfUin(UIN);
+		assertNull(cache.getUin("6241572684701487"));
+		cache.evictVidsOfUin("3527812407");
+	}
+
+	@Test
+	public void testVidsCachedForAtMostRevocationWindow() {
+		LocalCache<?, ?> uinCache = (LocalCache<?, ?>) ReflectionTestUtils.getField(cache, "uinCache");
+		assertEquals(30000L, uinCache.getTtlMillis());
+	}
+
+}
@@ -4,10 +4,12 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -18,6 +20,7 @@ import org.powermock.modules.junit4.PowerMockRunner;
 import com.fasterxml.jackson.core.type.TypeReference;
 
 import io.mosip.resident.dto.JsonValue;
+import io.mosip.resident.dto.NotificationResponseDTO;
 import io.mosip.resident.util.JsonUtil;
 
 @RunWith(PowerMockRunner.class)
@@ -89,4 +92,32 @@ public class JsonUtilTest {
 		assertEquals("2323232323232323", readValue.get("identity").get("referenceIdentityNumber"));
 	}
 
+	@Test
+	public void mapValueTest() throws IOException {
+		Map<String, Object> response = new LinkedHashMap<>();
+		response.put("status", "success");
+		response.put("message", "Sms Request Sent");
+		NotificationResponseDTO notificationResponse = JsonUtil.mapValue(response, NotificationResponseDTO.class);
+		assertEquals("success", notificationResponse.getStatus());
+		assertEquals("Sms Request Sent", notificationResponse.getMessage());
+	}
+
+	@Test(expected = IOException.class)
+	public void mapValueFailureTest() throws IOException {
+		JsonUtil.mapValue("success", NotificationResponseDTO.class);
+	}
+
+	@Test
+	public void toJSONObjectSameAsParsedTest() throws Exception {
+		Map<String, Object> decoded = JsonUtil.readValue(jsonString, Map.class);
+		JSONObject parsed = (JSONObject) ((JSONObject) new JSONParser().parse(jsonString)).get("identity");
+
+		JSONObject identity = JsonUtil.toJSONObject(decoded.get("identity"));
+
+		assertEquals(parsed, identity);
+		assertTrue(identity.get("fullName") instanceof JSONArray);
+		assertTrue(identity.get("proofOfIdentity") instanceof JSONObject);
+		assertEquals(1L, identity.get("IDSchemaVersion"));
+	}
+
 }
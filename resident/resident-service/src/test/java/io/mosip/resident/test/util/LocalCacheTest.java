@@ -0,0 +1,111 @@
+package io.mosip.resident.test.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.mosip.resident.util.LocalCache;
+
+public class LocalCacheTest {
+
+	@Test
+	public void testGetLoadsOnceAndRecordsHits() {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		LocalCache<String, String> cache = new LocalCache<>("test", 10, 60000, meterRegistry);
+		AtomicInteger loads = new AtomicInteger();
+		LocalCache.Loader<String, String, RuntimeException> loader = key -> key + loads.incrementAndGet();
+		assertEquals("a1", cache.get("a", loader));
+		assertEquals("a1", cache.get("a", loader));
+		assertEquals(1, loads.get());
+		assertEquals(1.0, meterRegistry.get("resident.cache.gets").tag("result", "hit").counter().count(), 0);
+		assertEquals(1.0, meterRegistry.get("resident.cache.gets").tag("result", "miss").counter().count(), 0);
+	}
+
+	@Test
+	public void testExpiredEntryIsReloadedButStillAvailableAsStale() throws Exception {
+		LocalCache<String, String> cache = new LocalCache<>("test", 10, 1, null);
+		cache.put("a", "old");
+		Thread.sleep(5);
+		assertNull(cache.get("a"));
+		assertEquals("old", cache.getStale("a"));
+		assertEquals("new", cache.get("a", key -> "new"));
+	}
+
+	@Test
+	public void testOldestEntryEvictedWhenFull() throws Exception {
+		LocalCache<String, String> cache = new LocalCache<>("test", 2, 60000, null);
+		cache.put("a", "1");
+		Thread.sleep(2);
+		cache.put("b", "2");
+		cache.put("c", "3");
+		assertEquals(2, cache.size());
+		assertNull(cache.get("a"));
+		assertEquals("3", cache.get("c"));
+	}
+
+	@Test
+	public void testReloadedEntryMovesToEndOfLoadOrder() {
+		LocalCache<String, String> cache = new LocalCache<>("test", 2, 60000, null);
+		cache.put("a", "1");
+		cache.put("b", "2");
+		cache.put("a", "3");
+		cache.put("c", "4");
+		assertNull(cache.get("b"));
+		assertEquals("3", cache.get("a"));
+		assertEquals("4", cache.get("c"));
+	}
+
+	@Test
+	public void testSizeBoundHoldsUnderConcurrentPuts() throws Exception {
+		LocalCache<Integer, Integer> cache = new LocalCache<>("test", 100, 60000, null);
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		List<Future<?>> futures = new ArrayList<>();
+		for (int thread = 0; thread < 8; thread++) {
+			int offset = thread * 10000;
+			futures.add(executor.submit(() -> {
+				for (int i = 0; i < 10000; i++) {
+					cache.put(offset + i, i);
+				}
+			}));
+		}
+		for (Future<?> future : futures) {
+			future.get(30, TimeUnit.SECONDS);
+		}
+		executor.shutdown();
+		assertEquals(100, cache.size());
+	}
+
+	@Test
+	public void testInvalidate() {
+		LocalCache<String, String> cache = new LocalCache<>("test", 10, 60000, null);
+		cache.put("a", "1");
+		cache.put("b", "2");
+		cache.invalidate("a");
+		assertNull(cache.get("a"));
+		cache.invalidateAll();
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void testPutLoadedBeforeInvalidateIsDiscarded() {
+		LocalCache<String, String> cache = new LocalCache<>("test", 10, 60000, null);
+		long generation = cache.getGeneration();
+		cache.invalidate("a");
+		assertFalse(cache.putIfNotInvalidated("a", "1", generation));
+		assertNull(cache.get("a"));
+		assertTrue(cache.putIfNotInvalidated("a", "2", cache.getGeneration()));
+		assertEquals("2", cache.get("a"));
+	}
+}
@@ -0,0 +1,160 @@
+package io.mosip.resident.test.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.mosip.resident.util.MicroBatchBuffer;
+
+public class MicroBatchBufferTest {
+
+	private SimpleMeterRegistry meterRegistry;
+
+	private List<List<Integer>> batches;
+
+	@Before
+	public void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		batches = new CopyOnWriteArrayList<>();
+	}
+
+	@Test
+	public void testFullBatchIsFlushedWithoutWaiting() throws Exception {
+		CountDownLatch latch = new CountDownLatch(2);
+		MicroBatchBuffer<Integer> buffer = new MicroBatchBuffer<>("test", batch -> {
+			batches.add(new ArrayList<>(batch));
+			latch.countDown();
+		}, 100, 5, 60000, 10, meterRegistry);
+		buffer.start();
+		for (int i = 0; i < 10; i++) {
+			assertTrue(buffer.offer(i));
+		}
+		assertTrue(latch.await(5, TimeUnit.SECONDS));
+		buffer.stop();
+		assertEquals(List.of(0, 1, 2, 3, 4), batches.get(0));
+		assertEquals(List.of(5, 6, 7, 8, 9), batches.get(1));
+		assertEquals(5.0, meterRegistry.get("resident.microbatch.batch.size").summary().mean(), 0);
+	}
+
+	@Test
+	public void testPartialBatchIsFlushedAfterMaxDelay() throws Exception {
+		CountDownLatch latch = new CountDownLatch(1);
+		MicroBatchBuffer<Integer> buffer = new MicroBatchBuffer<>("test", batch -> {
+			batches.add(new ArrayList<>(batch));
+			latch.countDown();
+		}, 100, 50, 100, 10, meterRegistry);
+		buffer.start();
+		long start = System.nanoTime();
+		buffer.offer(1);
+		buffer.offer(2);
+		assertTrue(latch.await(5, TimeUnit.SECONDS));
+		assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 90);
+		buffer.stop();
+		assertEquals(List.of(List.of(1, 2)), batches);
+	}
+
+	@Test
+	public void testOfferFailsWhenFull() {
+		MicroBatchBuffer<Integer> buffer = new MicroBatchBuffer<>("test", batches::add, 1, 1, 10, 10, meterRegistry);
+		assertTrue(buffer.offer(1));
+		assertFalse(buffer.offer(2));
+		assertEquals(1, buffer.size());
+		assertEquals(1.0, meterRegistry.get("resident.microbatch.rejected").counter().count(), 0);
+	}
+
+	@Test
+	public void testStopFlushesQueuedItems() {
+		MicroBatchBuffer<Integer> buffer = new MicroBatchBuffer<>("test", batch -> batches.add(new ArrayList<>(batch)),
+				100, 2, 60000, 10, meterRegistry);
+		buffer.offer(1);
+		buffer.offer(2);
+		buffer.offer(3);
+		buffer.stop();
+		assertEquals(List.of(List.of(1, 2), List.of(3)), batches);
+		assertEquals(0, buffer.size());
+		assertFalse(buffer.offer(4));
+	}
+
+	@Test
+	public void testSinkFailureDoesNotStopWorker() throws Exception {
+		CountDownLatch latch = new CountDownLatch(2);
+		MicroBatchBuffer<Integer> buffer = new MicroBatchBuffer<>("test", batch -> {
+			latch.countDown();
+			throw new IllegalStateException("flush failed");
+		}, 100, 1, 10, 10, meterRegistry);
+		buffer.start();
+		buffer.offer(1);
+		buffer.offer(2);
+		assertTrue(latch.await(5, TimeUnit.SECONDS));
+		buffer.stop();
+	}
+
+	@Test
+	public void testFailedBatchIsRetried() {
+		AtomicInteger attempts = new AtomicInteger();
+		List<List<Integer>> failed = new CopyOnWriteArrayList<>();
+		MicroBatchBuffer<Integer> buffer = new MicroBatchBuffer<>("test", batch -> {
+			if (attempts.incrementAndGet() < 3) {
+				throw new IllegalStateException("flush failed");
+			}
+			batches.add(new ArrayList<>(batch));
+		}, (batch, e) -> failed.add(new ArrayList<>(batch)), 100, 10, 60000, 10, 3, 1, meterRegistry);
+		buffer.offer(1);
+		buffer.offer(2);
+		buffer.stop();
+		assertEquals(3, attempts.get());
+		assertEquals(List.of(List.of(1, 2)), batches);
+		assertTrue(failed.isEmpty());
+	}
+
+	@Test
+	public void testBatchIsHandedToFailureHandlerAfterLastAttempt() throws Exception {
+		AtomicInteger attempts = new AtomicInteger();
+		List<List<Integer>> failed = new CopyOnWriteArrayList<>();
+		List<RuntimeException> failures = new CopyOnWriteArrayList<>();
+		CountDownLatch latch = new CountDownLatch(1);
+		MicroBatchBuffer<Integer> buffer = new MicroBatchBuffer<>("test", batch -> {
+			attempts.incrementAndGet();
+			throw new IllegalStateException("flush failed");
+		}, (batch, e) -> {
+			failed.add(new ArrayList<>(batch));
+			failures.add(e);
+			latch.countDown();
+		}, 100, 2, 60000, 10, 2, 1, meterRegistry);
+		buffer.start();
+		buffer.offer(1);
+		buffer.offer(2);
+		assertTrue(latch.await(5, TimeUnit.SECONDS));
+		buffer.stop();
+		assertEquals(2, attempts.get());
+		assertEquals(List.of(List.of(1, 2)), failed);
+		assertEquals("flush failed", failures.get(0).getMessage());
+		assertEquals(2.0, meterRegistry.get("resident.microbatch.failed").counter().count(), 0);
+	}
+
+	@Test
+	public void testWorksWithoutMeterRegistry() throws Exception {
+		CountDownLatch latch = new CountDownLatch(1);
+		MicroBatchBuffer<Integer> buffer = new MicroBatchBuffer<>("test", batch -> {
+			batches.add(new ArrayList<>(batch));
+			latch.countDown();
+		}, 10, 10, 10, 10, null);
+		buffer.start();
+		assertTrue(buffer.offer(1));
+		assertTrue(latch.await(5, TimeUnit.SECONDS));
+		buffer.stop();
+		assertEquals(List.of(List.of(1)), batches);
+	}
+
+}
@@ -0,0 +1,120 @@
+package io.mosip.resident.test.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.mosip.resident.constant.ApiName;
+import io.mosip.resident.util.ApiEndpointRegistry;
+import io.mosip.resident.util.OutboundCallMetrics;
+
+public class OutboundCallMetricsTest {
+
+	private static final String TEMPLATES_URL = "http://masterdata/v1/masterdata/templates";
+
+	private SimpleMeterRegistry meterRegistry;
+
+	private OutboundCallMetrics outboundCallMetrics;
+
+	private RestTemplate restTemplate;
+
+	private MockRestServiceServer server;
+
+	@Before
+	public void setUp() {
+		MockEnvironment environment = new MockEnvironment();
+		environment.setProperty(ApiName.TEMPLATES.name(), TEMPLATES_URL);
+		ApiEndpointRegistry apiEndpointRegistry = new ApiEndpointRegistry();
+		ReflectionTestUtils.setField(apiEndpointRegistry, "environment", environment);
+		apiEndpointRegistry.init();
+
+		meterRegistry = new SimpleMeterRegistry();
+		outboundCallMetrics = new OutboundCallMetrics();
+		ReflectionTestUtils.setField(outboundCallMetrics, "histogramEnabled", true);
+		ReflectionTestUtils.setField(outboundCallMetrics, "windowMillis", 60000L);
+		ReflectionTestUtils.setField(outboundCallMetrics, "windowBuckets", 6);
+		ReflectionTestUtils.setField(outboundCallMetrics, "apiEndpointRegistry", apiEndpointRegistry);
+		ReflectionTestUtils.setField(outboundCallMetrics, "meterRegistry", meterRegistry);
+
+		restTemplate = outboundCallMetrics.install(new RestTemplate());
+		server = MockRestServiceServer.bindTo(restTemplate).build();
+	}
+
+	@Test
+	public void testCallTaggedWithApiName() {
+		server.expect(requestTo(TEMPLATES_URL + "/eng/RS_UIN_RPR_SUCCESS")).andExpect(method(HttpMethod.GET))
+				.andRespond(withSuccess("template", MediaType.TEXT_PLAIN));
+
+		assertEquals("template",
+				restTemplate.getForObject(TEMPLATES_URL + "/eng/RS_UIN_RPR_SUCCESS", String.class));
+
+		assertEquals(1, meterRegistry.get("resident.outbound.calls")
+				.tags("api", "TEMPLATES", "method", "GET", "outcome", "SUCCESS").timer().count());
+		assertEquals(8.0, meterRegistry.get("resident.outbound.response.bytes").tags("api", "TEMPLATES")
+				.summary().totalAmount(), 0);
+	}
+
+	@Test
+	public void testUnknownUriTaggedWithHost() {
+		server.expect(requestTo("http://audit:8080/v1/auditmanager/audits")).andExpect(method(HttpMethod.POST))
+				.andRespond(withSuccess("{}", MediaType.APPLICATION_JSON));
+
+		restTemplate.postForObject("http://audit:8080/v1/auditmanager/audits", "{\"id\":1}", String.class);
+
+		assertEquals(1, meterRegistry.get("resident.outbound.calls")
+				.tags("api", "audit:8080", "method", "POST", "outcome", "SUCCESS").timer().count());
+		assertEquals(8.0, meterRegistry.get("resident.outbound.request.bytes").tags("api", "audit:8080")
+				.summary().totalAmount(), 0);
+	}
+
+	@Test
+	public void testErrorsCounted() {
+		server.expect(requestTo(TEMPLATES_URL)).andRespond(withServerError());
+
+		try {
+			restTemplate.getForObject(TEMPLATES_URL, String.class);
+		} catch (HttpServerErrorException e) {
+			// recorded before the error handler runs
+		}
+
+		assertEquals(1.0, meterRegistry.get("resident.outbound.errors")
+				.tags("api", "TEMPLATES", "method", "GET", "outcome", "SERVER_ERROR").counter().count(), 0);
+	}
+
+	@Test
+	public void testSlowestApisFirst() {
+		outboundCallMetrics.record("TEMPLATES", "GET", OutboundCallMetrics.SUCCESS, 10_000_000L, 0, 100);
+		outboundCallMetrics.record("IDREPOGETIDBYUIN", "GET", OutboundCallMetrics.SUCCESS, 900_000_000L, 0, 100);
+		outboundCallMetrics.record("IDREPOGETIDBYUIN", "GET", OutboundCallMetrics.IO_ERROR, 100_000_000L, 0, 0);
+		outboundCallMetrics.record("PARTNER_API_URL", "GET", OutboundCallMetrics.SUCCESS, 50_000_000L, 0, 100);
+
+		List<Map<String, Object>> slowest = outboundCallMetrics.slowest(2);
+
+		assertEquals(2, slowest.size());
+		assertEquals("IDREPOGETIDBYUIN", slowest.get(0).get("api"));
+		assertEquals(2L, slowest.get(0).get("calls"));
+		assertEquals(1L, slowest.get(0).get("errors"));
+		assertEquals(500.0, (Double) slowest.get(0).get("meanMillis"), 0.001);
+		assertEquals(900.0, (Double) slowest.get(0).get("maxMillis"), 0.001);
+		assertEquals("PARTNER_API_URL", slowest.get(1).get("api"));
+		assertEquals(3, outboundCallMetrics.slowest(10).size());
+		assertEquals(0, outboundCallMetrics.slowest(-1).size());
+	}
+
+}
@@ -0,0 +1,132 @@
+package io.mosip.resident.test.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.mosip.resident.constant.ResidentErrorCode;
+import io.mosip.resident.exception.ResidentServiceException;
+import io.mosip.resident.util.PartnerDirectory;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PartnerDirectoryTest {
+
+	@InjectMocks
+	private PartnerDirectory partnerDirectory;
+
+	@Mock
+	private TaskExecutor refreshExecutor;
+
+	private AtomicInteger loads;
+
+	private PartnerDirectory.Loader<ResidentServiceException> loader;
+
+	@Before
+	public void setUp() {
+		ReflectionTestUtils.setField(partnerDirectory, "refreshMillis", 60000L);
+		partnerDirectory.init();
+		loads = new AtomicInteger();
+		loader = () -> partners(loads.incrementAndGet());
+	}
+
+	@Test
+	public void testPartnersLoadedOnce() {
+		assertEquals("Credential_Partner", partnerDirectory.getPartner("mpartner-default-print", loader).get("partnerType"));
+		assertEquals("Online_Verification_Partner", partnerDirectory.getPartner("mpartner-default-auth", loader).get("partnerType"));
+		assertEquals(Map.of(), partnerDirectory.getPartner("unknown", loader));
+		assertEquals(1, loads.get());
+		verify(refreshExecutor, never()).execute(any());
+	}
+
+	@Test
+	public void testPartnersByType() {
+		List<Map<String, ?>> partners = partnerDirectory.getPartnersByType("Credential_Partner", loader);
+		assertEquals(2, partners.size());
+		assertEquals("mpartner-default-print", partners.get(0).get("partnerID"));
+		assertTrue(partnerDirectory.getPartnersByType("Device_Provider", loader).isEmpty());
+	}
+
+	@Test
+	public void testInvalidateReloadsPartners() {
+		partnerDirectory.getPartner("mpartner-default-print", loader);
+		partnerDirectory.invalidate();
+		assertEquals(2, partnerDirectory.getPartner("mpartner-default-print", loader).get("version"));
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	public void testStalePartnersServedWhenLoadFails() {
+		partnerDirectory.getPartner("mpartner-default-print", loader);
+		partnerDirectory.invalidate();
+		Map<String, ?> partner = partnerDirectory.getPartner("mpartner-default-print", () -> {
+			throw new ResidentServiceException(ResidentErrorCode.API_RESOURCE_ACCESS_EXCEPTION.getErrorCode(),
+					ResidentErrorCode.API_RESOURCE_ACCESS_EXCEPTION.getErrorMessage());
+		});
+		assertEquals(1, partner.get("version"));
+	}
+
+	@Test(expected = ResidentServiceException.class)
+	public void testLoadFailureWithoutPartners() {
+		partnerDirectory.getPartner("mpartner-default-print", () -> {
+			throw new ResidentServiceException(ResidentErrorCode.API_RESOURCE_ACCESS_EXCEPTION.getErrorCode(),
+					ResidentErrorCode.API_RESOURCE_ACCESS_EXCEPTION.getErrorMessage());
+		});
+	}
+
+	@Test
+	public void testOldPartnersRefreshedInBackground() {
+		doAnswer(invocation -> {
+			((Runnable) invocation.getArgument(0)).run();
+			return null;
+		}).when(refreshExecutor).execute(any());
+		partnerDirectory.getPartner("mpartner-default-print", loader);
+		ReflectionTestUtils.setField(partnerDirectory, "refreshMillis", -1L);
+		assertEquals(1, partnerDirectory.getPartner("mpartner-default-print", loader).get("version"));
+		assertEquals(2, partnerDirectory.getPartner("mpartner-default-print", loader).get("version"));
+		verify(refreshExecutor, times(2)).execute(any());
+	}
+
+	@Test
+	public void testRefreshStartedBeforeInvalidateIsDiscarded() {
+		List<Runnable> refreshes = new ArrayList<>();
+		doAnswer(invocation -> refreshes.add(invocation.getArgument(0))).when(refreshExecutor).execute(any());
+		partnerDirectory.getPartner("mpartner-default-print", loader);
+		ReflectionTestUtils.setField(partnerDirectory, "refreshMillis", -1L);
+		partnerDirectory.getPartner("mpartner-default-print", () -> partners(0));
+		ReflectionTestUtils.setField(partnerDirectory, "refreshMillis", 60000L);
+		partnerDirectory.invalidate();
+		assertEquals(2, partnerDirectory.getPartner("mpartner-default-print", loader).get("version"));
+		assertEquals(1, refreshes.size());
+		refreshes.get(0).run();
+		assertEquals(2, partnerDirectory.getPartner("mpartner-default-print", loader).get("version"));
+		assertEquals(2, loads.get());
+	}
+
+	private static List<Map<String, ?>> partners(int version) {
+		return List.of(
+				Map.of("partnerID", "mpartner-default-print", "partnerType", "Credential_Partner", "version", version),
+				Map.of("partnerID", "mpartner-default-auth", "partnerType", "Online_Verification_Partner", "version",
+						version),
+				Map.of("partnerID", "mpartner-default-digitalcard", "partnerType", "Credential_Partner", "version",
+						version));
+	}
+
+}
@@ -1,10 +1,15 @@
 package io.mosip.resident.test.util;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
 
 import java.net.URI;
 import java.security.KeyManagementException;
@@ -25,25 +30,38 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.core.env.Environment;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.env.MockEnvironment;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.MockRestServiceServer;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import io.mosip.resident.constant.ApiName;
 import io.mosip.resident.dto.AutnTxnResponseDto;
+import io.mosip.resident.dto.NotificationResponseDTO;
+import io.mosip.resident.dto.ResponseWrapper;
 import io.mosip.resident.exception.ApisResourceAccessException;
+import io.mosip.resident.util.ApiEndpointRegistry;
 import io.mosip.resident.util.ResidentServiceRestClient;
 
 @RunWith(MockitoJUnitRunner.class)
 public class ResidentServiceRestClientTest {
 
 
+	private static final ParameterizedTypeReference<ResponseWrapper<NotificationResponseDTO>> NOTIFICATION_RESPONSE_TYPE =
+			new ParameterizedTypeReference<ResponseWrapper<NotificationResponseDTO>>() {
+			};
+
+	private static final String NOTIFICATION_RESPONSE = "{\"id\":\"mosip.notifier\",\"response\":"
+			+ "{\"status\":\"success\",\"message\":\"Sms Request Sent\"},\"errors\":[]}";
+
 	@Mock
 	RestTemplateBuilder builder;
 
@@ -335,4 +353,105 @@ public class ResidentServiceRestClientTest {
 				AutnTxnResponseDto.class, MediaType.APPLICATION_JSON);
 	}
 
+	@Test
+	public void testGetTypedApi() throws ApisResourceAccessException {
+		RestTemplate restTemplate = new RestTemplate();
+		MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+		server.expect(requestTo("https://int.mosip.io/v1/notifier/sms/eng?pageStart=1"))
+				.andExpect(method(HttpMethod.GET))
+				.andRespond(withSuccess(NOTIFICATION_RESPONSE, MediaType.APPLICATION_JSON));
+		ResidentServiceRestClient client = new ResidentServiceRestClient(restTemplate);
+		ReflectionTestUtils.setField(client, "environment", environment);
+		when(environment.getProperty(ApiName.SMSNOTIFIER.name())).thenReturn("https://int.mosip.io/v1/notifier");
+
+		ResponseWrapper<NotificationResponseDTO> response = client.getTypedApi(ApiName.SMSNOTIFIER,
+				List.of("sms", "eng"), List.of("pageStart"), List.<Object>of(1), NOTIFICATION_RESPONSE_TYPE);
+
+		assertEquals("success", response.getResponse().getStatus());
+		server.verify();
+	}
+
+	@Test
+	public void testPostTypedApi() throws ApisResourceAccessException {
+		RestTemplate restTemplate = new RestTemplate();
+		MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+		server.expect(requestTo("https://int.mosip.io/v1/notifier/sms")).andExpect(method(HttpMethod.POST))
+				.andRespond(withSuccess(NOTIFICATION_RESPONSE, MediaType.APPLICATION_JSON));
+		ResidentServiceRestClient client = new ResidentServiceRestClient(restTemplate);
+
+		ResponseWrapper<NotificationResponseDTO> response = client.postTypedApi("https://int.mosip.io/v1/notifier/sms",
+				MediaType.APPLICATION_JSON, Map.of("number", "9898989899"), NOTIFICATION_RESPONSE_TYPE);
+
+		assertEquals("Sms Request Sent", response.getResponse().getMessage());
+		server.verify();
+	}
+
+	@Test(expected = ApisResourceAccessException.class)
+	public void testPostTypedApiException() throws ApisResourceAccessException {
+		RestTemplate restTemplate = new RestTemplate();
+		MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+		server.expect(requestTo("https://int.mosip.io/v1/notifier/sms")).andRespond(withServerError());
+		ResidentServiceRestClient client = new ResidentServiceRestClient(restTemplate);
+
+		client.postTypedApi("https://int.mosip.io/v1/notifier/sms", MediaType.APPLICATION_JSON,
+				Map.of("number", "9898989899"), NOTIFICATION_RESPONSE_TYPE);
+	}
+
+	@Test
+	public void testPostApiByName() throws ApisResourceAccessException {
+		RestTemplate restTemplate = new RestTemplate();
+		MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+		server.expect(requestTo("https://int.mosip.io/v1/notifier/sms")).andExpect(method(HttpMethod.POST))
+				.andRespond(withSuccess(NOTIFICATION_RESPONSE, MediaType.APPLICATION_JSON));
+		MockEnvironment mockEnvironment = new MockEnvironment();
+		mockEnvironment.setProperty(ApiName.SMSNOTIFIER.name(), "https://int.mosip.io/v1/notifier/sms");
+		ResidentServiceRestClient client = newClient(restTemplate, mockEnvironment);
+		// the url is taken from the registry, not read from the environment again
+		mockEnvironment.setProperty(ApiName.SMSNOTIFIER.name(), "https://changed.mosip.io/v1/notifier/sms");
+
+		String response = client.postApi(ApiName.SMSNOTIFIER, MediaType.APPLICATION_JSON,
+				Map.of("number", "9898989899"), String.class);
+
+		assertEquals(NOTIFICATION_RESPONSE, response);
+		server.verify();
+	}
+
+	@Test
+	public void testPatchApiByNameAppendsPathSegments() throws ApisResourceAccessException {
+		RestTemplate restTemplate = new RestTemplate();
+		MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+		server.expect(requestTo("https://int.mosip.io/idauthentication/v1/internal/vid/2345"))
+				.andExpect(method(HttpMethod.PATCH))
+				.andRespond(withSuccess(NOTIFICATION_RESPONSE, MediaType.APPLICATION_JSON));
+		MockEnvironment mockEnvironment = new MockEnvironment();
+		mockEnvironment.setProperty(ApiName.IDAUTHREVOKEVID.name(),
+				"https://int.mosip.io/idauthentication/v1/internal/vid");
+		ResidentServiceRestClient client = newClient(restTemplate, mockEnvironment);
+
+		ResponseWrapper<?> response = client.patchApi(ApiName.IDAUTHREVOKEVID, List.of("2345"),
+				MediaType.APPLICATION_JSON, Map.of("vidStatus", "REVOKED"), ResponseWrapper.class);
+
+		assertEquals("mosip.notifier", response.getId());
+		server.verify();
+	}
+
+	@Test(expected = ApisResourceAccessException.class)
+	public void testPostApiByNameNotConfigured() throws ApisResourceAccessException {
+		ResidentServiceRestClient client = newClient(new RestTemplate(), new MockEnvironment());
+
+		client.postApi(ApiName.SMSNOTIFIER, MediaType.APPLICATION_JSON, Map.of("number", "9898989899"),
+				String.class);
+	}
+
+	private ResidentServiceRestClient newClient(RestTemplate restTemplate, MockEnvironment mockEnvironment) {
+		ApiEndpointRegistry apiEndpointRegistry = new ApiEndpointRegistry();
+		ReflectionTestUtils.setField(apiEndpointRegistry, "environment", mockEnvironment);
+		ReflectionTestUtils.setField(apiEndpointRegistry, "mandatoryApiNames", "");
+		apiEndpointRegistry.init();
+		ResidentServiceRestClient client = new ResidentServiceRestClient(restTemplate);
+		ReflectionTestUtils.setField(client, "environment", mockEnvironment);
+		ReflectionTestUtils.setField(client, "apiEndpointRegistry", apiEndpointRegistry);
+		return client;
+	}
+
 }
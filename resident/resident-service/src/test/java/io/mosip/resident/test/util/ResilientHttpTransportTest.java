@@ -0,0 +1,229 @@
+package io.mosip.resident.test.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.mosip.resident.constant.ApiName;
+import io.mosip.resident.exception.ApisResourceAccessException;
+import io.mosip.resident.util.ApiEndpointRegistry;
+import io.mosip.resident.util.ResidentServiceRestClient;
+import io.mosip.resident.util.ResilientHttpTransport;
+
+/**
+ * Runs the rest client against local stub servers that hang, fail and
+ * recover, and checks that each downstream service is kept to its own
+ * timeouts, bulkhead and circuit breaker.
+ */
+public class ResilientHttpTransportTest {
+
+	private final List<HttpServer> servers = new ArrayList<>();
+
+	private final ExecutorService executor = Executors.newCachedThreadPool();
+
+	private MockEnvironment environment;
+
+	private SimpleMeterRegistry meterRegistry;
+
+	private ResilientHttpTransport transport;
+
+	private ResidentServiceRestClient restClient;
+
+	@Before
+	public void setUp() {
+		environment = new MockEnvironment();
+		environment.setProperty("resident.rest.retry.backoff.millisecs", "10");
+		environment.setProperty("resident.rest.circuit-breaker.failure-threshold", "3");
+		environment.setProperty("resident.rest.circuit-breaker.open.millisecs", "300");
+		meterRegistry = new SimpleMeterRegistry();
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		executor.shutdownNow();
+		servers.forEach(server -> server.stop(0));
+		if (transport != null) {
+			transport.shutdown();
+		}
+	}
+
+	@Test
+	public void testSlowServiceIsIsolated() throws Exception {
+		AtomicInteger inFlight = new AtomicInteger();
+		AtomicInteger maxInFlight = new AtomicInteger();
+		String slowUrl = stub(exchange -> {
+			maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+			try {
+				Thread.sleep(2000);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} finally {
+				inFlight.decrementAndGet();
+			}
+			respond(exchange, 200, "late");
+		});
+		String healthyUrl = stub(exchange -> respond(exchange, 200, "ok"));
+		environment.setProperty(ApiName.IDREPOGETIDBYUIN.name(), slowUrl + "/idrepo/identity/v1/identity/idvid");
+		environment.setProperty(ApiName.TEMPLATES.name(), healthyUrl + "/v1/masterdata/templates");
+		environment.setProperty("resident.rest.IDREPOGETIDBYUIN.read-timeout.millisecs", "300");
+		environment.setProperty("resident.rest.IDREPOGETIDBYUIN.bulkhead.max-concurrent-calls", "2");
+		environment.setProperty("resident.rest.IDREPOGETIDBYUIN.bulkhead.max-wait.millisecs", "0");
+		init();
+
+		List<Future<Long>> slowCalls = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			List<String> pathSegments = List.of(String.valueOf(i));
+			slowCalls.add(executor.submit(timed(() -> restClient.getApi(ApiName.IDREPOGETIDBYUIN, pathSegments,
+					(String) null, null, String.class))));
+		}
+		long healthyStart = System.currentTimeMillis();
+		for (int i = 0; i < 20; i++) {
+			assertEquals("ok", restClient.getApi(ApiName.TEMPLATES, List.of("eng"), (String) null, null,
+					String.class));
+		}
+		assertTrue(System.currentTimeMillis() - healthyStart < 1000);
+		for (Future<Long> slowCall : slowCalls) {
+			assertTrue(slowCall.get() < 1500);
+		}
+		assertTrue(maxInFlight.get() <= 2);
+		assertTrue(meterRegistry.get("resident.bulkhead.rejected").tag("bulkhead", "http-IDREPOGETIDBYUIN")
+				.counter().count() > 0);
+	}
+
+	@Test
+	public void testIdempotentGetRetried() throws Exception {
+		AtomicInteger hits = new AtomicInteger();
+		String url = stub(exchange -> {
+			if (hits.incrementAndGet() <= 2 || exchange.getRequestMethod().equals("POST")) {
+				respond(exchange, 503, "unavailable");
+			} else {
+				respond(exchange, 200, "ok");
+			}
+		});
+		environment.setProperty(ApiName.SMSNOTIFIER.name(), url + "/v1/notifier/sms/send");
+		init();
+
+		assertEquals("ok", restClient.getApi(ApiName.SMSNOTIFIER, List.of(), (String) null, null, String.class));
+		assertEquals(3, hits.get());
+		try {
+			restClient.postApi(url + "/v1/notifier/sms/send", MediaType.APPLICATION_JSON, "{}", String.class);
+			fail();
+		} catch (ApisResourceAccessException e) {
+			assertEquals(4, hits.get());
+		}
+	}
+
+	@Test
+	public void testCircuitBreakerOpensPerHost() throws Exception {
+		AtomicInteger hits = new AtomicInteger();
+		String failingUrl = stub(exchange -> respond(exchange, hits.incrementAndGet() <= 3 ? 500 : 200, "ok"));
+		String healthyUrl = stub(exchange -> respond(exchange, 200, "ok"));
+		environment.setProperty(ApiName.TEMPLATES.name(), failingUrl + "/v1/masterdata/templates");
+		environment.setProperty(ApiName.GETUINBYVID.name(), healthyUrl + "/idrepo/identity/v1/vid");
+		init();
+
+		for (int i = 0; i < 5; i++) {
+			try {
+				restClient.getApi(ApiName.TEMPLATES, List.of(), (String) null, null, String.class);
+				fail();
+			} catch (ApisResourceAccessException e) {
+				// 500 for the first three calls, then rejected by the open breaker
+			}
+		}
+		assertEquals(3, hits.get());
+		assertEquals("ok", restClient.getApi(ApiName.GETUINBYVID, List.of(), (String) null, null, String.class));
+
+		Thread.sleep(350);
+		assertEquals("ok", restClient.getApi(ApiName.TEMPLATES, List.of(), (String) null, null, String.class));
+		assertEquals("ok", restClient.getApi(ApiName.TEMPLATES, List.of(), (String) null, null, String.class));
+		assertEquals(5, hits.get());
+	}
+
+	private void init() {
+		ApiEndpointRegistry apiEndpointRegistry = new ApiEndpointRegistry();
+		ReflectionTestUtils.setField(apiEndpointRegistry, "environment", environment);
+		apiEndpointRegistry.init();
+		transport = new ResilientHttpTransport();
+		ReflectionTestUtils.setField(transport, "enabled", true);
+		ReflectionTestUtils.setField(transport, "poolMaxTotal", 50);
+		ReflectionTestUtils.setField(transport, "poolMaxPerRoute", 20);
+		ReflectionTestUtils.setField(transport, "poolIdleTimeoutMillis", 30000L);
+		ReflectionTestUtils.setField(transport, "environment", environment);
+		ReflectionTestUtils.setField(transport, "apiEndpointRegistry", apiEndpointRegistry);
+		ReflectionTestUtils.setField(transport, "meterRegistry", meterRegistry);
+		transport.init();
+		restClient = new ResidentServiceRestClient(transport.install(new RestTemplate()));
+		ReflectionTestUtils.setField(restClient, "environment", environment);
+		ReflectionTestUtils.setField(restClient, "apiEndpointRegistry", apiEndpointRegistry);
+	}
+
+	private String stub(StubHandler handler) throws IOException {
+		HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/", exchange -> {
+			try {
+				handler.handle(exchange);
+			} finally {
+				exchange.close();
+			}
+		});
+		server.setExecutor(Executors.newCachedThreadPool());
+		server.start();
+		servers.add(server);
+		return "http://localhost:" + server.getAddress().getPort();
+	}
+
+	private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+		byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().add("Content-Type", "text/plain");
+		try {
+			exchange.sendResponseHeaders(status, bytes.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(bytes);
+			}
+		} catch (IOException e) {
+			// the client gave up waiting
+		}
+	}
+
+	private static Callable<Long> timed(Callable<?> call) {
+		return () -> {
+			long start = System.currentTimeMillis();
+			try {
+				call.call();
+			} catch (ApisResourceAccessException e) {
+				// expected: timed out or rejected by the bulkhead
+			}
+			return System.currentTimeMillis() - start;
+		};
+	}
+
+	@FunctionalInterface
+	private interface StubHandler {
+		void handle(HttpExchange exchange) throws IOException;
+	}
+
+}
@@ -0,0 +1,118 @@
+package io.mosip.resident.test.util;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.mosip.resident.exception.ResidentServiceCheckedException;
+import io.mosip.resident.util.LocalCache;
+import io.mosip.resident.util.TemplateCache;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TemplateCacheTest {
+
+	@InjectMocks
+	private TemplateCache templateCache;
+
+	@Mock
+	private TaskExecutor refreshExecutor;
+
+	private AtomicInteger loads;
+
+	private LocalCache.Loader<String, String, ResidentServiceCheckedException> loader;
+
+	@Before
+	public void setUp() {
+		ReflectionTestUtils.setField(templateCache, "ttlMillis", 60000L);
+		ReflectionTestUtils.setField(templateCache, "refreshAheadMillis", 1000L);
+		ReflectionTestUtils.setField(templateCache, "maxSize", 10);
+		templateCache.init();
+		loads = new AtomicInteger();
+		loader = key -> "template" + loads.incrementAndGet();
+	}
+
+	@Test
+	public void testTemplateLoadedOnce() throws ResidentServiceCheckedException {
+		assertEquals("template1", templateCache.getTemplate("eng", "code", loader));
+		assertEquals("template1", templateCache.getTemplate("eng", "code", loader));
+		assertEquals(1, loads.get());
+	}
+
+	@Test
+	public void testEvictReloadsTemplate() throws ResidentServiceCheckedException {
+		templateCache.getTemplate("eng", "code", loader);
+		templateCache.getTemplate("ara", "code", loader);
+		templateCache.evict("eng", "code");
+		assertEquals("template3", templateCache.getTemplate("eng", "code", loader));
+		assertEquals("template2", templateCache.getTemplate("ara", "code", loader));
+		templateCache.evictAll();
+		assertEquals("template4", templateCache.getTemplate("ara", "code", loader));
+	}
+
+	@Test
+	public void testStaleTemplateServedWhenMasterdataFails() throws Exception {
+		ReflectionTestUtils.setField(templateCache, "ttlMillis", 1L);
+		ReflectionTestUtils.setField(templateCache, "refreshAheadMillis", 0L);
+		templateCache.init();
+		templateCache.getTemplate("eng", "code", loader);
+		Thread.sleep(5);
+		assertEquals("template1", templateCache.getTemplate("eng", "code", key -> {
+			throw new ResidentServiceCheckedException();
+		}));
+	}
+
+	@Test(expected = ResidentServiceCheckedException.class)
+	public void testFailureWithoutCachedTemplate() throws ResidentServiceCheckedException {
+		templateCache.getTemplate("eng", "code", key -> {
+			throw new ResidentServiceCheckedException();
+		});
+	}
+
+	@Test
+	public void testTemplateRefreshedAheadOfExpiry() throws ResidentServiceCheckedException {
+		ReflectionTestUtils.setField(templateCache, "refreshAheadMillis", 60001L);
+		Mockito.doAnswer(invocation -> {
+			((Runnable) invocation.getArgument(0)).run();
+			return null;
+		}).when(refreshExecutor).execute(Mockito.any(Runnable.class));
+		assertEquals("template1", templateCache.getTemplate("eng", "code", loader));
+		assertEquals("template1", templateCache.getTemplate("eng", "code", loader));
+		assertEquals("template2", templateCache.getTemplate("eng", "code", loader));
+		Mockito.verify(refreshExecutor, Mockito.times(2)).execute(Mockito.any(Runnable.class));
+	}
+
+	@Test
+	public void testRefreshStartedBeforeEvictIsDiscarded() throws ResidentServiceCheckedException {
+		ReflectionTestUtils.setField(templateCache, "refreshAheadMillis", 60001L);
+		ArgumentCaptor<Runnable> refresh = ArgumentCaptor.forClass(Runnable.class);
+		Mockito.doNothing().when(refreshExecutor).execute(refresh.capture());
+		assertEquals("template1", templateCache.getTemplate("eng", "code", loader));
+		assertEquals("template1", templateCache.getTemplate("eng", "code", loader));
+		templateCache.evict("eng", "code");
+		refresh.getValue().run();
+		assertEquals(2, loads.get());
+		assertEquals("template3", templateCache.getTemplate("eng", "code", loader));
+	}
+
+	@Test
+	public void testRejectedRefreshIsRetried() throws ResidentServiceCheckedException {
+		ReflectionTestUtils.setField(templateCache, "refreshAheadMillis", 60001L);
+		Mockito.doThrow(new TaskRejectedException("busy")).when(refreshExecutor).execute(Mockito.any(Runnable.class));
+		assertEquals("template1", templateCache.getTemplate("eng", "code", loader));
+		assertEquals("template1", templateCache.getTemplate("eng", "code", loader));
+		assertEquals("template1", templateCache.getTemplate("eng", "code", loader));
+		Mockito.verify(refreshExecutor, Mockito.times(2)).execute(Mockito.any(Runnable.class));
+	}
+}
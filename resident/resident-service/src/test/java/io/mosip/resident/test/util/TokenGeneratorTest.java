@@ -4,13 +4,18 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.powermock.api.mockito.PowerMockito.mockStatic;
 import static org.powermock.api.mockito.PowerMockito.when;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 
+import org.apache.http.HttpVersion;
 import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.entity.BasicHttpEntity;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.message.BasicHeader;
+import org.apache.http.message.BasicStatusLine;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -22,9 +27,12 @@ import org.powermock.core.classloader.annotations.PowerMockIgnore;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 import org.springframework.core.env.Environment;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.mosip.kernel.core.util.TokenHandlerUtil;
 import io.mosip.resident.exception.TokenGenerationFailedException;
+import io.mosip.resident.util.OutboundCallMetrics;
 import io.mosip.resident.util.TokenGenerator;
 
 
@@ -119,4 +127,28 @@ public class TokenGeneratorTest {
 
 		Assert.assertTrue("Expected token", result.equals(token));
 	}
+
+	@Test
+	public void responseSizeCountsEncodedBytesTest() throws IOException {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		OutboundCallMetrics outboundCallMetrics = new OutboundCallMetrics();
+		ReflectionTestUtils.setField(outboundCallMetrics, "windowMillis", 60000L);
+		ReflectionTestUtils.setField(outboundCallMetrics, "windowBuckets", 6);
+		ReflectionTestUtils.setField(outboundCallMetrics, "meterRegistry", meterRegistry);
+		ReflectionTestUtils.setField(tokenGenerator, "outboundCallMetrics", outboundCallMetrics);
+		// a chunked body, so the size is not taken from the Content-Length
+		BasicHttpEntity entity = new BasicHttpEntity();
+		entity.setContent(new ByteArrayInputStream("t\u00f6k\u00e9n".getBytes(StandardCharsets.UTF_8)));
+		entity.setContentType("application/json; charset=UTF-8");
+		BasicHeader[] headers = { new BasicHeader("token", "Authorizationtoken;") };
+
+		when(response.getEntity()).thenReturn(entity);
+		when(response.getStatusLine()).thenReturn(new BasicStatusLine(HttpVersion.HTTP_1_1, 200, "OK"));
+		when(response.getHeaders("Set-Cookie")).thenReturn(headers);
+		System.clearProperty("token");
+		tokenGenerator.getToken();
+
+		Assert.assertEquals(7.0, meterRegistry.get("resident.outbound.response.bytes")
+				.tags("api", "KERNELAUTHMANAGER").summary().totalAmount(), 0);
+	}
 }
@@ -10,6 +10,7 @@ import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.core.env.Environment;
 
+import io.mosip.resident.constant.ApiName;
 import io.mosip.resident.constant.IdType;
 import io.mosip.resident.exception.ApisResourceAccessException;
 import io.mosip.resident.util.ResidentServiceRestClient;
@@ -29,22 +30,22 @@ public class UINCardDownloadTest {
 	String res="{\"errors\":[{\"message\":\"error occured\"}]}";
 	@Test
 	public void testgetUINCard() throws ApisResourceAccessException {
-		Mockito.when(residentServiceRestClient.postApi(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(arr);
+		Mockito.when(residentServiceRestClient.postApi(Mockito.any(ApiName.class), Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(arr);
 		assertEquals(arr,uinCardDownloadService.getUINCard("123456789", "UIN", IdType.UIN));
 	}
 	@Test(expected=ApisResourceAccessException.class)
 	public void testgetUINCardregprocfailure() throws ApisResourceAccessException {
-		Mockito.when(residentServiceRestClient.postApi(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(res.getBytes());
+		Mockito.when(residentServiceRestClient.postApi(Mockito.any(ApiName.class), Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(res.getBytes());
 		assertEquals(arr,uinCardDownloadService.getUINCard("123456789", "UIN", IdType.UIN));
 	}
 	@Test(expected=ApisResourceAccessException.class)
 	public void testgetUINCardregprocNull() throws ApisResourceAccessException {
-		Mockito.when(residentServiceRestClient.postApi(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(null);
+		Mockito.when(residentServiceRestClient.postApi(Mockito.any(ApiName.class), Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(null);
 		assertEquals(arr,uinCardDownloadService.getUINCard("123456789", "UIN", IdType.UIN));
 	}
 	@Test(expected=ApisResourceAccessException.class)
 	public void testgetUINCardFailure() throws ApisResourceAccessException {
-		Mockito.when(residentServiceRestClient.postApi(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any())).thenThrow(new ApisResourceAccessException());
+		Mockito.when(residentServiceRestClient.postApi(Mockito.any(ApiName.class), Mockito.any(), Mockito.any(), Mockito.any())).thenThrow(new ApisResourceAccessException());
 		uinCardDownloadService.getUINCard("123456789", "UIN", IdType.UIN);
 	}
 
@@ -0,0 +1,66 @@
+package io.mosip.resident.test.util;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.StringWriter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.mosip.resident.exception.ResidentServiceCheckedException;
+import io.mosip.resident.util.VelocityTemplateRegistry;
+
+public class VelocityTemplateRegistryTest {
+
+	private VelocityTemplateRegistry velocityTemplateRegistry;
+
+	@Before
+	public void setUp() {
+		velocityTemplateRegistry = new VelocityTemplateRegistry();
+		ReflectionTestUtils.setField(velocityTemplateRegistry, "maxSize", 10);
+		velocityTemplateRegistry.init();
+	}
+
+	@Test
+	public void testMergeCompilesTemplateOnce() throws ResidentServiceCheckedException {
+		String template = "Dear $name, your request $eventId is $status.";
+		assertEquals("Dear Alice, your request 123 is SUCCESS.",
+				velocityTemplateRegistry.merge(template, attributes("Alice", "123", "SUCCESS")));
+		assertEquals("Dear Bob, your request 456 is FAILED.",
+				velocityTemplateRegistry.merge(template, attributes("Bob", "456", "FAILED")));
+		assertEquals(1, velocityTemplateRegistry.size());
+	}
+
+	@Test
+	public void testChangedTemplateTextIsCompiledAgain() throws ResidentServiceCheckedException {
+		velocityTemplateRegistry.merge("Hello $name", attributes("Alice", "1", "NEW"));
+		assertEquals("Hi Alice", velocityTemplateRegistry.merge("Hi $name", attributes("Alice", "1", "NEW")));
+		assertEquals(2, velocityTemplateRegistry.size());
+	}
+
+	@Test
+	public void testMergeIntoWriter() throws Exception {
+		Map<String, Object> values = new HashMap<>();
+		values.put("rows", List.of("a", "b", "c"));
+		StringWriter writer = new StringWriter();
+		velocityTemplateRegistry.merge("#foreach($row in $rows)$row;#end", values, writer);
+		assertEquals("a;b;c;", writer.toString());
+	}
+
+	@Test(expected = ResidentServiceCheckedException.class)
+	public void testInvalidTemplate() throws ResidentServiceCheckedException {
+		velocityTemplateRegistry.merge("#if($name", attributes("Alice", "1", "NEW"));
+	}
+
+	private Map<String, Object> attributes(String name, String eventId, String status) {
+		Map<String, Object> attributes = new HashMap<>();
+		attributes.put("name", name);
+		attributes.put("eventId", eventId);
+		attributes.put("status", status);
+		return attributes;
+	}
+}